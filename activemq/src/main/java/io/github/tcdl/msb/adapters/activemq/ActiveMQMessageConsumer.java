@@ -6,13 +6,17 @@ import io.github.tcdl.msb.adapters.ConsumerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.TextMessage;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 public class ActiveMQMessageConsumer {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActiveMQMessageConsumer.class);
+    private static final Charset BYTES_MESSAGE_CHARSET = StandardCharsets.UTF_8;
 
     private ConsumerAdapter.RawMessageHandler msgHandler;
 
@@ -30,13 +34,19 @@ public class ActiveMQMessageConsumer {
 
         AcknowledgementHandlerInternal ackHandler = createAcknowledgementHandler(messageId, message);
 
-        if (!(message instanceof TextMessage)) {
+        if (message instanceof BytesMessage) {
+            handleBytesMessage(messageId, (BytesMessage) message, ackHandler);
+        } else if (message instanceof TextMessage) {
+            handleTextMessage(messageId, (TextMessage) message, ackHandler);
+        } else {
             LOG.error("Unsupported message type {}", message.getClass());
             ackHandler.confirmMessage();
         }
+    }
 
+    private void handleTextMessage(String messageId, TextMessage message, AcknowledgementHandlerInternal ackHandler) {
         try {
-            String messageBody = ((TextMessage) message).getText();
+            String messageBody = message.getText();
             LOG.debug("[consumer tag: {}] Message consumed from broker.", messageId);
             LOG.trace("Message: {}", messageBody);
 
@@ -55,6 +65,30 @@ public class ActiveMQMessageConsumer {
         }
     }
 
+    private void handleBytesMessage(String messageId, BytesMessage message, AcknowledgementHandlerInternal ackHandler) {
+        try {
+            byte[] messageBody = new byte[(int) message.getBodyLength()];
+            message.readBytes(messageBody);
+            String contentType = message.getStringProperty(ActiveMQSessionManager.CONTENT_TYPE_PROPERTY);
+            String contentEncoding = message.getStringProperty(ActiveMQSessionManager.CONTENT_ENCODING_PROPERTY);
+            LOG.debug("[consumer tag: {}] Message consumed from broker.", messageId);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Message: {}", new String(messageBody, BYTES_MESSAGE_CHARSET));
+            }
+
+            try {
+                msgHandler.onMessage(messageBody, BYTES_MESSAGE_CHARSET, contentType, contentEncoding, ackHandler);
+                LOG.debug("[consumer tag: {}] Raw message has been handled.", messageId);
+            } catch (Exception e) {
+                LOG.error("[consumer tag: {}] Can't handle a raw message.", messageId, e);
+                throw e;
+            }
+        } catch (Exception e) {
+            LOG.error("[consumer tag: {}] Got exception while processing incoming message. About to send ActiveMQ reject...", messageId, e);
+            ackHandler.autoReject();
+        }
+    }
+
     private AcknowledgementHandlerInternal createAcknowledgementHandler(String messageId, Message message) {
         ActiveMQAcknowledgementAdapter adapter = new ActiveMQAcknowledgementAdapter(message);
         return new AcknowledgementHandlerImpl(adapter, false, messageId);
@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.jms.Destination;
+import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageProducer;
 
@@ -63,25 +64,9 @@ public class ActiveMQProducerAdapter implements ProducerAdapter {
      */
     @Override
     public void publish(String jsonMessage, String routingKey) {
+        String clientId = String.format(PRODUCER_ID_PATTERN, physicalTopic);
         try {
-            String clientId = String.format(PRODUCER_ID_PATTERN, physicalTopic);
-            Message message = sessionManager.createMessage(jsonMessage, clientId);
-            LOG.debug("Publishing message. Topic name = [{}], routing key = [{}]", physicalTopic, routingKey);
-
-            //create virtual destination with routing key
-            String destinationTopic = this.physicalTopic;
-            if (StringUtils.isNotBlank(routingKey)) {
-                destinationTopic += "." + routingKey;
-            }
-            destinationTopic += !isDurable() ? ".t" : "";
-
-            Destination destination = sessionManager.createDestination(destinationTopic, subscriptionType, clientId);
-
-            if (!isDurable()) {
-                sessionManager.autoRemove(clientId, destination);
-            }
-
-            producer.send(destination, message);
+            send(sessionManager.createMessage(jsonMessage, clientId), routingKey, clientId);
         } catch (Exception e) {
             LOG.error(ERROR_MESSAGE_TEMPLATE, physicalTopic, routingKey);
             LOG.trace("Message: {}", jsonMessage);
@@ -89,6 +74,42 @@ public class ActiveMQProducerAdapter implements ProducerAdapter {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The message is sent as a {@link javax.jms.BytesMessage} with the content type and the content encoding
+     * in message properties.
+     */
+    @Override
+    public void publish(byte[] message, String contentType, String contentEncoding, String routingKey) {
+        String clientId = String.format(PRODUCER_ID_PATTERN, physicalTopic);
+        try {
+            send(sessionManager.createBytesMessage(message, contentType, contentEncoding, clientId), routingKey, clientId);
+        } catch (Exception e) {
+            LOG.error(ERROR_MESSAGE_TEMPLATE, physicalTopic, routingKey);
+            throw new ChannelException(String.format(ERROR_MESSAGE_TEMPLATE, physicalTopic, routingKey), e);
+        }
+    }
+
+    private void send(Message message, String routingKey, String clientId) throws JMSException {
+        LOG.debug("Publishing message. Topic name = [{}], routing key = [{}]", physicalTopic, routingKey);
+
+        //create virtual destination with routing key
+        String destinationTopic = this.physicalTopic;
+        if (StringUtils.isNotBlank(routingKey)) {
+            destinationTopic += "." + routingKey;
+        }
+        destinationTopic += !isDurable() ? ".t" : "";
+
+        Destination destination = sessionManager.createDestination(destinationTopic, subscriptionType, clientId);
+
+        if (!isDurable()) {
+            sessionManager.autoRemove(clientId, destination);
+        }
+
+        producer.send(destination, message);
+    }
+
     private boolean isDurable() {
         return !isResponseTopic && brokerConfig.isDurable();
     }
@@ -22,6 +22,16 @@ public class ActiveMQSessionManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActiveMQSessionManager.class);
 
+    /**
+     * Message property holding the content type of binary messages
+     */
+    static final String CONTENT_TYPE_PROPERTY = "contentType";
+
+    /**
+     * Message property holding the content encoding of compressed messages
+     */
+    static final String CONTENT_ENCODING_PROPERTY = "contentEncoding";
+
     private static ActiveMQSessionManager instance;
     private ActiveMQConnectionManager connectionManager;
     private Map<String, Session> sessionsByClientId;
@@ -112,6 +122,21 @@ public class ActiveMQSessionManager {
         }
     }
 
+    public Message createBytesMessage(byte[] body, String contentType, String contentEncoding, String clientId) {
+        try {
+            Session session = getSession(clientId);
+            BytesMessage message = session.createBytesMessage();
+            message.writeBytes(body);
+            message.setStringProperty(CONTENT_TYPE_PROPERTY, contentType);
+            if (contentEncoding != null) {
+                message.setStringProperty(CONTENT_ENCODING_PROPERTY, contentEncoding);
+            }
+            return message;
+        } catch (JMSException e) {
+            throw new ChannelException("Message creation failed with exception", e);
+        }
+    }
+
     public void autoRemove(String clientId, Destination destination) {
         connectionManager.addConnectionCloseListener(clientId, connection -> {
             try {
@@ -10,9 +10,14 @@ public class ActiveMQRequestOptions extends RequestOptions {
                                MessageTemplate messageTemplate,
                                String forwardNamespace,
                                String routingKey,
+                               Integer hedgeDelay,
+                               boolean coalescing,
+                               Integer cacheTtl,
+                               Integer maxBatchSize,
+                               Integer batchLinger,
                                SubscriptionType subscriptionType) {
 
-        super(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace, routingKey);
+        super(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace, routingKey, hedgeDelay, coalescing, cacheTtl, maxBatchSize, batchLinger);
         this.subscriptionType = subscriptionType;
     }
 
@@ -43,7 +48,7 @@ public class ActiveMQRequestOptions extends RequestOptions {
         @Override
         public RequestOptions build() {
             return new ActiveMQRequestOptions(ackTimeout, responseTimeout, waitForResponses, messageTemplate,
-                    forwardNamespace, routingKey, subscriptionType);
+                    forwardNamespace, routingKey, hedgeDelay, coalescing, cacheTtl, maxBatchSize, batchLinger, subscriptionType);
         }
     }
 }
\ No newline at end of file
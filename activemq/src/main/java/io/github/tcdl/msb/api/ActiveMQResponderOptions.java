@@ -13,8 +13,9 @@ public class ActiveMQResponderOptions extends ResponderOptions {
 
     private ActiveMQResponderOptions(Set<String> bindingKeys,
                                    MessageTemplate messageTemplate,
+                                   boolean acceptsBatches,
                                    SubscriptionType subscriptionType) {
-        super(bindingKeys, messageTemplate);
+        super(bindingKeys, messageTemplate, acceptsBatches);
         this.bindingKeys = bindingKeys;
         this.subscriptionType = subscriptionType;
     }
@@ -42,6 +43,11 @@ public class ActiveMQResponderOptions extends ResponderOptions {
             return this;
         }
 
+        public Builder withAcceptsBatches(boolean acceptsBatches) {
+            this.acceptsBatches = acceptsBatches;
+            return this;
+        }
+
         public Builder withSubscriptionType(@Nonnull SubscriptionType subscriptionType){
             Validate.notNull(subscriptionType);
             this.subscriptionType = subscriptionType;
@@ -56,7 +62,7 @@ public class ActiveMQResponderOptions extends ResponderOptions {
             Set<String> bindingKeys = this.bindingKeys == null || this.bindingKeys.isEmpty()
                     ? Collections.emptySet()
                     : this.bindingKeys;
-            return new ActiveMQResponderOptions(bindingKeys, messageTemplate, subscriptionType);
+            return new ActiveMQResponderOptions(bindingKeys, messageTemplate, acceptsBatches, subscriptionType);
         }
     }
 }
\ No newline at end of file
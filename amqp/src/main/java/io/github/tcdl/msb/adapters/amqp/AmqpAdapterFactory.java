@@ -31,6 +31,8 @@ public class AmqpAdapterFactory implements AdapterFactory {
 
     private volatile AmqpBrokerConfig amqpBrokerConfig;
     private volatile AmqpConnectionManager connectionManager;
+    private volatile AmqpChannelPool producerChannelPool;
+    private volatile AmqpChannelPool confirmingProducerChannelPool;
 
     /**
      * @throws ChannelException if an error is encountered during connecting to broker
@@ -43,6 +45,8 @@ public class AmqpAdapterFactory implements AdapterFactory {
         ConnectionFactory connectionFactory = createConnectionFactory(amqpBrokerConfig);
         Connection connection = createConnection(connectionFactory);
         connectionManager = createConnectionManager(connection);
+        producerChannelPool = new AmqpChannelPool(connectionManager, amqpBrokerConfig.getProducerChannelPoolSize());
+        confirmingProducerChannelPool = new AmqpChannelPool(connectionManager, amqpBrokerConfig.getProducerChannelPoolSize(), true);
     }
 
     //TODO extract config loading from this class and then rewrite unit test for this class completely
@@ -68,16 +72,29 @@ public class AmqpAdapterFactory implements AdapterFactory {
 
         Class<? extends RequestOptions> requestOptionsClass = requestOptions.getClass();
         ExchangeType exchangeType;
+        boolean publisherConfirms;
 
         if (AmqpRequestOptions.class.isAssignableFrom(requestOptionsClass)) {
             exchangeType = ((AmqpRequestOptions) requestOptions).getExchangeType();
+            publisherConfirms = ((AmqpRequestOptions) requestOptions).isPublisherConfirms();
         } else if (requestOptionsClass.equals(RequestOptions.class)) {
             exchangeType = amqpBrokerConfig.getDefaultExchangeType();
+            publisherConfirms = false;
         } else {
             throw new AdapterCreationException("Illegal for this AdapterFactory RequestOptions subclass");
         }
 
-        return new AmqpProducerAdapter(topic, exchangeType, amqpBrokerConfig, connectionManager);
+        AmqpChannelPool channelPool = publisherConfirms ? confirmingProducerChannelPool : producerChannelPool;
+        return new AmqpProducerAdapter(topic, exchangeType, amqpBrokerConfig, channelPool);
+    }
+
+    /**
+     * @return whether the request options require publisher confirms, producers that wait for confirms are not
+     * shared with the ones that don't
+     */
+    @Override
+    public Object getProducerVariant(RequestOptions requestOptions) {
+        return requestOptions instanceof AmqpRequestOptions && ((AmqpRequestOptions) requestOptions).isPublisherConfirms();
     }
 
     @Override
@@ -177,6 +194,16 @@ public class AmqpAdapterFactory implements AdapterFactory {
         }
     }
 
+    @Override
+    public Optional<Long> getProducerChannelWaits() {
+        return Optional.of(producerChannelPool.getWaits() + confirmingProducerChannelPool.getWaits());
+    }
+
+    @Override
+    public Optional<Long> getProducerChannelWaitTimeNanos() {
+        return Optional.of(producerChannelPool.getWaitTimeNanos() + confirmingProducerChannelPool.getWaitTimeNanos());
+    }
+
     @Override
     public boolean isUseMsbThreadingModel() {
         return true;
@@ -184,6 +211,8 @@ public class AmqpAdapterFactory implements AdapterFactory {
 
     @Override
     public void shutdown() {
+        // nacked messages are published again before the connection is closed
+        confirmingProducerChannelPool.shutdown();
         try {
             connectionManager.close();
         } catch (IOException e) {
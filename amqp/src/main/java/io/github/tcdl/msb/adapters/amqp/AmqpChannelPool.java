@@ -0,0 +1,197 @@
+package io.github.tcdl.msb.adapters.amqp;
+
+import io.github.tcdl.msb.api.exception.ChannelException;
+import io.github.tcdl.msb.support.Utils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link AmqpChannelPool} holds the channels producers publish messages through. Every publishing thread is pinned to
+ * one of the channels, threads are spread over the channels round-robin. Messages published by a thread, e.g. an ack
+ * followed by a response or the messages of a producer published on its I/O thread, go through the same channel and
+ * reach the broker in the order they were published in. A channel is taken for a single publishing and returned right
+ * after it, a thread whose channel is in use by another thread waits for it to be returned. Channels are opened
+ * on demand.
+ *
+ * Putting a channel into confirm mode can't be undone, so publishing with publisher confirms takes channels from
+ * a pool of its own, whose channels are put into confirm mode once opened.
+ */
+@ThreadSafe
+public class AmqpChannelPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AmqpChannelPool.class);
+
+    private final AmqpConnectionManager connectionManager;
+    private final boolean publisherConfirms;
+    private final Slot[] slots;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final ThreadLocal<Slot> threadSlots = ThreadLocal.withInitial(this::assignSlot);
+    private final Map<LoggingAmqpChannel, PublisherConfirmTracker> confirmTrackers = new ConcurrentHashMap<>();
+    /**
+     * Publishes messages nacked by the broker again, its thread is started on the first nack. Null unless the pool
+     * is for publisher confirms.
+     */
+    private final ExecutorService republishExecutor;
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitTimeNanos = new LongAdder();
+
+    /**
+     * Creates the pool of channels that are not in confirm mode.
+     *
+     * @param size max number of channels opened by the pool
+     */
+    public AmqpChannelPool(AmqpConnectionManager connectionManager, int size) {
+        this(connectionManager, size, false);
+    }
+
+    /**
+     * @param size              max number of channels opened by the pool
+     * @param publisherConfirms whether channels are put into confirm mode
+     */
+    public AmqpChannelPool(AmqpConnectionManager connectionManager, int size, boolean publisherConfirms) {
+        Validate.notNull(connectionManager, "Connection manager is mandatory");
+        Validate.isTrue(size > 0, "the 'size' must be positive");
+        this.connectionManager = connectionManager;
+        this.publisherConfirms = publisherConfirms;
+        this.republishExecutor = publisherConfirms ? Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+                .namingPattern("amqp-republish-thread-%d")
+                .daemon(true)
+                .build()) : null;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Takes the channel the calling thread is pinned to, opens it if it hasn't been opened yet or waits for it to be
+     * returned if another thread is using it. The channel has to be returned with {@link #release(LoggingAmqpChannel)}
+     * by the same thread.
+     *
+     * @throws ChannelException if the channel can't be opened or the thread is interrupted while waiting
+     */
+    public LoggingAmqpChannel acquire() {
+        Slot slot = threadSlots.get();
+        if (!slot.lock.tryLock()) {
+            waits.increment();
+            long waitStart = System.nanoTime();
+            try {
+                slot.lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChannelException("Interrupted while waiting for a channel to publish through", e);
+            } finally {
+                waitTimeNanos.add(System.nanoTime() - waitStart);
+            }
+        }
+
+        try {
+            if (slot.channel == null) {
+                slot.channel = openChannel();
+            }
+            return slot.channel;
+        } catch (RuntimeException e) {
+            slot.lock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the channel to the pool. A channel that has been closed is discarded, so that a new one is opened
+     * instead.
+     */
+    public void release(LoggingAmqpChannel channel) {
+        Slot slot = threadSlots.get();
+        Validate.validState(slot.lock.isHeldByCurrentThread() && slot.channel == channel, "The channel has not been acquired by the thread");
+        try {
+            if (!channel.isOpen()) {
+                LOG.warn("Discarding closed channel");
+                slot.channel = null;
+                confirmTrackers.remove(channel);
+                channel.abort();
+            }
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * @return tracker of the publisher confirms of the channel acquired from the pool
+     * @throws IllegalStateException if the pool is not for publisher confirms
+     */
+    PublisherConfirmTracker getConfirmTracker(LoggingAmqpChannel channel) {
+        Validate.validState(publisherConfirms, "Channels of the pool are not in confirm mode");
+        return confirmTrackers.get(channel);
+    }
+
+    /**
+     * @return whether channels of the pool are in confirm mode
+     */
+    public boolean isPublisherConfirms() {
+        return publisherConfirms;
+    }
+
+    /**
+     * Publishes the nacked messages that are waiting to be published again. Channels are closed together with
+     * the connection.
+     */
+    public void shutdown() {
+        if (republishExecutor != null) {
+            Utils.gracefulShutdown(republishExecutor, "amqp republish");
+        }
+    }
+
+    /**
+     * @return number of times a publishing thread had to wait for its channel because another thread was using it
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * @return total time in nanoseconds publishing threads spent waiting for a channel
+     */
+    public long getWaitTimeNanos() {
+        return waitTimeNanos.sum();
+    }
+
+    private LoggingAmqpChannel openChannel() {
+        LoggingAmqpChannel channel = LoggingAmqpChannel.instance(connectionManager);
+        if (publisherConfirms) {
+            try {
+                confirmTrackers.put(channel, new PublisherConfirmTracker(channel, republishExecutor));
+            } catch (RuntimeException e) {
+                channel.abort();
+                throw e;
+            }
+        }
+        return channel;
+    }
+
+    private Slot assignSlot() {
+        return slots[Math.floorMod(nextSlot.getAndIncrement(), slots.length)];
+    }
+
+    /**
+     * Channel shared by the threads pinned to it.
+     */
+    private static class Slot {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        /**
+         * Opened channel or null, guarded by the lock.
+         */
+        private LoggingAmqpChannel channel;
+    }
+}
@@ -7,6 +7,7 @@ import io.github.tcdl.msb.config.amqp.AmqpBrokerConfig;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,7 @@ import com.rabbitmq.client.DefaultConsumer;
 import com.rabbitmq.client.Envelope;
 
 /**
- * Consumer that converts message body to a String before passing it to handler.
+ * Consumer that passes raw message body bytes along with the configured charset to handler.
  * Also rejects message in case of any exception during its processing to prevent AMQP channel from being closed.
  */
 public class AmqpMessageConsumer extends DefaultConsumer {
@@ -27,6 +28,10 @@ public class AmqpMessageConsumer extends DefaultConsumer {
     ConsumerAdapter.RawMessageHandler msgHandler;
     private AmqpBrokerConfig amqpBrokerConfig;
 
+    //deliveries to a consumer are dispatched sequentially, so the identifier is built once per consumer tag
+    private String identifiedConsumerTag;
+    private String messageTextIdentifier;
+
     public AmqpMessageConsumer(Channel channel, ConsumerAdapter.RawMessageHandler msgHandler, AmqpBrokerConfig amqpBrokerConfig) {
         super(channel);
         this.msgHandler = msgHandler;
@@ -41,18 +46,21 @@ public class AmqpMessageConsumer extends DefaultConsumer {
         try {
             Charset charset = amqpBrokerConfig.getCharset();
 
-            String bodyStr = new String(body, charset);
-
             LOG.debug("[consumer tag: {}] Message consumed from broker.", consumerTag);
-            LOG.trace("Message: {}", bodyStr);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Message: {}", new String(body, charset));
+            }
 
             try {
-                msgHandler.onMessage(bodyStr, ackHandler);
+                String contentType = properties != null ? properties.getContentType() : null;
+                String contentEncoding = properties != null ? properties.getContentEncoding() : null;
+                msgHandler.onMessage(body, charset, contentType, contentEncoding, ackHandler);
                 LOG.debug("[consumer tag: {}] Raw message has been handled.", consumerTag);
-                LOG.trace("Message: {}", bodyStr);
             } catch (Exception e) {
                 LOG.error("[consumer tag: {}] Can't handle a raw message.", consumerTag, e);
-                LOG.trace("Message: {}", bodyStr);
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Message: {}", new String(body, charset));
+                }
                 throw e;
             }
         } catch (Exception e) {
@@ -64,8 +72,15 @@ public class AmqpMessageConsumer extends DefaultConsumer {
 
     AcknowledgementHandlerInternal createAcknowledgementHandler(Channel channel, String consumerTag, long deliveryTag, boolean isRequeueRejectedMessages) {
         AmqpAcknowledgementAdapter adapter = new AmqpAcknowledgementAdapter(channel, consumerTag, deliveryTag);
-        String messageTextIdentifier = "consumer tag: " + consumerTag;
-        return new AcknowledgementHandlerImpl(adapter, isRequeueRejectedMessages, messageTextIdentifier);
+        return new AcknowledgementHandlerImpl(adapter, isRequeueRejectedMessages, getMessageTextIdentifier(consumerTag));
+    }
+
+    private String getMessageTextIdentifier(String consumerTag) {
+        if (messageTextIdentifier == null || !Objects.equals(identifiedConsumerTag, consumerTag)) {
+            identifiedConsumerTag = consumerTag;
+            messageTextIdentifier = "consumer tag: " + consumerTag;
+        }
+        return messageTextIdentifier;
     }
     
 }
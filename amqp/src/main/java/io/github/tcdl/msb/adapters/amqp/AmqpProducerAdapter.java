@@ -1,5 +1,6 @@
 package io.github.tcdl.msb.adapters.amqp;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.MessageProperties;
 import io.github.tcdl.msb.adapters.ProducerAdapter;
 import io.github.tcdl.msb.api.ExchangeType;
@@ -11,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public class AmqpProducerAdapter implements ProducerAdapter {
     private static final Logger LOG = LoggerFactory.getLogger(AmqpProducerAdapter.class);
@@ -18,22 +21,39 @@ public class AmqpProducerAdapter implements ProducerAdapter {
 
     final String exchangeName;
     final AmqpBrokerConfig amqpBrokerConfig;
-    final LoggingAmqpChannel channel;
+    final AmqpChannelPool channelPool;
+    final boolean publisherConfirms;
 
+    /**
+     * Creates the adapter that publishes through a channel of its own.
+     */
     public AmqpProducerAdapter(String topic, ExchangeType exchangeType, AmqpBrokerConfig amqpBrokerConfig, AmqpConnectionManager connectionManager) {
+        this(topic, exchangeType, amqpBrokerConfig, new AmqpChannelPool(connectionManager, 1));
+    }
+
+    /**
+     * @param channelPool pool of the channels to publish through, it is usually shared by all producers of the connection.
+     *                    If its channels are in confirm mode the broker has to confirm published messages, messages
+     *                    nacked by the broker are published again, see {@link #publishAsync(String, String)}.
+     */
+    public AmqpProducerAdapter(String topic, ExchangeType exchangeType, AmqpBrokerConfig amqpBrokerConfig, AmqpChannelPool channelPool) {
         Validate.notNull(topic, "Topic is mandatory");
         Validate.notNull(exchangeType, "Exchange type is mandatory");
         Validate.notNull(amqpBrokerConfig, "Broker config is mandatory");
-        Validate.notNull(exchangeType, "Connection manager is mandatory");
+        Validate.notNull(channelPool, "Channel pool is mandatory");
 
         this.exchangeName = topic;
         this.amqpBrokerConfig = amqpBrokerConfig;
-        this.channel = LoggingAmqpChannel.instance(connectionManager);
+        this.channelPool = channelPool;
+        this.publisherConfirms = channelPool.isPublisherConfirms();
 
+        LoggingAmqpChannel channel = channelPool.acquire();
         try {
             channel.exchangeDeclare(exchangeName, exchangeType.value(), false /* durable */, true /* auto-delete */, null);
         } catch (Exception e) {
             throw new ChannelException("Failed to setup channel from ActiveMQ connection", e);
+        } finally {
+            channelPool.release(channel);
         }
     }
 
@@ -45,17 +65,89 @@ public class AmqpProducerAdapter implements ProducerAdapter {
         publish(jsonMessage, StringUtils.EMPTY);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * If publisher confirms are enabled the method doesn't wait for the broker to confirm the message, a message
+     * the broker fails to confirm is logged. Use {@link #publishAsync(String, String)} to get the confirm.
+     */
     @Override
     public void publish(String jsonMessage, String routingKey) {
+        logUnconfirmed(publishAsync(jsonMessage, routingKey), routingKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If publisher confirms are enabled the returned stage completes once the broker acks the message. A message
+     * nacked by the broker is published again up to {@value PublisherConfirmTracker#MAX_REPUBLISH_ATTEMPTS} times
+     * before the stage fails.
+     */
+    @Override
+    public CompletionStage<Void> publishAsync(String jsonMessage, String routingKey) {
         Validate.notNull(routingKey, "routing key is required");
         Charset charset = amqpBrokerConfig.getCharset();
 
         try {
-            channel.basicPublish(exchangeName, routingKey, MessageProperties.PERSISTENT_BASIC, jsonMessage.getBytes(charset));
+            return basicPublish(routingKey, MessageProperties.PERSISTENT_BASIC, jsonMessage.getBytes(charset));
         } catch (Exception e) {
             LOG.error(ERROR_MESSAGE_TEMPLATE, exchangeName, routingKey);
             LOG.trace("Message: {}", jsonMessage);
             throw new ChannelException(String.format(ERROR_MESSAGE_TEMPLATE, exchangeName, routingKey), e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The content type and the content encoding are passed in the content-type and content-encoding properties
+     * of the AMQP message. See {@link #publish(String, String)} for publisher confirms.
+     */
+    @Override
+    public void publish(byte[] message, String contentType, String contentEncoding, String routingKey) {
+        logUnconfirmed(publishAsync(message, contentType, contentEncoding, routingKey), routingKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * See {@link #publishAsync(String, String)} for publisher confirms.
+     */
+    @Override
+    public CompletionStage<Void> publishAsync(byte[] message, String contentType, String contentEncoding, String routingKey) {
+        Validate.notNull(routingKey, "routing key is required");
+        AMQP.BasicProperties properties = MessageProperties.PERSISTENT_BASIC.builder()
+                .contentType(contentType)
+                .contentEncoding(contentEncoding)
+                .build();
+
+        try {
+            return basicPublish(routingKey, properties, message);
+        } catch (Exception e) {
+            LOG.error(ERROR_MESSAGE_TEMPLATE, exchangeName, routingKey);
+            throw new ChannelException(String.format(ERROR_MESSAGE_TEMPLATE, exchangeName, routingKey), e);
+        }
+    }
+
+    private void logUnconfirmed(CompletionStage<Void> confirmation, String routingKey) {
+        confirmation.whenComplete((confirmed, e) -> {
+            if (e != null) {
+                LOG.error("Message published into exchange '{}' with routing key '{}' is not confirmed by broker", exchangeName, routingKey, e);
+            }
+        });
+    }
+
+    private CompletionStage<Void> basicPublish(String routingKey, AMQP.BasicProperties properties, byte[] body) {
+        LoggingAmqpChannel channel = channelPool.acquire();
+        try {
+            if (publisherConfirms) {
+                return channelPool.getConfirmTracker(channel)
+                        .publish(() -> channel.basicPublish(exchangeName, routingKey, properties, body));
+            }
+            channel.basicPublish(exchangeName, routingKey, properties, body);
+            return CompletableFuture.completedFuture(null);
+        } finally {
+            channelPool.release(channel);
+        }
+    }
 }
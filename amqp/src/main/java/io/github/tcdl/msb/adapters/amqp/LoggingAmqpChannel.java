@@ -3,6 +3,7 @@ package io.github.tcdl.msb.adapters.amqp;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.ShutdownListener;
 import io.github.tcdl.msb.api.exception.ChannelException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,18 +41,6 @@ public class LoggingAmqpChannel {
             throw new ChannelException("Channel creation failed with exception", e);
         }
 
-        channel.addConfirmListener(new ConfirmListener() {
-            @Override
-            public void handleAck(long deliveryTag, boolean multiple) throws IOException {
-                LOG.debug("Processing publisher ack (deliveryTag = {}, multiple = {})", deliveryTag, multiple);
-            }
-
-            @Override
-            public void handleNack(long deliveryTag, boolean multiple) throws IOException {
-                LOG.debug("Processing publisher nack (deliveryTag = {}, multiple = {})", deliveryTag, multiple);
-            }
-        });
-
         channel.addShutdownListener(cause -> {
             LOG.debug("Handling channel shutdown...");
             if (cause.isInitiatedByApplication()) {
@@ -72,7 +61,48 @@ public class LoggingAmqpChannel {
         }
     }
 
-    public void basicPublish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body) {
+    public void confirmSelect() {
+        LOG.debug("Enabling publisher confirms.");
+        try {
+            channel.confirmSelect();
+        } catch (IOException e) {
+            throw new ChannelException("confirm.select call failed", e);
+        }
+    }
+
+    public void addConfirmListener(ConfirmListener listener) {
+        channel.addConfirmListener(listener);
+    }
+
+    public void addShutdownListener(ShutdownListener listener) {
+        channel.addShutdownListener(listener);
+    }
+
+    public long getNextPublishSeqNo() {
+        return channel.getNextPublishSeqNo();
+    }
+
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Closes the channel, so that it is not recovered along with the connection. Any exceptions are discarded.
+     */
+    public void abort() {
+        LOG.debug("Aborting channel.");
+        try {
+            channel.abort();
+        } catch (IOException e) {
+            LOG.debug("Exception while aborting channel", e);
+        }
+    }
+
+    /**
+     * Publishes the message. Publishing through the channel is serialized as channels must not be used by multiple
+     * threads concurrently. {@link PublisherConfirmTracker} holds the same lock while taking the delivery tag.
+     */
+    public synchronized void basicPublish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body) {
         LOG.debug("Publishing message. Exchange name = [{}], routing key = [{}]", exchange, routingKey);
         try {
             channel.basicPublish(exchange, routingKey, props, body);
@@ -0,0 +1,162 @@
+package io.github.tcdl.msb.adapters.amqp;
+
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import io.github.tcdl.msb.api.exception.ChannelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link PublisherConfirmTracker} puts the channel into confirm mode and tracks messages published through it until
+ * the broker confirms them. Outstanding messages are kept sorted by delivery tag, so an ack or nack of multiple
+ * messages resolves all of them at once. Nacked messages are published again a limited number of times on
+ * the republishing thread, never on the thread of the confirm listener. Publishing threads never wait for confirms.
+ */
+@ThreadSafe
+class PublisherConfirmTracker implements ConfirmListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherConfirmTracker.class);
+
+    static final int MAX_REPUBLISH_ATTEMPTS = 3;
+
+    private final LoggingAmqpChannel channel;
+    private final Executor republishExecutor;
+    private final ConcurrentNavigableMap<Long, PendingConfirm> outstandingConfirms = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param republishExecutor publishes nacked messages again
+     */
+    PublisherConfirmTracker(LoggingAmqpChannel channel, Executor republishExecutor) {
+        this.channel = channel;
+        this.republishExecutor = republishExecutor;
+        channel.confirmSelect();
+        channel.addConfirmListener(this);
+        channel.addShutdownListener(this::handleShutdown);
+    }
+
+    /**
+     * Publishes the message and starts tracking it.
+     *
+     * @param publication publishes the message to the channel
+     * @return stage that completes once the broker has acked the message, it fails if the broker keeps nacking
+     * the message or the channel is shut down before the message is confirmed
+     * @throws ChannelException if the message can't be published
+     */
+    CompletionStage<Void> publish(Runnable publication) {
+        PendingConfirm pendingConfirm = new PendingConfirm(publication);
+        send(pendingConfirm);
+        return pendingConfirm.result;
+    }
+
+    int getOutstandingConfirms() {
+        return outstandingConfirms.size();
+    }
+
+    @Override
+    public void handleAck(long deliveryTag, boolean multiple) {
+        LOG.debug("Processing publisher ack (deliveryTag = {}, multiple = {})", deliveryTag, multiple);
+        for (PendingConfirm pendingConfirm : confirmed(deliveryTag, multiple)) {
+            pendingConfirm.result.complete(null);
+        }
+    }
+
+    @Override
+    public void handleNack(long deliveryTag, boolean multiple) {
+        LOG.debug("Processing publisher nack (deliveryTag = {}, multiple = {})", deliveryTag, multiple);
+        for (PendingConfirm pendingConfirm : confirmed(deliveryTag, multiple)) {
+            if (pendingConfirm.attempts > MAX_REPUBLISH_ATTEMPTS) {
+                LOG.warn("Message is nacked by broker {} times, giving up", pendingConfirm.attempts);
+                pendingConfirm.result.completeExceptionally(
+                        new ChannelException(String.format("Message is nacked by broker %d times", pendingConfirm.attempts), null));
+                continue;
+            }
+            republish(pendingConfirm);
+        }
+    }
+
+    /**
+     * Publishes the nacked message again off the thread of the confirm listener, which must not publish to the channel
+     * or wait for its lock.
+     */
+    private void republish(PendingConfirm pendingConfirm) {
+        try {
+            republishExecutor.execute(() -> {
+                try {
+                    send(pendingConfirm);
+                } catch (RuntimeException e) {
+                    pendingConfirm.result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingConfirm.result.completeExceptionally(new ChannelException("Unable to publish nacked message again", e));
+        }
+    }
+
+    private void handleShutdown(ShutdownSignalException cause) {
+        Map.Entry<Long, PendingConfirm> entry;
+        while ((entry = outstandingConfirms.pollFirstEntry()) != null) {
+            entry.getValue().result.completeExceptionally(
+                    new ChannelException("Channel is shut down before message is confirmed by broker", cause));
+        }
+    }
+
+    private void send(PendingConfirm pendingConfirm) {
+        // the lock of the channel guards taking the next delivery tag together with publishing the message it belongs to
+        synchronized (channel) {
+            long deliveryTag = channel.getNextPublishSeqNo();
+            pendingConfirm.attempts++;
+            outstandingConfirms.put(deliveryTag, pendingConfirm);
+            try {
+                pendingConfirm.publication.run();
+            } catch (RuntimeException e) {
+                outstandingConfirms.remove(deliveryTag);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stops tracking the messages the ack or nack is for.
+     */
+    private List<PendingConfirm> confirmed(long deliveryTag, boolean multiple) {
+        if (!multiple) {
+            PendingConfirm pendingConfirm = outstandingConfirms.remove(deliveryTag);
+            return pendingConfirm != null ? Collections.singletonList(pendingConfirm) : Collections.emptyList();
+        }
+
+        List<PendingConfirm> confirmed = new ArrayList<>();
+        Map.Entry<Long, PendingConfirm> entry;
+        while ((entry = outstandingConfirms.firstEntry()) != null && entry.getKey() <= deliveryTag) {
+            if (outstandingConfirms.remove(entry.getKey(), entry.getValue())) {
+                confirmed.add(entry.getValue());
+            }
+        }
+        return confirmed;
+    }
+
+    private static class PendingConfirm {
+
+        private final Runnable publication;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        /**
+         * Number of times the message has been published, only changed under the lock of the channel.
+         */
+        private int attempts;
+
+        PendingConfirm(Runnable publication) {
+            this.publication = publication;
+        }
+    }
+}
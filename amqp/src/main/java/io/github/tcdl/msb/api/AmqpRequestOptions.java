@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 public class AmqpRequestOptions extends RequestOptions {
 
     private final ExchangeType exchangeType;
+    private final boolean publisherConfirms;
 
     private AmqpRequestOptions(Integer ackTimeout,
                                Integer responseTimeout,
@@ -15,34 +16,58 @@ public class AmqpRequestOptions extends RequestOptions {
                                MessageTemplate messageTemplate,
                                String forwardNamespace,
                                String routingKey,
-                               ExchangeType exchangeType) {
+                               Integer hedgeDelay,
+                               boolean coalescing,
+                               Integer cacheTtl,
+                               Integer maxBatchSize,
+                               Integer batchLinger,
+                               ExchangeType exchangeType,
+                               boolean publisherConfirms) {
 
-        super(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace, routingKey);
+        super(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace, routingKey, hedgeDelay, coalescing, cacheTtl, maxBatchSize, batchLinger);
         this.exchangeType = exchangeType;
+        this.publisherConfirms = publisherConfirms;
     }
 
     public ExchangeType getExchangeType() {
         return exchangeType;
     }
 
+    public boolean isPublisherConfirms() {
+        return publisherConfirms;
+    }
+
     @Override
     public RequestOptions.Builder asBuilder() {
-        return ((AmqpRequestOptions.Builder) (new Builder().from(this))).withExchangeType(this.exchangeType);
+        return ((AmqpRequestOptions.Builder) (new Builder().from(this)))
+                .withExchangeType(this.exchangeType)
+                .withPublisherConfirms(this.publisherConfirms);
     }
 
     public static class Builder extends RequestOptions.Builder {
 
         private ExchangeType exchangeType;
+        private boolean publisherConfirms;
 
         public Builder withExchangeType(ExchangeType exchangeType){
             this.exchangeType = exchangeType;
             return this;
         }
 
+        /**
+         * Has the broker confirm the messages published to the topic. Publishing doesn't block waiting for confirms,
+         * {@link io.github.tcdl.msb.Producer#publishAsync} completes once the message is confirmed and messages
+         * nacked by the broker are published again.
+         */
+        public Builder withPublisherConfirms(boolean publisherConfirms) {
+            this.publisherConfirms = publisherConfirms;
+            return this;
+        }
+
         @Override
         public RequestOptions build() {
             return new AmqpRequestOptions(ackTimeout, responseTimeout, waitForResponses, messageTemplate,
-                    forwardNamespace, routingKey, exchangeType);
+                    forwardNamespace, routingKey, hedgeDelay, coalescing, cacheTtl, maxBatchSize, batchLinger, exchangeType, publisherConfirms);
         }
     }
 }
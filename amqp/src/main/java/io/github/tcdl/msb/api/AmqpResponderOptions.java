@@ -14,8 +14,9 @@ public class AmqpResponderOptions extends ResponderOptions{
 
     protected AmqpResponderOptions(Set<String> bindingKeys,
                                    MessageTemplate messageTemplate,
+                                   boolean acceptsBatches,
                                    ExchangeType exchangeType) {
-        super(bindingKeys, messageTemplate);
+        super(bindingKeys, messageTemplate, acceptsBatches);
         this.exchangeType = exchangeType;
     }
 
@@ -37,6 +38,11 @@ public class AmqpResponderOptions extends ResponderOptions{
             return this;
         }
 
+        public Builder withAcceptsBatches(boolean acceptsBatches) {
+            this.acceptsBatches = acceptsBatches;
+            return this;
+        }
+
         public Builder withExchangeType(@Nonnull ExchangeType exchangeType){
             Validate.notNull(exchangeType);
             this.exchangeType = exchangeType;
@@ -49,7 +55,7 @@ public class AmqpResponderOptions extends ResponderOptions{
                     ? Collections.singleton(MATCH_ALL_BINDING_KEY)
                     : this.bindingKeys;
 
-            return new AmqpResponderOptions(bindingKeys, messageTemplate, exchangeType);
+            return new AmqpResponderOptions(bindingKeys, messageTemplate, acceptsBatches, exchangeType);
         }
     }
 }
@@ -11,6 +11,11 @@ import com.typesafe.config.Config;
 
 public class AmqpBrokerConfig {
 
+    /**
+     * Size of the producer channel pool used if it isn't configured.
+     */
+    public static final int DEFAULT_PRODUCER_CHANNEL_POOL_SIZE = 8;
+
     private Charset charset;
 
     private final int port;
@@ -26,12 +31,22 @@ public class AmqpBrokerConfig {
     private final int heartbeatIntervalSec;
     private final long networkRecoveryIntervalMs;
     private final int prefetchCount;
+    private final int producerChannelPoolSize;
 
     public AmqpBrokerConfig(Charset charset, String host, int port,
             Optional<String> username, Optional<String> password, Optional<String> virtualHost, boolean useSSL,
             Optional<String> groupId, boolean durable,
             ExchangeType defaultExchangeType,
             int heartbeatIntervalSec, long networkRecoveryIntervalMs, int prefetchCount) {
+        this(charset, host, port, username, password, virtualHost, useSSL, groupId, durable, defaultExchangeType,
+                heartbeatIntervalSec, networkRecoveryIntervalMs, prefetchCount, DEFAULT_PRODUCER_CHANNEL_POOL_SIZE);
+    }
+
+    public AmqpBrokerConfig(Charset charset, String host, int port,
+            Optional<String> username, Optional<String> password, Optional<String> virtualHost, boolean useSSL,
+            Optional<String> groupId, boolean durable,
+            ExchangeType defaultExchangeType,
+            int heartbeatIntervalSec, long networkRecoveryIntervalMs, int prefetchCount, int producerChannelPoolSize) {
         this.charset = charset;
         this.port = port;
         this.host = host;
@@ -45,6 +60,7 @@ public class AmqpBrokerConfig {
         this.heartbeatIntervalSec = heartbeatIntervalSec;
         this.networkRecoveryIntervalMs = networkRecoveryIntervalMs;
         this.prefetchCount = prefetchCount;
+        this.producerChannelPoolSize = producerChannelPoolSize;
     }
 
     public static class AmqpBrokerConfigBuilder {
@@ -61,6 +77,7 @@ public class AmqpBrokerConfig {
         private int heartbeatIntervalSec;
         private long networkRecoveryIntervalMs;
         private int prefetchCount;
+        private int producerChannelPoolSize;
 
         /**
          * Initialize Builder with Config
@@ -89,6 +106,12 @@ public class AmqpBrokerConfig {
             this.heartbeatIntervalSec = ConfigurationUtil.getInt(config, "heartbeatIntervalSec");
             this.networkRecoveryIntervalMs = ConfigurationUtil.getLong(config, "networkRecoveryIntervalMs");
             this.prefetchCount = ConfigurationUtil.getInt(config, "prefetchCount");
+            this.producerChannelPoolSize = config.hasPath("producerChannelPoolSize")
+                    ? ConfigurationUtil.getInt(config, "producerChannelPoolSize")
+                    : DEFAULT_PRODUCER_CHANNEL_POOL_SIZE;
+            if (producerChannelPoolSize < 1) {
+                throw new ConfigurationException(String.format("The 'producerChannelPoolSize' must be positive, got %d", producerChannelPoolSize), null);
+            }
             return this;
         }
 
@@ -98,7 +121,7 @@ public class AmqpBrokerConfig {
         public AmqpBrokerConfig build() {
             return new AmqpBrokerConfig(charset, host, port, username, password, virtualHost, useSSL,
                     groupId, durable, defaultExchangeType,
-                    heartbeatIntervalSec, networkRecoveryIntervalMs, prefetchCount);
+                    heartbeatIntervalSec, networkRecoveryIntervalMs, prefetchCount, producerChannelPoolSize);
         }
     }
 
@@ -157,14 +180,18 @@ public class AmqpBrokerConfig {
     public int getPrefetchCount() {
         return prefetchCount;
     }
+
+    public int getProducerChannelPoolSize() {
+        return producerChannelPoolSize;
+    }
     
     @Override
     public String toString() {
         return String.format("AmqpBrokerConfig [charset=%s, host=%s, port=%d, username=%s, password=xxx, virtualHost=%s, useSSL=%s, groupId=%s, durable=%s, "
                         + "heartbeatIntervalSec=%s, "
-                        + "networkRecoveryIntervalMs=%s, prefetchCount=%s]",
+                        + "networkRecoveryIntervalMs=%s, prefetchCount=%s, producerChannelPoolSize=%s]",
                 charset, host, port, username, virtualHost, useSSL, groupId, durable,
-                heartbeatIntervalSec, networkRecoveryIntervalMs, prefetchCount);
+                heartbeatIntervalSec, networkRecoveryIntervalMs, prefetchCount, producerChannelPoolSize);
     }
 
 }
\ No newline at end of file
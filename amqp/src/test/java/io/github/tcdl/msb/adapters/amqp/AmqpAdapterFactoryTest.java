@@ -5,7 +5,9 @@ import com.rabbitmq.client.ConnectionFactory;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import io.github.tcdl.msb.adapters.ConsumerAdapter;
+import io.github.tcdl.msb.api.AmqpRequestOptions;
 import io.github.tcdl.msb.api.ExchangeType;
+import io.github.tcdl.msb.api.RequestOptions;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.config.amqp.AmqpBrokerConfig;
 import org.junit.Before;
@@ -20,6 +22,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -117,6 +120,17 @@ public class AmqpAdapterFactoryTest {
         assertEquals(amqpBrokerConfig.getGroupId().get(), msbConfigurations.getServiceDetails().getName());
     }
 
+    @Test
+    public void testProducerVariantDependsOnPublisherConfirms() {
+        RequestOptions confirmedRequestOptions = new AmqpRequestOptions.Builder().withPublisherConfirms(true).build();
+        RequestOptions unconfirmedRequestOptions = new AmqpRequestOptions.Builder().build();
+
+        assertNotEquals(amqpAdapterFactory.getProducerVariant(confirmedRequestOptions),
+                amqpAdapterFactory.getProducerVariant(unconfirmedRequestOptions));
+        assertEquals(amqpAdapterFactory.getProducerVariant(RequestOptions.DEFAULTS),
+                amqpAdapterFactory.getProducerVariant(unconfirmedRequestOptions));
+    }
+
     @Test
     public void testShutdown() {
         amqpAdapterFactory.init(msbConfigurations);
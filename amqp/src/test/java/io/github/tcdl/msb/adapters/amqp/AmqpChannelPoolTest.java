@@ -0,0 +1,149 @@
+package io.github.tcdl.msb.adapters.amqp;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AmqpChannelPoolTest {
+
+    private Connection mockConnection;
+    private AmqpConnectionManager mockAmqpConnectionManager;
+    private final List<Channel> createdChannels = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        mockConnection = mock(Connection.class);
+        mockAmqpConnectionManager = mock(AmqpConnectionManager.class);
+        when(mockAmqpConnectionManager.obtainConnection()).thenReturn(mockConnection);
+        when(mockConnection.createChannel()).then(invocation -> {
+            Channel mockChannel = mock(Channel.class);
+            when(mockChannel.isOpen()).thenReturn(true);
+            createdChannels.add(mockChannel);
+            return mockChannel;
+        });
+    }
+
+    @Test
+    public void testReleasedChannelIsReused() throws IOException {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+
+        LoggingAmqpChannel channel = channelPool.acquire();
+        channelPool.release(channel);
+
+        assertSame(channel, channelPool.acquire());
+        verify(mockConnection, times(1)).createChannel();
+    }
+
+    @Test
+    public void testConcurrentPublishersGetDifferentChannels() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+
+        LoggingAmqpChannel firstChannel = channelPool.acquire();
+        LoggingAmqpChannel secondChannel = CompletableFuture.supplyAsync(channelPool::acquire).get(10, TimeUnit.SECONDS);
+
+        assertNotSame(firstChannel, secondChannel);
+        verify(mockConnection, times(2)).createChannel();
+        assertEquals(0, channelPool.getWaits());
+    }
+
+    @Test
+    public void testThreadKeepsPublishingThroughItsChannel() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+
+        // e.g. an ack, the channel is idle once it is published
+        LoggingAmqpChannel channel = channelPool.acquire();
+        channelPool.release(channel);
+        // another thread publishes meanwhile
+        LoggingAmqpChannel otherThreadChannel = CompletableFuture.supplyAsync(channelPool::acquire).get(10, TimeUnit.SECONDS);
+        // e.g. the response that follows the ack
+        LoggingAmqpChannel nextChannel = channelPool.acquire();
+
+        assertSame(channel, nextChannel);
+        assertNotSame(channel, otherThreadChannel);
+    }
+
+    @Test
+    public void testChannelsOfConfirmingPoolAreInConfirmMode() throws IOException {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 1, true);
+
+        LoggingAmqpChannel channel = channelPool.acquire();
+
+        assertNotNull(channelPool.getConfirmTracker(channel));
+        verify(createdChannels.get(0)).confirmSelect();
+    }
+
+    @Test
+    public void testChannelsOfPoolAreNotInConfirmMode() throws IOException {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 1);
+
+        LoggingAmqpChannel channel = channelPool.acquire();
+
+        try {
+            channelPool.getConfirmTracker(channel);
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            verify(createdChannels.get(0), never()).confirmSelect();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testChannelIsReleasedByThreadThatAcquiredIt() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+        LoggingAmqpChannel otherThreadChannel = CompletableFuture.supplyAsync(channelPool::acquire).get(10, TimeUnit.SECONDS);
+
+        channelPool.release(otherThreadChannel);
+    }
+
+    @Test
+    public void testExhaustedPoolWaitsForReleasedChannel() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 1);
+        LoggingAmqpChannel channel = channelPool.acquire();
+
+        CompletableFuture<LoggingAmqpChannel> waitingAcquire = CompletableFuture.supplyAsync(channelPool::acquire);
+        Thread.sleep(50);
+        channelPool.release(channel);
+
+        assertSame(channel, waitingAcquire.get(10, TimeUnit.SECONDS));
+        assertEquals(1, channelPool.getWaits());
+        assertTrue(channelPool.getWaitTimeNanos() > 0);
+        verify(mockConnection, times(1)).createChannel();
+    }
+
+    @Test
+    public void testClosedChannelIsReplaced() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 1);
+        Channel closedChannel = mock(Channel.class);
+        Channel openChannel = mock(Channel.class);
+        when(openChannel.isOpen()).thenReturn(true);
+        doReturn(closedChannel).doReturn(openChannel).when(mockConnection).createChannel();
+        LoggingAmqpChannel channel = channelPool.acquire();
+
+        CompletableFuture<LoggingAmqpChannel> waitingAcquire = CompletableFuture.supplyAsync(channelPool::acquire);
+        Thread.sleep(50);
+        channelPool.release(channel);
+
+        assertNotSame(channel, waitingAcquire.get(10, TimeUnit.SECONDS));
+        verify(closedChannel).abort();
+        verify(mockConnection, times(2)).createChannel();
+    }
+}
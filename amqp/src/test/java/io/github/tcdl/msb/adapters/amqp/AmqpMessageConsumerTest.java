@@ -1,5 +1,6 @@
 package io.github.tcdl.msb.adapters.amqp;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Envelope;
 import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerImpl;
@@ -13,13 +14,18 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -62,7 +68,7 @@ public class AmqpMessageConsumerTest {
         // method under test
         amqpMessageConsumer.handleDelivery(consumerTag, envelope, null, messageStr.getBytes());
 
-        verify(mockMessageHandler, times(1)).onMessage(eq(messageStr), eq(amqpAcknowledgementHandler));
+        verify(mockMessageHandler, times(1)).onMessage(aryEq(messageStr.getBytes()), eq(Charset.forName("UTF-8")), eq((String) null), eq((String) null), eq(amqpAcknowledgementHandler));
 
     }
 
@@ -72,7 +78,7 @@ public class AmqpMessageConsumerTest {
         Envelope envelope = mock(Envelope.class);
         when(envelope.getDeliveryTag()).thenReturn(deliveryTag);
 
-        doThrow(new RejectedExecutionException()).when(mockMessageHandler).onMessage(anyString(), any());
+        doThrow(new RejectedExecutionException()).when(mockMessageHandler).onMessage(any(byte[].class), any(Charset.class), anyString(), anyString(), any());
 
         try {
             amqpMessageConsumer.handleDelivery("consumer tag", envelope, null, "some message".getBytes());
@@ -105,7 +111,7 @@ public class AmqpMessageConsumerTest {
         Envelope envelope = mock(Envelope.class);
         when(envelope.getDeliveryTag()).thenReturn(deliveryTag);
 
-        doThrow(new RejectedExecutionException()).when(mockMessageHandler).onMessage(anyString(), any());
+        doThrow(new RejectedExecutionException()).when(mockMessageHandler).onMessage(any(byte[].class), any(Charset.class), anyString(), anyString(), any());
         doThrow(new RuntimeException()).when(mockChannel).basicReject(eq(deliveryTag), anyBoolean());
 
         try {
@@ -118,7 +124,8 @@ public class AmqpMessageConsumerTest {
 
     @Test
     public void testProperCharsetUsed() throws IOException {
-        when(mockBrokerConfig.getCharset()).thenReturn(Charset.forName("UTF-32"));
+        Charset utf32 = Charset.forName("UTF-32");
+        when(mockBrokerConfig.getCharset()).thenReturn(utf32);
 
         byte[] encodedMessage = new byte[] { 0, 0, 0, -10 }; // In UTF-32 ö is mapped to 000000f6
         String expectedDecodedMessage = "ö";
@@ -129,8 +136,41 @@ public class AmqpMessageConsumerTest {
         AmqpMessageConsumer consumer = new AmqpMessageConsumer(mockChannel, mockMessageHandler, mockBrokerConfig);
         consumer.handleDelivery("some tag", envelope, null, encodedMessage);
 
-        verify(mockMessageHandler, times(1)).onMessage(eq(expectedDecodedMessage), any());
+        verify(mockMessageHandler, times(1)).onMessage(aryEq(encodedMessage), eq(utf32), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void testStringHandlerReceivesDecodedBody() throws IOException {
+        when(mockBrokerConfig.getCharset()).thenReturn(Charset.forName("UTF-32"));
+
+        byte[] encodedMessage = new byte[] { 0, 0, 0, -10 }; // In UTF-32 ö is mapped to 000000f6
+        String expectedDecodedMessage = "ö";
+
+        Envelope envelope = mock(Envelope.class);
+        when(envelope.getDeliveryTag()).thenReturn(1234L);
+
+        List<String> receivedMessages = new ArrayList<>();
+        ConsumerAdapter.RawMessageHandler stringMessageHandler = (jsonMessage, ackHandler) -> receivedMessages.add(jsonMessage);
+
+        AmqpMessageConsumer consumer = new AmqpMessageConsumer(mockChannel, stringMessageHandler, mockBrokerConfig);
+        consumer.handleDelivery("some tag", envelope, null, encodedMessage);
+
+        assertEquals(Collections.singletonList(expectedDecodedMessage), receivedMessages);
+    }
+
+    @Test
+    public void testContentTypeAndEncodingPassedToHandler() throws IOException {
+        byte[] body = new byte[] { 1, 2, 3 };
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType("application/x-jackson-smile")
+                .contentEncoding("deflate")
+                .build();
+        Envelope envelope = mock(Envelope.class);
+        when(envelope.getDeliveryTag()).thenReturn(1234L);
+
+        amqpMessageConsumer.handleDelivery("consumer tag", envelope, properties, body);
 
+        verify(mockMessageHandler, times(1)).onMessage(aryEq(body), eq(Charset.forName("UTF-8")), eq("application/x-jackson-smile"), eq("deflate"), eq(amqpAcknowledgementHandler));
     }
 
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package io.github.tcdl.msb.adapters.amqp;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.MessageProperties;
 import io.github.tcdl.msb.api.ExchangeType;
@@ -11,13 +12,25 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.AdditionalMatchers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
-
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 public class AmqpProducerAdapterTest {
@@ -37,6 +50,7 @@ public class AmqpProducerAdapterTest {
 
         when(mockAmqpConnectionManager.obtainConnection()).thenReturn(mockConnection);
         when(mockConnection.createChannel()).thenReturn(mockChannel);
+        when(mockChannel.isOpen()).thenReturn(true);
     }
 
     @Test
@@ -80,6 +94,96 @@ public class AmqpProducerAdapterTest {
         verify(mockChannel).basicPublish(TOPIC_NAME, routingKey, MessageProperties.PERSISTENT_BASIC, message.getBytes());
     }
 
+    @Test
+    public void testPublishBinaryWithContentTypeAndEncoding() throws Exception {
+        byte[] message = new byte[] { 1, 2, 3 };
+        String routingKey = "routingKey";
+        AmqpProducerAdapter producerAdapter = new AmqpProducerAdapter(TOPIC_NAME, ExchangeType.TOPIC, mockAmqpBrokerConfig, mockAmqpConnectionManager);
+        ArgumentCaptor<AMQP.BasicProperties> propertiesCaptor = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+
+        producerAdapter.publish(message, "application/x-jackson-smile", "deflate", routingKey);
+
+        verify(mockChannel).basicPublish(eq(TOPIC_NAME), eq(routingKey), propertiesCaptor.capture(), AdditionalMatchers.aryEq(message));
+        assertEquals("application/x-jackson-smile", propertiesCaptor.getValue().getContentType());
+        assertEquals("deflate", propertiesCaptor.getValue().getContentEncoding());
+        assertEquals(MessageProperties.PERSISTENT_BASIC.getDeliveryMode(), propertiesCaptor.getValue().getDeliveryMode());
+    }
+
+    @Test
+    public void testPublishWithoutPublisherConfirms() throws Exception {
+        AmqpProducerAdapter producerAdapter = new AmqpProducerAdapter(TOPIC_NAME, ExchangeType.FANOUT, mockAmqpBrokerConfig, mockAmqpConnectionManager);
+
+        CompletionStage<Void> result = producerAdapter.publishAsync("message", StringUtils.EMPTY);
+
+        assertTrue(result.toCompletableFuture().isDone());
+        verify(mockChannel, never()).confirmSelect();
+    }
+
+    @Test
+    public void testPublishWithPublisherConfirms() throws Exception {
+        when(mockChannel.getNextPublishSeqNo()).thenReturn(1L);
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 1, true);
+        AmqpProducerAdapter producerAdapter = new AmqpProducerAdapter(TOPIC_NAME, ExchangeType.FANOUT, mockAmqpBrokerConfig, channelPool);
+
+        CompletionStage<Void> result = producerAdapter.publishAsync("message", StringUtils.EMPTY);
+
+        ArgumentCaptor<ConfirmListener> confirmListenerCaptor = ArgumentCaptor.forClass(ConfirmListener.class);
+        verify(mockChannel).confirmSelect();
+        verify(mockChannel).addConfirmListener(confirmListenerCaptor.capture());
+        verify(mockChannel).basicPublish(TOPIC_NAME, StringUtils.EMPTY, MessageProperties.PERSISTENT_BASIC, "message".getBytes());
+        assertFalse(result.toCompletableFuture().isDone());
+
+        confirmListenerCaptor.getValue().handleAck(1, true);
+        assertTrue(result.toCompletableFuture().isDone());
+    }
+
+    @Test
+    public void testPublishThroughPooledChannel() throws Exception {
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+        AmqpProducerAdapter producerAdapter = new AmqpProducerAdapter(TOPIC_NAME, ExchangeType.FANOUT, mockAmqpBrokerConfig, channelPool);
+
+        producerAdapter.publish("message1");
+        producerAdapter.publish("message2");
+
+        verify(mockChannel, times(2)).basicPublish(eq(TOPIC_NAME), eq(StringUtils.EMPTY), any(AMQP.BasicProperties.class), any(byte[].class));
+        // publishing sequentially reuses the channel the exchange has been declared through
+        verify(mockAmqpConnectionManager, times(1)).obtainConnection();
+    }
+
+    @Test
+    public void testAckAndResponseArePublishedInOrderThroughSameChannel() throws Exception {
+        CountDownLatch otherMessagePublishing = new CountDownLatch(1);
+        CountDownLatch responsePublished = new CountDownLatch(1);
+        List<Channel> channels = new CopyOnWriteArrayList<>();
+        when(mockAmqpConnectionManager.obtainConnection().createChannel()).then(invocation -> {
+            Channel channel = mock(Channel.class);
+            when(channel.isOpen()).thenReturn(true);
+            // another thread keeps publishing until the response is published
+            doAnswer(publishing -> {
+                otherMessagePublishing.countDown();
+                responsePublished.await(10, TimeUnit.SECONDS);
+                return null;
+            }).when(channel).basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), AdditionalMatchers.aryEq("other".getBytes()));
+            channels.add(channel);
+            return channel;
+        });
+        AmqpChannelPool channelPool = new AmqpChannelPool(mockAmqpConnectionManager, 2);
+        AmqpProducerAdapter producerAdapter = new AmqpProducerAdapter(TOPIC_NAME, ExchangeType.FANOUT, mockAmqpBrokerConfig, channelPool);
+
+        producerAdapter.publish("ack");
+        CompletableFuture<Void> otherPublishing = CompletableFuture.runAsync(() -> producerAdapter.publish("other"));
+        assertTrue(otherMessagePublishing.await(10, TimeUnit.SECONDS));
+        producerAdapter.publish("response");
+        responsePublished.countDown();
+        otherPublishing.get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, channels.size());
+        Channel channel = channels.get(0);
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).basicPublish(TOPIC_NAME, StringUtils.EMPTY, MessageProperties.PERSISTENT_BASIC, "ack".getBytes());
+        inOrder.verify(channel).basicPublish(TOPIC_NAME, StringUtils.EMPTY, MessageProperties.PERSISTENT_BASIC, "response".getBytes());
+    }
+
     @Test
     public void testProperCharsetUsed() throws IOException {
         when(mockAmqpBrokerConfig.getCharset()).thenReturn(Charset.forName("UTF-32"));
@@ -0,0 +1,165 @@
+package io.github.tcdl.msb.adapters.amqp;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import io.github.tcdl.msb.api.exception.ChannelException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PublisherConfirmTrackerTest {
+
+    private Channel mockChannel;
+    private PublisherConfirmTracker confirmTracker;
+    private final AtomicLong nextPublishSeqNo = new AtomicLong(1);
+    private final Queue<Runnable> republications = new ConcurrentLinkedQueue<>();
+
+    @Before
+    public void setUp() throws IOException {
+        Connection mockConnection = mock(Connection.class);
+        mockChannel = mock(Channel.class);
+        AmqpConnectionManager mockAmqpConnectionManager = mock(AmqpConnectionManager.class);
+        when(mockAmqpConnectionManager.obtainConnection()).thenReturn(mockConnection);
+        when(mockConnection.createChannel()).thenReturn(mockChannel);
+        when(mockChannel.getNextPublishSeqNo()).then(invocation -> nextPublishSeqNo.get());
+
+        confirmTracker = new PublisherConfirmTracker(LoggingAmqpChannel.instance(mockAmqpConnectionManager), republications::add);
+    }
+
+    @Test
+    public void testConfirmModeIsEnabled() throws IOException {
+        verify(mockChannel).confirmSelect();
+        verify(mockChannel).addConfirmListener(confirmTracker);
+    }
+
+    @Test
+    public void testAckConfirmsSingleMessage() {
+        CompletableFuture<Void> first = publish();
+        CompletableFuture<Void> second = publish();
+
+        confirmTracker.handleAck(2, false);
+
+        assertFalse(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(1, confirmTracker.getOutstandingConfirms());
+    }
+
+    @Test
+    public void testMultipleAckConfirmsAllPrecedingMessages() {
+        CompletableFuture<Void> first = publish();
+        CompletableFuture<Void> second = publish();
+        CompletableFuture<Void> third = publish();
+
+        confirmTracker.handleAck(2, true);
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, confirmTracker.getOutstandingConfirms());
+    }
+
+    @Test
+    public void testNackedMessageIsPublishedAgain() {
+        AtomicInteger publications = new AtomicInteger();
+        CompletableFuture<Void> result = publish(publications);
+
+        confirmTracker.handleNack(1, false);
+
+        assertEquals(1, publications.get());
+        runRepublications();
+        assertEquals(2, publications.get());
+        assertFalse(result.isDone());
+
+        confirmTracker.handleAck(2, false);
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testMessageFailsIfNackedRepeatedly() {
+        AtomicInteger publications = new AtomicInteger();
+        CompletableFuture<Void> result = publish(publications);
+
+        for (long deliveryTag = 1; deliveryTag <= PublisherConfirmTracker.MAX_REPUBLISH_ATTEMPTS + 1; deliveryTag++) {
+            confirmTracker.handleNack(deliveryTag, true);
+            runRepublications();
+        }
+
+        assertEquals(PublisherConfirmTracker.MAX_REPUBLISH_ATTEMPTS + 1, publications.get());
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, confirmTracker.getOutstandingConfirms());
+    }
+
+    @Test
+    public void testMessageFailsIfRepublishingIsRejected() {
+        PublisherConfirmTracker confirmTracker = new PublisherConfirmTracker(mock(LoggingAmqpChannel.class), republication -> {
+            throw new RejectedExecutionException();
+        });
+        CompletableFuture<Void> result = confirmTracker.publish(() -> {}).toCompletableFuture();
+
+        confirmTracker.handleNack(0, false);
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testFailedPublishingIsNotTracked() {
+        try {
+            confirmTracker.publish(() -> {
+                throw new ChannelException("basic.publish call failed", null);
+            });
+            fail("Exception expected");
+        } catch (ChannelException e) {
+            assertEquals(0, confirmTracker.getOutstandingConfirms());
+        }
+    }
+
+    @Test
+    public void testShutdownFailsOutstandingMessages() {
+        ArgumentCaptor<ShutdownListener> shutdownListenerCaptor = ArgumentCaptor.forClass(ShutdownListener.class);
+        CompletableFuture<Void> result = publish();
+
+        verify(mockChannel, atLeastOnce()).addShutdownListener(shutdownListenerCaptor.capture());
+        shutdownListenerCaptor.getAllValues().forEach(listener -> listener.shutdownCompleted(mock(ShutdownSignalException.class)));
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, confirmTracker.getOutstandingConfirms());
+    }
+
+    private void runRepublications() {
+        Runnable republication;
+        while ((republication = republications.poll()) != null) {
+            republication.run();
+        }
+    }
+
+    private CompletableFuture<Void> publish() {
+        return publish(new AtomicInteger());
+    }
+
+    private CompletableFuture<Void> publish(AtomicInteger publications) {
+        return confirmTracker.publish(() -> {
+            publications.incrementAndGet();
+            nextPublishSeqNo.incrementAndGet();
+        }).toCompletableFuture();
+    }
+}
@@ -66,7 +66,38 @@ public class AmqpBrokerConfigTest {
         assertEquals(networkRecoveryIntervalMs, brokerConfig.getNetworkRecoveryIntervalMs());
         
         assertEquals(prefetchCount, brokerConfig.getPrefetchCount());
-        
+        assertEquals(AmqpBrokerConfig.DEFAULT_PRODUCER_CHANNEL_POOL_SIZE, brokerConfig.getProducerChannelPoolSize());
+    }
+
+    @Test
+    public void testProducerChannelPoolSizeConfigurationOption() {
+        Config amqpConfig = ConfigFactory.parseString(producerChannelPoolSizeConfig(3)).getConfig("config.amqp");
+
+        AmqpBrokerConfig brokerConfig = new AmqpBrokerConfig.AmqpBrokerConfigBuilder().withConfig(amqpConfig).build();
+
+        assertEquals(3, brokerConfig.getProducerChannelPoolSize());
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidProducerChannelPoolSizeConfigurationOption() {
+        Config amqpConfig = ConfigFactory.parseString(producerChannelPoolSizeConfig(0)).getConfig("config.amqp");
+
+        new AmqpBrokerConfig.AmqpBrokerConfigBuilder().withConfig(amqpConfig).build();
+    }
+
+    private String producerChannelPoolSizeConfig(int producerChannelPoolSize) {
+        return "config.amqp {"
+                + " charsetName = \"" + charsetName + "\"\n"
+                + " host = \"" + host + "\"\n"
+                + " port = \"" + port + "\"\n"
+                + " useSSL = \"" + useSSL + "\"\n"
+                + " durable = " + durable + "\n"
+                + " defaultExchangeType = " + exchangeType + "\n"
+                + " heartbeatIntervalSec = " + heartbeatIntervalSec + "\n"
+                + " networkRecoveryIntervalMs = " + networkRecoveryIntervalMs + "\n"
+                + " prefetchCount = " + prefetchCount + "\n"
+                + " producerChannelPoolSize = " + producerChannelPoolSize + "\n"
+                + "}";
     }
 
     @Test
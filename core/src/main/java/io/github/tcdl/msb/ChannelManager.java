@@ -7,18 +7,23 @@ import io.github.tcdl.msb.adapters.ProducerAdapter;
 import io.github.tcdl.msb.api.RequestOptions;
 import io.github.tcdl.msb.api.ResponderOptions;
 import io.github.tcdl.msb.api.exception.ConsumerSubscriptionException;
+import io.github.tcdl.msb.codec.MessageCodecs;
+import io.github.tcdl.msb.codec.MessageCompressor;
 import io.github.tcdl.msb.collector.CollectorManager;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.impl.SimpleMessageHandlerResolverImpl;
 import io.github.tcdl.msb.support.JsonValidator;
 import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.threading.DecodeStage;
 import io.github.tcdl.msb.threading.MessageHandlerInvoker;
+import io.github.tcdl.msb.threading.PublishStage;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Clock;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -36,19 +41,53 @@ public class ChannelManager {
     private final ObjectMapper messageMapper;
     private final AdapterFactory adapterFactory;
     private final MessageHandlerInvoker messageHandlerInvoker;
+    private final MessageCodecs codecs;
+    private final MessageCompressor compressor;
+    private final DecodeStage decodeStage;
+    private final PublishStage publishStage;
 
-    private final Map<String, Producer> producersByTopic;
+    private final Map<ProducerKey, Producer> producers;
     private final Map<String, Consumer> consumersByTopic;
 
     public ChannelManager(MsbConfig msbConfig, Clock clock, JsonValidator validator, ObjectMapper messageMapper, AdapterFactory adapterFactory, MessageHandlerInvoker messageHandlerInvoker) {
+        this(msbConfig, clock, validator, messageMapper, adapterFactory, messageHandlerInvoker,
+                MessageCodecs.create(msbConfig, messageMapper), MessageCompressor.create(msbConfig));
+    }
+
+    public ChannelManager(MsbConfig msbConfig, Clock clock, JsonValidator validator, ObjectMapper messageMapper, AdapterFactory adapterFactory,
+            MessageHandlerInvoker messageHandlerInvoker, MessageCodecs codecs, MessageCompressor compressor) {
+        this(msbConfig, clock, validator, messageMapper, adapterFactory, messageHandlerInvoker, codecs, compressor,
+                DecodeStage.create(msbConfig, true));
+    }
+
+    /**
+     * @param decodeStage decodes consumed messages off the broker I/O threads, null if messages are decoded on them
+     */
+    public ChannelManager(MsbConfig msbConfig, Clock clock, JsonValidator validator, ObjectMapper messageMapper, AdapterFactory adapterFactory,
+            MessageHandlerInvoker messageHandlerInvoker, MessageCodecs codecs, MessageCompressor compressor, DecodeStage decodeStage) {
+        this(msbConfig, clock, validator, messageMapper, adapterFactory, messageHandlerInvoker, codecs, compressor, decodeStage,
+                PublishStage.create(msbConfig));
+    }
+
+    /**
+     * @param decodeStage decodes consumed messages off the broker I/O threads, null if messages are decoded on them
+     * @param publishStage publishes messages off the publishing threads, null if messages are published on them
+     */
+    public ChannelManager(MsbConfig msbConfig, Clock clock, JsonValidator validator, ObjectMapper messageMapper, AdapterFactory adapterFactory,
+            MessageHandlerInvoker messageHandlerInvoker, MessageCodecs codecs, MessageCompressor compressor, DecodeStage decodeStage,
+            PublishStage publishStage) {
         this.msbConfig = msbConfig;
         this.clock = clock;
         this.validator = validator;
         this.messageMapper = messageMapper;
         this.adapterFactory = adapterFactory;
         this.messageHandlerInvoker = messageHandlerInvoker;
+        this.codecs = codecs;
+        this.compressor = compressor;
+        this.decodeStage = decodeStage;
+        this.publishStage = publishStage;
 
-        this.producersByTopic = new ConcurrentHashMap<>();
+        this.producers = new ConcurrentHashMap<>();
         this.consumersByTopic = new ConcurrentHashMap<>();
     }
 
@@ -56,8 +95,10 @@ public class ChannelManager {
         Validate.notEmpty(topic, "Topic is mandatory");
         Validate.notNull(requestOptions, "RequestOptions are mandatory");
 
-        Producer producer = producersByTopic.computeIfAbsent(topic, key -> {
-            Producer newProducer = createProducer(key, isResponseTopic, requestOptions);
+        // request options that require a different producer adapter get a producer of their own
+        ProducerKey producerKey = new ProducerKey(topic, adapterFactory.getProducerVariant(requestOptions));
+        Producer producer = producers.computeIfAbsent(producerKey, key -> {
+            Producer newProducer = createProducer(key.topic, isResponseTopic, requestOptions);
             return newProducer;
         });
 
@@ -72,6 +113,49 @@ public class ChannelManager {
         return Optional.ofNullable(consumersByTopic.get(topic)).flatMap(Consumer::isConnected);
     }
 
+    public Optional<Long> getValidatedMessageCount(String topic) {
+        return Optional.ofNullable(consumersByTopic.get(topic)).map(Consumer::getValidatedMessageCount);
+    }
+
+    public Optional<Long> getValidationTimeNanos(String topic) {
+        return Optional.ofNullable(consumersByTopic.get(topic)).map(Consumer::getValidationTimeNanos);
+    }
+
+    /**
+     * @return number of messages waiting to be published to all topics or empty if the publish stage is disabled
+     */
+    public Optional<Long> getPublishQueueDepth() {
+        return Optional.ofNullable(publishStage).map(PublishStage::getQueueDepth);
+    }
+
+    /**
+     * @return number of messages dropped because the publish queue was full or empty if the publish stage is disabled
+     */
+    public Optional<Long> getDroppedPublishedMessages() {
+        return Optional.ofNullable(publishStage).map(PublishStage::getDroppedMessages);
+    }
+
+    /**
+     * @return number of times a producer waited for a broker channel or empty if the adapter doesn't pool channels
+     */
+    public Optional<Long> getProducerChannelWaits() {
+        return adapterFactory.getProducerChannelWaits();
+    }
+
+    /**
+     * @return time in nanoseconds producers waited for broker channels or empty if the adapter doesn't pool channels
+     */
+    public Optional<Long> getProducerChannelWaitTimeNanos() {
+        return adapterFactory.getProducerChannelWaitTimeNanos();
+    }
+
+    /**
+     * @return compressor shared by all producers and consumers, it holds compression statistics
+     */
+    public MessageCompressor getCompressor() {
+        return compressor;
+    }
+
     /**
      * Start consuming messages on specified topic with handler.
      * Calls to subscribe() and unsubscribe() have to be properly synchronized by client code not to lose messages.
@@ -137,20 +221,56 @@ public class ChannelManager {
     private Producer createProducer(String topic, boolean isResponseTopic, RequestOptions requestOptions) {
         Utils.validateTopic(topic);
         ProducerAdapter adapter = this.adapterFactory.createProducerAdapter(topic, isResponseTopic, requestOptions);
-        return new Producer(adapter, topic, messageMapper);
+        PublishStage.Lane publishLane = publishStage != null ? publishStage.createLane(topic) : null;
+        return new Producer(adapter, topic, messageMapper, codecs.getPublishingCodec(), compressor, publishLane);
     }
 
     private Consumer createConsumer(String topic, boolean isResponseTopic, ResponderOptions responderOptions, MessageHandlerResolver messageHandlerResolver) {
         Utils.validateTopic(topic);
         ConsumerAdapter adapter = this.adapterFactory.createConsumerAdapter(topic, isResponseTopic, responderOptions);
-        return new Consumer(adapter, messageHandlerInvoker, topic, messageHandlerResolver, msbConfig, clock, validator, messageMapper);
+        return new Consumer(adapter, messageHandlerInvoker, topic, messageHandlerResolver, msbConfig, clock, validator, messageMapper, codecs, compressor, decodeStage);
     }
 
     public void shutdown() {
         LOG.info("Shutting down...");
         consumersByTopic.values().forEach(this::stopConsumer);
+        if (decodeStage != null) {
+            decodeStage.shutdown();
+        }
         messageHandlerInvoker.shutdown();
+        if (publishStage != null) {
+            // messages published by the handlers have to reach the broker before the connection is closed
+            publishStage.shutdown();
+        }
         adapterFactory.shutdown();
         LOG.info("Shutdown complete");
     }
+
+    private static final class ProducerKey {
+
+        private final String topic;
+        private final Object variant;
+
+        ProducerKey(String topic, Object variant) {
+            this.topic = topic;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ProducerKey that = (ProducerKey) o;
+            return topic.equals(that.topic) && Objects.equals(variant, that.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(topic, variant);
+        }
+    }
 }
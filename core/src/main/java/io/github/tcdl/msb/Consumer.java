@@ -1,25 +1,39 @@
 package io.github.tcdl.msb;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.main.JsonSchema;
 import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
 import io.github.tcdl.msb.adapters.ConsumerAdapter;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.message.MetaMessage;
+import io.github.tcdl.msb.codec.JsonMessageCodec;
+import io.github.tcdl.msb.codec.MessageCodec;
+import io.github.tcdl.msb.codec.MessageCodecs;
+import io.github.tcdl.msb.codec.MessageCompressor;
 import io.github.tcdl.msb.collector.ConsumedMessagesAwareMessageHandler;
 import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.message.MessageHeaderDecoder;
+import io.github.tcdl.msb.message.MessageHeaderDecoder.PartiallyDecodedMessage;
 import io.github.tcdl.msb.support.JsonValidator;
 import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.threading.DecodeStage;
+import io.github.tcdl.msb.threading.MdcLogging;
 import io.github.tcdl.msb.threading.MessageHandlerInvoker;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * {@link Consumer} is a component responsible for consuming messages from the bus.
@@ -27,6 +41,7 @@ import java.util.Optional;
 public class Consumer {
 
     private static final Logger LOG = LoggerFactory.getLogger(Consumer.class);
+    private static final String PAYLOAD_FIELD = "payload";
 
     private final ConsumerAdapter rawAdapter;
     private final MessageHandlerInvoker messageHandlerInvoker;
@@ -36,8 +51,22 @@ public class Consumer {
     private final MessageHandlerResolver messageHandlerResolver;
     private final JsonValidator validator;
     private final ObjectMapper messageMapper;
+    private final MessageHeaderDecoder headerDecoder;
+    private final MessageCodecs codecs;
+    private final MessageCompressor compressor;
     private final String loggingTag;
-    private final boolean isSplitTagsForMdcLogging;
+    //null if MDC logging is disabled
+    private final MdcLogging mdcLogging;
+    //null if messages are decoded on the broker I/O thread
+    private final DecodeStage.Lane decodeLane;
+
+    //Compiled schemas for this topic, messageSchema is null if validation is disabled
+    private final JsonSchema messageSchema;
+    private final JsonSchema payloadSchema;
+    private final int validationSampleRate;
+    private final AtomicLong validationSampleCounter = new AtomicLong();
+    private final LongAdder validatedMessageCount = new LongAdder();
+    private final LongAdder validationTimeNanos = new LongAdder();
 
     /**
      * @param rawAdapter instance of {@link ConsumerAdapter} that allows to receive messages from message bus
@@ -51,6 +80,29 @@ public class Consumer {
     public Consumer(ConsumerAdapter rawAdapter, MessageHandlerInvoker messageHandlerInvoker,
             String topic, MessageHandlerResolver messageHandlerResolver, MsbConfig msbConfig,
             Clock clock, JsonValidator validator, ObjectMapper messageMapper) {
+        this(rawAdapter, messageHandlerInvoker, topic, messageHandlerResolver, msbConfig, clock, validator, messageMapper,
+                MessageCodecs.json(messageMapper), MessageCompressor.disabled());
+    }
+
+    /**
+     * @param codecs codecs incoming messages can be decoded with
+     * @param compressor decompresses incoming messages
+     */
+    public Consumer(ConsumerAdapter rawAdapter, MessageHandlerInvoker messageHandlerInvoker,
+            String topic, MessageHandlerResolver messageHandlerResolver, MsbConfig msbConfig,
+            Clock clock, JsonValidator validator, ObjectMapper messageMapper, MessageCodecs codecs, MessageCompressor compressor) {
+        this(rawAdapter, messageHandlerInvoker, topic, messageHandlerResolver, msbConfig, clock, validator, messageMapper,
+                codecs, compressor, null);
+    }
+
+    /**
+     * @param decodeStage decodes incoming messages instead of the broker I/O thread, null means messages are decoded
+     *                    on the thread they are consumed by
+     */
+    public Consumer(ConsumerAdapter rawAdapter, MessageHandlerInvoker messageHandlerInvoker,
+            String topic, MessageHandlerResolver messageHandlerResolver, MsbConfig msbConfig,
+            Clock clock, JsonValidator validator, ObjectMapper messageMapper, MessageCodecs codecs, MessageCompressor compressor,
+            DecodeStage decodeStage) {
 
         LOG.debug("Creating consumer for topic: {}", topic);
         Validate.notNull(rawAdapter, "the 'rawAdapter' must not be null");
@@ -61,6 +113,8 @@ public class Consumer {
         Validate.notNull(clock, "the 'clock' must not be null");
         Validate.notNull(validator, "the 'validator' must not be null");
         Validate.notNull(messageMapper, "the 'messageMapper' must not be null");
+        Validate.notNull(codecs, "the 'codecs' must not be null");
+        Validate.notNull(compressor, "the 'compressor' must not be null");
 
         this.rawAdapter = rawAdapter;
         this.messageHandlerInvoker = messageHandlerInvoker;
@@ -70,16 +124,45 @@ public class Consumer {
         this.clock = clock;
         this.validator = validator;
         this.messageMapper = messageMapper;
+        this.headerDecoder = new MessageHeaderDecoder(messageMapper);
+        this.codecs = codecs;
+        this.compressor = compressor;
 
         this.loggingTag = String.format("[Consumer for: '%s' on topic: '%s']", messageHandlerResolver.getLoggingName(), topic);
-        this.isSplitTagsForMdcLogging = !StringUtils.isEmpty(msbConfig.getMdcLoggingSplitTagsBy());
+        this.mdcLogging = MdcLogging.create(msbConfig);
+        this.decodeLane = decodeStage != null ? decodeStage.createLane() : null;
+
+        if (isValidationRequired()) {
+            this.messageSchema = validator.compile(msbConfig.getSchema());
+            this.payloadSchema = msbConfig.getPayloadSchema(topic).map(validator::compile).orElse(null);
+        } else {
+            this.messageSchema = null;
+            this.payloadSchema = null;
+        }
+        this.validationSampleRate = msbConfig.getValidationSampleRate();
     }
 
     /**
      * Start consuming messages
      */
     public void subscribe() {
-        this.rawAdapter.subscribe(this::handleRawMessage);
+        this.rawAdapter.subscribe(new ConsumerAdapter.RawMessageHandler() {
+            @Override
+            public void onMessage(String jsonMessage, AcknowledgementHandlerInternal acknowledgementHandler) {
+                handleRawMessage(jsonMessage, acknowledgementHandler);
+            }
+
+            @Override
+            public void onMessage(byte[] body, Charset charset, AcknowledgementHandlerInternal acknowledgementHandler) {
+                handleRawMessage(body, charset, acknowledgementHandler);
+            }
+
+            @Override
+            public void onMessage(byte[] body, Charset charset, String contentType, String contentEncoding,
+                    AcknowledgementHandlerInternal acknowledgementHandler) {
+                handleRawMessage(body, charset, contentType, contentEncoding, acknowledgementHandler);
+            }
+        });
     }
 
     /**
@@ -107,6 +190,20 @@ public class Consumer {
         return rawAdapter.isConnected();
     }
 
+    /**
+     * @return number of messages validated against JSON schema
+     */
+    public long getValidatedMessageCount() {
+        return validatedMessageCount.sum();
+    }
+
+    /**
+     * @return total time in nanoseconds spent on validation of messages against JSON schema
+     */
+    public long getValidationTimeNanos() {
+        return validationTimeNanos.sum();
+    }
+
     /**
      * Process raw incoming message JSON. If Message JSON is invalid or the message has been expired, the message
      * will be rejected by means of {@link AcknowledgementHandlerInternal}.
@@ -114,28 +211,91 @@ public class Consumer {
      * @param jsonMessage message to process
      */
     protected void handleRawMessage(String jsonMessage, AcknowledgementHandlerInternal acknowledgeHandler) {
+        handleRawMessage(jsonMessage, () -> parseMessage(jsonMessage), acknowledgeHandler);
+    }
+
+    /**
+     * Process raw incoming message bytes. The body is parsed directly from bytes and is decoded into a String
+     * only if it has to be logged.
+     *
+     * @param body message to process
+     * @param charset charset the message was encoded with
+     */
+    protected void handleRawMessage(byte[] body, Charset charset, AcknowledgementHandlerInternal acknowledgeHandler) {
+        handleRawMessage(body, charset, null, null, acknowledgeHandler);
+    }
+
+    /**
+     * Process raw incoming message bytes encoded by the codec identified by the given content type.
+     * Messages without a known content type are treated as JSON. Compressed messages are decompressed
+     * along with the parsing.
+     *
+     * @param body message to process
+     * @param charset charset configured for the broker
+     * @param contentType content type the message was published with, may be null
+     * @param contentEncoding compression the message was published with, may be null
+     */
+    protected void handleRawMessage(byte[] body, Charset charset, String contentType, String contentEncoding,
+            AcknowledgementHandlerInternal acknowledgeHandler) {
+        RawBody rawBody = new RawBody(body, charset, codecs.forContentType(contentType), contentEncoding);
+        handleRawMessage(rawBody, () -> parseMessage(rawBody), acknowledgeHandler);
+    }
+
+    /**
+     * Only the message envelope is decoded before the message is either rejected or dispatched,
+     * the payload is attached once a {@link MessageHandler} has been resolved for the message and is decoded
+     * only when the handler accesses it. If a {@link DecodeStage} is configured, the message is handed off to it
+     * right away and both decoding and dispatching happen on a decode thread.
+     *
+     * @param jsonMessage raw message representation used for logging only
+     * @param parser parses the raw message
+     */
+    private void handleRawMessage(Object jsonMessage, Supplier<PartiallyDecodedMessage> parser, AcknowledgementHandlerInternal acknowledgeHandler) {
         LOG.debug("{} message received.", loggingTag);
         LOG.trace("Message: {}", jsonMessage);
 
-        Message message;
+        if (decodeLane != null) {
+            try {
+                decodeLane.submit(() -> decode(jsonMessage, parser, acknowledgeHandler),
+                        decodedMessage -> dispatch(jsonMessage, decodedMessage, acknowledgeHandler));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("{} Unable to hand message off for decoding.", loggingTag, e);
+                acknowledgeHandler.autoRetry();
+            }
+            return;
+        }
 
+        PartiallyDecodedMessage partiallyDecodedMessage = decode(jsonMessage, parser, acknowledgeHandler);
+        if (partiallyDecodedMessage != null) {
+            dispatch(jsonMessage, partiallyDecodedMessage, acknowledgeHandler);
+        }
+    }
+
+    /**
+     * @return decoded message or null if the message can't be decoded and has been rejected
+     */
+    private PartiallyDecodedMessage decode(Object jsonMessage, Supplier<PartiallyDecodedMessage> parser, AcknowledgementHandlerInternal acknowledgeHandler) {
         try {
-            message = parseMessage(jsonMessage);
+            return parser.get();
         } catch (Exception e) {
             LOG.error("{} ", loggingTag, e);
             LOG.trace("Unable to process consumed message: {}", jsonMessage);
             acknowledgeHandler.autoReject();
-            return;
+            return null;
         }
+    }
 
+    private void dispatch(Object jsonMessage, PartiallyDecodedMessage partiallyDecodedMessage, AcknowledgementHandlerInternal acknowledgeHandler) {
+        Message message = partiallyDecodedMessage.getHeaders();
         ConsumedMessagesAwareMessageHandler consumedMessagesAwareMessageHandler = null;
 
         try {
-            if(msbConfig.isMdcLogging()) {
-                saveMdc(message);
+            if (LOG.isDebugEnabled()) {
+                populateMdc(message);
             }
 
             if (isMessageExpired(message)) {
+                populateMdc(message);
                 LOG.warn("[correlation id: {}, message id: {}] {} Expired message. ", message.getCorrelationId(), message.getId(), loggingTag);
                 LOG.trace("Message: {}", jsonMessage);
                 acknowledgeHandler.autoReject();
@@ -145,17 +305,33 @@ public class Consumer {
             Optional<MessageHandler> optionalMessageHandler = messageHandlerResolver.resolveMessageHandler(message);
             if(optionalMessageHandler.isPresent()) {
                 MessageHandler messageHandler = optionalMessageHandler.get();
+                Message decodedMessage;
+                try {
+                    decodedMessage = partiallyDecodedMessage.decodeMessage();
+                } catch (Exception e) {
+                    LOG.error("[correlation id: {}, message id: {}] {} Unable to parse message payload.",
+                            message.getCorrelationId(), message.getId(), loggingTag, e);
+                    LOG.trace("Message: {}", jsonMessage);
+                    acknowledgeHandler.autoReject();
+                    return;
+                }
                 if(messageHandler instanceof ConsumedMessagesAwareMessageHandler) {
                     consumedMessagesAwareMessageHandler = ((ConsumedMessagesAwareMessageHandler) messageHandler);
                     consumedMessagesAwareMessageHandler.notifyMessageConsumed();
                 }
-                messageHandlerInvoker.execute(messageHandler, message, acknowledgeHandler);
+                if (mdcLogging != null) {
+                    mdcLogging.execute(messageHandlerInvoker, messageHandler, decodedMessage, acknowledgeHandler);
+                } else {
+                    messageHandlerInvoker.execute(messageHandler, decodedMessage, acknowledgeHandler);
+                }
             } else {
+                populateMdc(message);
                 LOG.warn("{} Can't resolve message handler.", loggingTag);
                 LOG.trace("Message: {}", jsonMessage);
                 acknowledgeHandler.autoReject();
             }
         } catch (Exception e) {
+            populateMdc(message);
             LOG.warn("[correlation id: {}, message id: {}] {} Error while trying to handle a message. ",
                     message.getCorrelationId(), message.getId(), loggingTag, e);
             LOG.trace("Message: {}", jsonMessage);
@@ -164,24 +340,73 @@ public class Consumer {
                 consumedMessagesAwareMessageHandler.notifyConsumedMessageIsLost();
             }
         } finally {
-            if(msbConfig.isMdcLogging()) {
-                clearMdc();
+            if(mdcLogging != null) {
+                mdcLogging.clear();
             }
         }
     }
 
-    private Message parseMessage(String jsonMessage) {
-        if (msbConfig.getSchema() != null && !Utils.isServiceTopic(topic) && msbConfig.isValidateMessage()) {
-            LOG.debug("{} Validating schema.", loggingTag);
-            LOG.trace("Message: {}", jsonMessage);
-            validator.validate(jsonMessage, msbConfig.getSchema());
-        }
+    private PartiallyDecodedMessage parseMessage(String jsonMessage) {
         LOG.debug("{} Parsing message.", loggingTag);
         LOG.trace("Message: {}", jsonMessage);
 
-        Message result = Utils.fromJson(jsonMessage, Message.class, messageMapper);
-        LOG.debug("[correlation id: {}, message id: {}] {} Message has been successfully parsed.",
-                result.getCorrelationId(), result.getId(), loggingTag);
+        if (isSampledForValidation()) {
+            JsonNode message = Utils.fromJson(jsonMessage, JsonNode.class, messageMapper);
+            return logParsedMessage(validateAndDecode(message), jsonMessage);
+        }
+        return logParsedMessage(headerDecoder.decode(jsonMessage), jsonMessage);
+    }
+
+    private PartiallyDecodedMessage parseMessage(RawBody rawBody) {
+        LOG.debug("{} Parsing message.", loggingTag);
+        LOG.trace("Message: {}", rawBody);
+
+        byte[] bytes = rawBody.bytes;
+        Charset charset = rawBody.charset;
+        if (rawBody.contentEncoding != null) {
+            bytes = compressor.decompress(bytes, rawBody.contentEncoding);
+            charset = StandardCharsets.UTF_8;
+        }
+
+        if (isSampledForValidation()) {
+            JsonNode message = rawBody.codec.readTree(bytes, charset);
+            return logParsedMessage(validateAndDecode(message), rawBody);
+        }
+        return logParsedMessage(rawBody.codec.decode(bytes, charset), rawBody);
+    }
+
+    /**
+     * Validates the message tree and builds the message from the same tree, so the message is parsed only once.
+     */
+    private PartiallyDecodedMessage validateAndDecode(JsonNode message) {
+        LOG.debug("{} Validating schema.", loggingTag);
+        long validationStartedAt = System.nanoTime();
+        try {
+            validator.validate(message, messageSchema);
+            if (payloadSchema != null) {
+                validator.validate(message.path(PAYLOAD_FIELD), payloadSchema);
+            }
+        } finally {
+            validationTimeNanos.add(System.nanoTime() - validationStartedAt);
+            validatedMessageCount.increment();
+        }
+        return headerDecoder.decode(message);
+    }
+
+    private boolean isValidationRequired() {
+        return msbConfig.getSchema() != null && !Utils.isServiceTopic(topic) && msbConfig.isValidateMessage();
+    }
+
+    private boolean isSampledForValidation() {
+        if (messageSchema == null) {
+            return false;
+        }
+        return validationSampleRate <= 1 || validationSampleCounter.getAndIncrement() % validationSampleRate == 0;
+    }
+
+    private PartiallyDecodedMessage logParsedMessage(PartiallyDecodedMessage result, Object jsonMessage) {
+        LOG.debug("[correlation id: {}, message id: {}] {} Message envelope has been successfully parsed.",
+                result.getHeaders().getCorrelationId(), result.getHeaders().getId(), loggingTag);
         LOG.trace("Message: {}", jsonMessage);
         return result;
     }
@@ -199,21 +424,41 @@ public class Consumer {
         return expiryTime.isBefore(now);
     }
 
-    private void saveMdc(Message message) {
-        String tags = StringUtils.join(message.getTags(), ",");
-        MDC.put(msbConfig.getMdcLoggingKeyMessageTags(), tags);
-        MDC.put(msbConfig.getMdcLoggingKeyCorrelationId(), message.getCorrelationId());
-        if(isSplitTagsForMdcLogging) {
-            for(String tag: message.getTags()) {
-                String[] parts = StringUtils.split(tag, msbConfig.getMdcLoggingSplitTagsBy(), 2);
-                if(parts.length == 2) {
-                    MDC.put(parts[0], parts[1]);
-                }
-            }
+    /**
+     * The MDC of the consuming thread is only populated when something is about to be logged on it, the thread
+     * that handles the message populates its own MDC.
+     */
+    private void populateMdc(Message message) {
+        if (mdcLogging != null) {
+            mdcLogging.populate(message);
         }
     }
 
-    private void clearMdc() {
-        MDC.clear();
+    /**
+     * Raw message body that is decoded into a String only when it is printed to the log.
+     */
+    private static final class RawBody {
+        private final byte[] bytes;
+        private final Charset charset;
+        private final MessageCodec codec;
+        private final String contentEncoding;
+
+        RawBody(byte[] bytes, Charset charset, MessageCodec codec, String contentEncoding) {
+            this.bytes = bytes;
+            this.charset = charset;
+            this.codec = codec;
+            this.contentEncoding = contentEncoding;
+        }
+
+        @Override
+        public String toString() {
+            if (contentEncoding != null) {
+                return String.format("<%d bytes of %s with %s encoding>", bytes.length, codec.getContentType(), contentEncoding);
+            }
+            if (codec instanceof JsonMessageCodec) {
+                return new String(bytes, charset);
+            }
+            return String.format("<%d bytes of %s>", bytes.length, codec.getContentType());
+        }
     }
-}
\ No newline at end of file
+}
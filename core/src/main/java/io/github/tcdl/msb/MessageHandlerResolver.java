@@ -10,7 +10,8 @@ import java.util.Optional;
 public interface MessageHandlerResolver {
 
     /**
-     * Resolve {@link MessageHandler} by an incoming {@link Message}.
+     * Resolve {@link MessageHandler} by an incoming {@link Message}. Only the protocol fields of the message are
+     * guaranteed to be decoded at this point, its payload may not be available yet.
      * @param message
      * @return
      */
@@ -6,12 +6,23 @@ import io.github.tcdl.msb.api.Callback;
 import io.github.tcdl.msb.api.exception.ChannelException;
 import io.github.tcdl.msb.api.exception.JsonConversionException;
 import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.codec.JsonMessageCodec;
+import io.github.tcdl.msb.codec.MessageCodec;
+import io.github.tcdl.msb.codec.MessageCompressor;
 import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.threading.PublishStage;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * {@link Producer} is a component responsible for producing messages to the bus.
  */
@@ -19,28 +30,173 @@ public class Producer {
 
     private static final Logger LOG = LoggerFactory.getLogger(Producer.class);
 
+    /**
+     * How long {@link #publish(Message)} waits for a queued message to be published by the I/O thread.
+     */
+    private static final long PUBLISH_TIMEOUT_SECONDS = 30;
+
     private final ProducerAdapter rawAdapter;
     private final ObjectMapper messageMapper;
+    private final MessageCodec codec;
+    private final MessageCompressor compressor;
+    /**
+     * Lane of the publish stage messages are published through or null if they are published on the calling thread.
+     */
+    private final PublishStage.Lane publishLane;
 
     public Producer(ProducerAdapter rawAdapter, String topic, ObjectMapper messageMapper) {
+        this(rawAdapter, topic, messageMapper, new JsonMessageCodec(messageMapper), MessageCompressor.disabled());
+    }
+
+    /**
+     * @param codec codec used to encode published messages
+     * @param compressor compresses published messages that exceed the size threshold
+     */
+    public Producer(ProducerAdapter rawAdapter, String topic, ObjectMapper messageMapper, MessageCodec codec, MessageCompressor compressor) {
+        this(rawAdapter, topic, messageMapper, codec, compressor, null);
+    }
+
+    /**
+     * @param publishLane lane of the publish stage to publish messages through, null to publish them on the calling thread
+     */
+    public Producer(ProducerAdapter rawAdapter, String topic, ObjectMapper messageMapper, MessageCodec codec, MessageCompressor compressor,
+            PublishStage.Lane publishLane) {
         LOG.debug("Creating producer for topic: {}", topic);
         Validate.notNull(rawAdapter, "the 'rawAdapter' must not be null");
         Validate.notNull(topic, "the 'topic' must not be null");
         Validate.notNull(messageMapper, "the 'messageMapper' must not be null");
+        Validate.notNull(codec, "the 'codec' must not be null");
+        Validate.notNull(compressor, "the 'compressor' must not be null");
 
         this.rawAdapter = rawAdapter;
         this.messageMapper = messageMapper;
+        this.codec = codec;
+        this.compressor = compressor;
+        this.publishLane = publishLane;
     }
 
+    /**
+     * Encodes and publishes the message. If the publish stage is enabled the message is published on the I/O thread
+     * of the producer and the method returns once the message has been published, so that failures to publish it,
+     * including messages dropped by the overflow policy, reach the caller. It waits at most
+     * {@value #PUBLISH_TIMEOUT_SECONDS} seconds for a queued message. Use {@link #publishAsync(Message)} not to
+     * wait for the message to be published.
+     *
+     * @throws ChannelException if the message can't be published or queued
+     */
     public void publish(Message message) {
-        String routingKey = message.getTopics().getRoutingKey();
         try {
-            String jsonMessage = Utils.toJson(message, messageMapper);
-            LOG.trace("Publishing message to adapter : {}", jsonMessage);
-            rawAdapter.publish(jsonMessage, routingKey != null ? routingKey : StringUtils.EMPTY);
+            EncodedMessage encodedMessage = encode(message);
+            if (publishLane != null) {
+                awaitPublished(publishLane.submit(() -> {
+                    encodedMessage.publish(rawAdapter);
+                    return CompletableFuture.completedFuture(null);
+                }));
+            } else {
+                encodedMessage.publish(rawAdapter);
+            }
         } catch (ChannelException | JsonConversionException e) {
             LOG.error("Exception while message publish to adapter", e);
             throw e;
         }
     }
+
+    private static void awaitPublished(CompletionStage<Void> publication) {
+        try {
+            publication.toCompletableFuture().get(PUBLISH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new ChannelException(String.format("Message is not published within %d seconds", PUBLISH_TIMEOUT_SECONDS), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChannelException("Interrupted while waiting for message to be published", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ChannelException) {
+                throw (ChannelException) e.getCause();
+            }
+            throw new ChannelException("Unable to publish message", e.getCause());
+        }
+    }
+
+    /**
+     * Encodes the message on the calling thread and publishes it on the I/O thread of the producer if the publish
+     * stage is enabled or right away otherwise.
+     *
+     * @return stage that completes once the message has been published (and confirmed by the broker if the adapter
+     * supports publisher confirms), it fails if the message can't be encoded, queued or published
+     */
+    public CompletionStage<Void> publishAsync(Message message) {
+        try {
+            EncodedMessage encodedMessage = encode(message);
+            if (publishLane != null) {
+                return publishLane.submit(() -> encodedMessage.publishAsync(rawAdapter));
+            }
+            return encodedMessage.publishAsync(rawAdapter);
+        } catch (ChannelException | JsonConversionException e) {
+            LOG.error("Exception while message publish to adapter", e);
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    private EncodedMessage encode(Message message) {
+        String routingKey = message.getTopics().getRoutingKey() != null ? message.getTopics().getRoutingKey() : StringUtils.EMPTY;
+        if (JsonMessageCodec.CONTENT_TYPE.equals(codec.getContentType())) {
+            String jsonMessage = Utils.toJson(message, messageMapper);
+            LOG.trace("Publishing message to adapter : {}", jsonMessage);
+            // the length in characters is a cheap lower bound of the encoded length
+            if (compressor.isCompressionRequired(jsonMessage.length())) {
+                return compressed(jsonMessage.getBytes(StandardCharsets.UTF_8), routingKey);
+            }
+            return new EncodedMessage(jsonMessage, null, null, null, routingKey);
+        }
+
+        byte[] encodedMessage = codec.encode(message);
+        LOG.trace("Publishing message to adapter as '{}': {}", codec.getContentType(), message);
+        if (compressor.isCompressionRequired(encodedMessage.length)) {
+            return compressed(encodedMessage, routingKey);
+        }
+        return new EncodedMessage(null, encodedMessage, codec.getContentType(), null, routingKey);
+    }
+
+    private EncodedMessage compressed(byte[] encodedMessage, String routingKey) {
+        byte[] compressedMessage = compressor.compress(encodedMessage);
+        LOG.trace("Message compressed from {} to {} bytes", encodedMessage.length, compressedMessage.length);
+        return new EncodedMessage(null, compressedMessage, codec.getContentType(), MessageCompressor.DEFLATE_ENCODING, routingKey);
+    }
+
+    /**
+     * Message encoded on the calling thread, either as JSON text or as binary content.
+     */
+    private static class EncodedMessage {
+
+        private final String jsonMessage;
+        private final byte[] binaryMessage;
+        private final String contentType;
+        private final String contentEncoding;
+        private final String routingKey;
+
+        EncodedMessage(String jsonMessage, byte[] binaryMessage, String contentType, String contentEncoding, String routingKey) {
+            this.jsonMessage = jsonMessage;
+            this.binaryMessage = binaryMessage;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.routingKey = routingKey;
+        }
+
+        void publish(ProducerAdapter adapter) {
+            if (jsonMessage != null) {
+                adapter.publish(jsonMessage, routingKey);
+            } else {
+                adapter.publish(binaryMessage, contentType, contentEncoding, routingKey);
+            }
+        }
+
+        CompletionStage<Void> publishAsync(ProducerAdapter adapter) {
+            if (jsonMessage != null) {
+                return adapter.publishAsync(jsonMessage, routingKey);
+            }
+            return adapter.publishAsync(binaryMessage, contentType, contentEncoding, routingKey);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.tcdl.msb;
 
 import com.google.common.collect.Maps;
+import io.github.tcdl.msb.collector.TimeoutScheduler;
 import io.github.tcdl.msb.support.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +19,7 @@ import java.util.concurrent.TimeoutException;
 /**
  * This decorator around {@link ScheduledThreadPoolExecutor} executes all pending tasks (not yet cancelled or completed) during shutdown.
  */
-public class RunOnShutdownScheduledExecutorDecorator {
+public class RunOnShutdownScheduledExecutorDecorator implements TimeoutScheduler {
 
     private static final Logger LOG = LoggerFactory.getLogger(RunOnShutdownScheduledExecutorDecorator.class);
 
@@ -35,6 +36,7 @@ public class RunOnShutdownScheduledExecutorDecorator {
         scheduledThreadPoolExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
+    @Override
     public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
         CleaningRunnable decorated = new CleaningRunnable(command);
         ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(decorated, delay, unit);
@@ -43,9 +45,15 @@ public class RunOnShutdownScheduledExecutorDecorator {
         return new CleaningScheduledFuture<>(future);
     }
 
+    @Override
+    public long getPendingTimeouts() {
+        return tasks.size();
+    }
+
     /**
      * Executes all pending tasks (not yet cancelled or completed).
      */
+    @Override
     public synchronized void shutdown() {
         Utils.gracefulShutdown(scheduledThreadPoolExecutor, "timeout");
 
@@ -1,6 +1,6 @@
 package io.github.tcdl.msb.acknowledge;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import io.github.tcdl.msb.api.AcknowledgementHandler;
 import org.slf4j.Logger;
@@ -17,11 +17,15 @@ public class AcknowledgementHandlerImpl implements AcknowledgementHandlerInterna
 
     private static final Logger LOG = LoggerFactory.getLogger(AcknowledgementHandlerImpl.class);
 
+    private static final AtomicIntegerFieldUpdater<AcknowledgementHandlerImpl> ACKNOWLEDGEMENT_SENT =
+            AtomicIntegerFieldUpdater.newUpdater(AcknowledgementHandlerImpl.class, "acknowledgementSent");
+
     final AcknowledgementAdapter acknowledgementAdapter;
     final boolean isMessageRedelivered;
     final String messageTextIdentifier;
 
-    final AtomicBoolean acknowledgementSent = new AtomicBoolean(false);
+    //1 once the acknowledgement has been sent, a field updater saves an atomic object per consumed message
+    volatile int acknowledgementSent;
     volatile boolean autoAcknowledgement = true;
 
     public AcknowledgementHandlerImpl(AcknowledgementAdapter acknowledgementAdapter,
@@ -41,18 +45,12 @@ public class AcknowledgementHandlerImpl implements AcknowledgementHandlerInterna
 
     @Override
     public void confirmMessage() {
-        executeAck("confirm", () -> {
-            acknowledgementAdapter.confirm();
-            LOG.debug("[{}] A message was confirmed", messageTextIdentifier);
-        });
+        executeAck(AckAction.CONFIRM);
     }
 
     @Override
     public void retryMessage() {
-        executeAck("requeue", () -> {
-            acknowledgementAdapter.retry();
-            LOG.debug("[{}] A message was rejected with requeue", messageTextIdentifier);
-        });
+        executeAck(AckAction.REQUEUE);
     }
 
     @Override
@@ -66,18 +64,16 @@ public class AcknowledgementHandlerImpl implements AcknowledgementHandlerInterna
 
     @Override
     public void rejectMessage() {
-        executeAck("reject", () -> {
-            acknowledgementAdapter.reject();
-            LOG.debug("[{}] A message was discarded", messageTextIdentifier);
-        });
+        executeAck(AckAction.REJECT);
     }
 
-    private void executeAck(String actionName, AckAction ackAction) {
-        if (acknowledgementSent.compareAndSet(false, true)) {
+    private void executeAck(AckAction ackAction) {
+        if (ACKNOWLEDGEMENT_SENT.compareAndSet(this, 0, 1)) {
             try {
-                ackAction.perform();
+                ackAction.perform(acknowledgementAdapter);
+                LOG.debug(ackAction.logMessage, messageTextIdentifier);
             } catch (Exception e) {
-                LOG.error("[{}] Got exception when trying to {} a message:", messageTextIdentifier, actionName, e);
+                LOG.error("[{}] Got exception when trying to {} a message:", messageTextIdentifier, ackAction.actionName, e);
             }
         } else {
             LOG.error(ACK_WAS_ALREADY_SENT, messageTextIdentifier);
@@ -86,23 +82,23 @@ public class AcknowledgementHandlerImpl implements AcknowledgementHandlerInterna
 
     @Override
     public void autoConfirm() {
-        executeAutoAck(() -> {
+        if (isAutoAckRequired()) {
             confirmMessage();
             LOG.debug("[{}] A message was automatically confirmed after message processing", messageTextIdentifier);
-        });
+        }
     }
 
     @Override
     public void autoReject() {
-        executeAutoAck(() -> {
+        if (isAutoAckRequired()) {
             rejectMessage();
             LOG.debug("[{}] A message was automatically rejected due to error during message processing", messageTextIdentifier);
-        });
+        }
     }
 
     @Override
     public void autoRetry() {
-        executeAutoAck(() -> {
+        if (isAutoAckRequired()) {
             if (!isMessageRedelivered) {
                 retryMessage();
                 LOG.debug("[{}] A message was rejected with requeue", messageTextIdentifier);
@@ -110,23 +106,46 @@ public class AcknowledgementHandlerImpl implements AcknowledgementHandlerInterna
                 rejectMessage();
                 LOG.warn("[{}] Can't requeue message because it already was redelivered once, discarding it instead", messageTextIdentifier);
             }
-        });
-    }
-
-    private void executeAutoAck(AutoAckAction ackAction) {
-        if (autoAcknowledgement && !acknowledgementSent.get()) {
-            ackAction.perform();
         }
     }
 
-    @FunctionalInterface
-    private interface AckAction {
-        void perform() throws Exception;
+    private boolean isAutoAckRequired() {
+        return autoAcknowledgement && acknowledgementSent == 0;
     }
 
-    @FunctionalInterface
-    private interface AutoAckAction {
-        void perform();
+    /**
+     * Acknowledgement actions are constants rather than lambdas capturing the handler, so acknowledging a message
+     * doesn't allocate.
+     */
+    private enum AckAction {
+        CONFIRM("confirm", "[{}] A message was confirmed") {
+            @Override
+            void perform(AcknowledgementAdapter acknowledgementAdapter) throws Exception {
+                acknowledgementAdapter.confirm();
+            }
+        },
+        REQUEUE("requeue", "[{}] A message was rejected with requeue") {
+            @Override
+            void perform(AcknowledgementAdapter acknowledgementAdapter) throws Exception {
+                acknowledgementAdapter.retry();
+            }
+        },
+        REJECT("reject", "[{}] A message was discarded") {
+            @Override
+            void perform(AcknowledgementAdapter acknowledgementAdapter) throws Exception {
+                acknowledgementAdapter.reject();
+            }
+        };
+
+        private final String actionName;
+        private final String logMessage;
+
+        AckAction(String actionName, String logMessage) {
+            this.actionName = actionName;
+            this.logMessage = logMessage;
+        }
+
+        abstract void perform(AcknowledgementAdapter acknowledgementAdapter) throws Exception;
     }
 
 }
@@ -6,6 +6,8 @@ import io.github.tcdl.msb.api.exception.ChannelException;
 import io.github.tcdl.msb.api.exception.ConfigurationException;
 import io.github.tcdl.msb.config.MsbConfig;
 
+import java.util.Optional;
+
 /**
  * MSBAdapterFactory interface represents a common way for creation a particular AdapterFactory
  * accordingly to MSB Configuration and associated with a proper Topic.
@@ -57,6 +59,34 @@ public interface AdapterFactory {
      */
     ConsumerAdapter createConsumerAdapter(String topic, boolean isResponseTopic, ResponderOptions responderOptions);
 
+    /**
+     * Producers of a topic are shared by requesters and responders whose request options map to equal variants,
+     * request options that require a differently set up producer adapter, e.g. one that waits for publisher confirms,
+     * map to a variant of their own.
+     *
+     * @param requestOptions specific options depending on adapter implementation
+     * @return variant of the producer adapter the request options require or null if there are no variants
+     */
+    default Object getProducerVariant(RequestOptions requestOptions) {
+        return null;
+    }
+
+    /**
+     * @return number of times a producer had to wait for a broker channel to publish through because all of them
+     * were in use or empty if the adapter doesn't pool channels
+     */
+    default Optional<Long> getProducerChannelWaits() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return total time in nanoseconds producers spent waiting for a broker channel to publish through or empty if
+     * the adapter doesn't pool channels
+     */
+    default Optional<Long> getProducerChannelWaitTimeNanos() {
+        return Optional.empty();
+    }
+
     /**
      * @return true if custom MSB threading model should be used.
      * @return false if {@link io.github.tcdl.msb.MessageHandler} should be invoked directly.
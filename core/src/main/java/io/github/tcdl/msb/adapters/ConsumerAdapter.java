@@ -3,6 +3,7 @@ package io.github.tcdl.msb.adapters;
 import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
 import io.github.tcdl.msb.api.exception.ChannelException;
 
+import java.nio.charset.Charset;
 import java.util.Optional;
 
 /**
@@ -49,6 +50,35 @@ public interface ConsumerAdapter {
          * @param acknowledgementHandler confirm/reject message handler
          */
         void onMessage(String jsonMessage, AcknowledgementHandlerInternal acknowledgementHandler);
+
+        /**
+         * Is called once a message arrives on the topic and its body is available as raw bytes. Adapters that receive
+         * bytes from the broker should invoke this method so that the body can be parsed without building
+         * an intermediate String. By default the body is decoded and passed to {@link #onMessage(String, AcknowledgementHandlerInternal)}.
+         *
+         * @param body incoming JSON message bytes
+         * @param charset charset the message was encoded with
+         * @param acknowledgementHandler confirm/reject message handler
+         */
+        default void onMessage(byte[] body, Charset charset, AcknowledgementHandlerInternal acknowledgementHandler) {
+            onMessage(new String(body, charset), acknowledgementHandler);
+        }
+
+        /**
+         * Is called once a message arrives on the topic along with the content type and the content encoding
+         * it was published with. Adapters should invoke this method if the broker message properties carry them.
+         * By default both are ignored and the body is passed to {@link #onMessage(byte[], Charset, AcknowledgementHandlerInternal)}.
+         *
+         * @param body incoming message bytes
+         * @param charset charset configured for the broker
+         * @param contentType content type of the message or null if it is not known
+         * @param contentEncoding compression of the message or null if it is not compressed
+         * @param acknowledgementHandler confirm/reject message handler
+         */
+        default void onMessage(byte[] body, Charset charset, String contentType, String contentEncoding,
+                AcknowledgementHandlerInternal acknowledgementHandler) {
+            onMessage(body, charset, acknowledgementHandler);
+        }
     }
     
 }
@@ -2,6 +2,9 @@ package io.github.tcdl.msb.adapters;
 
 import io.github.tcdl.msb.api.exception.ChannelException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * {@link ProducerAdapter} allows to produce messages to message bus. One adapter instance is associated with specific topic.
  *
@@ -24,4 +27,47 @@ public interface ProducerAdapter {
      * @param routingKey non null String of max length 255 bytes to be used for message routing
      */
     void publish(String jsonMessage, String routingKey);
+
+    /**
+     * Publishes the message encoded by a {@link io.github.tcdl.msb.codec.MessageCodec} other than JSON or compressed
+     * by {@link io.github.tcdl.msb.codec.MessageCompressor}. The content type and the content encoding have to be
+     * passed along with the message in broker message properties so that consumers can decode the message.
+     * Compressed text messages are always UTF-8 encoded. Adapters that don't support binary messages don't need
+     * to implement this method.
+     *
+     * @param message encoded message
+     * @param contentType content type of the codec the message was encoded with
+     * @param contentEncoding compression the message was compressed with or null if it is not compressed
+     * @param routingKey non null String of max length 255 bytes to be used for message routing
+     * @throws ChannelException if the adapter doesn't support binary messages or publishing fails
+     */
+    default void publish(byte[] message, String contentType, String contentEncoding, String routingKey) {
+        throw new ChannelException(String.format("Content type '%s' is not supported by %s", contentType, getClass().getName()), null);
+    }
+
+    /**
+     * Publishes the message like {@link #publish(String, String)} does. Adapters that have the broker confirm
+     * published messages complete the returned stage once the broker has confirmed the message instead of blocking
+     * the calling thread.
+     *
+     * @return stage that completes once the message has been published, it fails if the broker rejects the message
+     * @throws ChannelException if some problems during publishing message to Broker were occurred
+     */
+    default CompletionStage<Void> publishAsync(String jsonMessage, String routingKey) {
+        publish(jsonMessage, routingKey);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Publishes the message like {@link #publish(byte[], String, String, String)} does. Adapters that have
+     * the broker confirm published messages complete the returned stage once the broker has confirmed the message
+     * instead of blocking the calling thread.
+     *
+     * @return stage that completes once the message has been published, it fails if the broker rejects the message
+     * @throws ChannelException if the adapter doesn't support binary messages or publishing fails
+     */
+    default CompletionStage<Void> publishAsync(byte[] message, String contentType, String contentEncoding, String routingKey) {
+        publish(message, contentType, contentEncoding, routingKey);
+        return CompletableFuture.completedFuture(null);
+    }
 }
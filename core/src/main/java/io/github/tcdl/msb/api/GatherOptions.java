@@ -0,0 +1,94 @@
+package io.github.tcdl.msb.api;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.function.Predicate;
+
+/**
+ * Specifies when a scatter-gather request sent using
+ * {@link Requester#gather(Object, io.github.tcdl.msb.api.message.Message, Object, java.util.function.BiFunction, GatherOptions, String...)}
+ * is complete without waiting for the response timeout. The request is complete as soon as any of the configured conditions is met.
+ *
+ * @param <A> type of the aggregate of responses
+ */
+public class GatherOptions<A> {
+
+    /**
+     * Number of responses after which the request is complete.
+     */
+    private final Integer quorum;
+
+    /**
+     * Condition evaluated against the aggregate after every response. Once it holds the request is complete.
+     */
+    private final Predicate<? super A> enoughResults;
+
+    /**
+     * Max time (in milliseconds) to wait for responses. Unlike {@link RequestOptions#getResponseTimeout()} it is not
+     * adjusted by acks.
+     */
+    private final Integer deadline;
+
+    protected GatherOptions(Integer quorum, Predicate<? super A> enoughResults, Integer deadline) {
+        this.quorum = quorum;
+        this.enoughResults = enoughResults;
+        this.deadline = deadline;
+    }
+
+    public Integer getQuorum() {
+        return quorum;
+    }
+
+    public Predicate<? super A> getEnoughResults() {
+        return enoughResults;
+    }
+
+    public Integer getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @param responses number of responses folded into the aggregate
+     * @param aggregate current aggregate
+     * @return true if no more responses are needed
+     */
+    public boolean isComplete(int responses, A aggregate) {
+        return (quorum != null && responses >= quorum) || (enoughResults != null && enoughResults.test(aggregate));
+    }
+
+    @Override
+    public String toString() {
+        return "GatherOptions [quorum=" + quorum
+                + ", enoughResults=" + enoughResults
+                + ", deadline=" + deadline
+                + "]";
+    }
+
+    public static class Builder<A> {
+
+        protected Integer quorum;
+        protected Predicate<? super A> enoughResults;
+        protected Integer deadline;
+
+        public Builder<A> withQuorum(Integer quorum) {
+            Validate.isTrue(quorum == null || quorum > 0, "the 'quorum' must be positive");
+            this.quorum = quorum;
+            return this;
+        }
+
+        public Builder<A> withEnoughResults(Predicate<? super A> enoughResults) {
+            this.enoughResults = enoughResults;
+            return this;
+        }
+
+        public Builder<A> withDeadline(Integer deadline) {
+            Validate.isTrue(deadline == null || deadline > 0, "the 'deadline' must be positive");
+            this.deadline = deadline;
+            return this;
+        }
+
+        public GatherOptions<A> build() {
+            return new GatherOptions<>(quorum, enoughResults, deadline);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.tcdl.msb.api;
 
+import io.github.tcdl.msb.api.metrics.MetricSet;
+
 /**
  * Specifies the context for the MSB message processing.
  */
@@ -21,4 +23,9 @@ public interface MsbContext {
      * @param shutdownCallback
      */
     void addShutdownCallback(Runnable shutdownCallback);
+
+    /**
+     * @return metrics of the context as a whole, e.g. {@link MetricSet#PENDING_TIMEOUTS_METRIC}
+     */
+    MetricSet getMetrics();
 }
@@ -12,19 +12,24 @@ import io.github.tcdl.msb.adapters.AdapterFactory;
 import io.github.tcdl.msb.adapters.AdapterFactoryLoader;
 import io.github.tcdl.msb.api.exception.MsbException;
 import io.github.tcdl.msb.callback.MutableCallbackHandler;
+import io.github.tcdl.msb.codec.MessageCodecs;
+import io.github.tcdl.msb.codec.MessageCompressor;
 import io.github.tcdl.msb.collector.CollectorManagerFactory;
 import io.github.tcdl.msb.collector.TimeoutManager;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.impl.MsbContextImpl;
 import io.github.tcdl.msb.impl.ObjectFactoryImpl;
 import io.github.tcdl.msb.message.MessageFactory;
+import io.github.tcdl.msb.support.IdGenerators;
 import io.github.tcdl.msb.support.JsonValidator;
 import io.github.tcdl.msb.threading.ConsumerExecutorFactoryImpl;
+import io.github.tcdl.msb.threading.DecodeStage;
 import io.github.tcdl.msb.threading.DirectInvocationCapableInvoker;
 import io.github.tcdl.msb.threading.MessageGroupStrategy;
 import io.github.tcdl.msb.threading.MessageHandlerInvoker;
 import io.github.tcdl.msb.threading.MessageHandlerInvokerFactory;
 import io.github.tcdl.msb.threading.MessageHandlerInvokerFactoryImpl;
+import io.github.tcdl.msb.threading.PublishStage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -135,9 +140,14 @@ public class MsbContextBuilder {
 
         AdapterFactory adapterFactory = new AdapterFactoryLoader(msbConfig).getAdapterFactory();
         MessageHandlerInvoker messageHandlerInvoker = createMessageHandlerInvoker(adapterFactory, msbConfig);
-        ChannelManager channelManager = new ChannelManager(msbConfig, clock, validator, messageEnvelopeMapper, adapterFactory, messageHandlerInvoker);
-        MessageFactory messageFactory = new MessageFactory(msbConfig.getServiceDetails(), clock, payloadMapper);
-        TimeoutManager timeoutManager = new TimeoutManager(msbConfig.getTimerThreadPoolSize());
+        // arrival order has to be kept by the decode stage whenever the invoker itself keeps it
+        boolean isOrderingRequired = messageGroupStrategy != null || !adapterFactory.isUseMsbThreadingModel()
+                || msbConfig.getConsumerThreadPoolSize() == 1;
+        ChannelManager channelManager = new ChannelManager(msbConfig, clock, validator, messageEnvelopeMapper, adapterFactory, messageHandlerInvoker,
+                MessageCodecs.create(msbConfig, messageEnvelopeMapper), MessageCompressor.create(msbConfig),
+                DecodeStage.create(msbConfig, isOrderingRequired), PublishStage.create(msbConfig));
+        MessageFactory messageFactory = new MessageFactory(msbConfig.getServiceDetails(), clock, payloadMapper, IdGenerators.create(msbConfig));
+        TimeoutManager timeoutManager = TimeoutManager.create(msbConfig);
         CollectorManagerFactory collectorManagerFactory = new CollectorManagerFactory(channelManager);
 
         MsbContextImpl msbContext = new MsbContextImpl(msbConfig, messageFactory, channelManager,
@@ -1,6 +1,7 @@
 package io.github.tcdl.msb.api;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Specifies waiting policy (for acknowledgements and responses) for requests sent using {@link Requester}.
@@ -9,6 +10,11 @@ public class RequestOptions {
 
     public static final int WAIT_FOR_RESPONSES_UNTIL_TIMEOUT = -1;
 
+    /**
+     * Hedge delay that equals the 95th percentile of response latencies observed for the namespace.
+     */
+    public static final int HEDGE_AFTER_P95 = -1;
+
     public static final RequestOptions DEFAULTS = new Builder().build();
     /**
      * Max time (in milliseconds) to wait for acknowledgements.
@@ -39,13 +45,68 @@ public class RequestOptions {
 
     private final String routingKey;
 
+    /**
+     * Time (in milliseconds) after which a request for a single response ({@link #waitForResponses} is 1) is published
+     * once again under the same correlation id unless a response has arrived. The first response wins, the late
+     * duplicate is discarded. Hedged requests are limited by {@code msbConfig.requestOptions.hedgingBudgetPercent}.
+     * <p/>
+     * null means not to hedge requests.
+     * {@link #HEDGE_AFTER_P95} means to hedge after the 95th percentile of observed response latencies.
+     */
+    private final Integer hedgeDelay;
+
+    /**
+     * Whether concurrent identical requests sent by {@link Requester#request} share a single in-flight request and its
+     * result. Requests are identical if they have the same namespace, routing key, tags, serialized payload and response
+     * type. Coalesced requests follow the waiting policy of the request that was actually sent.
+     * <p/>
+     * All coalesced requests are completed with the very same response instance, which is not copied, so it must not
+     * be modified.
+     */
+    private final boolean coalescing;
+
+    /**
+     * Time (in milliseconds) responses to requests sent by {@link Requester#request} are cached for. Identical requests
+     * (see {@link #coalescing}) sent within this time are completed with the cached response without being published.
+     * Responders may shorten the time or forbid caching of a response by {@code ack.maxAgeMs}.
+     * Cached responses are shared by all callers, so they must not be modified.
+     * <p/>
+     * null means not to cache responses.
+     */
+    private final Integer cacheTtl;
+
+    /**
+     * Max number of requests sent by {@link Requester#request} that are packed into a single batch request. Requests
+     * for a single response ({@link #waitForResponses} is 1) without tags of their own are batched once a responder
+     * advertises in an ack that it accepts batches (see {@link ResponderOptions#isAcceptsBatches()}), until then they
+     * are sent one by one. A batch is sent once it is full or {@link #batchLinger} has passed since its first request.
+     * <p/>
+     * null means not to batch requests.
+     */
+    private final Integer maxBatchSize;
+
+    /**
+     * Max time (in milliseconds) a request waits for other requests to be batched with.
+     */
+    private final Integer batchLinger;
+
     protected RequestOptions(Integer ackTimeout, Integer responseTimeout, Integer waitForResponses, MessageTemplate messageTemplate, String forwardNamespace, String routingKey) {
+        this(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace, routingKey, null, false, null, null, null);
+    }
+
+    protected RequestOptions(Integer ackTimeout, Integer responseTimeout, Integer waitForResponses, MessageTemplate messageTemplate, String forwardNamespace, String routingKey,
+            Integer hedgeDelay, boolean coalescing, Integer cacheTtl, Integer maxBatchSize, Integer batchLinger) {
         this.ackTimeout = ackTimeout;
         this.responseTimeout = responseTimeout;
         this.waitForResponses = waitForResponses;
         this.messageTemplate = messageTemplate;
         this.forwardNamespace = forwardNamespace;
         this.routingKey = routingKey;
+        this.hedgeDelay = hedgeDelay;
+        this.coalescing = coalescing;
+        this.cacheTtl = cacheTtl;
+        this.maxBatchSize = maxBatchSize;
+        this.batchLinger = batchLinger;
     }
 
     public Integer getAckTimeout() {
@@ -77,6 +138,26 @@ public class RequestOptions {
         return routingKey;
     }
 
+    public Integer getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    public Integer getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Integer getBatchLinger() {
+        return batchLinger;
+    }
+
     public Builder asBuilder() {
         return new RequestOptions.Builder().from(this);
     }
@@ -87,6 +168,11 @@ public class RequestOptions {
                 + ", responseTimeout=" + responseTimeout
                 + ", waitForResponses=" + waitForResponses
                 + ", forwardNamespace=" + forwardNamespace
+                + ", hedgeDelay=" + hedgeDelay
+                + ", coalescing=" + coalescing
+                + ", cacheTtl=" + cacheTtl
+                + ", maxBatchSize=" + maxBatchSize
+                + ", batchLinger=" + batchLinger
                 + (messageTemplate != null ? messageTemplate : "")
                 + "]";
     }
@@ -99,6 +185,11 @@ public class RequestOptions {
         protected Integer waitForResponses;
         protected MessageTemplate messageTemplate;
         protected String forwardNamespace;
+        protected Integer hedgeDelay;
+        protected boolean coalescing;
+        protected Integer cacheTtl;
+        protected Integer maxBatchSize;
+        protected Integer batchLinger;
 
         public Builder withRoutingKey(String routingKey) {
             this.routingKey = routingKey;
@@ -130,6 +221,36 @@ public class RequestOptions {
             return this;
         }
 
+        public Builder withHedgeDelay(Integer hedgeDelay) {
+            Validate.isTrue(hedgeDelay == null || hedgeDelay > 0 || hedgeDelay == HEDGE_AFTER_P95,
+                    "the 'hedgeDelay' must be positive or HEDGE_AFTER_P95");
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        public Builder withCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            return this;
+        }
+
+        public Builder withCacheTtl(Integer cacheTtl) {
+            Validate.isTrue(cacheTtl == null || cacheTtl > 0, "the 'cacheTtl' must be positive");
+            this.cacheTtl = cacheTtl;
+            return this;
+        }
+
+        /**
+         * @param maxBatchSize max number of requests in a batch, null not to batch requests
+         * @param batchLinger  max time (in milliseconds) a request waits for other requests to be batched with
+         */
+        public Builder withBatching(Integer maxBatchSize, int batchLinger) {
+            Validate.isTrue(maxBatchSize == null || maxBatchSize > 1, "the 'maxBatchSize' must be greater than 1");
+            Validate.isTrue(batchLinger > 0, "the 'batchLinger' must be positive");
+            this.maxBatchSize = maxBatchSize;
+            this.batchLinger = maxBatchSize != null ? batchLinger : null;
+            return this;
+        }
+
         /**
          * Convenience method to prepare Builder with properties equal to {@literal source} properties.
          * Is useful for cases when almost same RequestOptions except one or two properties are needed.
@@ -141,12 +262,17 @@ public class RequestOptions {
             this.messageTemplate = source.messageTemplate;
             this.forwardNamespace = source.forwardNamespace;
             this.routingKey = source.routingKey;
+            this.hedgeDelay = source.hedgeDelay;
+            this.coalescing = source.coalescing;
+            this.cacheTtl = source.cacheTtl;
+            this.maxBatchSize = source.maxBatchSize;
+            this.batchLinger = source.batchLinger;
             return this;
         }
 
         public RequestOptions build() {
             return new RequestOptions(ackTimeout, responseTimeout, waitForResponses, messageTemplate, forwardNamespace,
-                    routingKey != null ? routingKey : StringUtils.EMPTY);
+                    routingKey != null ? routingKey : StringUtils.EMPTY, hedgeDelay, coalescing, cacheTtl, maxBatchSize, batchLinger);
         }
     }
 }
@@ -2,11 +2,13 @@ package io.github.tcdl.msb.api;
 
 import io.github.tcdl.msb.api.exception.ChannelException;
 import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.flow.Publisher;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * {@link Requester} enable user send message to bus and process responses for this messages if any expected.
@@ -15,6 +17,13 @@ import java.util.function.BiConsumer;
  * response mechanism in case we create Requester with {@literal RequestOptions.waitForResponses => 0} and received Acknowledgement response
  * before RequestOptions.ackTimeout or RequestOptions.responseTimeout (takes max of two).
  *
+ * Requests sent by {@literal request}, {@literal gather} and {@literal responses} methods carry their own handlers, so
+ * once handlers for {@literal publish} methods are registered, an instance can be shared and used by several threads
+ * concurrently.
+ *
+ * Payload objects are serialized only when the request is published, which may happen after the call has returned,
+ * so a payload must not be modified once it has been passed to a {@link Requester}.
+ *
  * @param <T> expected payload type of response messages
  */
 public interface Requester<T> {
@@ -94,14 +103,74 @@ public interface Requester<T> {
      *     <li>{@link Requester#onEnd(io.github.tcdl.msb.api.Callback)}</li>
      *     <li>{@link Requester#onError(java.util.function.BiConsumer)}</li>
      * </ul>
-     * are DISCARDED
+     * are NOT invoked for the request, they stay registered for requests sent by publish methods.
      *
      * @return {@link CompletableFuture} that will be completed when first response is received.
      * CompletableFuture will be canceled if timeout occurs or acknowledge with different from 1 remaining responses
-     * is received.
+     * is received. Unlike publish methods the method doesn't wait for the request to be published, the
+     * CompletableFuture fails if the request can't be published.
      */
     CompletableFuture<T> request(Object requestPayload, Message originalMessage, String... tags);
 
+    /**
+     * Overloaded version of
+     * {@link Requester#gather(java.lang.Object, io.github.tcdl.msb.api.message.Message, java.lang.Object, java.util.function.BiFunction, io.github.tcdl.msb.api.GatherOptions, java.lang.String...)}
+     */
+    <A> CompletableFuture<A> gather(Object requestPayload, A identity, BiFunction<A, ? super T, A> reducer,
+            GatherOptions<? super A> gatherOptions, String... tags);
+
+    /**
+     * Scatter-gather version of
+     * {@link io.github.tcdl.msb.api.Requester#publish(java.lang.Object, io.github.tcdl.msb.api.message.Message, java.lang.String...)}.
+     * Responses are folded into the aggregate by {@literal reducer} as they arrive instead of being buffered. As soon as
+     * {@literal gatherOptions} consider the aggregate complete, no more responses are awaited and the returned future is
+     * completed, even if {@link RequestOptions#getWaitForResponses()} is -1 and the response timeout has not been reached yet.
+     * Responses arriving afterwards are ignored.
+     *
+     * All handlers passed to
+     * <ul>
+     *     <li>{@link Requester#onAcknowledge(java.util.function.BiConsumer)}</li>
+     *     <li>{@link Requester#onResponse(java.util.function.BiConsumer)}</li>
+     *     <li>{@link Requester#onRawResponse(java.util.function.BiConsumer)}</li>
+     *     <li>{@link Requester#onEnd(io.github.tcdl.msb.api.Callback)}</li>
+     *     <li>{@link Requester#onError(java.util.function.BiConsumer)}</li>
+     * </ul>
+     * are NOT invoked for the request, they stay registered for requests sent by publish methods.
+     *
+     * @param identity initial value of the aggregate
+     * @param reducer folds a response into the aggregate, invoked for one response at a time
+     * @param gatherOptions conditions upon which the aggregate is complete
+     * @return {@link CompletableFuture} that will be completed with the aggregate once it is complete or responses are
+     * no longer awaited (timeout or deadline). CompletableFuture will be completed exceptionally if a response can't
+     * be converted or folded.
+     */
+    <A> CompletableFuture<A> gather(Object requestPayload, Message originalMessage, A identity, BiFunction<A, ? super T, A> reducer,
+            GatherOptions<? super A> gatherOptions, String... tags);
+
+    /**
+     * Overloaded version of
+     * {@link Requester#responses(java.lang.Object, io.github.tcdl.msb.api.message.Message, java.lang.String...)}
+     */
+    Publisher<T> responses(Object requestPayload, String... tags);
+
+    /**
+     * Similar to
+     * {@link io.github.tcdl.msb.api.Requester#publish(java.lang.Object, io.github.tcdl.msb.api.message.Message, java.lang.String...)}
+     * but responses are published to a subscriber according to its demand. The request is sent once the subscriber
+     * subscribes, only one subscriber is allowed.
+     *
+     * Responses that can't be delivered due to lack of demand are buffered in memory until they are requested, they are
+     * acknowledged upon arrival so that they don't hold back responses to other requests. Subscribers should either
+     * keep requesting responses or cancel the subscription to release them.
+     *
+     * Handlers passed to {@link Requester#onResponse(java.util.function.BiConsumer)} and other methods are NOT invoked
+     * for the request.
+     *
+     * @return {@link Publisher} of responses which completes when all expected responses are delivered or timeout
+     * occurs. Subscriber is notified about an error if a response can't be converted to type {@literal T}.
+     */
+    Publisher<T> responses(Object requestPayload, Message originalMessage, String... tags);
+
     /**
      * Registers a callback to be called when {@link Message} with {@link Acknowledge} part set is received.
      *
@@ -3,6 +3,9 @@ package io.github.tcdl.msb.api;
 
 /**
  * Responsible for creating responses and acknowledgements and sending them to the bus.
+ *
+ * Payload objects are serialized only when the response is published, so a payload must not be modified once it
+ * has been sent.
  */
 public interface Responder {
 
@@ -21,4 +24,15 @@ public interface Responder {
      */
     void send(Object responsePayload);
 
+    /**
+     * Send payload message that requesters may cache. By default the max age is not passed to requesters and
+     * the response is sent as by {@link #send(Object)}.
+     *
+     * @param responsePayload payload which will be used to create response message
+     * @param maxAgeMs max time (in milliseconds) requesters may cache the response, 0 means it must not be cached
+     */
+    default void send(Object responsePayload, int maxAgeMs) {
+        send(responsePayload);
+    }
+
 }
\ No newline at end of file
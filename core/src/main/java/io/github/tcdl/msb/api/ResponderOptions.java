@@ -14,14 +14,26 @@ public class ResponderOptions {
 
     private final Set<String> bindingKeys;
     private final MessageTemplate messageTemplate;
+    /**
+     * Whether requests batched by {@link Requester} are processed item by item and answered with a single response.
+     * Batch-aware responders advertise this in every ack, so requesters start batching only once they learn it.
+     */
+    private final boolean acceptsBatches;
 
     public static final ResponderOptions DEFAULTS = new Builder().build();
 
     protected ResponderOptions(Set<String> bindingKeys,
                                MessageTemplate messageTemplate) {
+        this(bindingKeys, messageTemplate, false);
+    }
+
+    protected ResponderOptions(Set<String> bindingKeys,
+                               MessageTemplate messageTemplate,
+                               boolean acceptsBatches) {
 
         this.bindingKeys = Collections.unmodifiableSet(bindingKeys);
         this.messageTemplate = messageTemplate;
+        this.acceptsBatches = acceptsBatches;
     }
 
     @Nonnull
@@ -33,10 +45,15 @@ public class ResponderOptions {
         return messageTemplate;
     }
 
+    public boolean isAcceptsBatches() {
+        return acceptsBatches;
+    }
+
     public static class Builder {
 
         protected Set<String> bindingKeys;
         protected MessageTemplate messageTemplate;
+        protected boolean acceptsBatches;
 
         /**
          * Each invocation REPLACES the old set of binding keys. Last one wins.
@@ -51,10 +68,16 @@ public class ResponderOptions {
             return this;
         }
 
+        public Builder withAcceptsBatches(boolean acceptsBatches) {
+            this.acceptsBatches = acceptsBatches;
+            return this;
+        }
+
         public ResponderOptions build() {
             return new ResponderOptions(
                     bindingKeys == null ? Collections.singleton(Strings.EMPTY) : bindingKeys,
-                    messageTemplate == null ? new MessageTemplate() : messageTemplate);
+                    messageTemplate == null ? new MessageTemplate() : messageTemplate,
+                    acceptsBatches);
         }
     }
 }
@@ -0,0 +1,19 @@
+package io.github.tcdl.msb.api.flow;
+
+/**
+ * A provider of a potentially unbounded number of items published according to the demand received from its
+ * {@link Subscriber}. Mirrors {@code org.reactivestreams.Publisher} and {@code java.util.concurrent.Flow.Publisher},
+ * so that it can be adapted to any reactive streams library by a method reference.
+ *
+ * @param <T> the type of published items
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * Requests the publisher to start publishing items to the given subscriber.
+     *
+     * @param subscriber the subscriber
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,39 @@
+package io.github.tcdl.msb.api.flow;
+
+/**
+ * A receiver of items published by a {@link Publisher}. Mirrors {@code org.reactivestreams.Subscriber} and
+ * {@code java.util.concurrent.Flow.Subscriber}.
+ *
+ * Methods of a subscriber are invoked sequentially, but not necessarily by the same thread.
+ *
+ * @param <T> the type of received items
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once before any other method. No items are received until demand is signalled
+     * via {@link Subscription#request(long)}.
+     *
+     * @param subscription the subscription
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked with the next item, never more often than requested.
+     *
+     * @param item the item
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked upon a failure after which no other methods are invoked.
+     *
+     * @param throwable the failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when no more items will be published.
+     */
+    void onComplete();
+}
@@ -0,0 +1,20 @@
+package io.github.tcdl.msb.api.flow;
+
+/**
+ * Link between a {@link Publisher} and a {@link Subscriber}. Mirrors {@code org.reactivestreams.Subscription} and
+ * {@code java.util.concurrent.Flow.Subscription}.
+ */
+public interface Subscription {
+
+    /**
+     * Adds the given number of items to the demand of the subscriber.
+     *
+     * @param n the number of items, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops publishing items to the subscriber.
+     */
+    void cancel();
+}
@@ -9,21 +9,35 @@ public final class Acknowledge {
     private final String responderId;
     private final Integer responsesRemaining;
     private final Integer timeoutMs;
+    /**
+     * Max time (in milliseconds) requesters may cache the response. 0 means the response must not be cached.
+     */
+    private final Integer maxAgeMs;
+    /**
+     * Whether the responder processes batches of requests. Is sent by batch-aware responders only.
+     */
+    private final Boolean acceptsBatches;
 
     @JsonCreator
     private Acknowledge(@JsonProperty("responderId") String responderId,
             @JsonProperty("responsesRemaining") Integer responsesRemaining,
-            @JsonProperty("timeoutMs") Integer timeoutMs) {
+            @JsonProperty("timeoutMs") Integer timeoutMs,
+            @JsonProperty("maxAgeMs") Integer maxAgeMs,
+            @JsonProperty("acceptsBatches") Boolean acceptsBatches) {
         Validate.notNull(responderId, "the 'responderId' must not be null");
         this.responderId = responderId;
         this.responsesRemaining = responsesRemaining;
         this.timeoutMs = timeoutMs;
+        this.maxAgeMs = maxAgeMs;
+        this.acceptsBatches = acceptsBatches;
     }
 
     public static class Builder {
         private String responderId;
         private Integer responsesRemaining;
         private Integer timeoutMs;
+        private Integer maxAgeMs;
+        private Boolean acceptsBatches;
 
         public Builder withResponderId(String responderId) {
             this.responderId = responderId;
@@ -39,9 +53,19 @@ public final class Acknowledge {
             this.timeoutMs = timeoutMs;
             return this;
         }
-        
+
+        public Builder withMaxAgeMs(Integer maxAgeMs) {
+            this.maxAgeMs = maxAgeMs;
+            return this;
+        }
+
+        public Builder withAcceptsBatches(Boolean acceptsBatches) {
+            this.acceptsBatches = acceptsBatches;
+            return this;
+        }
+
         public Acknowledge build() {
-            return new Acknowledge(responderId, responsesRemaining, timeoutMs);
+            return new Acknowledge(responderId, responsesRemaining, timeoutMs, maxAgeMs, acceptsBatches);
         }
     }
 
@@ -57,11 +81,21 @@ public final class Acknowledge {
         return timeoutMs;
     }
 
+    public Integer getMaxAgeMs() {
+        return maxAgeMs;
+    }
+
+    public Boolean getAcceptsBatches() {
+        return acceptsBatches;
+    }
+
     @Override
     public String toString() {
         return "Acknowledge [responderId=" + responderId +
                 ", responsesRemaining=" + responsesRemaining +
-                ", timeoutMs=" + timeoutMs + "]";
+                ", timeoutMs=" + timeoutMs +
+                ", maxAgeMs=" + maxAgeMs +
+                ", acceptsBatches=" + acceptsBatches + "]";
     }
 
     @Override public boolean equals(Object o) {
@@ -76,7 +110,11 @@ public final class Acknowledge {
             return false;
         if (responsesRemaining != null ? !responsesRemaining.equals(that.responsesRemaining) : that.responsesRemaining != null)
             return false;
-        return !(timeoutMs != null ? !timeoutMs.equals(that.timeoutMs) : that.timeoutMs != null);
+        if (timeoutMs != null ? !timeoutMs.equals(that.timeoutMs) : that.timeoutMs != null)
+            return false;
+        if (maxAgeMs != null ? !maxAgeMs.equals(that.maxAgeMs) : that.maxAgeMs != null)
+            return false;
+        return !(acceptsBatches != null ? !acceptsBatches.equals(that.acceptsBatches) : that.acceptsBatches != null);
 
     }
 
@@ -84,6 +122,8 @@ public final class Acknowledge {
         int result = responderId != null ? responderId.hashCode() : 0;
         result = 31 * result + (responsesRemaining != null ? responsesRemaining.hashCode() : 0);
         result = 31 * result + (timeoutMs != null ? timeoutMs.hashCode() : 0);
+        result = 31 * result + (maxAgeMs != null ? maxAgeMs.hashCode() : 0);
+        result = 31 * result + (acceptsBatches != null ? acceptsBatches.hashCode() : 0);
         return result;
     }
 
@@ -1,9 +1,16 @@
 package io.github.tcdl.msb.api.message;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.payload.LazyPayload;
+import io.github.tcdl.msb.support.Utils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
@@ -29,12 +36,17 @@ public final class Message {
     @JsonInclude(ALWAYS)
     private final MetaMessage meta; // To be filled with createMeta() ->completeMeta() sequence
     private final Acknowledge ack; // To be filled on ack or response
-    @JsonProperty("payload")
-    private final JsonNode rawPayload;
+    private final LazyPayload lazyPayload; // Payload in its original form: encoded incoming or POJO outgoing
+    private volatile JsonNode rawPayload; // Built from lazyPayload on first access
 
     @JsonCreator
     private Message(@JsonProperty("id") String id, @JsonProperty("correlationId") String correlationId, @JsonProperty("tags") List<String> tags,
             @JsonProperty("topics") Topics topics, @JsonProperty("meta") MetaMessage meta, @JsonProperty("ack") Acknowledge ack, @JsonProperty("payload") JsonNode rawPayload) {
+        this(id, correlationId, tags, topics, meta, ack, rawPayload, null);
+    }
+
+    private Message(String id, String correlationId, List<String> tags, Topics topics, MetaMessage meta, Acknowledge ack,
+            JsonNode rawPayload, LazyPayload lazyPayload) {
         Validate.notNull(id, "the 'id' must not be null");
         Validate.notNull(correlationId, "the 'correlationId' must not be null");
         Validate.notNull(topics, "the 'topics' must not be null");
@@ -46,6 +58,7 @@ public final class Message {
         this.meta = meta;
         this.ack = ack;
         this.rawPayload = rawPayload;
+        this.lazyPayload = lazyPayload;
     }
 
     public static class Builder {
@@ -57,6 +70,7 @@ public final class Message {
         private MetaMessage.Builder metaBuilder;
         private Acknowledge ack;
         private JsonNode rawPayload;
+        private LazyPayload lazyPayload;
 
         public Builder withId(String id) {
             this.id = id;
@@ -90,11 +104,18 @@ public final class Message {
 
         public Builder withPayload(JsonNode rawPayload) {
             this.rawPayload = rawPayload;
+            this.lazyPayload = null;
+            return this;
+        }
+
+        public Builder withLazyPayload(LazyPayload lazyPayload) {
+            this.lazyPayload = lazyPayload;
+            this.rawPayload = null;
             return this;
         }
 
         public Message build() {
-            return new Message(id, correlationId, tags, topics, metaBuilder.build(), ack, rawPayload);
+            return new Message(id, correlationId, tags, topics, metaBuilder.build(), ack, rawPayload, lazyPayload);
         }
     }
 
@@ -122,13 +143,76 @@ public final class Message {
         return ack;
     }
 
+    @JsonIgnore
     public JsonNode getRawPayload() {
-        return rawPayload;
+        JsonNode payload = rawPayload;
+        if (payload == null && lazyPayload != null) {
+            payload = lazyPayload.readTree();
+            rawPayload = payload;
+        }
+        return payload;
+    }
+
+    /**
+     * @return true if the message carries a non-null payload. Unlike {@link #getRawPayload()} doesn't decode the payload.
+     */
+    public boolean hasPayload() {
+        if (lazyPayload != null) {
+            return true;
+        }
+        return rawPayload != null && !rawPayload.isNull();
+    }
+
+    /**
+     * Converts the payload into the given type. The payload is converted directly from its original form unless
+     * its {@link JsonNode} tree has already been built.
+     *
+     * @throws JsonConversionException if the payload can't be converted
+     */
+    public <T> T convertPayload(TypeReference<T> typeReference, ObjectMapper payloadMapper) {
+        if (rawPayload == null && lazyPayload != null) {
+            return lazyPayload.read(typeReference, payloadMapper);
+        }
+        return Utils.convert(rawPayload, typeReference, payloadMapper);
+    }
+
+    /**
+     * Payload as it is written to the message envelope. A payload that can serialize itself is written as is,
+     * without building its {@link JsonNode} tree.
+     */
+    @JsonProperty("payload")
+    private Object getSerializedPayload() {
+        if (rawPayload == null && lazyPayload instanceof JsonSerializable) {
+            return lazyPayload;
+        }
+        return getRawPayload();
+    }
+
+    /**
+     * Creates a copy of this message with the given payload. Is used to attach a payload that has been decoded
+     * separately from the rest of the message.
+     */
+    public Message withPayload(JsonNode rawPayload) {
+        return new Message(id, correlationId, tags, topics, meta, ack, rawPayload, null);
+    }
+
+    /**
+     * Creates a copy of this message with the given id.
+     */
+    public Message withId(String id) {
+        return new Message(id, correlationId, tags, topics, meta, ack, rawPayload, lazyPayload);
+    }
+
+    /**
+     * Creates a copy of this message with the given payload that is converted only on demand.
+     */
+    public Message withLazyPayload(LazyPayload lazyPayload) {
+        return new Message(id, correlationId, tags, topics, meta, ack, null, lazyPayload);
     }
 
     @Override
     public String toString() {
         return String.format("Message [id=%s, topics=%s, meta=%s, ack=%s, rawPayload=%s, correlationId=%s, tags=[%s]]",
-                id, topics, meta, ack, rawPayload, correlationId, StringUtils.join(tags, ","));
+                id, topics, meta, ack, rawPayload != null ? rawPayload : lazyPayload, correlationId, StringUtils.join(tags, ","));
     }
 }
@@ -0,0 +1,25 @@
+package io.github.tcdl.msb.api.message.payload;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+
+/**
+ * Payload of a {@link io.github.tcdl.msb.api.message.Message} that is kept in its original form and is turned
+ * into a {@link JsonNode} tree only if the tree is explicitly requested.
+ */
+public interface LazyPayload {
+
+    /**
+     * @return payload as a {@link JsonNode} tree
+     * @throws JsonConversionException if the payload can't be converted
+     */
+    JsonNode readTree();
+
+    /**
+     * @return payload converted into the given type
+     * @throws JsonConversionException if the payload can't be converted
+     */
+    <T> T read(TypeReference<T> typeReference, ObjectMapper payloadMapper);
+}
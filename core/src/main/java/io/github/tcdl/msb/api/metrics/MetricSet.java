@@ -17,6 +17,104 @@ public interface MetricSet extends Metric {
      */
     String CONSUMER_CONNECTED_METRIC = "consumerConnected";
 
+    /**
+     * {@value #VALIDATED_MESSAGE_COUNT_METRIC} metric key for the number of messages validated against JSON schema
+     * as {@link Gauge} of {@link Long} type
+     */
+    String VALIDATED_MESSAGE_COUNT_METRIC = "validatedMessageCount";
+
+    /**
+     * {@value #VALIDATION_TIME_METRIC} metric key for the total time in nanoseconds spent on JSON schema validation
+     * as {@link Gauge} of {@link Long} type
+     */
+    String VALIDATION_TIME_METRIC = "validationTimeNanos";
+
+    /**
+     * {@value #COMPRESSION_RATIO_METRIC} metric key for the ratio of compressed to original size of compressed messages
+     * as {@link Gauge} of {@link Double} type
+     */
+    String COMPRESSION_RATIO_METRIC = "compressionRatio";
+
+    /**
+     * {@value #COMPRESSION_TIME_METRIC} metric key for the total time in nanoseconds spent on compression of published
+     * messages as {@link Gauge} of {@link Long} type
+     */
+    String COMPRESSION_TIME_METRIC = "compressionTimeNanos";
+
+    /**
+     * {@value #DECOMPRESSION_TIME_METRIC} metric key for the total time in nanoseconds spent on decompression
+     * of consumed messages as {@link Gauge} of {@link Long} type
+     */
+    String DECOMPRESSION_TIME_METRIC = "decompressionTimeNanos";
+
+    /**
+     * {@value #PENDING_TIMEOUTS_METRIC} metric key for the number of scheduled ack and response timeouts, hedges, batch lingers and batch
+     * response timeouts that are neither expired nor cancelled as {@link Gauge} of {@link Long} type
+     */
+    String PENDING_TIMEOUTS_METRIC = "pendingTimeouts";
+
+    /**
+     * {@value #IN_FLIGHT_REQUESTS_METRIC} metric key for the number of requests that are still waiting for acks
+     * or responses as {@link Gauge} of {@link Long} type
+     */
+    String IN_FLIGHT_REQUESTS_METRIC = "inFlightRequests";
+
+    /**
+     * {@value #COALESCIBLE_REQUESTS_METRIC} metric key for the number of requests sent with coalescing enabled
+     * as {@link Gauge} of {@link Long} type
+     */
+    String COALESCIBLE_REQUESTS_METRIC = "coalescibleRequests";
+
+    /**
+     * {@value #COALESCED_REQUESTS_METRIC} metric key for the number of requests that joined an identical in-flight
+     * request instead of being sent, so that its ratio to {@link #COALESCIBLE_REQUESTS_METRIC} is the coalescing
+     * hit rate, as {@link Gauge} of {@link Long} type
+     */
+    String COALESCED_REQUESTS_METRIC = "coalescedRequests";
+
+    /**
+     * {@value #RESPONSE_CACHE_HITS_METRIC} metric key for the number of requests completed with a cached response
+     * as {@link Gauge} of {@link Long} type
+     */
+    String RESPONSE_CACHE_HITS_METRIC = "responseCacheHits";
+
+    /**
+     * {@value #RESPONSE_CACHE_MISSES_METRIC} metric key for the number of requests with caching enabled that found
+     * no cached response as {@link Gauge} of {@link Long} type
+     */
+    String RESPONSE_CACHE_MISSES_METRIC = "responseCacheMisses";
+
+    /**
+     * {@value #RESPONSE_CACHE_EVICTIONS_METRIC} metric key for the number of cached responses evicted because they
+     * expired or the cache was full as {@link Gauge} of {@link Long} type
+     */
+    String RESPONSE_CACHE_EVICTIONS_METRIC = "responseCacheEvictions";
+
+    /**
+     * {@value #PUBLISH_QUEUE_DEPTH_METRIC} metric key for the number of messages waiting to be published by the publish
+     * stage to all topics as {@link Gauge} of {@link Long} type, null if the publish stage is disabled
+     */
+    String PUBLISH_QUEUE_DEPTH_METRIC = "publishQueueDepth";
+
+    /**
+     * {@value #DROPPED_PUBLISHED_MESSAGES_METRIC} metric key for the number of messages dropped because the publish
+     * queue of their topic was full as {@link Gauge} of {@link Long} type, null if the publish stage is disabled
+     */
+    String DROPPED_PUBLISHED_MESSAGES_METRIC = "droppedPublishedMessages";
+
+    /**
+     * {@value #PRODUCER_CHANNEL_WAITS_METRIC} metric key for the number of times a producer had to wait for a broker
+     * channel because all pooled channels were in use as {@link Gauge} of {@link Long} type, null if the adapter
+     * doesn't pool channels
+     */
+    String PRODUCER_CHANNEL_WAITS_METRIC = "producerChannelWaits";
+
+    /**
+     * {@value #PRODUCER_CHANNEL_WAIT_TIME_METRIC} metric key for the total time in nanoseconds producers spent waiting
+     * for a pooled broker channel as {@link Gauge} of {@link Long} type, null if the adapter doesn't pool channels
+     */
+    String PRODUCER_CHANNEL_WAIT_TIME_METRIC = "producerChannelWaitTimeNanos";
+
     /**
      * @return supported metric by name
      */
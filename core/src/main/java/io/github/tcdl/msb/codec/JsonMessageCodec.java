@@ -0,0 +1,54 @@
+package io.github.tcdl.msb.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.message.MessageHeaderDecoder;
+import io.github.tcdl.msb.message.MessageHeaderDecoder.PartiallyDecodedMessage;
+import io.github.tcdl.msb.support.Utils;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.charset.Charset;
+
+/**
+ * Default codec that transfers messages as JSON text.
+ */
+public class JsonMessageCodec implements MessageCodec {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectMapper messageMapper;
+    private final MessageHeaderDecoder headerDecoder;
+
+    public JsonMessageCodec(ObjectMapper messageMapper) {
+        Validate.notNull(messageMapper, "the 'messageMapper' must not be null");
+        this.messageMapper = messageMapper;
+        this.headerDecoder = new MessageHeaderDecoder(messageMapper);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(Message message) {
+        try {
+            return messageMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new JsonConversionException("Failed parse to JSON", e);
+        }
+    }
+
+    @Override
+    public PartiallyDecodedMessage decode(byte[] body, Charset charset) {
+        return headerDecoder.decode(body, charset);
+    }
+
+    @Override
+    public JsonNode readTree(byte[] body, Charset charset) {
+        return Utils.fromJson(body, charset, JsonNode.class, messageMapper);
+    }
+}
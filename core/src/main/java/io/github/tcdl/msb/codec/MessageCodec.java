@@ -0,0 +1,44 @@
+package io.github.tcdl.msb.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.message.MessageHeaderDecoder.PartiallyDecodedMessage;
+
+import java.nio.charset.Charset;
+
+/**
+ * {@link MessageCodec} defines the wire format of messages. The codec a message was encoded with is identified by its
+ * content type, that is passed along with the message in broker specific message properties.
+ *
+ * Implementations configured by class name in msbConfig.messageCodec should have a public constructor that takes
+ * the message envelope {@link com.fasterxml.jackson.databind.ObjectMapper}.
+ */
+public interface MessageCodec {
+
+    /**
+     * @return content type that identifies messages encoded by this codec
+     */
+    String getContentType();
+
+    /**
+     * @throws JsonConversionException if the message can't be encoded
+     */
+    byte[] encode(Message message);
+
+    /**
+     * Decodes the message. The payload may be left undecoded until it is accessed.
+     *
+     * @param charset charset configured for the broker, is only relevant for text based codecs
+     * @throws JsonConversionException if the message can't be decoded
+     */
+    PartiallyDecodedMessage decode(byte[] body, Charset charset);
+
+    /**
+     * Reads the whole message as a tree, e.g. to validate it against JSON schema.
+     *
+     * @param charset charset configured for the broker, is only relevant for text based codecs
+     * @throws JsonConversionException if the message can't be decoded
+     */
+    JsonNode readTree(byte[] body, Charset charset);
+}
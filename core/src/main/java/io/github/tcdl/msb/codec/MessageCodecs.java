@@ -0,0 +1,90 @@
+package io.github.tcdl.msb.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.apache.commons.lang3.Validate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link MessageCodecs} holds the codec used to publish messages and all codecs that consumed messages can be
+ * decoded with. Consumers pick the codec by the content type a message was published with and fall back to JSON
+ * for messages without a known content type, so producers that don't mark their messages keep working.
+ */
+public class MessageCodecs {
+
+    public static final String JSON_CODEC = "json";
+    public static final String SMILE_CODEC = "smile";
+
+    private final MessageCodec publishingCodec;
+    private final MessageCodec defaultCodec;
+    private final Map<String, MessageCodec> codecsByContentType = new HashMap<>();
+
+    public MessageCodecs(MessageCodec publishingCodec, MessageCodec... consumingCodecs) {
+        Validate.notNull(publishingCodec, "the 'publishingCodec' must not be null");
+        this.publishingCodec = publishingCodec;
+        for (MessageCodec codec : consumingCodecs) {
+            codecsByContentType.put(codec.getContentType(), codec);
+        }
+        codecsByContentType.put(publishingCodec.getContentType(), publishingCodec);
+        this.defaultCodec = codecsByContentType.get(JsonMessageCodec.CONTENT_TYPE);
+        Validate.notNull(defaultCodec, "JSON codec is mandatory");
+    }
+
+    /**
+     * Creates codecs according to msbConfig.messageCodec. Messages encoded with any of the built-in codecs
+     * can be consumed regardless of the configured one.
+     *
+     * @throws ConfigurationException if configured codec can't be created
+     */
+    public static MessageCodecs create(MsbConfig msbConfig, ObjectMapper messageMapper) {
+        JsonMessageCodec jsonCodec = new JsonMessageCodec(messageMapper);
+        SmileMessageCodec smileCodec = new SmileMessageCodec(messageMapper);
+
+        String codecName = msbConfig.getMessageCodec();
+        MessageCodec publishingCodec;
+        if (JSON_CODEC.equals(codecName)) {
+            publishingCodec = jsonCodec;
+        } else if (SMILE_CODEC.equals(codecName)) {
+            publishingCodec = smileCodec;
+        } else {
+            publishingCodec = createCustomCodec(codecName, messageMapper);
+        }
+        return new MessageCodecs(publishingCodec, jsonCodec, smileCodec);
+    }
+
+    /**
+     * @return codecs that publish and consume JSON only
+     */
+    public static MessageCodecs json(ObjectMapper messageMapper) {
+        return new MessageCodecs(new JsonMessageCodec(messageMapper));
+    }
+
+    private static MessageCodec createCustomCodec(String className, ObjectMapper messageMapper) {
+        try {
+            Class<?> clazz = Class.forName(className);
+            return (MessageCodec) clazz.getConstructor(ObjectMapper.class).newInstance(messageMapper);
+        } catch (Exception e) {
+            throw new ConfigurationException("Failed to create message codec: " + className, e);
+        }
+    }
+
+    /**
+     * @return codec used to encode published messages
+     */
+    public MessageCodec getPublishingCodec() {
+        return publishingCodec;
+    }
+
+    /**
+     * @return codec for the given content type or JSON codec if the content type is absent or unknown
+     */
+    public MessageCodec forContentType(String contentType) {
+        if (contentType == null) {
+            return defaultCodec;
+        }
+        return codecsByContentType.getOrDefault(contentType, defaultCodec);
+    }
+}
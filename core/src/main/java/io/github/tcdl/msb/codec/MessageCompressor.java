@@ -0,0 +1,193 @@
+package io.github.tcdl.msb.codec;
+
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link MessageCompressor} compresses encoded messages that exceed the configured size threshold and decompresses
+ * consumed messages according to the content encoding they were published with. Compressed messages are marked with
+ * {@value #DEFLATE_ENCODING} content encoding in broker message properties.
+ *
+ * Consumed messages are decompressed regardless of whether compression of published messages is enabled,
+ * so compression can be turned on once all consumers are able to decompress. Consumed messages that decompress
+ * into more than the configured max size are rejected, so a small malicious message can't exhaust the heap.
+ */
+public class MessageCompressor {
+
+    public static final String DEFLATE_ENCODING = "deflate";
+
+    public static final int DEFAULT_MAX_DECOMPRESSED_BYTES = 64 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean enabled;
+    private final int thresholdBytes;
+    private final int level;
+    private final int maxDecompressedBytes;
+
+    private final LongAdder compressedMessageCount = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionTimeNanos = new LongAdder();
+    private final LongAdder decompressedMessageCount = new LongAdder();
+    private final LongAdder decompressionTimeNanos = new LongAdder();
+
+    /**
+     * @param enabled whether published messages are compressed
+     * @param thresholdBytes messages of at least this size are compressed
+     * @param level deflate compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     */
+    public MessageCompressor(boolean enabled, int thresholdBytes, int level) {
+        this(enabled, thresholdBytes, level, DEFAULT_MAX_DECOMPRESSED_BYTES);
+    }
+
+    /**
+     * @param enabled whether published messages are compressed
+     * @param thresholdBytes messages of at least this size are compressed
+     * @param level deflate compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     * @param maxDecompressedBytes max size of a consumed message once it is decompressed
+     */
+    public MessageCompressor(boolean enabled, int thresholdBytes, int level, int maxDecompressedBytes) {
+        Validate.isTrue(thresholdBytes >= 0, "the 'thresholdBytes' must not be negative");
+        Validate.inclusiveBetween(Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION, level, "the 'level' must be between 1 and 9");
+        Validate.isTrue(maxDecompressedBytes > 0, "the 'maxDecompressedBytes' must be positive");
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    /**
+     * Creates compressor according to msbConfig.compression
+     */
+    public static MessageCompressor create(MsbConfig msbConfig) {
+        return new MessageCompressor(msbConfig.isCompressionEnabled(), msbConfig.getCompressionThresholdBytes(), msbConfig.getCompressionLevel(),
+                msbConfig.getMaxDecompressedBytes());
+    }
+
+    /**
+     * @return compressor that never compresses published messages but is able to decompress consumed ones
+     */
+    public static MessageCompressor disabled() {
+        return new MessageCompressor(false, 0, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * @param messageLength length of the encoded message
+     * @return true if the message has to be compressed before it is published
+     */
+    public boolean isCompressionRequired(int messageLength) {
+        return enabled && messageLength >= thresholdBytes;
+    }
+
+    /**
+     * @return the message compressed with {@value #DEFLATE_ENCODING} encoding
+     */
+    public byte[] compress(byte[] message) {
+        long startedAt = System.nanoTime();
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(message);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(message.length, BUFFER_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            byte[] compressed = out.toByteArray();
+
+            compressedMessageCount.increment();
+            originalBytes.add(message.length);
+            compressedBytes.add(compressed.length);
+            return compressed;
+        } finally {
+            deflater.end();
+            compressionTimeNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * @param contentEncoding content encoding the message was published with
+     * @return decompressed message
+     * @throws JsonConversionException if the content encoding is not supported, the message is corrupted or it exceeds
+     * the max decompressed size
+     */
+    public byte[] decompress(byte[] message, String contentEncoding) {
+        if (!DEFLATE_ENCODING.equals(contentEncoding)) {
+            throw new JsonConversionException(String.format("Content encoding '%s' is not supported", contentEncoding), null);
+        }
+
+        long startedAt = System.nanoTime();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(message);
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min((long) message.length * 4, maxDecompressedBytes));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new JsonConversionException("Compressed message is truncated", null);
+                }
+                if (out.size() + length > maxDecompressedBytes) {
+                    throw new JsonConversionException(
+                            String.format("Decompressed message exceeds the max size of %d bytes", maxDecompressedBytes), null);
+                }
+                out.write(buffer, 0, length);
+            }
+            decompressedMessageCount.increment();
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new JsonConversionException("Failed to decompress message", e);
+        } finally {
+            inflater.end();
+            decompressionTimeNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * @return number of compressed messages
+     */
+    public long getCompressedMessageCount() {
+        return compressedMessageCount.sum();
+    }
+
+    /**
+     * @return ratio of compressed to original size of all compressed messages or null if nothing has been compressed yet
+     */
+    public Double getCompressionRatio() {
+        long original = originalBytes.sum();
+        if (original == 0) {
+            return null;
+        }
+        return (double) compressedBytes.sum() / original;
+    }
+
+    /**
+     * @return total time in nanoseconds spent on compression of messages
+     */
+    public long getCompressionTimeNanos() {
+        return compressionTimeNanos.sum();
+    }
+
+    /**
+     * @return number of decompressed messages
+     */
+    public long getDecompressedMessageCount() {
+        return decompressedMessageCount.sum();
+    }
+
+    /**
+     * @return total time in nanoseconds spent on decompression of messages
+     */
+    public long getDecompressionTimeNanos() {
+        return decompressionTimeNanos.sum();
+    }
+}
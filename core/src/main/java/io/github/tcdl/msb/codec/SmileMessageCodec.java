@@ -0,0 +1,71 @@
+package io.github.tcdl.msb.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.message.MessageHeaderDecoder;
+import io.github.tcdl.msb.message.MessageHeaderDecoder.PartiallyDecodedMessage;
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Codec that transfers messages in the binary Smile format. Smile keeps the JSON data model, so messages can still
+ * be validated against JSON schema, but it is more compact and cheaper to parse and generate than JSON text.
+ *
+ * The message envelope mapper is used with the Smile parser and generator, so all its settings and modules apply.
+ */
+public class SmileMessageCodec implements MessageCodec {
+
+    public static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+    private final ObjectMapper messageMapper;
+    private final MessageHeaderDecoder headerDecoder;
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    public SmileMessageCodec(ObjectMapper messageMapper) {
+        Validate.notNull(messageMapper, "the 'messageMapper' must not be null");
+        this.messageMapper = messageMapper;
+        this.headerDecoder = new MessageHeaderDecoder(messageMapper);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(Message message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = smileFactory.createGenerator(out)) {
+            messageMapper.writeValue(generator, message);
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed write to Smile", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Smile back-references make a payload slice meaningless outside of its message, so the payload is decoded
+     * along with the rest of the message.
+     */
+    @Override
+    public PartiallyDecodedMessage decode(byte[] body, Charset charset) {
+        return headerDecoder.decode(readTree(body, charset));
+    }
+
+    @Override
+    public JsonNode readTree(byte[] body, Charset charset) {
+        try (JsonParser parser = smileFactory.createParser(body)) {
+            return messageMapper.readTree(parser);
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from Smile", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package io.github.tcdl.msb.collector;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.tcdl.msb.api.AcknowledgementHandler;
 import io.github.tcdl.msb.api.Callback;
@@ -13,49 +12,76 @@ import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.events.EventHandlers;
 import io.github.tcdl.msb.impl.MessageContextImpl;
 import io.github.tcdl.msb.impl.MsbContextImpl;
-import io.github.tcdl.msb.support.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 
-import static io.github.tcdl.msb.support.Utils.ifNull;
 import static java.lang.Math.toIntExact;
 
 /**
  * {@link Collector} is a component which collects responses and acknowledgements for sent requests.
+ *
+ * Responses are handled by consumer threads while timeouts end the collector on timer threads. Instead of a monitor,
+ * the lifecycle and the number of consumed messages whose handling is still expected are kept in a single state
+ * that is updated by CAS, so that a burst of responses for the same request doesn't contend for a lock.
  */
-@NotThreadSafe
+@ThreadSafe
 public class Collector<T> implements ConsumedMessagesAwareMessageHandler, ExecutionOptionsAwareMessageHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(Collector.class);
 
-    private final List<Message> ackMessages;
-    private final List<Message> payloadMessages;
+    /**
+     * The current instance is unsubscribed from message source so new incoming messages are no longer expected.
+     */
+    private static final long UNSUBSCRIBED = 1L << 32;
 
-    private final Map<String, Integer> timeoutMsById;
-    private final Map<String, Integer> responsesRemainingById;
-    private final Set<String> handledMessagesIds;
+    /**
+     * The "onEnd" callback was invoked. Used to guarantee that "onEnd" will not be invoked more than once.
+     */
+    private static final long ON_END_INVOKED = 1L << 33;
+
+    private static final long PENDING_MESSAGES_MASK = 0xFFFFFFFFL;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<Collector> STATE = AtomicLongFieldUpdater.newUpdater(Collector.class, "state");
+
+    private final boolean retainDeliveredMessages;
+    /**
+     * Received acks and responses, null unless msbConfig.requestOptions.retainDeliveredMessages is enabled.
+     */
+    private final Queue<Message> ackMessages;
+    private final Queue<Message> payloadMessages;
+    private final LongAdder ackMessagesCount = new LongAdder();
+    private final LongAdder payloadMessagesCount = new LongAdder();
+
+    private final ResponderStates responderStates;
+    /**
+     * Ids of handled responses, used to recognize redelivered ones.
+     */
+    private final MessageIdSet handledMessagesIds;
 
     private final int timeoutMs;
-    private volatile int currentTimeoutMs;
+    private final AtomicInteger currentTimeoutMs;
     private final Integer waitForAcksMs;
     private volatile Instant waitForAcksUntil;
 
-    private volatile int responsesRemaining;
+    private final AtomicInteger responsesRemaining;
     private final boolean shouldWaitUntilResponseTimeout;
 
     private final TypeReference<T> payloadTypeReference;
@@ -65,45 +91,28 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
     private final ObjectMapper payloadMapper;
 
     private final Clock clock;
-    private final Message requestMessage;
+    private volatile Message requestMessage;
 
     private final Optional<BiConsumer<Message, MessageContext>> onRawResponse;
     private final Optional<BiConsumer<T, MessageContext>> onResponse;
     private final Optional<BiConsumer<Acknowledge, MessageContext>> onAcknowledge;
     private final Optional<Callback<Void>> onEnd;
     private final Optional<BiConsumer<Exception, Message>> onError;
+    private final BooleanSupplier completionCondition;
 
-    private ScheduledFuture ackTimeoutFuture;
-    private ScheduledFuture responseTimeoutFuture;
+    private final AtomicReference<ScheduledFuture<?>> ackTimeoutFuture = new AtomicReference<>();
+    private final AtomicReference<ScheduledFuture<?>> responseTimeoutFuture = new AtomicReference<>();
+    private final AtomicReference<ScheduledFuture<?>> deadlineFuture = new AtomicReference<>();
     private final CollectorManager collectorManager;
     private final MsbConfig msbConfig;
 
     /**
-     * Count of consumed incoming messages so {@link #handleMessage} invocation is expected in future.
-     * Even redelivered messages increment this counter.
+     * Lifecycle flags ({@link #UNSUBSCRIBED}, {@link #ON_END_INVOKED}) in the high bits and the count of pending
+     * messages in the low 32 bits. A message is pending when it was consumed (even if redelivered) so that
+     * {@link #handleMessage} invocation is expected, but it is neither handled nor lost yet. The count is signed since
+     * a message may be handled before its consumption is notified.
      */
-    private final LongAdder consumedMessagesCount = new LongAdder();
-
-    /**
-     * Count of consumed incoming messages that were lost afterwards so {@link #handleMessage} invocation is
-     * no longer expected
-     */
-    private final LongAdder consumedAndLostMessagesCount = new LongAdder();
-
-    /**
-     * Counter of consumed incoming messages that are already handled by {@link #handleMessage}.
-     */
-    private final LongAdder handledMessagesHandledCount = new LongAdder();
-
-    /**
-     * Is the current instance unsubscribed from message source so new incoming messages are no longer expected.
-     */
-    private volatile boolean isUnsubscribed = false;
-
-    /**
-     * Was the "onEnd" callback invoked? Used to guarantee that "onEnd" will not be invoked more than once.
-     */
-    private volatile boolean isOnEndInvoked = false;
+    private volatile long state;
 
     private final boolean directlyInvokable;
 
@@ -123,21 +132,22 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
         this.payloadMapper = msbContext.getPayloadMapper();
 
         this.startedAt = clock.instant().toEpochMilli();
-        this.ackMessages = new LinkedList<>();
-        this.payloadMessages = new LinkedList<>();
-        this.timeoutMsById = new HashMap<>();
-        this.responsesRemainingById = new HashMap<>();
-        this.handledMessagesIds = new HashSet<>();
+        this.retainDeliveredMessages = msbConfig.isRetainDeliveredMessages();
+        this.ackMessages = retainDeliveredMessages ? new ConcurrentLinkedQueue<>() : null;
+        this.payloadMessages = retainDeliveredMessages ? new ConcurrentLinkedQueue<>() : null;
+        this.responderStates = new ResponderStates();
+        this.handledMessagesIds = new MessageIdSet();
 
         this.waitForAcksMs = requestOptions.getAckTimeout();
         this.waitForAcksUntil = null;
 
         this.timeoutMs = getResponseTimeoutFromConfigs(requestOptions);
-        this.currentTimeoutMs = timeoutMs;
+        this.currentTimeoutMs = new AtomicInteger(timeoutMs);
 
-        this.responsesRemaining = requestOptions.getWaitForResponses();
+        int waitForResponses = requestOptions.getWaitForResponses();
+        this.responsesRemaining = new AtomicInteger(waitForResponses);
 
-        this.shouldWaitUntilResponseTimeout = (responsesRemaining == RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT);
+        this.shouldWaitUntilResponseTimeout = (waitForResponses == RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT);
 
         this.payloadTypeReference = payloadTypeReference;
 
@@ -146,18 +156,18 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
         onAcknowledge = Optional.ofNullable(eventHandlers.onAcknowledge());
         onEnd = Optional.ofNullable(eventHandlers.onEnd());
         onError = Optional.ofNullable(eventHandlers.onError());
+        completionCondition = eventHandlers.completionCondition() != null ? eventHandlers.completionCondition() : () -> false;
         this.directlyInvokable = directlyInvokableCallbacks;
     }
 
     @Override
-    public synchronized void notifyMessageConsumed() {
-        consumedMessagesCount.increment();
+    public void notifyMessageConsumed() {
+        addPendingMessages(1);
     }
 
     @Override
-    public synchronized void notifyConsumedMessageIsLost() {
-        consumedAndLostMessagesCount.increment();
-        if(isNoMoreMessagesHandlingPossible()) {
+    public void notifyConsumedMessageIsLost() {
+        if(isNoMoreMessagesHandlingPossible(addPendingMessages(-1))) {
             end();
         }
     }
@@ -183,19 +193,20 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
                 requestMessage.getCorrelationId(), incomingMessage.getCorrelationId());
         LOG.trace("Message: {}", incomingMessage);
 
-        JsonNode rawPayload = incomingMessage.getRawPayload();
         MessageContext messageContext = createMessageContext(acknowledgeHandler, incomingMessage);
-        boolean isWithPayload = Utils.isPayloadPresent(rawPayload);
+        boolean isWithPayload = incomingMessage.hasPayload();
 
         if (isWithPayload) {
             LOG.debug("[correlation ids: {}-{}] Received Payload.",
                     requestMessage.getCorrelationId(), incomingMessage.getCorrelationId());
-            LOG.trace("Payload: {}", rawPayload);
-            payloadMessages.add(incomingMessage);
+            payloadMessagesCount.increment();
+            if (payloadMessages != null) {
+                payloadMessages.add(incomingMessage);
+            }
             try {
                 onRawResponse.ifPresent(handler -> handler.accept(incomingMessage, messageContext));
 
-                T payload = Utils.convert(rawPayload, payloadTypeReference, payloadMapper);
+                T payload = incomingMessage.convertPayload(payloadTypeReference, payloadMapper);
                 onResponse.ifPresent(handler -> handler.accept(payload, messageContext));
             } catch (Exception e) {
                 //do not propagate exception outside of this method in order to prevent autoRetry for responses
@@ -205,32 +216,36 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
         } else {
             LOG.debug("[correlation ids: {}-{}] Received {}",
                     requestMessage.getCorrelationId(), incomingMessage.getCorrelationId(), incomingMessage.getAck());
-            ackMessages.add(incomingMessage);
+            ackMessagesCount.increment();
+            if (ackMessages != null) {
+                ackMessages.add(incomingMessage);
+            }
             onAcknowledge.ifPresent(handler -> handler.accept(incomingMessage.getAck(), messageContext));
         }
 
         processAck(incomingMessage.getAck());
 
-        synchronized (this) {
-            handledMessagesHandledCount.increment();
-            updateCounters(incomingMessage, isWithPayload);
-
-            boolean isInvokeOnEnd = false;
-            if (!isAwaitingResponses()) {
-                //set ack timer task in case we received ALL expected responses but still have to wait for ack
-                if (isAwaitingAcks()) {
-                    waitForAcks();
-                } else {
-                    isInvokeOnEnd = true;
-                }
+        updateCounters(incomingMessage, isWithPayload);
+        long stateAfterHandling = addPendingMessages(-1);
+
+        boolean isInvokeOnEnd = false;
+        if (completionCondition.getAsBoolean()) {
+            LOG.debug("[correlation id: {}] Completion condition is met", requestMessage.getCorrelationId());
+            isInvokeOnEnd = true;
+        } else if (!isAwaitingResponses()) {
+            //set ack timer task in case we received ALL expected responses but still have to wait for ack
+            if (isAwaitingAcks()) {
+                waitForAcks();
+            } else {
+                isInvokeOnEnd = true;
             }
+        }
 
-            isInvokeOnEnd = isInvokeOnEnd || isNoMoreMessagesHandlingPossible();
+        isInvokeOnEnd = isInvokeOnEnd || isNoMoreMessagesHandlingPossible(stateAfterHandling);
 
-            if(isInvokeOnEnd) {
-                LOG.debug("[correlation ids: {}] All messages has been received", requestMessage.getCorrelationId());
-                end();
-            }
+        if(isInvokeOnEnd) {
+            LOG.debug("[correlation ids: {}] All messages has been received", requestMessage.getCorrelationId());
+            end();
         }
     }
 
@@ -238,16 +253,29 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
         return new MessageContextImpl(acknowledgementHandler, originalMessage);
     }
 
-    protected synchronized void end() {
+    /**
+     * Ends the collector because the request could not be published. The error handler is invoked with the failure.
+     */
+    public void fail(Exception exception) {
+        LOG.warn("[correlation id: {}] Request could not be published", requestMessage.getCorrelationId(), exception);
+        try {
+            onError.ifPresent(handler -> handler.accept(exception, requestMessage));
+        } catch (Exception e) {
+            LOG.warn("Unexpected exception during 'onError' handler invocation", e);
+        }
+        end();
+    }
+
+    protected void end() {
         LOG.debug("[correlation id: {}] Stop response processing ", requestMessage.getCorrelationId());
         cancelAckTimeoutTask();
         cancelResponseTimeoutTask();
+        cancel(deadlineFuture.get());
 
         collectorManager.unregisterCollector(this);
-        isUnsubscribed = true;
+        markUnsubscribed();
 
-        if(!isOnEndInvoked && isAllConsumedMessagesHandled()) {
-            isOnEndInvoked = true;
+        if(markOnEndInvoked()) {
             LOG.debug("[correlation id: {}] triggering 'onEnd' callback", requestMessage.getCorrelationId());
             try {
                 onEnd.ifPresent(handler -> handler.call(null));
@@ -258,141 +286,152 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
     }
 
     /**
-     * Returns true if no more {@link #handleMessage} invocations are expected.
+     * Returns true if no more {@link #handleMessage} invocations are expected in the given state.
      */
-    private boolean isNoMoreMessagesHandlingPossible() {
-        return isUnsubscribed && isAllConsumedMessagesHandled();
+    private static boolean isNoMoreMessagesHandlingPossible(long state) {
+        return (state & UNSUBSCRIBED) != 0 && isAllConsumedMessagesHandled(state);
     }
 
     /**
-     * Returns true if all incoming messages consumed at the moment were handled by {@link #handleMessage}.
-     * But it is possible, that some new messages will be consumed and handled afterwards.
+     * Returns true if all incoming messages consumed in the given state were either handled by {@link #handleMessage}
+     * or lost. But it is possible, that some new messages will be consumed and handled afterwards.
      */
-    private synchronized boolean isAllConsumedMessagesHandled() {
-        int consumed = consumedMessagesCount.intValue();
-        int handled = handledMessagesHandledCount.intValue();
-        int consumedAndLost = consumedAndLostMessagesCount.intValue();
-
-        LOG.debug("[correlation id: {}] Messages consumed: {}; handled: {} consumed and lost: {}  ",
-                requestMessage.getCorrelationId(), consumed, handled, consumedAndLost);
-
-        return (consumed == consumedAndLost + handled);
+    private static boolean isAllConsumedMessagesHandled(long state) {
+        return getPendingMessages(state) == 0;
     }
 
-    void processAck(Acknowledge acknowledge) {
-        if (acknowledge == null) {
-            return;
-        }
-        if (acknowledge.getResponsesRemaining() != null) {
-            LOG.debug("[correlation id: {}] Responses remaining for responderId [{}] is set to {}",
-                    requestMessage.getCorrelationId(), acknowledge.getResponderId(),
-                    setResponsesRemainingForResponderId(acknowledge.getResponderId(), acknowledge.getResponsesRemaining()));
-        }
+    private static int getPendingMessages(long state) {
+        return (int) state;
+    }
 
-        if (acknowledge.getTimeoutMs() != null) {
-            setTimeoutMsForResponderId(acknowledge.getResponderId(), acknowledge.getTimeoutMs());
-        }
+    /**
+     * @return state after the update
+     */
+    private long addPendingMessages(int delta) {
+        long current;
+        long updated;
+        do {
+            current = state;
+            updated = (current & ~PENDING_MESSAGES_MASK) | ((getPendingMessages(current) + delta) & PENDING_MESSAGES_MASK);
+        } while (!STATE.compareAndSet(this, current, updated));
+        return updated;
+    }
 
-        Integer newTimeoutMs = getMaxTimeoutMs();
-        if (newTimeoutMs != this.currentTimeoutMs) {
-            this.currentTimeoutMs = newTimeoutMs;
-            waitForResponses();
-        }
+    private void markUnsubscribed() {
+        long current;
+        do {
+            current = state;
+        } while ((current & UNSUBSCRIBED) == 0 && !STATE.compareAndSet(this, current, current | UNSUBSCRIBED));
     }
 
-    private Integer setTimeoutMsForResponderId(String responderId, Integer timeoutMs) {
-        if (timeoutMsById != null && timeoutMsById.containsKey(responderId) && timeoutMsById.get(responderId).equals(timeoutMs)) {
-            return 0; // Not changed
-        }
-        timeoutMsById.put(responderId, timeoutMs);
+    /**
+     * @return true if the caller is the only one that has to invoke "onEnd"
+     */
+    private boolean markOnEndInvoked() {
+        long current;
+        do {
+            current = state;
+            LOG.debug("[correlation id: {}] Messages consumed but neither handled nor lost: {}",
+                    requestMessage.getCorrelationId(), getPendingMessages(current));
+            if ((current & ON_END_INVOKED) != 0 || !isAllConsumedMessagesHandled(current)) {
+                return false;
+            }
+        } while (!STATE.compareAndSet(this, current, current | ON_END_INVOKED));
+        return true;
+    }
 
-        return timeoutMs;
+    private boolean isUnsubscribed() {
+        return (state & UNSUBSCRIBED) != 0;
     }
 
-    private int getMaxTimeoutMs() {
-        if (timeoutMsById.isEmpty()) {
-            return this.timeoutMs;
+    void processAck(Acknowledge acknowledge) {
+        if (acknowledge == null) {
+            return;
         }
-
-        Integer maxTimeoutMs = this.timeoutMs;
-        for (String responderId : timeoutMsById.keySet()) {
-            // Use only what we're waiting for
-            if (!responsesRemainingById.isEmpty() && responsesRemainingById.containsKey(responderId)
-                    && responsesRemainingById.get(responderId) == 0) {
-                continue;
-            }
-            maxTimeoutMs = Math.max(timeoutMsById.get(responderId), maxTimeoutMs);
+        if (acknowledge.getResponsesRemaining() != null || acknowledge.getTimeoutMs() != null) {
+            Integer responderResponsesRemaining = responderStates.update(acknowledge.getResponderId(),
+                    acknowledge.getResponsesRemaining(), acknowledge.getTimeoutMs());
+            LOG.debug("[correlation id: {}] Responses remaining for responderId [{}] is set to {}",
+                    requestMessage.getCorrelationId(), acknowledge.getResponderId(), responderResponsesRemaining);
         }
 
-        return maxTimeoutMs;
+        // Use only timeouts of responders we're waiting for. The max is read again whenever another ack has changed
+        // the timeout meanwhile, so a max read before a concurrent ack can't overwrite the one read after it.
+        int previousTimeoutMs;
+        int newTimeoutMs;
+        do {
+            previousTimeoutMs = currentTimeoutMs.get();
+            newTimeoutMs = responderStates.getMaxTimeoutMs(this.timeoutMs);
+            if (previousTimeoutMs == newTimeoutMs) {
+                return;
+            }
+        } while (!currentTimeoutMs.compareAndSet(previousTimeoutMs, newTimeoutMs));
+        waitForResponses();
     }
 
-    private synchronized void updateCounters(Message message, boolean isWithPayload) {
-        String id = message.getId();
-
+    private void updateCounters(Message message, boolean isWithPayload) {
         /**
          * Don't update remaining messages counter when a message id was already recorder so the current
          * message is a redelivery of a previous one.
          */
-        if(!handledMessagesIds.contains(id)) {
-            if(isWithPayload) {
-                incResponsesRemaining(-1);
-            }
-            handledMessagesIds.add(message.getId());
+        if(isWithPayload && handledMessagesIds.add(message.getId())) {
+            responsesRemaining.updateAndGet(remaining -> Math.max(remaining - 1, 0));
         }
     }
 
-    private synchronized Integer incResponsesRemaining(Integer inc) {
-        return (responsesRemaining = Math.max(responsesRemaining + inc, 0));
-    }
-
     int getResponsesRemaining() {
-        if (responsesRemainingById.isEmpty()) {
-            return responsesRemaining;
+        if (!responderStates.isResponsesRemainingKnown()) {
+            return responsesRemaining.get();
         }
+        return Math.max(responsesRemaining.get(), responderStates.getResponsesRemaining());
+    }
 
-        Integer sumOfResponsesRemaining = 0;
-        for (Integer responses : responsesRemainingById.values()) {
-            sumOfResponsesRemaining += responses;
+    public void waitForResponses() {
+        int timeoutMs;
+        do {
+            // acks may change the timeout concurrently, the timeout enabled last must be the current one
+            timeoutMs = this.currentTimeoutMs.get();
+            int newTimeoutMs = timeoutMs - toIntExact(clock.instant().toEpochMilli() - this.startedAt);
+            LOG.debug("[correlation id: {}] Waiting for responses until {}.", requestMessage.getCorrelationId(), clock.instant().plus(newTimeoutMs, ChronoUnit.MILLIS));
+            cancel(responseTimeoutFuture.getAndSet(timeoutManager.enableResponseTimeout(newTimeoutMs, this)));
+        } while (timeoutMs != this.currentTimeoutMs.get());
+        if (isUnsubscribed()) {
+            // the collector has ended meanwhile and may have missed the new timeout
+            cancelResponseTimeoutTask();
         }
-
-        return Math.max(responsesRemaining, sumOfResponsesRemaining);
     }
 
-    private Integer setResponsesRemainingForResponderId(String responderId, int responsesRemaining) {
-        //check for responsesRemaining < 0 seems redundant, since if config.waitForResponses == -1 we use  Infinity
-        boolean atMin = (responsesRemaining < 0 && (responsesRemainingById.isEmpty() || !responsesRemainingById
-                .containsKey(responderId)));
-        if (atMin) {
-            return null;
+    void waitForAcks() {
+        if (ackTimeoutFuture.get() != null) {
+            LOG.debug("[correlation id: {}] Ack timeout is already scheduled", requestMessage.getCorrelationId());
+            return;
         }
-        //when second, third, etc time same value (not equals 0) for responsesRemaining is received for corresponding responderId, it must be sum up with previous.
-        if (responsesRemaining == 0) {
-            responsesRemainingById.put(responderId, 0);
-        } else {
-            responsesRemainingById.put(responderId,
-                    Math.max(0, ifNull(responsesRemainingById.get(responderId), 0) + responsesRemaining));
+        LOG.debug("[correlation id: {}] Waiting for ack until {}.", requestMessage.getCorrelationId(), this.waitForAcksUntil);
+        long ackTimeoutMs = waitForAcksUntil.toEpochMilli() - clock.instant().toEpochMilli();
+        ScheduledFuture<?> future = timeoutManager.enableAckTimeout(toIntExact(ackTimeoutMs), this);
+        if (!ackTimeoutFuture.compareAndSet(null, future)) {
+            LOG.debug("[correlation id: {}] Ack timeout is already scheduled", requestMessage.getCorrelationId());
+            cancel(future);
+        } else if (isUnsubscribed()) {
+            cancelAckTimeoutTask();
         }
-
-        return responsesRemainingById.get(responderId);
     }
 
-    public void waitForResponses() {
-        if(this.responseTimeoutFuture != null){
-            this.responseTimeoutFuture.cancel(true);
+    /**
+     * Ends the collector once the deadline passes. Unlike the response timeout the deadline is not adjusted by acks.
+     *
+     * @param deadlineMs time (in milliseconds) since the request was sent
+     */
+    public void waitUntilDeadline(int deadlineMs) {
+        int newTimeoutMs = deadlineMs - toIntExact(clock.instant().toEpochMilli() - this.startedAt);
+        LOG.debug("[correlation id: {}] Waiting for responses not longer than {} ms.", requestMessage.getCorrelationId(), newTimeoutMs);
+        if (newTimeoutMs <= 0) {
+            end();
+            return;
         }
-        int newTimeoutMs = this.currentTimeoutMs - toIntExact(clock.instant().toEpochMilli() - this.startedAt);
-        LOG.debug("[correlation id: {}] Waiting for responses until {}.", requestMessage.getCorrelationId(), clock.instant().plus(newTimeoutMs, ChronoUnit.MILLIS));
-        this.responseTimeoutFuture = timeoutManager.enableResponseTimeout(newTimeoutMs, this);
-    }
-
-    void waitForAcks() {
-        if (ackTimeoutFuture == null) {
-            LOG.debug("[correlation id: {}] Waiting for ack until {}.", requestMessage.getCorrelationId(), this.waitForAcksUntil);
-            long ackTimeoutMs = waitForAcksUntil.toEpochMilli() - clock.instant().toEpochMilli();
-            ackTimeoutFuture = timeoutManager.enableAckTimeout(toIntExact(ackTimeoutMs), this);
-        } else {
-            LOG.debug("[correlation id: {}] Ack timeout is already scheduled", requestMessage.getCorrelationId());
+        cancel(deadlineFuture.getAndSet(timeoutManager.enableResponseTimeout(newTimeoutMs, this)));
+        if (isUnsubscribed()) {
+            cancel(deadlineFuture.get());
         }
     }
 
@@ -404,23 +443,49 @@ public class Collector<T> implements ConsumedMessagesAwareMessageHandler, Execut
     }
 
     private void cancelResponseTimeoutTask() {
-        if (this.responseTimeoutFuture != null) {
-            responseTimeoutFuture.cancel(true);
-        }
+        cancel(responseTimeoutFuture.get());
     }
 
     private void cancelAckTimeoutTask() {
-        if (this.ackTimeoutFuture != null) {
-            ackTimeoutFuture.cancel(true);
+        cancel(ackTimeoutFuture.get());
+    }
+
+    private static void cancel(ScheduledFuture<?> timeoutFuture) {
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Releases the payload of the published request unless delivered messages are retained, only the envelope
+     * of the request is needed to collect the responses.
+     */
+    public void releaseRequestPayload() {
+        if (!retainDeliveredMessages && requestMessage.hasPayload()) {
+            requestMessage = requestMessage.withPayload(null);
         }
     }
 
-    List<Message> getAckMessages() {
-        return ackMessages;
+    /**
+     * @return received acks or an empty collection unless delivered messages are retained
+     */
+    Collection<Message> getAckMessages() {
+        return ackMessages != null ? ackMessages : Collections.emptyList();
+    }
+
+    /**
+     * @return received responses or an empty collection unless delivered messages are retained
+     */
+    Collection<Message> getPayloadMessages() {
+        return payloadMessages != null ? payloadMessages : Collections.emptyList();
+    }
+
+    long getAckMessagesCount() {
+        return ackMessagesCount.sum();
     }
 
-    List<Message> getPayloadMessages() {
-        return payloadMessages;
+    long getPayloadMessagesCount() {
+        return payloadMessagesCount.sum();
     }
 
     Message getRequestMessage() {
@@ -6,9 +6,7 @@ import io.github.tcdl.msb.MessageHandlerResolver;
 import io.github.tcdl.msb.api.exception.ConsumerSubscriptionException;
 import io.github.tcdl.msb.api.message.Message;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,7 +23,7 @@ public class CollectorManager implements MessageHandlerResolver {
 
     private final String topic;
     private final ChannelManager channelManager;
-    Map<String, Collector> collectorsByCorrelationId = new ConcurrentHashMap<>();
+    CorrelationIdIndex<Collector> collectorsByCorrelationId = new CorrelationIdIndex<>();
 
     public CollectorManager(String topic, ChannelManager channelManager) {
         this.topic = topic;
@@ -70,6 +68,13 @@ public class CollectorManager implements MessageHandlerResolver {
         collectorsByCorrelationId.remove(collector.getRequestMessage().getCorrelationId());
     }
 
+    /**
+     * @return number of registered collectors, i.e. requests that are still waiting for responses
+     */
+    public int getInFlightRequests() {
+        return collectorsByCorrelationId.size();
+    }
+
     @Override
     public String getLoggingName() {
         return LOGGING_NAME;
@@ -23,4 +23,15 @@ public class CollectorManagerFactory {
 
         return collectorManager;
     }
+
+    /**
+     * @return number of requests that are still waiting for responses on all response topics
+     */
+    public long getInFlightRequests() {
+        long inFlightRequests = 0;
+        for (CollectorManager collectorManager : collectorManagersByTopic.values()) {
+            inFlightRequests += collectorManager.getInFlightRequests();
+        }
+        return inFlightRequests;
+    }
 }
@@ -0,0 +1,182 @@
+package io.github.tcdl.msb.collector;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link CorrelationIdIndex} maps correlation ids to values. Ids in the UUID text format (see {@link Uuids}) are
+ * parsed into two longs and kept in an open addressing table, so lookups neither allocate nor hash strings and
+ * entries need no nodes. Other ids, e.g. of MSB clients in other languages, are kept in a {@link ConcurrentHashMap}.
+ *
+ * Lookups are lock-free. Insertions and removals happen once per request and are serialized by the monitor
+ * of the index.
+ */
+@ThreadSafe
+class CorrelationIdIndex<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Value of a slot whose entry has been removed. The slot keeps its key, so that lock-free lookups never see
+     * a slot with one key and the value of another one. Removed slots are dropped when the table is rebuilt.
+     */
+    private static final Object REMOVED = new Object();
+
+    private final Map<String, V> otherIds = new ConcurrentHashMap<>();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int uuidsCount;
+
+    V get(String id) {
+        if (!Uuids.isUuid(id)) {
+            return otherIds.get(id);
+        }
+
+        long mostSigBits = Uuids.getMostSigBits(id);
+        long leastSigBits = Uuids.getLeastSigBits(id);
+        Table current = table;
+        for (int slot = Uuids.hash(mostSigBits, leastSigBits) & current.mask; ; slot = (slot + 1) & current.mask) {
+            // the volatile read of the value makes the key of the slot visible
+            Object value = current.values.get(slot);
+            if (value == null) {
+                return null;
+            }
+            if (current.hasKey(slot, mostSigBits, leastSigBits)) {
+                return value == REMOVED ? null : cast(value);
+            }
+        }
+    }
+
+    /**
+     * @return the value previously associated with the id or null if the value has been associated now
+     */
+    V putIfAbsent(String id, V value) {
+        if (!Uuids.isUuid(id)) {
+            return otherIds.putIfAbsent(id, value);
+        }
+
+        long mostSigBits = Uuids.getMostSigBits(id);
+        long leastSigBits = Uuids.getLeastSigBits(id);
+        synchronized (this) {
+            Table current = table;
+            for (int slot = Uuids.hash(mostSigBits, leastSigBits) & current.mask; ; slot = (slot + 1) & current.mask) {
+                Object slotValue = current.values.get(slot);
+                if (slotValue == null) {
+                    current.insert(slot, mostSigBits, leastSigBits, value);
+                    uuidsCount++;
+                    if (current.usedSlots * 2 > current.capacity()) {
+                        rebuild(current);
+                    }
+                    return null;
+                }
+                if (current.hasKey(slot, mostSigBits, leastSigBits)) {
+                    if (slotValue != REMOVED) {
+                        return cast(slotValue);
+                    }
+                    current.values.set(slot, value);
+                    uuidsCount++;
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the removed value or null if the index contained no value for the id
+     */
+    V remove(String id) {
+        if (!Uuids.isUuid(id)) {
+            return otherIds.remove(id);
+        }
+
+        long mostSigBits = Uuids.getMostSigBits(id);
+        long leastSigBits = Uuids.getLeastSigBits(id);
+        synchronized (this) {
+            Table current = table;
+            for (int slot = Uuids.hash(mostSigBits, leastSigBits) & current.mask; ; slot = (slot + 1) & current.mask) {
+                Object slotValue = current.values.get(slot);
+                if (slotValue == null) {
+                    return null;
+                }
+                if (current.hasKey(slot, mostSigBits, leastSigBits)) {
+                    if (slotValue == REMOVED) {
+                        return null;
+                    }
+                    current.values.set(slot, REMOVED);
+                    uuidsCount--;
+                    return cast(slotValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of ids in the index
+     */
+    int size() {
+        return uuidsCount + otherIds.size();
+    }
+
+    /**
+     * Copies present entries into a new table that is at most a quarter full and publishes it. Lookups that have
+     * already started keep reading the old table, which is not changed anymore.
+     */
+    private void rebuild(Table current) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < uuidsCount * 4) {
+            capacity <<= 1;
+        }
+        Table rebuilt = new Table(capacity);
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            Object value = current.values.get(slot);
+            if (value != null && value != REMOVED) {
+                long mostSigBits = current.keys[slot * 2];
+                long leastSigBits = current.keys[slot * 2 + 1];
+                int rebuiltSlot = Uuids.hash(mostSigBits, leastSigBits) & rebuilt.mask;
+                while (rebuilt.values.get(rebuiltSlot) != null) {
+                    rebuiltSlot = (rebuiltSlot + 1) & rebuilt.mask;
+                }
+                rebuilt.insert(rebuiltSlot, mostSigBits, leastSigBits, value);
+            }
+        }
+        table = rebuilt;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    private static final class Table {
+
+        // pairs of most and least significant bits, written before the value of the slot is published
+        final long[] keys;
+        // null for empty slots
+        final AtomicReferenceArray<Object> values;
+        final int mask;
+        // number of slots that are not empty, guarded by the monitor of the index
+        int usedSlots;
+
+        Table(int capacity) {
+            this.keys = new long[capacity * 2];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        boolean hasKey(int slot, long mostSigBits, long leastSigBits) {
+            return keys[slot * 2] == mostSigBits && keys[slot * 2 + 1] == leastSigBits;
+        }
+
+        void insert(int slot, long mostSigBits, long leastSigBits, Object value) {
+            keys[slot * 2] = mostSigBits;
+            keys[slot * 2 + 1] = leastSigBits;
+            values.set(slot, value);
+            usedSlots++;
+        }
+    }
+}
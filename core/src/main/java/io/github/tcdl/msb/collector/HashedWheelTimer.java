@@ -0,0 +1,397 @@
+package io.github.tcdl.msb.collector;
+
+import io.github.tcdl.msb.support.Utils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link HashedWheelTimer} is a {@link TimeoutScheduler} with constant time scheduling and cancellation of timeouts.
+ *
+ * Timeouts are placed into the buckets of a wheel that a single thread advances by one bucket every tick, so
+ * a timeout expires up to one tick later than requested. Scheduling and cancellation only enqueue the timeout
+ * for the wheel thread without taking any locks. Expired timeout tasks are run by the given executor, so tasks
+ * that block don't delay the wheel.
+ */
+public class HashedWheelTimer implements TimeoutScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    // Max number of timeouts moved into the wheel per tick, so that a burst of scheduled timeouts doesn't stall the wheel
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final ExecutorService taskExecutor;
+    private final Queue<WheelTimeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final LongAdder pendingTimeouts = new LongAdder();
+    private final long startTime;
+    private final Thread wheelThread;
+
+    private volatile boolean shutdown;
+
+    // accessed by the wheel thread only
+    private long tick;
+
+    /**
+     * @param name name used for logging
+     * @param tickDuration duration of a tick
+     * @param wheelSize number of buckets in the wheel, rounded up to a power of two
+     * @param threadFactory creates the thread that advances the wheel
+     * @param taskExecutor runs expired timeout tasks, shut down along with the timer
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, ThreadFactory threadFactory,
+            ExecutorService taskExecutor) {
+        Validate.isTrue(tickDuration > 0, "the 'tickDuration' must be positive");
+        Validate.inclusiveBetween(1, 1 << 30, wheelSize, "the 'wheelSize' must be between 1 and 2^30");
+        Validate.notNull(threadFactory, "the 'threadFactory' must not be null");
+        Validate.notNull(taskExecutor, "the 'taskExecutor' must not be null");
+
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = createWheel(wheelSize);
+        this.mask = wheel.length - 1;
+        this.taskExecutor = taskExecutor;
+        this.startTime = System.nanoTime();
+
+        LOG.info("[wheel timer '{}'] Starting with {} buckets of {} ms", name, wheel.length, unit.toMillis(tickDuration));
+        this.wheelThread = threadFactory.newThread(this::advanceWheel);
+        this.wheelThread.start();
+    }
+
+    private static Bucket[] createWheel(int wheelSize) {
+        int normalizedSize = Integer.highestOneBit(wheelSize);
+        if (normalizedSize < wheelSize) {
+            normalizedSize <<= 1;
+        }
+        Bucket[] wheel = new Bucket[normalizedSize];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        return wheel;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        Validate.notNull(task, "the 'task' must not be null");
+        if (shutdown) {
+            throw new RejectedExecutionException(String.format("Wheel timer '%s' has been shut down", name));
+        }
+
+        WheelTimeout timeout = new WheelTimeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pendingTimeouts.increment();
+        scheduledTimeouts.add(timeout);
+
+        // the timeout may have missed the shutdown drain, it is rejected unless the drain has already run it
+        if (shutdown && timeout.cancel(false)) {
+            throw new RejectedExecutionException(String.format("Wheel timer '%s' has been shut down", name));
+        }
+        return timeout;
+    }
+
+    @Override
+    public long getPendingTimeouts() {
+        return pendingTimeouts.sum();
+    }
+
+    /**
+     * Stops the wheel, waits for the expired tasks that are being run and then runs all pending tasks
+     * in the calling thread.
+     */
+    @Override
+    public synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+
+        LockSupport.unpark(wheelThread);
+        try {
+            wheelThread.join();
+        } catch (InterruptedException e) {
+            LOG.warn("[wheel timer '{}'] Interrupted while waiting for the wheel thread", name, e);
+            Thread.currentThread().interrupt();
+        }
+        Utils.gracefulShutdown(taskExecutor, name);
+
+        LOG.info("[wheel timer '{}'] Executing pending tasks...", name);
+        List<WheelTimeout> unprocessed = new ArrayList<>();
+        for (Bucket bucket : wheel) {
+            bucket.drainTo(unprocessed);
+        }
+        for (WheelTimeout timeout = scheduledTimeouts.poll(); timeout != null; timeout = scheduledTimeouts.poll()) {
+            unprocessed.add(timeout);
+        }
+        for (WheelTimeout timeout : unprocessed) {
+            if (timeout.markExpired()) {
+                timeout.runTask();
+            }
+        }
+        LOG.info("[wheel timer '{}'] Completed pending tasks execution.", name);
+    }
+
+    private void advanceWheel() {
+        while (!shutdown) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                return;
+            }
+            removeCancelledTimeouts();
+            transferScheduledTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * @return time of the tick relative to the start of the timer or -1 if the timer has been shut down meanwhile
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+            if (shutdown) {
+                return -1;
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        for (WheelTimeout timeout = cancelledTimeouts.poll(); timeout != null; timeout = cancelledTimeouts.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = scheduledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (!timeout.isPending()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // timeouts that are already due are expired by the current tick
+            long bucketTick = Math.max(expirationTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed by the wheel thread only.
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (!timeout.isPending()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void drainTo(List<WheelTimeout> timeouts) {
+            for (WheelTimeout timeout = head; timeout != null; timeout = timeout.next) {
+                timeouts.add(timeout);
+            }
+            head = tail = null;
+        }
+    }
+
+    private final class WheelTimeout implements ScheduledFuture<Void> {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        // released once the task has run or the timeout has been cancelled
+        private final CountDownLatch completion = new CountDownLatch(1);
+
+        // not private, so that the field updater of the enclosing class can access it
+        volatile int state = PENDING;
+        private volatile Throwable failure;
+
+        // accessed by the wheel thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        boolean isPending() {
+            return state == PENDING;
+        }
+
+        boolean markExpired() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                pendingTimeouts.decrement();
+                return true;
+            }
+            return false;
+        }
+
+        void expire() {
+            if (!markExpired()) {
+                return;
+            }
+            try {
+                taskExecutor.execute(this::runTask);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("[wheel timer '{}'] Unable to run expired timeout task", name, e);
+                failure = e;
+                completion.countDown();
+            }
+        }
+
+        void runTask() {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOG.error("[wheel timer '{}'] Timeout task failed", name, e);
+                failure = e;
+            } finally {
+                completion.countDown();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                pendingTimeouts.decrement();
+                cancelledTimeouts.add(this);
+                completion.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * @return true once the task has run or the timeout has been cancelled
+         */
+        @Override
+        public boolean isDone() {
+            return completion.getCount() == 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - (System.nanoTime() - startTime), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        /**
+         * Waits until the task has run. Timeout tasks have no result, so null is returned.
+         */
+        @Override
+        public Void get() throws InterruptedException, ExecutionException {
+            completion.await();
+            return result();
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!completion.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return result();
+        }
+
+        private Void result() throws ExecutionException {
+            if (state == CANCELLED) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.tcdl.msb.collector;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link MessageIdSet} is a compact set of message ids. Ids in the UUID text format (see {@link Uuids}) are stored
+ * as pairs of longs in an open addressing table instead of {@link String} objects. Other ids are kept as they are.
+ *
+ * The set is guarded by its monitor, which is held only for a few array probes.
+ */
+@ThreadSafe
+class MessageIdSet {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // pairs of most and least significant bits, (0, 0) marks an empty slot
+    private long[] uuids = new long[INITIAL_CAPACITY * 2];
+    private int uuidsCount;
+    private boolean containsZeroUuid;
+    private Set<String> otherIds;
+
+    /**
+     * @return true if the set did not already contain the id
+     */
+    synchronized boolean add(String id) {
+        if (!Uuids.isUuid(id)) {
+            if (otherIds == null) {
+                otherIds = new HashSet<>();
+            }
+            return otherIds.add(id);
+        }
+
+        long mostSigBits = Uuids.getMostSigBits(id);
+        long leastSigBits = Uuids.getLeastSigBits(id);
+        if (mostSigBits == 0 && leastSigBits == 0) {
+            boolean added = !containsZeroUuid;
+            containsZeroUuid = true;
+            return added;
+        }
+
+        if (!insert(uuids, mostSigBits, leastSigBits)) {
+            return false;
+        }
+        if (++uuidsCount * 4 > uuids.length) {
+            grow();
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return uuidsCount + (containsZeroUuid ? 1 : 0) + (otherIds == null ? 0 : otherIds.size());
+    }
+
+    private void grow() {
+        long[] grown = new long[uuids.length * 2];
+        for (int i = 0; i < uuids.length; i += 2) {
+            if (uuids[i] != 0 || uuids[i + 1] != 0) {
+                insert(grown, uuids[i], uuids[i + 1]);
+            }
+        }
+        uuids = grown;
+    }
+
+    /**
+     * @return false if the table already contains the id
+     */
+    private static boolean insert(long[] table, long mostSigBits, long leastSigBits) {
+        int mask = table.length / 2 - 1;
+        for (int slot = Uuids.hash(mostSigBits, leastSigBits) & mask; ; slot = (slot + 1) & mask) {
+            int index = slot * 2;
+            long slotMostSigBits = table[index];
+            long slotLeastSigBits = table[index + 1];
+            if (slotMostSigBits == 0 && slotLeastSigBits == 0) {
+                table[index] = mostSigBits;
+                table[index + 1] = leastSigBits;
+                return true;
+            }
+            if (slotMostSigBits == mostSigBits && slotLeastSigBits == leastSigBits) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.tcdl.msb.collector;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.tcdl.msb.support.Utils.ifNull;
+
+/**
+ * {@link ResponderStates} keeps responses remaining and timeouts announced by the acks of every responder to a request.
+ *
+ * The sum of responses remaining and the max timeout of responders whose responses are still awaited are maintained
+ * incrementally on every ack: the sum as a running total and the max as the greatest key of a multiset of timeouts.
+ * So an ack costs O(log N) and reading the aggregates costs O(1) and O(log N) respectively, where N is the number of
+ * responders, instead of a scan of all responders on every message.
+ */
+@ThreadSafe
+class ResponderStates {
+
+    private final ConcurrentMap<String, ResponderState> statesById = new ConcurrentHashMap<>();
+
+    /**
+     * Multiset of timeouts of responders whose responses are awaited: timeout in ms -> number of responders.
+     */
+    private final ConcurrentNavigableMap<Integer, Integer> awaitedTimeoutsMs = new ConcurrentSkipListMap<>();
+
+    private final AtomicInteger responsesRemainingSum = new AtomicInteger();
+    private final AtomicInteger respondersWithResponsesRemaining = new AtomicInteger();
+
+    /**
+     * Applies an ack of the responder.
+     *
+     * @param responsesRemaining responses remaining from the ack, it is added to the previous value unless it is 0
+     *                           that resets the value. Null if the ack doesn't specify it.
+     * @param timeoutMs timeout from the ack or null if the ack doesn't specify it
+     * @return responses remaining of the responder after the update or null if it is unknown
+     */
+    Integer update(String responderId, Integer responsesRemaining, Integer timeoutMs) {
+        ResponderState state = statesById.compute(responderId, (id, previous) -> {
+            ResponderState updated = ifNull(previous, ResponderState.UNKNOWN).update(responsesRemaining, timeoutMs);
+            applyDelta(ifNull(previous, ResponderState.UNKNOWN), updated);
+            return updated;
+        });
+        return state.responsesRemaining;
+    }
+
+    /**
+     * @return true if any responder has announced its responses remaining
+     */
+    boolean isResponsesRemainingKnown() {
+        return respondersWithResponsesRemaining.get() > 0;
+    }
+
+    /**
+     * @return sum of responses remaining announced by responders
+     */
+    int getResponsesRemaining() {
+        return responsesRemainingSum.get();
+    }
+
+    /**
+     * @return max of the given timeout and timeouts of responders whose responses are awaited
+     */
+    int getMaxTimeoutMs(int timeoutMs) {
+        Map.Entry<Integer, Integer> maxAwaitedTimeout = awaitedTimeoutsMs.lastEntry();
+        return maxAwaitedTimeout == null ? timeoutMs : Math.max(timeoutMs, maxAwaitedTimeout.getKey());
+    }
+
+    /**
+     * Is invoked while the responder state is locked, so updates of the same responder are applied one by one.
+     */
+    private void applyDelta(ResponderState previous, ResponderState updated) {
+        if (previous.responsesRemaining == null && updated.responsesRemaining != null) {
+            respondersWithResponsesRemaining.incrementAndGet();
+        }
+        int responsesRemainingDelta = ifNull(updated.responsesRemaining, 0) - ifNull(previous.responsesRemaining, 0);
+        if (responsesRemainingDelta != 0) {
+            responsesRemainingSum.addAndGet(responsesRemainingDelta);
+        }
+
+        Integer previousTimeoutMs = previous.getAwaitedTimeoutMs();
+        Integer updatedTimeoutMs = updated.getAwaitedTimeoutMs();
+        if (previousTimeoutMs != null && !previousTimeoutMs.equals(updatedTimeoutMs)) {
+            awaitedTimeoutsMs.computeIfPresent(previousTimeoutMs, (timeout, count) -> count == 1 ? null : count - 1);
+        }
+        if (updatedTimeoutMs != null && !updatedTimeoutMs.equals(previousTimeoutMs)) {
+            awaitedTimeoutsMs.merge(updatedTimeoutMs, 1, Integer::sum);
+        }
+    }
+
+    private static final class ResponderState {
+
+        static final ResponderState UNKNOWN = new ResponderState(null, null);
+
+        final Integer responsesRemaining;
+        final Integer timeoutMs;
+
+        ResponderState(Integer responsesRemaining, Integer timeoutMs) {
+            this.responsesRemaining = responsesRemaining;
+            this.timeoutMs = timeoutMs;
+        }
+
+        ResponderState update(Integer ackResponsesRemaining, Integer ackTimeoutMs) {
+            Integer updatedResponsesRemaining = responsesRemaining;
+            //negative responses remaining are ignored until the responder announces how many responses to expect
+            if (ackResponsesRemaining != null && !(ackResponsesRemaining < 0 && responsesRemaining == null)) {
+                //when second, third, etc time same value (not equals 0) for responsesRemaining is received, it must be sum up with previous.
+                updatedResponsesRemaining = ackResponsesRemaining == 0 ? 0 : Math.max(0, ifNull(responsesRemaining, 0) + ackResponsesRemaining);
+            }
+            return new ResponderState(updatedResponsesRemaining, ifNull(ackTimeoutMs, timeoutMs));
+        }
+
+        /**
+         * @return timeout of the responder if its responses are awaited, otherwise null
+         */
+        Integer getAwaitedTimeoutMs() {
+            boolean isAwaited = responsesRemaining == null || responsesRemaining != 0;
+            return isAwaited ? timeoutMs : null;
+        }
+    }
+}
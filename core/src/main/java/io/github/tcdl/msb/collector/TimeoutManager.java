@@ -1,12 +1,19 @@
 package io.github.tcdl.msb.collector;
 
 import io.github.tcdl.msb.RunOnShutdownScheduledExecutorDecorator;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,10 +23,38 @@ public class TimeoutManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(TimeoutManager.class);
 
-    private RunOnShutdownScheduledExecutorDecorator timeoutExecutorDecorator;
+    public static final String WHEEL_TIMER = "wheel";
+    public static final String THREAD_POOL_TIMER = "threadPool";
 
+    private final TimeoutScheduler timeoutScheduler;
+
+    /**
+     * Creates timeout manager backed by a scheduled thread pool
+     */
     public TimeoutManager(int threadPoolSize) {
-        timeoutExecutorDecorator = createTimeoutExecutorDecorator(threadPoolSize);
+        this(createTimeoutExecutorDecorator(threadPoolSize));
+    }
+
+    public TimeoutManager(TimeoutScheduler timeoutScheduler) {
+        Validate.notNull(timeoutScheduler, "the 'timeoutScheduler' must not be null");
+        this.timeoutScheduler = timeoutScheduler;
+    }
+
+    /**
+     * Creates timeout manager according to msbConfig.timer
+     *
+     * @throws ConfigurationException if the timer type is unknown
+     */
+    public static TimeoutManager create(MsbConfig msbConfig) {
+        String timerType = msbConfig.getTimerType();
+        if (THREAD_POOL_TIMER.equals(timerType)) {
+            return new TimeoutManager(msbConfig.getTimerThreadPoolSize());
+        }
+        if (WHEEL_TIMER.equals(timerType)) {
+            return new TimeoutManager(createWheelTimer(msbConfig.getTimerTickMs(), msbConfig.getTimerWheelSize(),
+                    msbConfig.getTimerThreadPoolSize()));
+        }
+        throw new ConfigurationException(String.format("Unknown timer type '%s'", timerType), null);
     }
 
     protected ScheduledFuture<?> enableResponseTimeout(int timeoutMs, Collector collector) {
@@ -31,7 +66,7 @@ public class TimeoutManager {
         }
 
         try {
-            return timeoutExecutorDecorator.schedule(() -> {
+            return timeoutScheduler.schedule(() -> {
                 LOG.debug("[correlation id: {}] Response timeout expired.", collector.getRequestMessage().getCorrelationId());
                 collector.end();
             }, timeoutMs, TimeUnit.MILLISECONDS);
@@ -51,7 +86,7 @@ public class TimeoutManager {
         }
 
         try {
-            return timeoutExecutorDecorator.schedule(() -> {
+            return timeoutScheduler.schedule(() -> {
                 if (collector.isAwaitingResponses()) {
                     LOG.debug("[correlation id: {}] Ack timeout expired, but waiting for responses.", collector.getRequestMessage().getCorrelationId());
                     return;
@@ -65,7 +100,73 @@ public class TimeoutManager {
         }
     }
 
-    private RunOnShutdownScheduledExecutorDecorator createTimeoutExecutorDecorator(int threadPoolSize) {
+    /**
+     * Schedules publishing of a duplicate of the request unless a response arrives within the given delay.
+     *
+     * @return future of the hedge or null if it could not be scheduled
+     */
+    public ScheduledFuture<?> enableHedge(int delayMs, Message requestMessage, Runnable hedge) {
+        LOG.debug("[correlation id: {}] Enabling hedge in {} ms", requestMessage.getCorrelationId(), delayMs);
+
+        try {
+            return timeoutScheduler.schedule(hedge, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("[correlation id: {}] Unable to schedule task for execution", requestMessage.getCorrelationId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Schedules sending of a batch of requests once the requests have lingered for the given time.
+     *
+     * @return future of the sending or null if it could not be scheduled
+     */
+    public ScheduledFuture<?> enableBatchLinger(int lingerMs, Runnable batchSender) {
+        try {
+            return timeoutScheduler.schedule(batchSender, lingerMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to schedule task for execution", e);
+            return null;
+        }
+    }
+
+    /**
+     * Schedules answering of the items of a batch request that haven't been answered within the given time.
+     *
+     * @return future of the timeout or null if it could not be scheduled
+     */
+    public ScheduledFuture<?> enableBatchResponseTimeout(int timeoutMs, Runnable expiry) {
+        try {
+            return timeoutScheduler.schedule(expiry, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to schedule task for execution", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return number of ack and response timeouts, hedges, batch lingers and batch response timeouts that are neither
+     * expired nor cancelled yet
+     */
+    public long getPendingTimeouts() {
+        return timeoutScheduler.getPendingTimeouts();
+    }
+
+    private static TimeoutScheduler createWheelTimer(int tickMs, int wheelSize, int taskThreadPoolSize) {
+        BasicThreadFactory wheelThreadFactory = new BasicThreadFactory.Builder()
+                .namingPattern("timer-wheel-thread-%d")
+                .daemon(true)
+                .build();
+        BasicThreadFactory taskThreadFactory = new BasicThreadFactory.Builder()
+                .namingPattern("timer-provider-thread-%d")
+                .build();
+        ExecutorService taskExecutor = new ThreadPoolExecutor(taskThreadPoolSize, taskThreadPoolSize,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), taskThreadFactory);
+
+        return new HashedWheelTimer("timeout manager", tickMs, TimeUnit.MILLISECONDS, wheelSize, wheelThreadFactory, taskExecutor);
+    }
+
+    private static RunOnShutdownScheduledExecutorDecorator createTimeoutExecutorDecorator(int threadPoolSize) {
         BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
                 .namingPattern("timer-provider-thread-%d")
                 .build();
@@ -75,7 +176,7 @@ public class TimeoutManager {
 
     public void shutdown() {
         LOG.info("Shutting down...");
-        timeoutExecutorDecorator.shutdown();
+        timeoutScheduler.shutdown();
         LOG.info("Shutdown complete");
     }
 }
\ No newline at end of file
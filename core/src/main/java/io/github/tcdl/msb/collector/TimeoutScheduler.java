@@ -0,0 +1,28 @@
+package io.github.tcdl.msb.collector;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimeoutScheduler} runs timeout tasks after a delay. Tasks that are still pending on shutdown are run
+ * during the shutdown.
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * @return future that allows to cancel the task
+     * @throws RejectedExecutionException if the scheduler has been shut down
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * @return number of scheduled tasks that have been neither run nor cancelled yet
+     */
+    long getPendingTimeouts();
+
+    /**
+     * Stops accepting new tasks and runs all pending ones.
+     */
+    void shutdown();
+}
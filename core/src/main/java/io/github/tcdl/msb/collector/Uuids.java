@@ -0,0 +1,61 @@
+package io.github.tcdl.msb.collector;
+
+/**
+ * Parsing of ids in the lower case UUID text format, which all built-in id generators produce, into two longs
+ * without allocations.
+ */
+final class Uuids {
+
+    private static final int UUID_LENGTH = 36;
+
+    private Uuids() {
+    }
+
+    /**
+     * Returns true if the id has the format of {@link java.util.UUID#toString()}, so that it can be restored from
+     * the bits returned by {@link #getMostSigBits(String)} and {@link #getLeastSigBits(String)}.
+     */
+    static boolean isUuid(String id) {
+        if (id == null || id.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long getMostSigBits(String uuid) {
+        long bits = parseHex(uuid, 0, 8);
+        bits = (bits << 16) | parseHex(uuid, 9, 13);
+        return (bits << 16) | parseHex(uuid, 14, 18);
+    }
+
+    static long getLeastSigBits(String uuid) {
+        long bits = parseHex(uuid, 19, 23);
+        return (bits << 48) | parseHex(uuid, 24, 36);
+    }
+
+    /**
+     * @return hash of the UUID for open addressing tables
+     */
+    static int hash(long mostSigBits, long leastSigBits) {
+        long hash = (mostSigBits ^ leastSigBits) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static long parseHex(String uuid, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value << 4) | Character.digit(uuid.charAt(i), 16);
+        }
+        return value;
+    }
+}
@@ -2,11 +2,18 @@ package io.github.tcdl.msb.config;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 import static io.github.tcdl.msb.config.ConfigurationUtil.*;
 
@@ -25,12 +32,37 @@ public class MsbConfig {
 
     private final ServiceDetails serviceDetails;
 
+    //Codec used to encode published messages
+    private final String messageCodec;
+
+    //Generator of message, correlation and responder ids
+    private final String idGenerator;
+
+    private final boolean compressionEnabled;
+
+    private final int compressionThresholdBytes;
+
+    private final int compressionLevel;
+
+    private final int maxDecompressedBytes;
+
     private final String schema;
 
     private final boolean validateMessage;
 
+    private final int validationSampleRate;
+
+    //Payload schemas by topic
+    private final Map<String, String> payloadSchemas;
+
     private final int timerThreadPoolSize;
 
+    private final String timerType;
+
+    private final int timerTickMs;
+
+    private final int timerWheelSize;
+
     private final boolean mdcLogging;
 
     private final String mdcLoggingKeyMessageTags;
@@ -43,8 +75,24 @@ public class MsbConfig {
 
     private final int consumerThreadPoolQueueCapacity;
 
+    private final boolean decodeStageEnabled;
+
+    private final int decodeThreadPoolSize;
+
+    private final int decodeThreadPoolQueueCapacity;
+
+    private final boolean publishStageEnabled;
+
+    private final int publishQueueCapacity;
+
+    private final String publishQueueOverflowPolicy;
+
     private final int defaultResponseTimeout;
 
+    private final boolean retainDeliveredMessages;
+    private final int hedgingBudgetPercent;
+    private final int responseCacheMaxEntries;
+
     public MsbConfig(Config loadedConfig) {
         Config config = loadedConfig.getConfig("msbConfig");
 
@@ -52,14 +100,42 @@ public class MsbConfig {
         this.serviceDetails = new ServiceDetails.Builder(serviceDetailsConfig).build();
         this.schema = readJsonSchema();
         this.brokerAdapterFactoryClass = getBrokerAdapterFactory(config);
+        this.messageCodec = getString(config, "messageCodec");
+        this.idGenerator = getString(config, "idGenerator");
+
+        Config compressionConfig = config.getConfig("compression");
+        this.compressionEnabled = getBoolean(compressionConfig, "enabled");
+        this.compressionThresholdBytes = getInt(compressionConfig, "thresholdBytes");
+        this.compressionLevel = getInt(compressionConfig, "level");
+        this.maxDecompressedBytes = getInt(compressionConfig, "maxDecompressedBytes");
 
         this.brokerConfig = config.hasPath("brokerConfig") ? config.getConfig("brokerConfig") : ConfigFactory.empty();
         this.timerThreadPoolSize = getInt(config, "timerThreadPoolSize");
+
+        Config timerConfig = config.getConfig("timer");
+        this.timerType = getString(timerConfig, "type");
+        this.timerTickMs = getInt(timerConfig, "tickMs");
+        this.timerWheelSize = getInt(timerConfig, "wheelSize");
+
         this.validateMessage = getBoolean(config, "validateMessage");
 
+        Config validationConfig = config.getConfig("validation");
+        this.validationSampleRate = getInt(validationConfig, "sampleRate");
+        this.payloadSchemas = readPayloadSchemas(validationConfig.getConfig("payloadSchemas"));
+
         this.consumerThreadPoolSize = config.getInt("threadingConfig.consumerThreadPoolSize");
         this.consumerThreadPoolQueueCapacity = config.getInt("threadingConfig.consumerThreadPoolQueueCapacity");
 
+        Config decodeStageConfig = config.getConfig("threadingConfig.decodeStage");
+        this.decodeStageEnabled = getBoolean(decodeStageConfig, "enabled");
+        this.decodeThreadPoolSize = getInt(decodeStageConfig, "threadPoolSize");
+        this.decodeThreadPoolQueueCapacity = getInt(decodeStageConfig, "queueCapacity");
+
+        Config publishStageConfig = config.getConfig("threadingConfig.publishStage");
+        this.publishStageEnabled = getBoolean(publishStageConfig, "enabled");
+        this.publishQueueCapacity = getInt(publishStageConfig, "queueCapacity");
+        this.publishQueueOverflowPolicy = getString(publishStageConfig, "overflowPolicy");
+
         Config mdcLogging = config.getConfig("mdcLogging");
         Config mdcLoggingMessageKeys= mdcLogging.getConfig("messageKeys");
 
@@ -70,6 +146,9 @@ public class MsbConfig {
 
         Config requestOptionsConfig = config.getConfig("requestOptions");
         this.defaultResponseTimeout = getInt(requestOptionsConfig, "responseTimeout");
+        this.retainDeliveredMessages = getBoolean(requestOptionsConfig, "retainDeliveredMessages");
+        this.hedgingBudgetPercent = getInt(requestOptionsConfig, "hedgingBudgetPercent");
+        this.responseCacheMaxEntries = getInt(requestOptionsConfig, "responseCacheMaxEntries");
 
         LOG.debug("Loaded {}", this);
     }
@@ -83,6 +162,23 @@ public class MsbConfig {
         }
     }
 
+    private Map<String, String> readPayloadSchemas(Config payloadSchemasConfig) {
+        Map<String, String> schemas = new HashMap<>();
+        for (Map.Entry<String, ConfigValue> entry : payloadSchemasConfig.root().entrySet()) {
+            String topic = entry.getKey();
+            String resource = entry.getValue().unwrapped().toString();
+            try (InputStream schemaStream = getClass().getResourceAsStream(resource)) {
+                if (schemaStream == null) {
+                    throw new ConfigurationException(String.format("Payload schema '%s' for topic '%s' is not found", resource, topic), null);
+                }
+                schemas.put(topic, IOUtils.toString(schemaStream));
+            } catch (IOException e) {
+                throw new ConfigurationException(String.format("Failed to load payload schema '%s' for topic '%s'", resource, topic), e);
+            }
+        }
+        return Collections.unmodifiableMap(schemas);
+    }
+
     private String getBrokerAdapterFactory(Config config) {
         return getString(config, "brokerAdapterFactory");
     }
@@ -99,6 +195,41 @@ public class MsbConfig {
         return validateMessage;
     }
 
+    public int getValidationSampleRate() {
+        return validationSampleRate;
+    }
+
+    /**
+     * @return JSON schema for payloads of messages consumed from the given topic
+     */
+    public Optional<String> getPayloadSchema(String topic) {
+        return Optional.ofNullable(payloadSchemas.get(topic));
+    }
+
+    public String getMessageCodec() {
+        return messageCodec;
+    }
+
+    public String getIdGenerator() {
+        return idGenerator;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public int getMaxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
     public Config getBrokerConfig() {
         return brokerConfig;
     }
@@ -111,6 +242,18 @@ public class MsbConfig {
         return timerThreadPoolSize;
     }
 
+    public String getTimerType() {
+        return timerType;
+    }
+
+    public int getTimerTickMs() {
+        return timerTickMs;
+    }
+
+    public int getTimerWheelSize() {
+        return timerWheelSize;
+    }
+
     public boolean isMdcLogging() {
         return mdcLogging;
     }
@@ -131,20 +274,53 @@ public class MsbConfig {
         return defaultResponseTimeout;
     }
 
+    public boolean isRetainDeliveredMessages() {
+        return retainDeliveredMessages;
+    }
+
+    public int getHedgingBudgetPercent() {
+        return hedgingBudgetPercent;
+    }
+
+    public int getResponseCacheMaxEntries() {
+        return responseCacheMaxEntries;
+    }
+
     @Override public String toString() {
         //please keep custom "brokerConfig" when using auto-generation of this method
         return "MsbConfig{" +
                 "brokerAdapterFactoryClass='" + brokerAdapterFactoryClass + '\'' +
                 ", serviceDetails=" + serviceDetails +
+                ", messageCodec='" + messageCodec + '\'' +
+                ", idGenerator='" + idGenerator + '\'' +
+                ", compressionEnabled=" + compressionEnabled +
+                ", compressionThresholdBytes=" + compressionThresholdBytes +
+                ", compressionLevel=" + compressionLevel +
+                ", maxDecompressedBytes=" + maxDecompressedBytes +
                 ", schema='" + schema + '\'' +
                 ", validateMessage=" + validateMessage +
+                ", validationSampleRate=" + validationSampleRate +
+                ", payloadSchemas=" + payloadSchemas.keySet() +
                 ", timerThreadPoolSize=" + timerThreadPoolSize +
+                ", timerType='" + timerType + '\'' +
+                ", timerTickMs=" + timerTickMs +
+                ", timerWheelSize=" + timerWheelSize +
                 ", mdcLogging=" + mdcLogging +
                 ", mdcLoggingKeyMessageTags='" + mdcLoggingKeyMessageTags + '\'' +
                 ", mdcLoggingKeyCorrelationId='" + mdcLoggingKeyCorrelationId + '\'' +
                 ", mdcLoggingSplitTagsBy='" + mdcLoggingSplitTagsBy + '\'' +
                 ", consumerThreadPoolSize=" + consumerThreadPoolSize +
                 ", consumerThreadPoolQueueCapacity=" + consumerThreadPoolQueueCapacity +
+                ", decodeStageEnabled=" + decodeStageEnabled +
+                ", decodeThreadPoolSize=" + decodeThreadPoolSize +
+                ", decodeThreadPoolQueueCapacity=" + decodeThreadPoolQueueCapacity +
+                ", publishStageEnabled=" + publishStageEnabled +
+                ", publishQueueCapacity=" + publishQueueCapacity +
+                ", publishQueueOverflowPolicy='" + publishQueueOverflowPolicy + '\'' +
+                ", defaultResponseTimeout=" + defaultResponseTimeout +
+                ", retainDeliveredMessages=" + retainDeliveredMessages +
+                ", hedgingBudgetPercent=" + hedgingBudgetPercent +
+                ", responseCacheMaxEntries=" + responseCacheMaxEntries +
                 ", brokerConfig='" + brokerConfig.root().render() + '\'' +
                 '}';
     }
@@ -156,4 +332,28 @@ public class MsbConfig {
     public int getConsumerThreadPoolQueueCapacity() {
         return consumerThreadPoolQueueCapacity;
     }
+
+    public boolean isDecodeStageEnabled() {
+        return decodeStageEnabled;
+    }
+
+    public int getDecodeThreadPoolSize() {
+        return decodeThreadPoolSize;
+    }
+
+    public int getDecodeThreadPoolQueueCapacity() {
+        return decodeThreadPoolQueueCapacity;
+    }
+
+    public boolean isPublishStageEnabled() {
+        return publishStageEnabled;
+    }
+
+    public int getPublishQueueCapacity() {
+        return publishQueueCapacity;
+    }
+
+    public String getPublishQueueOverflowPolicy() {
+        return publishQueueOverflowPolicy;
+    }
 }
@@ -7,6 +7,7 @@ import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
 
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 
 /**
  * {@link EventHandlers} is a component that allows to register custom event handlers for {@link Requester} specific events.
@@ -18,6 +19,7 @@ public class EventHandlers<T> {
     private BiConsumer<Message, MessageContext> onRawResponse = (acknowledge, msgContext) -> {};
     private Callback<Void> onEnd = messages -> {};
     private BiConsumer<Exception, Message> onError;
+    private BooleanSupplier completionCondition = () -> false;
 
     /**
      * Return callback registered for Acknowledge event.
@@ -121,4 +123,24 @@ public class EventHandlers<T> {
         return onError;
     }
 
+    /**
+     * Return condition upon which no more responses are awaited.
+     *
+     * @return completion condition
+     */
+    public BooleanSupplier completionCondition() {
+        return completionCondition;
+    }
+
+    /**
+     * Registered condition checked after every handled message. Once it holds, collecting of responses ends without
+     * waiting for the remaining responses or the response timeout.
+     *
+     * @param completionCondition condition
+     * @return EventHandlers
+     */
+    public EventHandlers completionCondition(BooleanSupplier completionCondition) {
+        this.completionCondition = completionCondition;
+        return this;
+    }
 }
@@ -0,0 +1,357 @@
+package io.github.tcdl.msb.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.github.tcdl.msb.api.AcknowledgementHandler;
+import io.github.tcdl.msb.api.Responder;
+import io.github.tcdl.msb.collector.TimeoutManager;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.time.Clock;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * {@link BatchResponder} collects responses to the items of a batch request (see {@link RequesterImpl}) and sends them
+ * as a single response once every item is answered. The payload of the response is an array with the response to
+ * each item at the index of the item, or null if there is no response to the item.
+ *
+ * Every item may be answered once. Further responses and acks to an item are ignored except acks that extend the
+ * response timeout, which are sent on behalf of the whole batch. Acks of items are coalesced: acks requested while
+ * the items are being processed are sent as a single ack afterwards, unless the batch is answered by then, and
+ * a later ack is sent only if it extends the timeout announced so far. Items that are not answered within
+ * the response timeout are answered with null.
+ *
+ * Every item has an {@link AcknowledgementHandler} of its own, the batch message is confirmed once every item is
+ * either confirmed or answered and done with. An item can't be retried or rejected on its own, so such an item
+ * is answered with null instead.
+ */
+@ThreadSafe
+class BatchResponder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchResponder.class);
+
+    /**
+     * Tag of batch requests. The payload of a batch request is an array of the payloads of its items.
+     */
+    static final String BATCH_TAG = "msb:batch";
+
+    private final Responder batchResponder;
+    private final AcknowledgementHandler batchAcknowledgementHandler;
+    private final ObjectMapper payloadMapper;
+    private final TimeoutManager timeoutManager;
+    private final Clock clock;
+    private final JsonNode[] responses;
+    private final boolean[] answered;
+    private final ItemAcknowledgementHandler[] itemAcknowledgementHandlers;
+
+    private int itemsRemaining;
+    private int itemsUnsettled;
+    private Integer maxAgeMs;
+    /**
+     * Time (in epoch milliseconds) unanswered items are answered with null at, extended by acks.
+     */
+    private long responseDeadline;
+    /**
+     * Time (in epoch milliseconds) announced to the requester by the latest ack, or to be announced once the items
+     * have been processed.
+     */
+    private long ackDeadline;
+    private boolean acksDeferred = true;
+    private ScheduledFuture<?> responseTimeoutFuture;
+
+    /**
+     * @param batchResponder              responder to the batch request
+     * @param batchAcknowledgementHandler acknowledgement handler of the batch request
+     * @param batchSize                   number of items in the batch request
+     */
+    BatchResponder(Responder batchResponder, AcknowledgementHandler batchAcknowledgementHandler, ObjectMapper payloadMapper,
+            TimeoutManager timeoutManager, Clock clock, int batchSize) {
+        Validate.notNull(batchResponder, "the 'batchResponder' must not be null");
+        Validate.notNull(batchAcknowledgementHandler, "the 'batchAcknowledgementHandler' must not be null");
+        this.batchResponder = batchResponder;
+        this.batchAcknowledgementHandler = batchAcknowledgementHandler;
+        this.payloadMapper = payloadMapper;
+        this.timeoutManager = timeoutManager;
+        this.clock = clock;
+        this.responses = new JsonNode[batchSize];
+        this.answered = new boolean[batchSize];
+        this.itemAcknowledgementHandlers = new ItemAcknowledgementHandler[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            itemAcknowledgementHandlers[i] = new ItemAcknowledgementHandler(i);
+        }
+        this.itemsRemaining = batchSize;
+        this.itemsUnsettled = batchSize;
+    }
+
+    /**
+     * @return responder to the item at the given index
+     */
+    Responder getItemResponder(int index) {
+        Validate.validIndex(responses, index);
+        return new ItemResponder(index);
+    }
+
+    /**
+     * @return acknowledgement handler of the item at the given index
+     */
+    AcknowledgementHandler getItemAcknowledgementHandler(int index) {
+        Validate.validIndex(responses, index);
+        return itemAcknowledgementHandlers[index];
+    }
+
+    /**
+     * Answers the item with null unless it has been answered already, e.g. by an error handler.
+     */
+    void fail(int index) {
+        answer(index, null, null);
+    }
+
+    /**
+     * Is called once the request handler has returned. The item is done with unless its automatic acknowledgement
+     * has been disabled.
+     */
+    void processed(int index) {
+        ItemAcknowledgementHandler itemAcknowledgementHandler = itemAcknowledgementHandlers[index];
+        if (itemAcknowledgementHandler.isAutoAcknowledgement()) {
+            itemAcknowledgementHandler.settle();
+        }
+    }
+
+    /**
+     * Starts the response timeout. Items that are not answered within it, or within the longer timeout requested by
+     * an ack, are answered with null and are considered done with.
+     */
+    void waitForResponses(int responseTimeoutMs) {
+        long delayMs;
+        long ackTimeoutMs;
+        synchronized (this) {
+            acksDeferred = false;
+            if (isDone()) {
+                return;
+            }
+            long now = clock.millis();
+            responseDeadline = Math.max(responseDeadline, now + responseTimeoutMs);
+            delayMs = responseDeadline - now;
+            ackTimeoutMs = itemsRemaining > 0 ? ackDeadline - now : 0;
+        }
+        if (ackTimeoutMs > 0) {
+            // the single ack for all acks requested while the items were processed
+            batchResponder.sendAck((int) ackTimeoutMs, 1);
+        }
+        scheduleResponseTimeout(delayMs);
+    }
+
+    private void scheduleResponseTimeout(long delayMs) {
+        ScheduledFuture<?> timeoutFuture = timeoutManager.enableBatchResponseTimeout((int) Math.max(delayMs, 1), this::onResponseTimeout);
+        if (timeoutFuture == null) {
+            // the responses are not waited for when the timeout manager is shut down
+            expireResponseTimeout();
+            return;
+        }
+        synchronized (this) {
+            responseTimeoutFuture = timeoutFuture;
+            if (!isDone()) {
+                return;
+            }
+        }
+        timeoutFuture.cancel(false);
+    }
+
+    private void onResponseTimeout() {
+        long remainingMs;
+        synchronized (this) {
+            remainingMs = responseDeadline - clock.millis();
+        }
+        if (remainingMs > 0) {
+            // an ack has extended the timeout
+            scheduleResponseTimeout(remainingMs);
+        } else {
+            expireResponseTimeout();
+        }
+    }
+
+    private void expireResponseTimeout() {
+        LOG.debug("Response timeout of batch request has expired, answering remaining items with null");
+        for (int i = 0; i < itemAcknowledgementHandlers.length; i++) {
+            answer(i, null, null);
+            itemAcknowledgementHandlers[i].settle();
+        }
+    }
+
+    /**
+     * @return whether every item is answered and done with, guarded by this
+     */
+    private boolean isDone() {
+        return itemsRemaining == 0 && itemsUnsettled == 0;
+    }
+
+    private void cancelResponseTimeoutIfDone() {
+        ScheduledFuture<?> timeoutFuture;
+        synchronized (this) {
+            if (!isDone() || responseTimeoutFuture == null) {
+                return;
+            }
+            timeoutFuture = responseTimeoutFuture;
+        }
+        timeoutFuture.cancel(false);
+    }
+
+    /**
+     * Extends the response timeout and sends an ack for the batch unless an ack announcing a longer timeout has been
+     * sent already or is deferred.
+     */
+    private void extendResponseTimeout(int timeoutMs) {
+        synchronized (this) {
+            long deadline = clock.millis() + timeoutMs;
+            responseDeadline = Math.max(responseDeadline, deadline);
+            if (deadline <= ackDeadline) {
+                return;
+            }
+            ackDeadline = deadline;
+            if (acksDeferred) {
+                return;
+            }
+        }
+        batchResponder.sendAck(timeoutMs, 1);
+    }
+
+    private void answer(int index, Object responsePayload, Integer itemMaxAgeMs) {
+        ArrayNode batchResponse;
+        Integer batchMaxAgeMs;
+        synchronized (this) {
+            if (answered[index]) {
+                return;
+            }
+            answered[index] = true;
+            responses[index] = responsePayload != null ? payloadMapper.valueToTree(responsePayload) : null;
+            if (itemMaxAgeMs != null) {
+                maxAgeMs = maxAgeMs != null ? Math.min(maxAgeMs, itemMaxAgeMs) : itemMaxAgeMs;
+            }
+            if (--itemsRemaining > 0) {
+                return;
+            }
+            batchResponse = payloadMapper.createArrayNode();
+            for (JsonNode response : responses) {
+                batchResponse.add(response);
+            }
+            batchMaxAgeMs = maxAgeMs;
+        }
+
+        // the response is not sent under the lock
+        if (batchMaxAgeMs != null) {
+            batchResponder.send(batchResponse, batchMaxAgeMs);
+        } else {
+            batchResponder.send(batchResponse);
+        }
+        cancelResponseTimeoutIfDone();
+    }
+
+    private void settled() {
+        synchronized (this) {
+            if (--itemsUnsettled > 0) {
+                return;
+            }
+        }
+        batchAcknowledgementHandler.confirmMessage();
+        cancelResponseTimeoutIfDone();
+    }
+
+    private class ItemResponder implements Responder {
+
+        private final int index;
+
+        ItemResponder(int index) {
+            this.index = index;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void sendAck(Integer timeoutMs, Integer responsesRemaining) {
+            if (responsesRemaining != null && responsesRemaining < 1) {
+                answer(index, null, null);
+            } else if (timeoutMs != null && timeoutMs > -1) {
+                extendResponseTimeout(timeoutMs);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void send(Object responsePayload) {
+            answer(index, responsePayload, null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void send(Object responsePayload, int maxAgeMs) {
+            Validate.isTrue(maxAgeMs >= 0, "the 'maxAgeMs' must not be negative");
+            answer(index, responsePayload, maxAgeMs);
+        }
+    }
+
+    private class ItemAcknowledgementHandler implements AcknowledgementHandler {
+
+        private final int index;
+        private volatile boolean autoAcknowledgement = true;
+        private boolean settled;
+
+        ItemAcknowledgementHandler(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void setAutoAcknowledgement(boolean autoAcknowledgement) {
+            this.autoAcknowledgement = autoAcknowledgement;
+        }
+
+        @Override
+        public boolean isAutoAcknowledgement() {
+            return autoAcknowledgement;
+        }
+
+        @Override
+        public void confirmMessage() {
+            settle();
+        }
+
+        @Override
+        public void retryMessage() {
+            discard();
+        }
+
+        @Override
+        public void retryMessageFirstTime() {
+            discard();
+        }
+
+        @Override
+        public void rejectMessage() {
+            discard();
+        }
+
+        private void discard() {
+            LOG.debug("Item {} of batch request can't be retried or rejected on its own, answering it with null", index);
+            answer(index, null, null);
+            settle();
+        }
+
+        void settle() {
+            synchronized (BatchResponder.this) {
+                if (settled) {
+                    return;
+                }
+                settled = true;
+            }
+            settled();
+        }
+    }
+}
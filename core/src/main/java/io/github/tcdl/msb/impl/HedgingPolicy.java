@@ -0,0 +1,92 @@
+package io.github.tcdl.msb.impl;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link HedgingPolicy} keeps response latencies observed for a namespace and the budget of hedged requests to it.
+ *
+ * Every hedge-eligible request earns a share of a hedge according to the budget percent and every hedge spends a whole
+ * one, so duplicates never exceed that share of requests. When responders slow down during an incident the budget is
+ * exhausted rather than the load doubled.
+ */
+@ThreadSafe
+class HedgingPolicy {
+
+    /**
+     * Number of the most recent latencies the percentile is computed from.
+     */
+    static final int LATENCY_SAMPLES = 128;
+
+    /**
+     * Number of latencies to observe before the percentile is known.
+     */
+    static final int MIN_LATENCY_SAMPLES = 20;
+
+    /**
+     * Max number of hedges that the budget can accumulate.
+     */
+    static final int MAX_HEDGES = 10;
+
+    // the budget is kept in hundredths of a hedge
+    private static final int HEDGE_COST = 100;
+
+    private final int budgetPercent;
+    private final AtomicInteger budget = new AtomicInteger();
+
+    // guarded by this
+    private final int[] latencies = new int[LATENCY_SAMPLES];
+    private int recordedLatencies;
+    private int nextLatencyIndex;
+    private Integer latencyP95;
+    private boolean isLatencyP95Stale;
+
+    HedgingPolicy(int budgetPercent) {
+        this.budgetPercent = Math.max(0, Math.min(budgetPercent, 100));
+    }
+
+    /**
+     * Earns a share of a hedge for a hedge-eligible request.
+     */
+    void recordRequest() {
+        budget.getAndUpdate(current -> Math.min(current + budgetPercent, MAX_HEDGES * HEDGE_COST));
+    }
+
+    /**
+     * @return true if the budget allows one more hedge, which is then spent
+     */
+    boolean tryAcquireHedge() {
+        int current;
+        do {
+            current = budget.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+
+    synchronized void recordLatency(long latencyMs) {
+        latencies[nextLatencyIndex] = (int) Math.max(0, Math.min(latencyMs, Integer.MAX_VALUE));
+        nextLatencyIndex = (nextLatencyIndex + 1) % LATENCY_SAMPLES;
+        recordedLatencies = Math.min(recordedLatencies + 1, LATENCY_SAMPLES);
+        isLatencyP95Stale = true;
+    }
+
+    /**
+     * @return 95th percentile (in milliseconds) of the most recent latencies or null if too few have been observed
+     */
+    synchronized Integer getLatencyP95() {
+        if (recordedLatencies < MIN_LATENCY_SAMPLES) {
+            return null;
+        }
+        if (isLatencyP95Stale) {
+            int[] sortedLatencies = Arrays.copyOf(latencies, recordedLatencies);
+            Arrays.sort(sortedLatencies);
+            latencyP95 = sortedLatencies[(int) Math.ceil(sortedLatencies.length * 0.95) - 1];
+            isLatencyP95Stale = false;
+        }
+        return latencyP95;
+    }
+}
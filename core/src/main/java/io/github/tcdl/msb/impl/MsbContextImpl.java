@@ -1,9 +1,13 @@
 package io.github.tcdl.msb.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import io.github.tcdl.msb.ChannelManager;
 import io.github.tcdl.msb.api.MsbContext;
 import io.github.tcdl.msb.api.ObjectFactory;
+import io.github.tcdl.msb.api.metrics.Gauge;
+import io.github.tcdl.msb.api.metrics.Metric;
+import io.github.tcdl.msb.api.metrics.MetricSet;
 import io.github.tcdl.msb.callback.MutableCallbackHandler;
 import io.github.tcdl.msb.collector.CollectorManager;
 import io.github.tcdl.msb.collector.CollectorManagerFactory;
@@ -13,6 +17,9 @@ import io.github.tcdl.msb.message.MessageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Specifies the context for MSB message processing.
@@ -30,6 +37,9 @@ public class MsbContextImpl implements MsbContext {
     private final ObjectMapper payloadMapper;
     private final CollectorManagerFactory collectorManagerFactory;
     private final MutableCallbackHandler shutdownCallbackHandler;
+    private final ConcurrentMap<String, HedgingPolicy> hedgingPolicies = new ConcurrentHashMap<>();
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final ResponseCache responseCache;
     private volatile boolean isShutdownComplete = false;
 
     public MsbContextImpl(MsbConfig msbConfig, MessageFactory messageFactory, ChannelManager channelManager,
@@ -46,6 +56,7 @@ public class MsbContextImpl implements MsbContext {
         this.payloadMapper = payloadMapper;
         this.collectorManagerFactory = collectorManagerFactory;
         this.shutdownCallbackHandler = shutdownCallbackHandler;
+        this.responseCache = new ResponseCache(msbConfig.getResponseCacheMaxEntries(), clock);
     }
 
     /**
@@ -126,8 +137,61 @@ public class MsbContextImpl implements MsbContext {
         this.objectFactory = objectFactory;
     }
 
+    /**
+     * @return hedging policy shared by all requesters to the namespace
+     */
+    HedgingPolicy getHedgingPolicy(String namespace) {
+        return hedgingPolicies.computeIfAbsent(namespace, key -> new HedgingPolicy(msbConfig.getHedgingBudgetPercent()));
+    }
+
+    /**
+     * @return coalescer of identical requests shared by all requesters
+     */
+    RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * @return cache of responses shared by all requesters
+     */
+    ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     @Override
     public void addShutdownCallback(Runnable shutdownCallback) {
         shutdownCallbackHandler.add(shutdownCallback);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MetricSet getMetrics() {
+        Gauge<Long> pendingTimeoutsMetric = timeoutManager::getPendingTimeouts;
+        Gauge<Long> inFlightRequestsMetric = collectorManagerFactory::getInFlightRequests;
+        Gauge<Long> coalescibleRequestsMetric = requestCoalescer::getCoalescibleRequests;
+        Gauge<Long> coalescedRequestsMetric = requestCoalescer::getCoalescedRequests;
+        Gauge<Long> responseCacheHitsMetric = responseCache::getHits;
+        Gauge<Long> responseCacheMissesMetric = responseCache::getMisses;
+        Gauge<Long> responseCacheEvictionsMetric = responseCache::getEvictions;
+        Gauge<Long> publishQueueDepthMetric = () -> channelManager.getPublishQueueDepth().orElse(null);
+        Gauge<Long> droppedPublishedMessagesMetric = () -> channelManager.getDroppedPublishedMessages().orElse(null);
+        Gauge<Long> producerChannelWaitsMetric = () -> channelManager.getProducerChannelWaits().orElse(null);
+        Gauge<Long> producerChannelWaitTimeMetric = () -> channelManager.getProducerChannelWaitTimeNanos().orElse(null);
+        Map<String, Metric> metrics = ImmutableMap.<String, Metric>builder()
+                .put(MetricSet.PENDING_TIMEOUTS_METRIC, pendingTimeoutsMetric)
+                .put(MetricSet.IN_FLIGHT_REQUESTS_METRIC, inFlightRequestsMetric)
+                .put(MetricSet.COALESCIBLE_REQUESTS_METRIC, coalescibleRequestsMetric)
+                .put(MetricSet.COALESCED_REQUESTS_METRIC, coalescedRequestsMetric)
+                .put(MetricSet.RESPONSE_CACHE_HITS_METRIC, responseCacheHitsMetric)
+                .put(MetricSet.RESPONSE_CACHE_MISSES_METRIC, responseCacheMissesMetric)
+                .put(MetricSet.RESPONSE_CACHE_EVICTIONS_METRIC, responseCacheEvictionsMetric)
+                .put(MetricSet.PUBLISH_QUEUE_DEPTH_METRIC, publishQueueDepthMetric)
+                .put(MetricSet.DROPPED_PUBLISHED_MESSAGES_METRIC, droppedPublishedMessagesMetric)
+                .put(MetricSet.PRODUCER_CHANNEL_WAITS_METRIC, producerChannelWaitsMetric)
+                .put(MetricSet.PRODUCER_CHANNEL_WAIT_TIME_METRIC, producerChannelWaitTimeMetric)
+                .build();
+        return () -> metrics;
+    }
 }
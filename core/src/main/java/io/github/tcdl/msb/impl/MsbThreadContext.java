@@ -51,10 +51,17 @@ public class MsbThreadContext {
     }
 
 
+    /**
+     * Resets the context after a message has been processed. The map is emptied rather than discarded, so a thread
+     * that processes a stream of messages reuses the same map instead of allocating one per message.
+     */
     static void clear() {
-        messageContext.remove();
-        request.remove();
-        map.remove();
+        messageContext.set(null);
+        request.set(null);
+        Map<String, Object> contextMap = map.get();
+        if (!contextMap.isEmpty()) {
+            contextMap.clear();
+        }
     }
 
 }
@@ -0,0 +1,77 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.collector.TimeoutManager;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link RequestBatcher} packs requests into batches. A batch is sent once it reaches the max batch size or once its
+ * first request has lingered for the given time, whichever happens first.
+ */
+@ThreadSafe
+class RequestBatcher<R> {
+
+    private final int maxBatchSize;
+    private final int batchLinger;
+    private final TimeoutManager timeoutManager;
+    private final Consumer<List<R>> batchSender;
+
+    private List<R> batch;
+    private ScheduledFuture<?> lingerFuture;
+
+    /**
+     * @param maxBatchSize max number of requests in a batch
+     * @param batchLinger  max time (in milliseconds) a request waits for other requests to be batched with
+     * @param batchSender  sends a batch of requests. Is invoked outside of the lock of the batcher.
+     */
+    RequestBatcher(int maxBatchSize, int batchLinger, TimeoutManager timeoutManager, Consumer<List<R>> batchSender) {
+        this.maxBatchSize = maxBatchSize;
+        this.batchLinger = batchLinger;
+        this.timeoutManager = timeoutManager;
+        this.batchSender = batchSender;
+        this.batch = new ArrayList<>(maxBatchSize);
+    }
+
+    void add(R request) {
+        List<R> fullBatch;
+        synchronized (this) {
+            batch.add(request);
+            if (batch.size() == 1) {
+                lingerFuture = timeoutManager.enableBatchLinger(batchLinger, this::flush);
+            }
+            if (batch.size() < maxBatchSize && lingerFuture != null) {
+                return;
+            }
+            fullBatch = takeBatch();
+        }
+        batchSender.accept(fullBatch);
+    }
+
+    /**
+     * Sends the current batch unless it is empty.
+     */
+    void flush() {
+        List<R> lingeredBatch;
+        synchronized (this) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            lingeredBatch = takeBatch();
+        }
+        batchSender.accept(lingeredBatch);
+    }
+
+    private List<R> takeBatch() {
+        List<R> takenBatch = batch;
+        batch = new ArrayList<>(maxBatchSize);
+        if (lingerFuture != null) {
+            lingerFuture.cancel(false);
+            lingerFuture = null;
+        }
+        return takenBatch;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.tcdl.msb.impl;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link RequestCoalescer} lets concurrent identical requests (see {@link RequestKey}) share a single in-flight request.
+ * Once the shared request is complete the next identical request is sent anew.
+ */
+@ThreadSafe
+class RequestCoalescer {
+
+    private final ConcurrentMap<RequestKey, CompletableFuture<?>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder coalescibleRequests = new LongAdder();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    /**
+     * Joins the in-flight request identical to the given one or sends it otherwise.
+     *
+     * @param requestKey    identifies the request
+     * @param requestSender sends the request and returns the future of its result
+     * @return future of the result of the shared request. Cancellation of the future doesn't affect other requests.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> coalesce(RequestKey requestKey, Supplier<CompletableFuture<T>> requestSender) {
+        coalescibleRequests.increment();
+
+        CompletableFuture<T> sharedResult = new CompletableFuture<>();
+        CompletableFuture<T> inFlightResult = (CompletableFuture<T>) inFlightRequests.putIfAbsent(requestKey, sharedResult);
+        if (inFlightResult != null) {
+            coalescedRequests.increment();
+            return dependentOn(inFlightResult);
+        }
+
+        sharedResult.whenComplete((result, throwable) -> inFlightRequests.remove(requestKey, sharedResult));
+        try {
+            requestSender.get().whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    sharedResult.completeExceptionally(throwable);
+                } else {
+                    sharedResult.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            sharedResult.completeExceptionally(e);
+            throw e;
+        }
+        return dependentOn(sharedResult);
+    }
+
+    /**
+     * @return number of requests that could be coalesced with identical ones
+     */
+    long getCoalescibleRequests() {
+        return coalescibleRequests.sum();
+    }
+
+    /**
+     * @return number of requests that joined an identical in-flight request
+     */
+    long getCoalescedRequests() {
+        return coalescedRequests.sum();
+    }
+
+    private static <T> CompletableFuture<T> dependentOn(CompletableFuture<T> sharedResult) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        sharedResult.whenComplete((sharedValue, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(sharedValue);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.api.message.Topics;
+
+import javax.annotation.concurrent.Immutable;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link RequestKey} identifies requests that are sent to the same namespace with the same routing key, tags and
+ * payload and expect responses of the same type. Payloads are compared in their serialized form, which is hashed once,
+ * so the payload of a request is neither decoded nor serialized once again to tell whether it is identical to another.
+ */
+@Immutable
+class RequestKey {
+
+    private final String to;
+    private final String forward;
+    private final String routingKey;
+    private final List<String> tags;
+    private final byte[] payload;
+    private final Type responseType;
+    private final int hash;
+
+    /**
+     * @param payload serialized payload of the request or null if the request has no payload. The array is retained
+     *                and must not be modified.
+     */
+    RequestKey(Message requestMessage, byte[] payload, Type responseType) {
+        Topics topics = requestMessage.getTopics();
+        this.to = topics.getTo();
+        this.forward = topics.getForward();
+        this.routingKey = topics.getRoutingKey();
+        this.tags = requestMessage.getTags();
+        this.payload = payload;
+        this.responseType = responseType;
+        this.hash = Objects.hash(to, forward, routingKey, tags, Arrays.hashCode(payload), responseType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestKey)) {
+            return false;
+        }
+        RequestKey that = (RequestKey) o;
+        return hash == that.hash
+                && Objects.equals(to, that.to)
+                && Objects.equals(forward, that.forward)
+                && Objects.equals(routingKey, that.routingKey)
+                && Objects.equals(tags, that.tags)
+                && Arrays.equals(payload, that.payload)
+                && Objects.equals(responseType, that.responseType);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -1,37 +1,73 @@
 package io.github.tcdl.msb.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.github.tcdl.msb.ChannelManager;
+import io.github.tcdl.msb.Producer;
 import io.github.tcdl.msb.api.*;
+import io.github.tcdl.msb.api.exception.ChannelException;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.flow.Publisher;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.collector.Collector;
 import io.github.tcdl.msb.events.EventHandlers;
 import io.github.tcdl.msb.message.MessageFactory;
+import io.github.tcdl.msb.message.RequestEnvelope;
+import io.github.tcdl.msb.support.Utils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of {@link Requester}
  * 
  * Expected responses are matched by correlationId from original request.
  *
+ * State of a request is carried by its {@link Collector}, so an instance may send requests from several threads
+ * concurrently. Parts of the request envelope that don't change between requests are computed once.
+ *
  * @see Requester
  */
 public class RequesterImpl<T> implements Requester<T> {
 
-    private RequestOptions requestOptions;
-    private MsbContextImpl context;
+    private static final Logger LOG = LoggerFactory.getLogger(RequesterImpl.class);
 
-    private MessageFactory messageFactory;
-    private String namespace;
-    EventHandlers<T> eventHandlers;
-    private TypeReference<T> payloadTypeReference;
+    private final RequestOptions requestOptions;
+    private final MsbContextImpl context;
+
+    private final MessageFactory messageFactory;
+    private final RequestEnvelope requestEnvelope;
+    /**
+     * Handlers of requests sent by publish methods. Requests sent by request and gather methods carry their own
+     * handlers, which are passed to their collectors only.
+     */
+    final EventHandlers<T> eventHandlers;
+    private final TypeReference<T> payloadTypeReference;
+    /**
+     * Latencies and budget of hedged requests to the namespace or null if requests are not hedged.
+     */
+    private final HedgingPolicy hedgingPolicy;
+    /**
+     * Packs requests into batch requests or null if requests are not batched.
+     */
+    private final RequestBatcher<BatchedRequest<T>> requestBatcher;
+    /**
+     * Whether a responder has advertised that it accepts batch requests. Requests are sent one by one until then.
+     */
+    private volatile boolean batchesAccepted;
 
     /**
      * Creates a new instance of a requester.
@@ -50,13 +86,25 @@ public class RequesterImpl<T> implements Requester<T> {
         Validate.notNull(requestOptions, "the 'messageOptions' must not be null");
         Validate.notNull(context, "the 'context' must not be null");
 
-        this.namespace = namespace;
         this.requestOptions = requestOptions;
         this.context = context;
         this.payloadTypeReference = payloadTypeReference;
 
         this.eventHandlers = new EventHandlers<>();
         this.messageFactory = context.getMessageFactory();
+        this.requestEnvelope = messageFactory.createRequestEnvelope(namespace, requestOptions.getForwardNamespace(),
+                requestOptions.getRoutingKey(), requestOptions.getMessageTemplate());
+        this.hedgingPolicy = requestOptions.getHedgeDelay() != null ? context.getHedgingPolicy(namespace) : null;
+        this.requestBatcher = isBatching(requestOptions)
+                ? new RequestBatcher<>(requestOptions.getMaxBatchSize(), requestOptions.getBatchLinger(), context.getTimeoutManager(), this::sendBatch)
+                : null;
+    }
+
+    private static boolean isBatching(RequestOptions requestOptions) {
+        return requestOptions.getMaxBatchSize() != null
+                && requestOptions.getWaitForResponses() == 1
+                && requestOptions.getHedgeDelay() == null
+                && StringUtils.isBlank(requestOptions.getForwardNamespace());
     }
 
     /**
@@ -112,71 +160,386 @@ public class RequesterImpl<T> implements Requester<T> {
      */
     @Override
     public CompletableFuture<T> request(Object requestPayload, Message originalMessage, String... tags) {
-        this.eventHandlers = new EventHandlers<>(); //discard all previously set handlers
+        // the batch request carries neither tags nor correlation id of its items
+        boolean isBatchable = requestBatcher != null && originalMessage == null && ArrayUtils.isEmpty(tags);
+        boolean isCached = requestOptions.getCacheTtl() != null;
+        if (!isCached && !requestOptions.isCoalescing()) {
+            Message message = isHedged()
+                    ? createEncodedRequestMessage(messageFactory.encodePayload(requestPayload), originalMessage, tags)
+                    : createRequestMessage(requestPayload, originalMessage, tags);
+            return sendRequest(message, null, isBatchable);
+        }
+
+        // the payload is serialized once both to identify the request and to publish it
+        byte[] encodedPayload = messageFactory.encodePayload(requestPayload);
+        Message message = createEncodedRequestMessage(encodedPayload, originalMessage, tags);
+        RequestKey requestKey = new RequestKey(message, encodedPayload, payloadTypeReference != null ? payloadTypeReference.getType() : null);
+        if (isCached) {
+            T cachedResponse = context.getResponseCache().get(requestKey);
+            if (cachedResponse != null) {
+                return CompletableFuture.completedFuture(cachedResponse);
+            }
+        }
+        if (requestOptions.isCoalescing()) {
+            return context.getRequestCoalescer().coalesce(requestKey, () -> sendRequest(message, requestKey, isBatchable));
+        }
+        return sendRequest(message, requestKey, isBatchable);
+    }
 
+    /**
+     * @param requestKey  identifies the request if its response is to be cached
+     * @param isBatchable whether the request may be sent as an item of a batch request
+     */
+    private CompletableFuture<T> sendRequest(Message message, RequestKey requestKey, boolean isBatchable) {
         CompletableFuture<T> futureResult = new CompletableFuture<>();
+        boolean isHedged = isHedged();
+        long requestedAt = isHedged ? context.getClock().millis() : 0;
+
+        EventHandlers<T> requestHandlers = new EventHandlers<>(); //handlers registered on the requester are not used
+        requestHandlers.onResponse((response, messageContext) -> {
+            if (isBatchable) {
+                learnBatchCapability(messageContext.getOriginalMessage().getAck());
+            }
+            if (!futureResult.complete(response)) {
+                return;
+            }
+            if (isHedged) {
+                hedgingPolicy.recordLatency(context.getClock().millis() - requestedAt);
+            }
+            if (requestKey != null && requestOptions.getCacheTtl() != null) {
+                cacheResponse(requestKey, response, messageContext);
+            }
+        });
+        requestHandlers.onAcknowledge((acknowledge, messageContext) -> {
+            if (isBatchable) {
+                learnBatchCapability(acknowledge);
+            }
+            boolean noResponse = !futureResult.isDone() && acknowledge.getResponsesRemaining() < 1;
+            boolean tooManyResponses = acknowledge.getResponsesRemaining() > 1;
+            if (noResponse || tooManyResponses) {
+                futureResult.cancel(true);
+            }
+        });
+        requestHandlers.onEnd(end -> {
+            if (!futureResult.isDone()) {
+                futureResult.cancel(true);
+            }
+        });
+        requestHandlers.onError((exception, errorMessage) -> futureResult.cancel(true));
+
+        if (isHedged) {
+            // the response to either copy of the request is the only one expected, acks of both copies notwithstanding
+            requestHandlers.completionCondition(futureResult::isDone);
+        }
+
+        if (isBatchable && batchesAccepted) {
+            requestBatcher.add(new BatchedRequest<>(message, requestHandlers, futureResult));
+            return futureResult;
+        }
 
-        this.onResponse((response, messageContext) -> futureResult.complete(response))
-                .onAcknowledge((acknowledge, messageContext) -> {
-                    boolean noResponse = !futureResult.isDone() && acknowledge.getResponsesRemaining() < 1;
-                    boolean tooManyResponses = acknowledge.getResponsesRemaining() > 1;
-                    if (noResponse || tooManyResponses) {
-                        futureResult.cancel(true);
-                    }
-                })
-                .onEnd(end -> {
-                    if (!futureResult.isDone()) {
-                        futureResult.cancel(true);
-                    }
-                })
-                .onError((exception, message) -> futureResult.cancel(true));
-
-        publish(true, requestPayload, originalMessage, tags);
+        Collector<T> collector = publishAsync(requestHandlers, message, futureResult);
+        if (collector != null && isHedged) {
+            hedge(message, futureResult);
+        }
         return futureResult;
     }
 
+    private boolean isHedged() {
+        return hedgingPolicy != null && requestOptions.getWaitForResponses() == 1;
+    }
+
+    private void learnBatchCapability(Acknowledge acknowledge) {
+        if (acceptsBatches(acknowledge)) {
+            batchesAccepted = true;
+        }
+    }
+
+    private static boolean acceptsBatches(Acknowledge acknowledge) {
+        return acknowledge != null && Boolean.TRUE.equals(acknowledge.getAcceptsBatches());
+    }
+
+    /**
+     * Publishes the requests as a single batch request and passes the response to each item to the handlers of
+     * the item. If it turns out that the responder doesn't accept batches, the requests are published one by one.
+     */
+    private void sendBatch(List<BatchedRequest<T>> batch) {
+        if (batch.size() == 1) {
+            publishAsync(batch.get(0).requestHandlers, batch.get(0).message, batch.get(0).futureResult);
+            return;
+        }
+
+        ArrayNode items = context.getPayloadMapper().createArrayNode();
+        batch.forEach(batchedRequest -> items.add(batchedRequest.message.getRawPayload()));
+        Message.Builder messageBuilder = messageFactory.createRequestMessageBuilder(requestEnvelope, null, BatchResponder.BATCH_TAG);
+        Message batchMessage = messageFactory.createRequestMessage(messageBuilder, items);
+        LOG.debug("[correlation id: {}] Publishing batch of {} requests", batchMessage.getCorrelationId(), batch.size());
+
+        AtomicBoolean unbatched = new AtomicBoolean();
+        Runnable unbatch = () -> {
+            if (unbatched.compareAndSet(false, true)) {
+                LOG.debug("[correlation id: {}] Batches are not accepted, publishing requests one by one", batchMessage.getCorrelationId());
+                batchesAccepted = false;
+                batch.forEach(batchedRequest -> publishAsync(batchedRequest.requestHandlers, batchedRequest.message, batchedRequest.futureResult));
+            }
+        };
+        Callback<Void> endItems = end -> {
+            if (!unbatched.get()) {
+                batch.forEach(batchedRequest -> batchedRequest.requestHandlers.onEnd().call(null));
+            }
+        };
+
+        EventHandlers<JsonNode> batchHandlers = new EventHandlers<>();
+        batchHandlers.onResponse((responses, messageContext) -> {
+            if (!acceptsBatches(messageContext.getOriginalMessage().getAck()) || !responses.isArray()) {
+                unbatch.run();
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                onBatchedResponse(batch.get(i), responses.get(i), messageContext);
+            }
+        });
+        batchHandlers.onAcknowledge((acknowledge, messageContext) -> {
+            if (!acceptsBatches(acknowledge)) {
+                unbatch.run();
+            } else if (acknowledge.getResponsesRemaining() < 1) {
+                endItems.call(null);
+            }
+        });
+        batchHandlers.onEnd(endItems);
+        batchHandlers.onError((exception, errorMessage) -> {
+            if (!unbatched.get()) {
+                batch.forEach(batchedRequest -> batchedRequest.requestHandlers.onError().accept(exception, errorMessage));
+            }
+        });
+
+        Collector<JsonNode> collector = createBatchCollector(batchMessage, batchHandlers);
+        collector.listenForResponses();
+
+        CompletionStage<Void> publication = publishMessageAsync(batchMessage);
+        collector.releaseRequestPayload();
+
+        collector.waitForResponses();
+        publication.whenComplete((published, failure) -> {
+            if (failure != null) {
+                Exception exception = toPublishingException(failure);
+                batch.forEach(batchedRequest -> batchedRequest.futureResult.completeExceptionally(exception));
+                collector.fail(exception);
+            }
+        });
+    }
+
+    private void onBatchedResponse(BatchedRequest<T> batchedRequest, JsonNode rawResponse, MessageContext messageContext) {
+        if (rawResponse == null || rawResponse.isNull()) {
+            batchedRequest.requestHandlers.onEnd().call(null);
+            return;
+        }
+
+        T response;
+        try {
+            response = Utils.convert(rawResponse, payloadTypeReference, context.getPayloadMapper());
+        } catch (JsonConversionException e) {
+            batchedRequest.requestHandlers.onError().accept(e, messageContext.getOriginalMessage());
+            return;
+        }
+        batchedRequest.requestHandlers.onResponse().accept(response, messageContext);
+    }
+
+    /**
+     * Caches the response for the cache TTL of the requester unless the responder allows a shorter time only.
+     */
+    private void cacheResponse(RequestKey requestKey, T response, MessageContext messageContext) {
+        Message responseMessage = messageContext.getOriginalMessage();
+        Integer maxAgeMs = responseMessage != null && responseMessage.getAck() != null ? responseMessage.getAck().getMaxAgeMs() : null;
+        long ttlMs = maxAgeMs != null ? Math.min(maxAgeMs, requestOptions.getCacheTtl()) : requestOptions.getCacheTtl();
+        if (response != null && ttlMs > 0) {
+            context.getResponseCache().put(requestKey, response, ttlMs);
+        }
+    }
+
+    /**
+     * Publishes a copy of the request under the same correlation id unless a response arrives within the hedge delay
+     * and the hedging budget allows it. The request is expected to carry an encoded payload, so that the payload
+     * object isn't retained until then.
+     */
+    private void hedge(Message message, CompletableFuture<T> futureResult) {
+        hedgingPolicy.recordRequest();
+
+        Integer hedgeDelay = requestOptions.getHedgeDelay() == RequestOptions.HEDGE_AFTER_P95
+                ? hedgingPolicy.getLatencyP95()
+                : requestOptions.getHedgeDelay();
+        if (hedgeDelay == null) {
+            // too few latencies have been observed
+            return;
+        }
+
+        ScheduledFuture<?> hedgeFuture = context.getTimeoutManager().enableHedge(Math.max(hedgeDelay, 1), message, () -> {
+            if (futureResult.isDone()) {
+                return;
+            }
+            if (!hedgingPolicy.tryAcquireHedge()) {
+                LOG.debug("[correlation id: {}] Hedging budget is exhausted", message.getCorrelationId());
+                return;
+            }
+            LOG.debug("[correlation id: {}] Publishing hedged request", message.getCorrelationId());
+            publishMessageAsync(messageFactory.createRequestCopy(message)).whenComplete((published, failure) -> {
+                if (failure != null) {
+                    // the request that has been published already may still be answered
+                    LOG.warn("[correlation id: {}] Unable to publish hedged request", message.getCorrelationId(), failure);
+                }
+            });
+        });
+        if (hedgeFuture != null) {
+            futureResult.whenComplete((response, throwable) -> hedgeFuture.cancel(false));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public void publish(Object requestPayload, Message originalMessage, String... tags) {
-        publish(false, requestPayload, originalMessage, tags);
+    public <A> CompletableFuture<A> gather(Object requestPayload, A identity, BiFunction<A, ? super T, A> reducer,
+            GatherOptions<? super A> gatherOptions, String... tags) {
+        return gather(requestPayload, null, identity, reducer, gatherOptions, tags);
     }
 
-    private void publish(boolean invokeHandlersDirectly, Object requestPayload, Message originalMessage, String... tags) {
-        MessageTemplate messageTemplate = MessageTemplate.copyOf(requestOptions.getMessageTemplate());
-
-        if (tags != null) {
-            Arrays.stream(tags).filter(tag -> tag != null).forEach(messageTemplate::addTag);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <A> CompletableFuture<A> gather(Object requestPayload, Message originalMessage, A identity, BiFunction<A, ? super T, A> reducer,
+            GatherOptions<? super A> gatherOptions, String... tags) {
+        Validate.notNull(reducer, "the 'reducer' must not be null");
+        Validate.notNull(gatherOptions, "the 'gatherOptions' must not be null");
+
+        Gathering<T, A> gathering = new Gathering<>(identity, reducer, gatherOptions);
+
+        EventHandlers<T> gatherHandlers = new EventHandlers<>(); //handlers registered on the requester are not used
+        gatherHandlers.onResponse((response, messageContext) -> gathering.fold(response));
+        gatherHandlers.onEnd(end -> gathering.complete());
+        gatherHandlers.onError((exception, message) -> gathering.fail(exception));
+        gatherHandlers.completionCondition(gathering::isDone);
+
+        Collector<T> collector = publish(gatherHandlers, true, createRequestMessage(requestPayload, originalMessage, tags));
+        if (collector == null) {
+            // no responses are expected
+            gathering.complete();
+        } else if (gatherOptions.getDeadline() != null) {
+            collector.waitUntilDeadline(gatherOptions.getDeadline());
         }
+        return gathering.getResult();
+    }
 
-        Message.Builder messageBuilder = messageFactory.createRequestMessageBuilder(
-                namespace,
-                requestOptions.getForwardNamespace(),
-                requestOptions.getRoutingKey(),
-                messageTemplate,
-                originalMessage);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Publisher<T> responses(Object requestPayload, String... tags) {
+        return responses(requestPayload, null, tags);
+    }
 
-        Message message = messageFactory.createRequestMessage(messageBuilder, requestPayload);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Publisher<T> responses(Object requestPayload, Message originalMessage, String... tags) {
+        return new ResponsePublisher<>(responseHandlers -> publish(responseHandlers, true,
+                createRequestMessage(requestPayload, originalMessage, tags)));
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(Object requestPayload, Message originalMessage, String... tags) {
+        publish(eventHandlers, false, createRequestMessage(requestPayload, originalMessage, tags));
+    }
+
+    private Message createRequestMessage(Object requestPayload, Message originalMessage, String... tags) {
+        Message.Builder messageBuilder = messageFactory.createRequestMessageBuilder(requestEnvelope, originalMessage, tags);
+        return messageFactory.createRequestMessage(messageBuilder, requestPayload);
+    }
+
+    private Message createEncodedRequestMessage(byte[] encodedPayload, Message originalMessage, String... tags) {
+        Message.Builder messageBuilder = messageFactory.createRequestMessageBuilder(requestEnvelope, originalMessage, tags);
+        return messageFactory.createEncodedRequestMessage(messageBuilder, encodedPayload);
+    }
+
+    /**
+     * @return collector of responses or null if responses are not expected
+     */
+    private Collector<T> publish(EventHandlers<T> eventHandlers, boolean invokeHandlersDirectly, Message message) {
         boolean fireAndForget = !(isWaitForAckMs() || isWaitForResponses());
         boolean forwardingRequired = StringUtils.isNotBlank(requestOptions.getForwardNamespace());
 
         if(forwardingRequired || fireAndForget){
             publishMessage(message);
+            return null;
         } else {
             //set up collector for responses or acks
-            Collector collector = createCollector(message, requestOptions, context, eventHandlers, invokeHandlersDirectly);
+            Collector<T> collector = createCollector(message, requestOptions, context, eventHandlers, invokeHandlersDirectly);
             collector.listenForResponses();
 
             publishMessage(message);
+            collector.releaseRequestPayload();
 
             collector.waitForResponses();
+            return collector;
         }
     }
 
+    /**
+     * Publishes the request like {@link #publish(EventHandlers, boolean, Message)} does, but doesn't wait for it to be
+     * published. If publishing fails, the future of the request fails and the request ends.
+     *
+     * @param futureResult result of the request
+     * @return collector of responses or null if responses are not expected
+     */
+    private Collector<T> publishAsync(EventHandlers<T> eventHandlers, Message message, CompletableFuture<T> futureResult) {
+        boolean fireAndForget = !(isWaitForAckMs() || isWaitForResponses());
+        boolean forwardingRequired = StringUtils.isNotBlank(requestOptions.getForwardNamespace());
+
+        Collector<T> collector = null;
+        CompletionStage<Void> publication;
+        if (forwardingRequired || fireAndForget) {
+            publication = publishMessageAsync(message);
+        } else {
+            collector = createCollector(message, requestOptions, context, eventHandlers, true);
+            collector.listenForResponses();
+
+            publication = publishMessageAsync(message);
+            collector.releaseRequestPayload();
+
+            collector.waitForResponses();
+        }
+
+        Collector<T> requestCollector = collector;
+        publication.whenComplete((published, failure) -> {
+            if (failure != null) {
+                Exception exception = toPublishingException(failure);
+                futureResult.completeExceptionally(exception);
+                if (requestCollector != null) {
+                    requestCollector.fail(exception);
+                }
+            }
+        });
+        return collector;
+    }
+
+    private static Exception toPublishingException(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof Exception ? (Exception) cause : new ChannelException("Unable to publish request", cause);
+    }
+
     private void publishMessage(Message message) {
-        getChannelManager().findOrCreateProducer(message.getTopics().getTo(), false, requestOptions).publish(message);
+        getProducer(message).publish(message);
+    }
+
+    private CompletionStage<Void> publishMessageAsync(Message message) {
+        return getProducer(message).publishAsync(message);
+    }
+
+    private Producer getProducer(Message message) {
+        return getChannelManager().findOrCreateProducer(message.getTopics().getTo(), false, requestOptions);
     }
 
     private boolean isWaitForAckMs() {
@@ -243,4 +606,85 @@ public class RequesterImpl<T> implements Requester<T> {
         return new Collector<>(requestMessage.getTopics().getResponse(), requestMessage, requestOptions, context,
                 eventHandlers, payloadTypeReference, invokeHandlersDirectly);
     }
+
+    Collector<JsonNode> createBatchCollector(Message batchMessage, EventHandlers<JsonNode> batchHandlers) {
+        return new Collector<>(batchMessage.getTopics().getResponse(), batchMessage, requestOptions, context,
+                batchHandlers, new TypeReference<JsonNode>() {}, true);
+    }
+
+    /**
+     * Request waiting to be sent as an item of a batch request.
+     */
+    private static class BatchedRequest<T> {
+
+        private final Message message;
+        private final EventHandlers<T> requestHandlers;
+        private final CompletableFuture<T> futureResult;
+
+        BatchedRequest(Message message, EventHandlers<T> requestHandlers, CompletableFuture<T> futureResult) {
+            this.message = message;
+            this.requestHandlers = requestHandlers;
+            this.futureResult = futureResult;
+        }
+    }
+
+    /**
+     * Aggregate of responses to a scatter-gather request. Responses may be handled by several consumer threads
+     * concurrently, so they are folded one at a time. Responses handled after completion are ignored.
+     */
+    private static class Gathering<T, A> {
+
+        private final BiFunction<A, ? super T, A> reducer;
+        private final GatherOptions<? super A> gatherOptions;
+        private final CompletableFuture<A> result = new CompletableFuture<>();
+
+        private A aggregate;
+        private int responses;
+        private volatile boolean completed;
+
+        Gathering(A identity, BiFunction<A, ? super T, A> reducer, GatherOptions<? super A> gatherOptions) {
+            this.aggregate = identity;
+            this.reducer = reducer;
+            this.gatherOptions = gatherOptions;
+        }
+
+        void fold(T response) {
+            A completedAggregate;
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                aggregate = reducer.apply(aggregate, response);
+                responses++;
+                if (!gatherOptions.isComplete(responses, aggregate)) {
+                    return;
+                }
+                completed = true;
+                completedAggregate = aggregate;
+            }
+            // dependent stages are not run under the lock
+            result.complete(completedAggregate);
+        }
+
+        void complete() {
+            A completedAggregate;
+            synchronized (this) {
+                completed = true;
+                completedAggregate = aggregate;
+            }
+            result.complete(completedAggregate);
+        }
+
+        void fail(Exception exception) {
+            result.completeExceptionally(exception);
+        }
+
+        boolean isDone() {
+            return completed || result.isDone();
+        }
+
+        CompletableFuture<A> getResult() {
+            return result;
+        }
+    }
 }
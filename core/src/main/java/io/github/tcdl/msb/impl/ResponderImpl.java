@@ -8,7 +8,6 @@ import io.github.tcdl.msb.api.Responder;
 import io.github.tcdl.msb.api.message.Acknowledge.Builder;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.message.MessageFactory;
-import io.github.tcdl.msb.support.Utils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,13 +20,26 @@ public class ResponderImpl implements Responder {
     private ChannelManager channelManager;
     private MessageFactory messageFactory;
     private Message.Builder messageBuilder;
+    /**
+     * Advertised in every ack or null if the responder is not batch-aware, so that its acks stay as they were.
+     */
+    private Boolean acceptsBatches;
 
     public ResponderImpl(MessageTemplate messageTemplate, Message originalMessage, 
             MsbContextImpl msbContext) {
+        this(messageTemplate, originalMessage, msbContext, false);
+    }
+
+    /**
+     * @param acceptsBatches whether to advertise to the requester that batch requests are processed
+     */
+    public ResponderImpl(MessageTemplate messageTemplate, Message originalMessage,
+            MsbContextImpl msbContext, boolean acceptsBatches) {
         validateReceivedMessage(originalMessage);
-        this.responderId = Utils.generateId();
+        this.acceptsBatches = acceptsBatches ? Boolean.TRUE : null;
         this.channelManager = msbContext.getChannelManager();
         this.messageFactory = msbContext.getMessageFactory();
+        this.responderId = messageFactory.generateId();
         this.messageBuilder = messageFactory.createResponseMessageBuilder(messageTemplate, originalMessage);
     }
 
@@ -36,10 +48,10 @@ public class ResponderImpl implements Responder {
      */
     @Override
     public void sendAck(Integer timeoutMs, Integer responsesRemaining) {
-        Builder ackBuilder = this.messageFactory.createAckBuilder();
-        ackBuilder.withResponderId(responderId);
+        Builder ackBuilder = this.messageFactory.createAckBuilder(responderId);
         ackBuilder.withTimeoutMs(timeoutMs != null && timeoutMs > -1 ? timeoutMs : null);
         ackBuilder.withResponsesRemaining(responsesRemaining == null ? 1 : responsesRemaining);
+        ackBuilder.withAcceptsBatches(acceptsBatches);
 
         Message message = this.messageFactory.createResponseMessage(this.messageBuilder, ackBuilder.build(), null);
         sendMessage(message);
@@ -50,9 +62,23 @@ public class ResponderImpl implements Responder {
      */
     @Override
     public void send(Object responsePayload) {
-        Builder ackBuilder = this.messageFactory.createAckBuilder();
-        ackBuilder.withResponderId(responderId);
+        sendResponse(responsePayload, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(Object responsePayload, int maxAgeMs) {
+        Validate.isTrue(maxAgeMs >= 0, "the 'maxAgeMs' must not be negative");
+        sendResponse(responsePayload, maxAgeMs);
+    }
+
+    private void sendResponse(Object responsePayload, Integer maxAgeMs) {
+        Builder ackBuilder = this.messageFactory.createAckBuilder(responderId);
         ackBuilder.withResponsesRemaining(-1);
+        ackBuilder.withMaxAgeMs(maxAgeMs);
+        ackBuilder.withAcceptsBatches(acceptsBatches);
 
         Message message = this.messageFactory.createResponseMessage(this.messageBuilder, ackBuilder.build(), responsePayload);
         sendMessage(message);
@@ -1,6 +1,7 @@
 package io.github.tcdl.msb.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import io.github.tcdl.msb.ChannelManager;
@@ -8,12 +9,13 @@ import io.github.tcdl.msb.MessageHandler;
 import io.github.tcdl.msb.api.*;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.metrics.Gauge;
+import io.github.tcdl.msb.api.metrics.Metric;
 import io.github.tcdl.msb.api.metrics.MetricSet;
-import io.github.tcdl.msb.support.Utils;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.Optional;
 
 public class ResponderServerImpl<T> implements ResponderServer {
@@ -60,6 +62,11 @@ public class ResponderServerImpl<T> implements ResponderServer {
      * and statusMessage=${exception.getMessage()} will be created and sent automatically.
      * If error occurred during message payload conversion to specified type response message with statusCode={@link #PAYLOAD_CONVERSION_ERROR_CODE }
      * and statusMessage="Failed to convert object [${jsonPayload}] to type T}" will be created and sent automatically.
+     *
+     * If {@link ResponderOptions#isAcceptsBatches()} is set, every item of a batch request is processed as a request
+     * on its own and the responses to the items are sent back as a single response (see {@link BatchResponder}).
+     * The batch message is confirmed once every item is done with. Items that fail, are retried or rejected, or are
+     * not answered within the default response timeout are answered with null.
      */
     @Override
     public ResponderServer listen() {
@@ -68,8 +75,12 @@ public class ResponderServerImpl<T> implements ResponderServer {
         MessageHandler messageHandler = (incomingMessage, acknowledgeHandler) -> {
             LOG.debug("[{}] Received message with id: [{}]", namespace, incomingMessage.getId());
             Responder responder = createResponder(incomingMessage);
-            ResponderContext responderContext = createResponderContext(responder, acknowledgeHandler, incomingMessage);
-            onResponder(responderContext);
+            if (isBatch(incomingMessage)) {
+                onBatch(responder, acknowledgeHandler, incomingMessage);
+            } else {
+                ResponderContext responderContext = createResponderContext(responder, acknowledgeHandler, incomingMessage);
+                onResponder(responderContext);
+            }
         };
 
         channelManager.subscribe(namespace, responderOptions, messageHandler);
@@ -87,14 +98,26 @@ public class ResponderServerImpl<T> implements ResponderServer {
     public MetricSet getMetrics() {
         Gauge<Long> messageCountMetric = () -> msbContext.getChannelManager().getAvailableMessageCount(namespace).orElse(null);
         Gauge<Boolean> consumerConnectedMetric = () -> msbContext.getChannelManager().isConnected(namespace).orElse(null);
-        return () -> ImmutableMap.of(
-                MetricSet.MESSAGE_COUNT_METRIC, messageCountMetric,
-                MetricSet.CONSUMER_CONNECTED_METRIC, consumerConnectedMetric);
+        Gauge<Long> validatedMessageCountMetric = () -> msbContext.getChannelManager().getValidatedMessageCount(namespace).orElse(null);
+        Gauge<Long> validationTimeMetric = () -> msbContext.getChannelManager().getValidationTimeNanos(namespace).orElse(null);
+        Gauge<Double> compressionRatioMetric = () -> msbContext.getChannelManager().getCompressor().getCompressionRatio();
+        Gauge<Long> compressionTimeMetric = () -> msbContext.getChannelManager().getCompressor().getCompressionTimeNanos();
+        Gauge<Long> decompressionTimeMetric = () -> msbContext.getChannelManager().getCompressor().getDecompressionTimeNanos();
+        Map<String, Metric> metrics = ImmutableMap.<String, Metric>builder()
+                .put(MetricSet.MESSAGE_COUNT_METRIC, messageCountMetric)
+                .put(MetricSet.CONSUMER_CONNECTED_METRIC, consumerConnectedMetric)
+                .put(MetricSet.VALIDATED_MESSAGE_COUNT_METRIC, validatedMessageCountMetric)
+                .put(MetricSet.VALIDATION_TIME_METRIC, validationTimeMetric)
+                .put(MetricSet.COMPRESSION_RATIO_METRIC, compressionRatioMetric)
+                .put(MetricSet.COMPRESSION_TIME_METRIC, compressionTimeMetric)
+                .put(MetricSet.DECOMPRESSION_TIME_METRIC, decompressionTimeMetric)
+                .build();
+        return () -> metrics;
     }
 
     Responder createResponder(Message incomingMessage) {
         if (isResponseNeeded(incomingMessage)) {
-            return new ResponderImpl(responderOptions.getMessageTemplate(), incomingMessage, msbContext);
+            return new ResponderImpl(responderOptions.getMessageTemplate(), incomingMessage, msbContext, responderOptions.isAcceptsBatches());
         } else {
             return new NoopResponderImpl(incomingMessage);
         }
@@ -105,26 +128,67 @@ public class ResponderServerImpl<T> implements ResponderServer {
     }
 
     void onResponder(ResponderContext responderContext) {
+        process(responderContext);
+    }
+
+    /**
+     * @return false if the request could not be processed
+     */
+    private boolean process(ResponderContext responderContext) {
         Message originalMessage = responderContext.getOriginalMessage();
-        Object rawPayload = originalMessage.getRawPayload();
         try {
-            T request = Utils.convert(rawPayload, payloadTypeReference, payloadMapper);
+            T request = originalMessage.convertPayload(payloadTypeReference, payloadMapper);
             MsbThreadContext.setMessageContext(responderContext);
             MsbThreadContext.setRequest(request);
 
             LOG.debug("[{}] Process message with id: [{}]", namespace, originalMessage.getId());
             requestHandler.process(request, responderContext);
+            return true;
         } catch (Exception e) {
             if (errorHandler.isPresent()) {
                 errorHandler.get().handle(e, originalMessage);
             } else {
                 errorHandler(responderContext, e);
             }
+            return false;
         } finally {
             MsbThreadContext.clear();
         }
     }
 
+    void onBatch(Responder responder, AcknowledgementHandler acknowledgeHandler, Message batchMessage) {
+        JsonNode items = batchMessage.getRawPayload();
+        LOG.debug("[{}] Process batch of {} requests with id: [{}]", namespace, items.size(), batchMessage.getId());
+        if (items.size() == 0) {
+            responder.send(items);
+            return;
+        }
+
+        // the batch message is confirmed once every item is done with
+        acknowledgeHandler.setAutoAcknowledgement(false);
+        BatchResponder batchResponder = new BatchResponder(responder, acknowledgeHandler, payloadMapper,
+                msbContext.getTimeoutManager(), msbContext.getClock(), items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Message itemMessage = batchMessage.withPayload(items.get(i));
+            ResponderContext itemContext = createResponderContext(batchResponder.getItemResponder(i),
+                    batchResponder.getItemAcknowledgementHandler(i), itemMessage);
+            if (!process(itemContext)) {
+                // the item is answered even if the error handler doesn't do it
+                batchResponder.fail(i);
+            }
+            batchResponder.processed(i);
+        }
+        batchResponder.waitForResponses(msbContext.getMsbConfig().getDefaultResponseTimeout());
+    }
+
+    private boolean isBatch(Message incomingMessage) {
+        return responderOptions.isAcceptsBatches()
+                && incomingMessage.getTags() != null
+                && incomingMessage.getTags().contains(BatchResponder.BATCH_TAG)
+                && incomingMessage.getRawPayload() != null
+                && incomingMessage.getRawPayload().isArray();
+    }
+
     private boolean isResponseNeeded(Message incomingMessage) {
         return incomingMessage.getTopics().getResponse() != null;
     }
@@ -0,0 +1,88 @@
+package io.github.tcdl.msb.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.time.Clock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ResponseCache} keeps responses to requests (see {@link RequestKey}) until they expire. Every response has its
+ * own time to live. Once the max number of responses is reached the least recently used ones are evicted.
+ *
+ * Cached responses are handed out to all identical requests as is, so they must not be modified.
+ */
+@ThreadSafe
+class ResponseCache {
+
+    private final Clock clock;
+    private final Cache<RequestKey, CachedResponse> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(int maxEntries, Clock clock) {
+        this.clock = clock;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .<RequestKey, CachedResponse>removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return cached response to the request or null if there is no response that has not expired yet
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(RequestKey requestKey) {
+        CachedResponse cachedResponse = cache.getIfPresent(requestKey);
+        if (cachedResponse != null) {
+            if (cachedResponse.expiresAt > clock.millis()) {
+                hits.increment();
+                return (T) cachedResponse.response;
+            }
+            if (cache.asMap().remove(requestKey, cachedResponse)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @param ttlMs time (in milliseconds) the response is kept for
+     */
+    void put(RequestKey requestKey, Object response, long ttlMs) {
+        cache.put(requestKey, new CachedResponse(response, clock.millis() + ttlMs));
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of responses evicted because they expired or the cache was full
+     */
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static class CachedResponse {
+
+        private final Object response;
+        private final long expiresAt;
+
+        CachedResponse(Object response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
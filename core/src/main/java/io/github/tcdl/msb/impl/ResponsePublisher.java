@@ -0,0 +1,202 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.api.MessageContext;
+import io.github.tcdl.msb.api.flow.Publisher;
+import io.github.tcdl.msb.api.flow.Subscriber;
+import io.github.tcdl.msb.api.flow.Subscription;
+import io.github.tcdl.msb.collector.Collector;
+import io.github.tcdl.msb.events.EventHandlers;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link ResponsePublisher} publishes responses to a request according to the demand of its only subscriber. The
+ * request is sent upon subscription.
+ *
+ * Responses that arrive while there is no demand are buffered. They are acknowledged upon arrival nevertheless,
+ * since the response consumer and its prefetch limit are shared by all requests sent to the same namespace, so holding
+ * them back would stall responses to other requests. Once the request has ended, the publisher completes as soon as
+ * the remaining buffered responses have been delivered.
+ *
+ * Responses are delivered either by a consumer thread upon arrival or by the thread signalling demand, one at a time.
+ */
+@ThreadSafe
+class ResponsePublisher<T> implements Publisher<T>, Subscription {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResponsePublisher.class);
+
+    /**
+     * Sends the request with the given handlers and returns its collector or null if responses are not expected.
+     */
+    private final Function<EventHandlers<T>, Collector<T>> requestSender;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Queue<BufferedResponse<T>> bufferedResponses = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    // number of pending drain requests, only the thread that increments it from 0 drains
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private volatile Subscriber<? super T> subscriber;
+    private volatile boolean ended;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    // guarded by the drain loop
+    private boolean terminated;
+
+    ResponsePublisher(Function<EventHandlers<T>, Collector<T>> requestSender) {
+        this.requestSender = requestSender;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Validate.notNull(subscriber, "the 'subscriber' must not be null");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(NoopSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("Responses can be published to a single subscriber only"));
+            return;
+        }
+
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(this);
+
+        EventHandlers<T> eventHandlers = new EventHandlers<>();
+        eventHandlers.onResponse(this::bufferResponse);
+        eventHandlers.onEnd(end -> {
+            ended = true;
+            drain();
+        });
+        eventHandlers.onError((exception, message) -> fail(exception));
+        eventHandlers.completionCondition(() -> cancelled || error != null);
+
+        try {
+            if (requestSender.apply(eventHandlers) == null) {
+                ended = true;
+                drain();
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested number of responses must be positive but was " + n));
+            return;
+        }
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    /**
+     * The response is acknowledged automatically once it has been buffered.
+     */
+    private void bufferResponse(T response, MessageContext messageContext) {
+        if (cancelled || error != null) {
+            return;
+        }
+        bufferedResponses.add(new BufferedResponse<>(response));
+        drain();
+    }
+
+    private void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (!terminated) {
+                deliverResponses();
+            } else {
+                // responses buffered concurrently with the termination
+                bufferedResponses.clear();
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliverResponses() {
+        Subscriber<? super T> currentSubscriber = subscriber;
+        while (true) {
+            if (cancelled) {
+                terminated = true;
+                bufferedResponses.clear();
+                return;
+            }
+            if (error != null) {
+                terminated = true;
+                bufferedResponses.clear();
+                currentSubscriber.onError(error);
+                return;
+            }
+
+            // all responses are buffered before the end is signalled
+            boolean isEnded = ended;
+            if (bufferedResponses.isEmpty()) {
+                if (isEnded) {
+                    terminated = true;
+                    currentSubscriber.onComplete();
+                }
+                return;
+            }
+            if (demand.get() == 0) {
+                return;
+            }
+
+            BufferedResponse<T> bufferedResponse = bufferedResponses.poll();
+            demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+            try {
+                currentSubscriber.onNext(bufferedResponse.response);
+            } catch (RuntimeException e) {
+                LOG.warn("Unexpected exception during 'onNext' invocation, cancelling the subscription", e);
+                cancelled = true;
+            }
+        }
+    }
+
+    /**
+     * Holder of a buffered response, since responses without payload are null.
+     */
+    private static class BufferedResponse<T> {
+
+        private final T response;
+
+        BufferedResponse(T response) {
+            this.response = response;
+        }
+    }
+
+    private enum NoopSubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
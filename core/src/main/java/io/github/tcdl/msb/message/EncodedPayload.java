@@ -0,0 +1,95 @@
+package io.github.tcdl.msb.message;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.payload.LazyPayload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link EncodedPayload} is a not yet decoded JSON payload of an incoming message. It references the payload slice
+ * of the raw message as it came from the broker, so the payload can be read straight into the type a handler
+ * expects without building a {@link JsonNode} tree first. When the payload is written into another message envelope
+ * its tokens are copied into the envelope as they are parsed.
+ */
+public final class EncodedPayload implements LazyPayload, JsonSerializable {
+
+    private final byte[] bytes;
+    private final String string;
+    private final int offset;
+    private final int length;
+    private final ObjectMapper messageMapper;
+
+    private EncodedPayload(byte[] bytes, String string, int offset, int length, ObjectMapper messageMapper) {
+        this.bytes = bytes;
+        this.string = string;
+        this.offset = offset;
+        this.length = length;
+        this.messageMapper = messageMapper;
+    }
+
+    static EncodedPayload of(byte[] json, int offset, int length, ObjectMapper messageMapper) {
+        return new EncodedPayload(json, null, offset, length, messageMapper);
+    }
+
+    static EncodedPayload of(String json, int offset, int length, ObjectMapper messageMapper) {
+        return new EncodedPayload(null, json, offset, length, messageMapper);
+    }
+
+    @Override
+    public JsonNode readTree() {
+        try {
+            return messageMapper.readTree(createParser());
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from JSON", e);
+        }
+    }
+
+    @Override
+    public <T> T read(TypeReference<T> typeReference, ObjectMapper payloadMapper) {
+        try {
+            if (bytes != null) {
+                return payloadMapper.readValue(bytes, offset, length, typeReference);
+            }
+            return payloadMapper.readValue(string.substring(offset, offset + length), typeReference);
+        } catch (Exception e) {
+            throw new JsonConversionException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        try (JsonParser parser = createParser()) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    private JsonParser createParser() throws IOException {
+        if (bytes != null) {
+            return messageMapper.getFactory().createParser(bytes, offset, length);
+        }
+        return messageMapper.getFactory().createParser(string.substring(offset, offset + length));
+    }
+
+    @Override
+    public String toString() {
+        if (bytes != null) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        return string.substring(offset, offset + length);
+    }
+}
@@ -1,21 +1,29 @@
 package io.github.tcdl.msb.message;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.tcdl.msb.api.MessageTemplate;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.message.MetaMessage;
 import io.github.tcdl.msb.api.message.MetaMessage.Builder;
 import io.github.tcdl.msb.api.message.Topics;
 import io.github.tcdl.msb.config.ServiceDetails;
-import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.support.IdGenerator;
+import io.github.tcdl.msb.support.TimeOrderedIdGenerator;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class MessageFactory {
@@ -23,25 +31,81 @@ public class MessageFactory {
     private ServiceDetails serviceDetails;
     private Clock clock;
     private ObjectMapper payloadMapper;
+    private ObjectWriter payloadWriter;
+    private ObjectWriter encodingPayloadWriter;
+    private IdGenerator idGenerator;
 
     public MessageFactory(ServiceDetails serviceDetails, Clock clock, ObjectMapper payloadMapper) {
+        this(serviceDetails, clock, payloadMapper, new TimeOrderedIdGenerator(clock));
+    }
+
+    public MessageFactory(ServiceDetails serviceDetails, Clock clock, ObjectMapper payloadMapper, IdGenerator idGenerator) {
         Validate.notNull(serviceDetails, "'serviceDetails' must not be null");
         Validate.notNull(clock, "'clock' must not be null");
         Validate.notNull(clock, "'payloadMapper' must not be null");
+        Validate.notNull(idGenerator, "'idGenerator' must not be null");
         this.serviceDetails = serviceDetails;
         this.clock = clock;
         this.payloadMapper = payloadMapper;
+        this.payloadWriter = ObjectPayload.writerFor(payloadMapper);
+        this.encodingPayloadWriter = payloadWriter.with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.idGenerator = idGenerator;
     }
 
     public Message createRequestMessage(Message.Builder messageBuilder, Object payload) {
-        JsonNode convertedPayload = Utils.convert(payload, JsonNode.class, payloadMapper);
-        messageBuilder.withPayload(convertedPayload);
+        withPayload(messageBuilder, payload);
         return messageBuilder.build();
     }
 
+    /**
+     * Creates a request message whose payload is serialized right away. Only the encoded payload is retained then,
+     * e.g. by a request that may have to be published once again.
+     *
+     * @throws JsonConversionException if the payload can't be serialized
+     */
+    public Message createEncodedRequestMessage(Message.Builder messageBuilder, Object payload) {
+        return createEncodedRequestMessage(messageBuilder, encodePayload(payload));
+    }
+
+    /**
+     * @param encodedPayload payload serialized by {@link #encodePayload(Object)}, it is retained and must not be modified
+     */
+    public Message createEncodedRequestMessage(Message.Builder messageBuilder, byte[] encodedPayload) {
+        if (encodedPayload == null) {
+            return createRequestMessage(messageBuilder, null);
+        }
+        messageBuilder.withLazyPayload(EncodedPayload.of(encodedPayload, 0, encodedPayload.length, payloadMapper));
+        return messageBuilder.build();
+    }
+
+    /**
+     * Serializes the payload as it is written into a message envelope. Entries of maps are ordered by their keys,
+     * so equal payloads are serialized to equal bytes.
+     *
+     * @return serialized payload or null if there is no payload
+     * @throws JsonConversionException if the payload can't be serialized
+     */
+    public byte[] encodePayload(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return encodingPayloadWriter.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new JsonConversionException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a copy of the request to be published once again under the same correlation id. The copy gets an id
+     * of its own, so that it isn't taken for a redelivery of the request.
+     */
+    public Message createRequestCopy(Message requestMessage) {
+        return requestMessage.withId(generateId());
+    }
+
     public Message createResponseMessage(Message.Builder messageBuilder, Acknowledge ack, Object payload) {
-        JsonNode convertedPayload = Utils.convert(payload, JsonNode.class, payloadMapper);
-        messageBuilder.withPayload(convertedPayload);
+        withPayload(messageBuilder, payload);
         messageBuilder.withAck(ack);
         return messageBuilder.build();
     }
@@ -51,12 +115,34 @@ public class MessageFactory {
     }
 
     public Message.Builder createRequestMessageBuilder(String namespace, String forwardNamespace, String routingKey, MessageTemplate messageTemplate, Message originalMessage) {
+        return createRequestMessageBuilder(createRequestEnvelope(namespace, forwardNamespace, routingKey, messageTemplate), originalMessage);
+    }
+
+    /**
+     * Precomputes topics and template tags of requests sent to the namespace. Later changes of the message template
+     * don't affect the envelope.
+     */
+    public RequestEnvelope createRequestEnvelope(String namespace, String forwardNamespace, String routingKey, MessageTemplate messageTemplate) {
         String responseNamespace = StringUtils.isBlank(forwardNamespace)
                 ? namespace + ":response:" + this.serviceDetails.getInstanceId()
                 : null;
 
         Topics topic = new Topics(namespace, responseNamespace, forwardNamespace, routingKey);
-        return createMessageBuilder(topic, messageTemplate, originalMessage, false);
+        List<String> templateTags = createTags(messageTemplate, null);
+        Integer ttl = (messageTemplate == null) ? null : messageTemplate.getTtl();
+        return new RequestEnvelope(topic, Collections.unmodifiableList(templateTags), ttl);
+    }
+
+    /**
+     * @param tags additional tags of the request, null tags are skipped
+     */
+    public Message.Builder createRequestMessageBuilder(RequestEnvelope envelope, Message originalMessage, String... tags) {
+        Message.Builder messageBuilder = new Message.Builder().withId(generateId());
+        messageBuilder.withTags(createTags(envelope, originalMessage, tags));
+        messageBuilder.withTopics(envelope.getTopics());
+        messageBuilder.withMetaBuilder(new MetaMessage.Builder(envelope.getTtl(), clock.instant(), this.serviceDetails, clock));
+        messageBuilder.withCorrelationId(createCorrelationId(null));
+        return messageBuilder;
     }
 
     public Message.Builder createRequestMessageBuilder(String namespace, String forwardNamespace, MessageTemplate messageTemplate, Message originalMessage) {
@@ -74,11 +160,22 @@ public class MessageFactory {
     }
 
     public Acknowledge.Builder createAckBuilder() {
-        return new Acknowledge.Builder().withResponderId(Utils.generateId());
+        return createAckBuilder(generateId());
+    }
+
+    public Acknowledge.Builder createAckBuilder(String responderId) {
+        return new Acknowledge.Builder().withResponderId(responderId);
+    }
+
+    /**
+     * @return new unique id, e.g. for a responder
+     */
+    public String generateId() {
+        return idGenerator.generateId();
     }
 
     private Message.Builder createMessageBuilder(Topics topics, MessageTemplate messageTemplate, Message originalMessage, boolean isResponseMessage) {
-        Message.Builder messageBuilder = new Message.Builder().withId(Utils.generateId());
+        Message.Builder messageBuilder = new Message.Builder().withId(generateId());
         messageBuilder.withTags(createTags(messageTemplate, originalMessage));
         messageBuilder.withTopics(topics);
         messageBuilder.withMetaBuilder(createMetaBuilder(messageTemplate));
@@ -90,6 +187,18 @@ public class MessageFactory {
         return messageBuilder;
     }
 
+    /**
+     * Payloads that are already a {@link JsonNode} are attached as is. Any other payload object is kept as is and
+     * is serialized straight into the message envelope when the message is published.
+     */
+    private void withPayload(Message.Builder messageBuilder, Object payload) {
+        if (payload == null || payload instanceof JsonNode) {
+            messageBuilder.withPayload((JsonNode) payload);
+        } else {
+            messageBuilder.withLazyPayload(new ObjectPayload(payload, payloadMapper, payloadWriter));
+        }
+    }
+
     private Builder createMetaBuilder(MessageTemplate config) {
         Integer ttl = (config == null) ? null : config.getTtl();
         return new MetaMessage.Builder(ttl, clock.instant(), this.serviceDetails, clock);
@@ -99,8 +208,35 @@ public class MessageFactory {
         if (originalMessage != null && originalMessage.getCorrelationId() != null) {
             return originalMessage.getCorrelationId();
         } else {
-            return Utils.generateId();
+            return generateId();
+        }
+    }
+
+    /**
+     * Template tags of the envelope are reused as is unless there are tags to add.
+     */
+    private List<String> createTags(RequestEnvelope envelope, Message originalMessage, String... tags) {
+        boolean hasOriginalTags = originalMessage != null
+                && originalMessage.getTags() != null
+                && !originalMessage.getTags().isEmpty();
+        boolean hasTags = tags != null && tags.length > 0;
+        if (!hasOriginalTags && !hasTags) {
+            return envelope.getTags();
+        }
+
+        Set<String> mergedTags = new LinkedHashSet<>();
+        if (hasOriginalTags) {
+            mergedTags.addAll(originalMessage.getTags());
+        }
+        mergedTags.addAll(envelope.getTags());
+        if (hasTags) {
+            for (String tag : tags) {
+                if (tag != null) {
+                    mergedTags.add(tag);
+                }
+            }
         }
+        return new ArrayList<>(mergedTags);
     }
 
     private List<String> createTags(MessageTemplate messageTemplate, Message originalMessage) {
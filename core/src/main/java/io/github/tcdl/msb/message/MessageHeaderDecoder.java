@@ -0,0 +1,189 @@
+package io.github.tcdl.msb.message;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Message;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link MessageHeaderDecoder} is a streaming decoder of incoming message envelopes. It reads the protocol fields
+ * of a message (id, correlationId, tags, topics, meta and ack) and only skips over the payload, remembering where
+ * the payload is located in the raw message. The payload is still checked to be well-formed JSON, so malformed
+ * messages are rejected when they are consumed rather than when the payload is accessed. That allows to decide whether the message is expired or can be
+ * dispatched at all before any work is spent on the payload.
+ */
+public class MessageHeaderDecoder {
+
+    private static final String PAYLOAD_FIELD = "payload";
+
+    private final ObjectMapper messageMapper;
+
+    public MessageHeaderDecoder(ObjectMapper messageMapper) {
+        Validate.notNull(messageMapper, "the 'messageMapper' must not be null");
+        this.messageMapper = messageMapper;
+    }
+
+    /**
+     * @throws JsonConversionException if the message envelope can't be parsed
+     */
+    public PartiallyDecodedMessage decode(String json) {
+        try (JsonParser parser = messageMapper.getFactory().createParser(json)) {
+            return decode(parser, new RawJson(json));
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from JSON", e);
+        }
+    }
+
+    /**
+     * @throws JsonConversionException if the message envelope can't be parsed
+     */
+    public PartiallyDecodedMessage decode(byte[] json, Charset charset) {
+        if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.US_ASCII.equals(charset)) {
+            // byte offsets of the payload can only be tracked for the encodings Jackson reads natively
+            return decode(new String(json, charset));
+        }
+        try (JsonParser parser = messageMapper.getFactory().createParser(json)) {
+            return decode(parser, new RawJson(json));
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from JSON", e);
+        }
+    }
+
+    /**
+     * Builds a message from an already parsed JSON tree. The payload subtree is attached to the message as is,
+     * note that it is detached from the given tree.
+     *
+     * @throws JsonConversionException if the message can't be built from the tree
+     */
+    public PartiallyDecodedMessage decode(JsonNode json) {
+        if (json == null || !json.isObject()) {
+            throw new JsonConversionException("Message envelope is expected to be a JSON object", null);
+        }
+        try {
+            JsonNode payload = ((ObjectNode) json).remove(PAYLOAD_FIELD);
+            Message headers = messageMapper.treeToValue(json, Message.class);
+            return new PartiallyDecodedMessage(headers, null, payload);
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from JSON", e);
+        }
+    }
+
+    private PartiallyDecodedMessage decode(JsonParser parser, RawJson rawJson) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Message envelope is expected to be a JSON object");
+        }
+
+        TokenBuffer headerTokens = new TokenBuffer(parser, null);
+        headerTokens.writeStartObject();
+
+        JsonNode decodedPayload = null;
+        long payloadStart = -1;
+        long payloadEnd = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (PAYLOAD_FIELD.equals(fieldName)) {
+                if (valueToken.isStructStart()) {
+                    // skipping still tokenizes the payload, so a malformed payload fails decoding of the whole message
+                    payloadStart = rawJson.offset(parser.getTokenLocation());
+                    parser.skipChildren();
+                    payloadEnd = rawJson.offset(parser.getCurrentLocation());
+                } else {
+                    decodedPayload = parser.readValueAsTree();
+                }
+            } else {
+                headerTokens.writeFieldName(fieldName);
+                headerTokens.copyCurrentStructure(parser);
+            }
+        }
+
+        headerTokens.writeEndObject();
+
+        Message headers;
+        try (JsonParser headerParser = headerTokens.asParser(parser.getCodec())) {
+            headers = messageMapper.readValue(headerParser, Message.class);
+        }
+
+        if (payloadStart >= 0) {
+            EncodedPayload encodedPayload = rawJson.slice((int) payloadStart, (int) (payloadEnd - payloadStart), messageMapper);
+            return new PartiallyDecodedMessage(headers, encodedPayload, null);
+        }
+        return new PartiallyDecodedMessage(headers, null, decodedPayload);
+    }
+
+    /**
+     * Result of {@link MessageHeaderDecoder#decode}: decoded protocol fields of a message plus a reference
+     * to its not yet decoded payload.
+     */
+    public static class PartiallyDecodedMessage {
+
+        private final Message headers;
+        private final EncodedPayload encodedPayload;
+        private final JsonNode decodedPayload;
+
+        private PartiallyDecodedMessage(Message headers, EncodedPayload encodedPayload, JsonNode decodedPayload) {
+            this.headers = headers;
+            this.encodedPayload = encodedPayload;
+            this.decodedPayload = decodedPayload;
+        }
+
+        /**
+         * @return message with all protocol fields set. The payload is not guaranteed to be set.
+         */
+        public Message getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return the complete message. Its payload is decoded lazily when first accessed, it is well-formed though,
+         * so decoding it can fail only if it doesn't match the type it is converted to.
+         */
+        public Message decodeMessage() {
+            if (encodedPayload != null) {
+                return headers.withLazyPayload(encodedPayload);
+            }
+            return decodedPayload != null ? headers.withPayload(decodedPayload) : headers;
+        }
+    }
+
+    /**
+     * Raw message either as UTF-8 bytes or as a String, so that offsets reported by the parser can be mapped back to it.
+     */
+    private static class RawJson {
+        private final byte[] bytes;
+        private final String string;
+
+        RawJson(byte[] bytes) {
+            this.bytes = bytes;
+            this.string = null;
+        }
+
+        RawJson(String string) {
+            this.bytes = null;
+            this.string = string;
+        }
+
+        long offset(JsonLocation location) {
+            return bytes != null ? location.getByteOffset() : location.getCharOffset();
+        }
+
+        EncodedPayload slice(int offset, int length, ObjectMapper messageMapper) {
+            if (bytes != null) {
+                return EncodedPayload.of(bytes, offset, length, messageMapper);
+            }
+            return EncodedPayload.of(string, offset, length, messageMapper);
+        }
+    }
+}
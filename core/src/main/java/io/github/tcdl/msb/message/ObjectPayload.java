@@ -0,0 +1,77 @@
+package io.github.tcdl.msb.message;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.github.tcdl.msb.api.message.payload.LazyPayload;
+import io.github.tcdl.msb.support.Utils;
+
+import java.io.IOException;
+
+/**
+ * {@link ObjectPayload} is a payload of an outgoing message given as an arbitrary object. When the message is
+ * serialized the object is written straight into the message envelope by the payload mapper, so no intermediate
+ * {@link JsonNode} tree is built.
+ *
+ * Note that the object is serialized at the moment the message is published, so it must not be modified after
+ * the message has been created, otherwise the modified object is what gets sent.
+ */
+public final class ObjectPayload implements LazyPayload, JsonSerializable {
+
+    private final Object payload;
+    private final ObjectMapper payloadMapper;
+    private final ObjectWriter payloadWriter;
+
+    public ObjectPayload(Object payload, ObjectMapper payloadMapper) {
+        this(payload, payloadMapper, writerFor(payloadMapper));
+    }
+
+    /**
+     * @param payloadWriter writer created by {@link #writerFor(ObjectMapper)} for the payload mapper, so that it
+     * can be shared by all payloads written by the same mapper
+     */
+    public ObjectPayload(Object payload, ObjectMapper payloadMapper, ObjectWriter payloadWriter) {
+        this.payload = payload;
+        this.payloadMapper = payloadMapper;
+        this.payloadWriter = payloadWriter;
+    }
+
+    /**
+     * @return writer that writes payloads into the generator of the message envelope. The generator is not flushed,
+     * since it is flushed when the whole envelope has been written.
+     */
+    public static ObjectWriter writerFor(ObjectMapper payloadMapper) {
+        return payloadMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public JsonNode readTree() {
+        return Utils.convert(payload, JsonNode.class, payloadMapper);
+    }
+
+    @Override
+    public <T> T read(TypeReference<T> typeReference, ObjectMapper payloadMapper) {
+        return Utils.convert(payload, typeReference, payloadMapper);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        payloadWriter.writeValue(gen, payload);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(payload);
+    }
+}
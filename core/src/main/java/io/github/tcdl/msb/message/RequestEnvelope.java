@@ -0,0 +1,40 @@
+package io.github.tcdl.msb.message;
+
+import io.github.tcdl.msb.api.message.Topics;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+
+/**
+ * {@link RequestEnvelope} holds the parts of request messages that are the same for all requests sent by a
+ * requester, so that they are computed once rather than per request. Instances are created by
+ * {@link MessageFactory#createRequestEnvelope}.
+ */
+@Immutable
+public final class RequestEnvelope {
+
+    private final Topics topics;
+    private final List<String> tags;
+    private final Integer ttl;
+
+    RequestEnvelope(Topics topics, List<String> tags, Integer ttl) {
+        this.topics = topics;
+        this.tags = tags;
+        this.ttl = ttl;
+    }
+
+    public Topics getTopics() {
+        return topics;
+    }
+
+    /**
+     * @return unmodifiable distinct tags of the message template
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Integer getTtl() {
+        return ttl;
+    }
+}
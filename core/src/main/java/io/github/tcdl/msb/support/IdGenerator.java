@@ -0,0 +1,15 @@
+package io.github.tcdl.msb.support;
+
+/**
+ * {@link IdGenerator} generates identifiers of messages, correlation ids and responder ids. Generated ids have to be
+ * unique across all service instances talking to each other. Implementations have to be thread-safe.
+ *
+ * Implementations configured by class name in msbConfig.idGenerator should have a public no-argument constructor.
+ */
+public interface IdGenerator {
+
+    /**
+     * @return new unique id
+     */
+    String generateId();
+}
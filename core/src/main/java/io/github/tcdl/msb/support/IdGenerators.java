@@ -0,0 +1,34 @@
+package io.github.tcdl.msb.support;
+
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
+
+/**
+ * Creates the {@link IdGenerator} configured by msbConfig.idGenerator.
+ */
+public class IdGenerators {
+
+    public static final String TIME_ORDERED_GENERATOR = "timeOrdered";
+    public static final String RANDOM_UUID_GENERATOR = "randomUuid";
+
+    private IdGenerators() {
+    }
+
+    /**
+     * @throws ConfigurationException if configured generator can't be created
+     */
+    public static IdGenerator create(MsbConfig msbConfig) {
+        String generatorName = msbConfig.getIdGenerator();
+        if (TIME_ORDERED_GENERATOR.equals(generatorName)) {
+            return new TimeOrderedIdGenerator();
+        } else if (RANDOM_UUID_GENERATOR.equals(generatorName)) {
+            return new RandomUuidIdGenerator();
+        }
+
+        try {
+            return (IdGenerator) Class.forName(generatorName).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new ConfigurationException("Failed to create id generator: " + generatorName, e);
+        }
+    }
+}
@@ -11,8 +11,11 @@ import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.StringReader;
+import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -42,24 +45,7 @@ public class JsonValidator {
         Validate.notNull(schema, "field 'schema' is null");
 
         try {
-            JsonNode jsonNode = jsonReader.read(json);
-
-            JsonSchema jsonSchema = schemaCache.computeIfAbsent(schema, s -> {
-                try {
-                    JsonNode jsonSchemaNode = jsonReader.read(s);
-                    JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
-                    return factory.getJsonSchema(jsonSchemaNode);
-                } catch (Exception e) {
-                    throw new JsonSchemaValidationException("Failed reading schema", e);
-                }
-            });
-
-            ProcessingReport validationReport = jsonSchema.validate(jsonNode);
-
-            if (!validationReport.isSuccess()) {
-                throw new JsonSchemaValidationException(validationReport.toString());
-            }
-
+            validate(jsonReader.read(json), schema);
         } catch (IOException | ProcessingException e) {
             LOG.error(ERROR_MESSAGE_TEMPLATE, schema);
             LOG.trace("Message: {}", json);
@@ -67,10 +53,84 @@ public class JsonValidator {
         }
     }
 
+    /**
+     * Validates JSON given as encoded bytes.
+     *
+     * @throws JsonSchemaValidationException if problem encountered during validation.
+     */
+    public void validate(byte[] json, Charset charset, String schema) {
+
+        Validate.notNull(json, "field 'json' is null");
+        Validate.notNull(charset, "field 'charset' is null");
+        Validate.notNull(schema, "field 'schema' is null");
+
+        try {
+            validate(jsonReader.read(json, charset), schema);
+        } catch (IOException | ProcessingException e) {
+            LOG.error(ERROR_MESSAGE_TEMPLATE, schema);
+            LOG.trace("Message: {}", new String(json, charset));
+            throw new JsonSchemaValidationException(String.format(ERROR_MESSAGE_TEMPLATE, schema), e);
+        }
+    }
+
+    /**
+     * Validates an already parsed JSON tree against a schema compiled by {@link #compile(String)}.
+     *
+     * @throws JsonSchemaValidationException if problem encountered during validation.
+     */
+    public void validate(JsonNode json, JsonSchema schema) {
+
+        Validate.notNull(json, "field 'json' is null");
+        Validate.notNull(schema, "field 'schema' is null");
+
+        try {
+            validateTree(json, schema);
+        } catch (ProcessingException e) {
+            LOG.error("Error while validating message");
+            LOG.trace("Message: {}", json);
+            throw new JsonSchemaValidationException("Error while validating message", e);
+        }
+    }
+
+    /**
+     * Compiles the given JSON schema. Compiled schemas are cached so that every schema is compiled only once.
+     *
+     * @throws JsonSchemaValidationException if the schema can't be read
+     */
+    public JsonSchema compile(String schema) {
+        Validate.notNull(schema, "field 'schema' is null");
+
+        return schemaCache.computeIfAbsent(schema, s -> {
+            try {
+                JsonNode jsonSchemaNode = jsonReader.read(s);
+                JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+                return factory.getJsonSchema(jsonSchemaNode);
+            } catch (Exception e) {
+                throw new JsonSchemaValidationException("Failed reading schema", e);
+            }
+        });
+    }
+
+    private void validate(JsonNode jsonNode, String schema) throws ProcessingException {
+        validateTree(jsonNode, compile(schema));
+    }
+
+    private void validateTree(JsonNode jsonNode, JsonSchema jsonSchema) throws ProcessingException {
+        ProcessingReport validationReport = jsonSchema.validate(jsonNode);
+
+        if (!validationReport.isSuccess()) {
+            throw new JsonSchemaValidationException(validationReport.toString());
+        }
+    }
+
     public static class JsonReader {
 
         public JsonNode read(String str) throws IOException {
             return new JsonNodeReader().fromReader(new StringReader(str));
         }
+
+        public JsonNode read(byte[] bytes, Charset charset) throws IOException {
+            return new JsonNodeReader().fromReader(new InputStreamReader(new ByteArrayInputStream(bytes), charset));
+        }
     }
 }
@@ -0,0 +1,15 @@
+package io.github.tcdl.msb.support;
+
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs. Every id is taken from the shared {@link java.security.SecureRandom},
+ * so prefer {@link TimeOrderedIdGenerator} when a lot of messages are produced concurrently.
+ */
+public class RandomUuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String generateId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.tcdl.msb.support;
+
+import org.apache.commons.lang3.Validate;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered ids in the UUID text format, laid out like a version 7 UUID: 48 bits of the current time
+ * in milliseconds followed by 74 bits that are not ordered. Of these, 16 bits hold a node key drawn once per generator
+ * from {@link SecureRandom}, so that generators of different instances don't share the space of ids, and the
+ * remaining 58 bits are random. Random bits are taken from {@link ThreadLocalRandom}, so generating an id involves
+ * neither locks nor the entropy pool.
+ *
+ * Ids generated within the same millisecond are not ordered among each other.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final int NODE_KEY_SHIFT = 46;
+    private static final long NODE_KEY_MASK = 0xFFFFL;
+    private static final long RANDOM_MASK = (1L << NODE_KEY_SHIFT) - 1;
+
+    private final Clock clock;
+    private final long nodeKey;
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        Validate.notNull(clock, "the 'clock' must not be null");
+        this.clock = clock;
+        this.nodeKey = (new SecureRandom().nextLong() & NODE_KEY_MASK) << NODE_KEY_SHIFT;
+    }
+
+    @Override
+    public String generateId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (clock.millis() << 16) | VERSION | (random.nextInt() & 0xFFF);
+        long leastSigBits = VARIANT | nodeKey | (random.nextLong() & RANDOM_MASK);
+        return format(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Formats the id the same way as {@link java.util.UUID#toString()} does.
+     */
+    static String format(long mostSigBits, long leastSigBits) {
+        char[] chars = new char[36];
+        appendHex(mostSigBits >>> 32, chars, 0, 8);
+        chars[8] = '-';
+        appendHex(mostSigBits >>> 16, chars, 9, 4);
+        chars[13] = '-';
+        appendHex(mostSigBits, chars, 14, 4);
+        chars[18] = '-';
+        appendHex(leastSigBits >>> 48, chars, 19, 4);
+        chars[23] = '-';
+        appendHex(leastSigBits, chars, 24, 12);
+        return new String(chars);
+    }
+
+    private static void appendHex(long value, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
@@ -11,8 +11,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -82,6 +86,42 @@ public class Utils {
         }
     }
 
+    /**
+     * Parses JSON directly from its encoded bytes so no intermediate String is built for UTF-8 input.
+     *
+     * @throws JsonConversionException if problem encountered during parsing JSON
+     */
+    public static <T> T fromJson(byte[] json, Charset charset, Class<T> clazz, ObjectMapper objectMapper) {
+        return fromJson(json, charset,
+                new TypeReference<T>() {
+                    @Override
+                    public Type getType() {
+                        return clazz;
+                    }
+                },
+                objectMapper);
+    }
+
+    public static <T> T fromJson(byte[] json, Charset charset, TypeReference<T> typeReference, ObjectMapper objectMapper) {
+        if (json == null || json.length == 0)
+            return null;
+        try {
+            if (isNativeJsonCharset(charset)) {
+                return objectMapper.readValue(json, typeReference);
+            }
+            return objectMapper.readValue(new InputStreamReader(new ByteArrayInputStream(json), charset), typeReference);
+        } catch (IOException e) {
+            throw new JsonConversionException("Failed parse from JSON", e);
+        }
+    }
+
+    /**
+     * Jackson reads UTF-8 (and its ASCII subset) straight from bytes, any other charset has to be decoded first.
+     */
+    private static boolean isNativeJsonCharset(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+
     public static <T> T convert(Object srcObject, Class<T> destClass, ObjectMapper objectMapper) {
         return convert(srcObject,
                 new TypeReference<T>() {
@@ -0,0 +1,188 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.support.Utils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link DecodeStage} is a pool of threads that decode consumed messages instead of the broker I/O thread, so
+ * the I/O thread only hands raw messages off and the decoding of messages from the same topic runs in parallel.
+ *
+ * Every consumer submits its messages through its own {@link Lane}. Ordered lanes dispatch decoded messages
+ * in the order they were consumed in, which keeps the ordering guarantees of {@link GroupedMessageHandlerInvoker}.
+ * Unordered lanes dispatch every message as soon as it has been decoded. Either way messages are dispatched
+ * on the decode threads and never on the thread that submits them.
+ */
+public class DecodeStage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DecodeStage.class);
+
+    private final ExecutorService executor;
+    private final Set<Thread> decodeThreads = ConcurrentHashMap.newKeySet();
+    private final boolean ordered;
+
+    /**
+     * @param numberOfThreads number of decode threads
+     * @param queueCapacity max number of messages waiting to be decoded, the submitting thread is blocked while it is reached
+     * @param ordered whether decoded messages are dispatched in the order they were consumed in
+     */
+    public DecodeStage(int numberOfThreads, int queueCapacity, boolean ordered) {
+        Validate.isTrue(numberOfThreads > 0, "the 'numberOfThreads' must be positive");
+        Validate.isTrue(queueCapacity > 0, "the 'queueCapacity' must be positive");
+        ThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("msb-decode-thread-%d").build();
+        this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread decodeThread = threadFactory.newThread(runnable);
+                    decodeThreads.add(decodeThread);
+                    return decodeThread;
+                },
+                new BlockingSubmissionPolicy());
+        this.ordered = ordered;
+    }
+
+    /**
+     * Creates decode stage according to msbConfig.threadingConfig.decodeStage
+     *
+     * @param ordered whether decoded messages are dispatched in the order they were consumed in
+     * @return decode stage or null if it is disabled
+     */
+    public static DecodeStage create(MsbConfig msbConfig, boolean ordered) {
+        if (!msbConfig.isDecodeStageEnabled()) {
+            return null;
+        }
+        return new DecodeStage(msbConfig.getDecodeThreadPoolSize(), msbConfig.getDecodeThreadPoolQueueCapacity(), ordered);
+    }
+
+    /**
+     * @return a lane to submit the messages of a single consumer through
+     */
+    public Lane createLane() {
+        return ordered ? new OrderedLane() : new UnorderedLane();
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void shutdown() {
+        Utils.gracefulShutdown(executor, "decode");
+    }
+
+    /**
+     * Lane of a single consumer.
+     */
+    public interface Lane {
+
+        /**
+         * Decodes a message on one of the decode threads and passes the result to the dispatcher.
+         *
+         * @param decoder decodes the message, null result means there is nothing to dispatch
+         * @param dispatcher dispatches the decoded message, invoked on a decode thread
+         * @throws RejectedExecutionException if the decode stage has been shut down
+         */
+        <T> void submit(Supplier<T> decoder, Consumer<T> dispatcher);
+    }
+
+    private class UnorderedLane implements Lane {
+        @Override
+        public <T> void submit(Supplier<T> decoder, Consumer<T> dispatcher) {
+            executor.execute(() -> dispatch(dispatcher, decode(decoder)));
+        }
+    }
+
+    /**
+     * Messages are decoded in parallel but each one is dispatched only after all messages submitted before it.
+     * The lock of the lane only guards appending to the chain of dispatches, the submitting thread waits for
+     * room in the decode queue without holding it.
+     */
+    private class OrderedLane implements Lane {
+
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        @Override
+        public <T> void submit(Supplier<T> decoder, Consumer<T> dispatcher) {
+            CompletableFuture<T> decoded = new CompletableFuture<>();
+            synchronized (this) {
+                tail = tail.thenAcceptBothAsync(decoded, (previous, message) -> dispatch(dispatcher, message), executor)
+                        .exceptionally(DecodeStage::dispatchRejected);
+            }
+            try {
+                executor.execute(() -> decoded.complete(decode(decoder)));
+            } catch (RejectedExecutionException e) {
+                // nothing to dispatch, messages submitted after this one must not wait for it
+                decoded.complete(null);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Failures of decoders and dispatchers must not leave the ordered lane stuck on a failed stage.
+     */
+    private static <T> T decode(Supplier<T> decoder) {
+        try {
+            return decoder.get();
+        } catch (Throwable e) {
+            LOG.error("Failed to decode consumed message", e);
+            return null;
+        }
+    }
+
+    private static <T> void dispatch(Consumer<T> dispatcher, T message) {
+        if (message == null) {
+            return;
+        }
+        try {
+            dispatcher.accept(message);
+        } catch (Throwable e) {
+            LOG.error("Failed to dispatch decoded message", e);
+        }
+    }
+
+    private static Void dispatchRejected(Throwable e) {
+        LOG.error("Failed to hand decoded message off for dispatching", e);
+        return null;
+    }
+
+    /**
+     * Blocks the broker I/O thread while the decode queue is full instead of rejecting the message. Decode threads
+     * that hand dispatches of decoded messages off run them on their own instead, since they would otherwise wait
+     * for a queue only they drain. That also lets messages decoded before a shutdown be dispatched.
+     */
+    private class BlockingSubmissionPolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (decodeThreads.contains(Thread.currentThread())) {
+                task.run();
+                return;
+            }
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Decode stage has been shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the decode queue", e);
+            }
+        }
+    }
+}
@@ -10,7 +10,7 @@ import org.apache.commons.lang3.Validate;
  * Created by Alexandr Zolotov
  * 23.05.16
  */
-public class DirectInvocationCapableInvoker implements MessageHandlerInvoker {
+public class DirectInvocationCapableInvoker implements MdcAwareMessageHandlerInvoker {
 
     private final MessageHandlerInvoker clientMessageHandlerInvoker;
     private final MessageHandlerInvoker directMessageHandlerInvoker;
@@ -38,6 +38,19 @@ public class DirectInvocationCapableInvoker implements MessageHandlerInvoker {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(MessageHandler messageHandler, Message message, AcknowledgementHandlerInternal acknowledgeHandler,
+            MdcLogging mdcLogging) {
+        if (messageHandler instanceof ExecutionOptionsAwareMessageHandler && ((ExecutionOptionsAwareMessageHandler) messageHandler).forceDirectInvocation()) {
+            mdcLogging.execute(directMessageHandlerInvoker, messageHandler, message, acknowledgeHandler);
+        } else {
+            mdcLogging.execute(clientMessageHandlerInvoker, messageHandler, message, acknowledgeHandler);
+        }
+    }
+
     @Override
     public void shutdown() {
         clientMessageHandlerInvoker.shutdown();
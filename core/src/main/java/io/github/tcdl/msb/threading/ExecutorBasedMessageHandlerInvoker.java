@@ -10,7 +10,7 @@ import org.slf4j.LoggerFactory;
  * Base class for {@link MessageHandlerInvoker} implementations that rely on a custom
  * threading model.
  */
-public abstract class ExecutorBasedMessageHandlerInvoker implements MessageHandlerInvoker {
+public abstract class ExecutorBasedMessageHandlerInvoker implements MdcAwareMessageHandlerInvoker {
 
     private static final Logger LOG = LoggerFactory.getLogger(ExecutorBasedMessageHandlerInvoker.class);
 
@@ -28,6 +28,18 @@ public abstract class ExecutorBasedMessageHandlerInvoker implements MessageHandl
                 message.getCorrelationId());
     }
 
+    /**
+     * The MDC is populated from the message on the thread that processes the task.
+     */
+    @Override
+    public void execute(MessageHandler messageHandler, Message message, AcknowledgementHandlerInternal acknowledgeHandler,
+            MdcLogging mdcLogging) {
+        MessageProcessingTask task = new MessageProcessingTask(messageHandler, message, acknowledgeHandler, mdcLogging);
+        doSubmitTask(task, message);
+        LOG.debug("[correlation id: {}] Message has been put in the processing queue.",
+                message.getCorrelationId());
+    }
+
     protected abstract void doSubmitTask(MessageProcessingTask task, Message message);
 
 }
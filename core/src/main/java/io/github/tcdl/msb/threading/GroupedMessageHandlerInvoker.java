@@ -6,6 +6,7 @@ import io.github.tcdl.msb.api.message.Message;
 import org.apache.commons.lang3.RandomUtils;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This {@link MessageHandlerInvoker} implementation delegates execution of {@link io.github.tcdl.msb.MessageHandler}
@@ -15,7 +16,7 @@ import java.util.List;
  * For example, this class can be used to process messages from the same group sequentially by providing a list of
  * single-threaded invokers.
  */
-public class GroupedMessageHandlerInvoker<T extends MessageHandlerInvoker> implements MessageHandlerInvoker {
+public class GroupedMessageHandlerInvoker<T extends MessageHandlerInvoker> implements MdcAwareMessageHandlerInvoker {
 
     private final MessageGroupStrategy messageGroupStrategy;
     private final int numberOfInvokers;
@@ -28,9 +29,11 @@ public class GroupedMessageHandlerInvoker<T extends MessageHandlerInvoker> imple
     }
 
     private int getInvokerKey(Message message) {
-        return messageGroupStrategy.getMessageGroupId(message)
-                .map(integer -> Math.abs(integer % numberOfInvokers))
-                .orElseGet(() -> RandomUtils.nextInt(0, numberOfInvokers));
+        Optional<Integer> messageGroupId = messageGroupStrategy.getMessageGroupId(message);
+        if (messageGroupId.isPresent()) {
+            return Math.abs(messageGroupId.get() % numberOfInvokers);
+        }
+        return RandomUtils.nextInt(0, numberOfInvokers);
     }
 
     @Override
@@ -39,6 +42,13 @@ public class GroupedMessageHandlerInvoker<T extends MessageHandlerInvoker> imple
         invokers.get(invokerKey).execute(messageHandler, message, acknowledgeHandler);
     }
 
+    @Override
+    public void execute(MessageHandler messageHandler, Message message, AcknowledgementHandlerInternal acknowledgeHandler,
+            MdcLogging mdcLogging) {
+        int invokerKey = getInvokerKey(message);
+        mdcLogging.execute(invokers.get(invokerKey), messageHandler, message, acknowledgeHandler);
+    }
+
     @Override
     public void shutdown() {
         invokers.forEach(MessageHandlerInvoker::shutdown);
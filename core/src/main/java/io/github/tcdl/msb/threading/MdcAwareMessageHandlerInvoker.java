@@ -0,0 +1,22 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.MessageHandler;
+import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
+import io.github.tcdl.msb.api.message.Message;
+
+/**
+ * {@link MessageHandlerInvoker} that populates the logging MDC on the thread the message is actually handled by.
+ * Invokers that don't implement this interface get the MDC of the calling thread populated before the invocation.
+ */
+public interface MdcAwareMessageHandlerInvoker extends MessageHandlerInvoker {
+
+    /**
+     * Same as {@link #execute(MessageHandler, Message, AcknowledgementHandlerInternal)}, additionally the logging MDC
+     * of the thread that handles the message is populated from the message by means of {@link MdcLogging}.
+     *
+     * @param mdcLogging populates the logging MDC from the message
+     * @throws RuntimeException when a message can't be handled.
+     */
+    void execute(MessageHandler messageHandler, Message message, AcknowledgementHandlerInternal acknowledgeHandler,
+            MdcLogging mdcLogging);
+}
@@ -0,0 +1,88 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.MessageHandler;
+import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+
+import java.util.List;
+
+/**
+ * {@link MdcLogging} puts properties of a {@link Message} into the logging {@link MDC} of the thread the message
+ * is processed by, according to msbConfig.mdcLogging. The MDC is populated straight from the message on the thread
+ * that needs it, so there is no need to copy the MDC map of the consuming thread for every message.
+ */
+public class MdcLogging {
+
+    private final String messageTagsKey;
+    private final String correlationIdKey;
+    private final String splitTagsBy;
+
+    public MdcLogging(String messageTagsKey, String correlationIdKey, String splitTagsBy) {
+        this.messageTagsKey = messageTagsKey;
+        this.correlationIdKey = correlationIdKey;
+        this.splitTagsBy = StringUtils.isEmpty(splitTagsBy) ? null : splitTagsBy;
+    }
+
+    /**
+     * @return MDC logging according to msbConfig.mdcLogging or null if MDC logging is disabled
+     */
+    public static MdcLogging create(MsbConfig msbConfig) {
+        if (!msbConfig.isMdcLogging()) {
+            return null;
+        }
+        return new MdcLogging(msbConfig.getMdcLoggingKeyMessageTags(), msbConfig.getMdcLoggingKeyCorrelationId(),
+                msbConfig.getMdcLoggingSplitTagsBy());
+    }
+
+    /**
+     * Puts tags and correlation id of the message into the MDC of the current thread.
+     */
+    public void populate(Message message) {
+        List<String> tags = message.getTags();
+        MDC.put(messageTagsKey, joinTags(tags));
+        MDC.put(correlationIdKey, message.getCorrelationId());
+        if (splitTagsBy != null && tags != null) {
+            for (String tag : tags) {
+                String[] parts = StringUtils.split(tag, splitTagsBy, 2);
+                if (parts.length == 2) {
+                    MDC.put(parts[0], parts[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invokes the message handler by means of the given invoker so that the MDC is populated on the thread
+     * that handles the message. If the invoker is not a {@link MdcAwareMessageHandlerInvoker} the MDC of the current
+     * thread is populated before the invocation and has to be cleared by the caller.
+     */
+    public void execute(MessageHandlerInvoker invoker, MessageHandler messageHandler, Message message,
+            AcknowledgementHandlerInternal acknowledgeHandler) {
+        if (invoker instanceof MdcAwareMessageHandlerInvoker) {
+            ((MdcAwareMessageHandlerInvoker) invoker).execute(messageHandler, message, acknowledgeHandler, this);
+        } else {
+            populate(message);
+            invoker.execute(messageHandler, message, acknowledgeHandler);
+        }
+    }
+
+    /**
+     * Clears the MDC of the current thread.
+     */
+    public void clear() {
+        MDC.clear();
+    }
+
+    private static String joinTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return StringUtils.EMPTY;
+        }
+        if (tags.size() == 1) {
+            return tags.get(0);
+        }
+        return StringUtils.join(tags, ",");
+    }
+}
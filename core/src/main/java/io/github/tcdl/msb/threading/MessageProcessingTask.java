@@ -3,6 +3,7 @@ package io.github.tcdl.msb.threading;
 import io.github.tcdl.msb.MessageHandler;
 import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
 import io.github.tcdl.msb.api.message.Message;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -20,7 +21,11 @@ public class MessageProcessingTask implements Runnable {
     final AcknowledgementHandlerInternal ackHandler;
     final Map<String, String> mdcLogContextMap;
     final boolean mdcLogCopy;
+    final MdcLogging mdcLogging;
 
+    /**
+     * Creates a task that propagates a copy of the MDC of the current thread to the thread that runs the task.
+     */
     public MessageProcessingTask( MessageHandler messageHandler, Message message,
                                      AcknowledgementHandlerInternal ackHandler) {
         this.message = message;
@@ -28,6 +33,22 @@ public class MessageProcessingTask implements Runnable {
         this.ackHandler = ackHandler;
         this.mdcLogContextMap = MDC.getCopyOfContextMap();
         this.mdcLogCopy = mdcLogContextMap != null && !mdcLogContextMap.isEmpty();
+        this.mdcLogging = null;
+    }
+
+    /**
+     * Creates a task that populates the MDC of the thread that runs the task straight from the message,
+     * without copying the MDC of the current thread.
+     */
+    public MessageProcessingTask(MessageHandler messageHandler, Message message,
+                                 AcknowledgementHandlerInternal ackHandler, MdcLogging mdcLogging) {
+        Validate.notNull(mdcLogging, "the 'mdcLogging' must not be null");
+        this.message = message;
+        this.messageHandler = messageHandler;
+        this.ackHandler = ackHandler;
+        this.mdcLogContextMap = null;
+        this.mdcLogCopy = false;
+        this.mdcLogging = mdcLogging;
     }
 
     /**
@@ -39,6 +60,8 @@ public class MessageProcessingTask implements Runnable {
     public void run() {
         if(mdcLogCopy) {
             MDC.setContextMap(mdcLogContextMap);
+        } else if (mdcLogging != null) {
+            mdcLogging.populate(message);
         }
         try {
             LOG.debug("[correlation id: {}] Starting message processing", message.getCorrelationId());
@@ -49,7 +72,7 @@ public class MessageProcessingTask implements Runnable {
             LOG.error("[correlation id: {}] Failed to process message", message.getCorrelationId(), e);
             ackHandler.autoRetry();
         } finally {
-            if(mdcLogCopy) {
+            if(mdcLogCopy || mdcLogging != null) {
                 MDC.clear();
             }
         }
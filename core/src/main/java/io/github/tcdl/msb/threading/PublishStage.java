@@ -0,0 +1,227 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.api.exception.ChannelException;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.support.Utils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link PublishStage} hands encoded messages off to producer I/O threads, so publishing threads don't wait for
+ * the broker. Every producer publishes through its own {@link Lane}: a bounded queue drained by a single thread
+ * in the order messages were submitted in. The thread of an idle lane is stopped and started again on demand.
+ */
+public class PublishStage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublishStage.class);
+
+    private static final long IDLE_LANE_KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * What happens to a message submitted while the queue of its lane is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The submitting thread waits for the queue to have room.
+         */
+        BLOCK,
+        /**
+         * Submission fails with {@link ChannelException}.
+         */
+        FAIL,
+        /**
+         * The message is dropped, only the future of its publishing fails.
+         */
+        DROP
+    }
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Lane> lanes = new CopyOnWriteArrayList<>();
+    private final BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+            .namingPattern("msb-publish-thread-%d")
+            .build();
+    private final LongAdder droppedMessages = new LongAdder();
+
+    /**
+     * @param queueCapacity max number of messages waiting to be published by a lane
+     * @param overflowPolicy what happens to a message submitted while the queue of its lane is full
+     */
+    public PublishStage(int queueCapacity, OverflowPolicy overflowPolicy) {
+        Validate.isTrue(queueCapacity > 0, "the 'queueCapacity' must be positive");
+        Validate.notNull(overflowPolicy, "the 'overflowPolicy' must not be null");
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Creates publish stage according to msbConfig.threadingConfig.publishStage
+     *
+     * @return publish stage or null if it is disabled
+     * @throws ConfigurationException if the overflow policy is unknown
+     */
+    public static PublishStage create(MsbConfig msbConfig) {
+        if (!msbConfig.isPublishStageEnabled()) {
+            return null;
+        }
+        String overflowPolicy = msbConfig.getPublishQueueOverflowPolicy();
+        try {
+            return new PublishStage(msbConfig.getPublishQueueCapacity(), OverflowPolicy.valueOf(overflowPolicy.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException(String.format("Unknown publish queue overflow policy '%s'", overflowPolicy), e);
+        }
+    }
+
+    /**
+     * @param topic topic the messages of the lane are published to
+     * @return a lane to submit the messages of a single producer through
+     */
+    public Lane createLane(String topic) {
+        Lane lane = new Lane(topic);
+        lanes.add(lane);
+        return lane;
+    }
+
+    /**
+     * @return number of messages waiting to be published by all lanes
+     */
+    public long getQueueDepth() {
+        return lanes.stream().mapToLong(Lane::getQueueDepth).sum();
+    }
+
+    /**
+     * @return number of messages dropped because the queue of their lane was full
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * Publishes the messages that have been submitted already and stops all lanes.
+     */
+    public void shutdown() {
+        lanes.forEach(lane -> Utils.gracefulShutdown(lane.executor, "publish " + lane.topic));
+    }
+
+    /**
+     * Lane of a single producer.
+     */
+    public class Lane {
+
+        private final String topic;
+        private final ThreadPoolExecutor executor;
+
+        private Lane(String topic) {
+            this.topic = topic;
+            this.executor = new ThreadPoolExecutor(1, 1,
+                    IDLE_LANE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    threadFactory,
+                    new OverflowHandler());
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * Queues the message for publishing on the I/O thread of the lane.
+         *
+         * @param publication publishes the encoded message, invoked on the I/O thread. The returned stage completes
+         *                    once the adapter has published the message.
+         * @return stage that completes once the message has been published or fails if publishing fails or
+         * the message is dropped
+         * @throws ChannelException if the message can't be queued because the queue is full and the overflow policy
+         * is {@link OverflowPolicy#FAIL} or the stage has been shut down
+         */
+        public CompletionStage<Void> submit(Supplier<CompletionStage<Void>> publication) {
+            Publication task = new Publication(publication);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                throw new ChannelException(String.format("Unable to queue message for publishing to topic '%s'", topic), e);
+            }
+            return task.result;
+        }
+
+        long getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        /**
+         * Applies the overflow policy to a message that didn't fit into the queue.
+         */
+        private class OverflowHandler implements RejectedExecutionHandler {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("Publish stage has been shut down");
+                }
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        try {
+                            executor.getQueue().put(task);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while waiting for the publish queue", e);
+                        }
+                        // the lane may have been shut down while waiting, its thread may be gone and never run the task
+                        if (executor.isShutdown() && executor.getQueue().remove(task)) {
+                            throw new RejectedExecutionException("Publish stage has been shut down");
+                        }
+                        break;
+                    case DROP:
+                        droppedMessages.increment();
+                        LOG.warn("Publish queue of topic '{}' is full, message is dropped", topic);
+                        ((Publication) task).result.completeExceptionally(
+                                new ChannelException(String.format("Publish queue of topic '%s' is full", topic), null));
+                        break;
+                    default:
+                        throw new RejectedExecutionException("Publish queue is full");
+                }
+            }
+        }
+    }
+
+    private static class Publication implements Runnable {
+
+        private final Supplier<CompletionStage<Void>> publication;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Publication(Supplier<CompletionStage<Void>> publication) {
+            this.publication = publication;
+        }
+
+        @Override
+        public void run() {
+            try {
+                publication.get().whenComplete((published, e) -> {
+                    if (e != null) {
+                        fail(e);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+            } catch (Throwable e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            LOG.error("Exception while message publish to adapter", e);
+            result.completeExceptionally(e);
+        }
+    }
+}
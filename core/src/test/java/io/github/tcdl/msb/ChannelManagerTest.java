@@ -3,6 +3,7 @@ package io.github.tcdl.msb;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.tcdl.msb.adapters.AdapterFactory;
 import io.github.tcdl.msb.adapters.AdapterFactoryLoader;
+import io.github.tcdl.msb.adapters.ProducerAdapter;
 import io.github.tcdl.msb.api.RequestOptions;
 import io.github.tcdl.msb.api.ResponderOptions;
 import io.github.tcdl.msb.api.exception.ConsumerSubscriptionException;
@@ -26,6 +27,12 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ChannelManagerTest {
 
@@ -61,6 +68,28 @@ public class ChannelManagerTest {
         assertSame(producer1, producer2);
     }
 
+    @Test
+    public void testProducerCachedPerVariant() {
+        String topic = "topic:test-producer-variant";
+        RequestOptions confirmedRequestOptions = new RequestOptions.Builder().withWaitForResponses(1).build();
+        AdapterFactory adapterFactory = mock(AdapterFactory.class);
+        when(adapterFactory.getProducerVariant(confirmedRequestOptions)).thenReturn("confirmed");
+        when(adapterFactory.createProducerAdapter(anyString(), anyBoolean(), any(RequestOptions.class)))
+                .then(invocation -> mock(ProducerAdapter.class));
+        MsbConfig msbConfig = TestUtils.createMsbConfigurations();
+        ChannelManager channelManager = new ChannelManager(msbConfig, Clock.systemDefaultZone(), new JsonValidator(),
+                TestUtils.createMessageMapper(), adapterFactory, mock(MessageHandlerInvoker.class));
+
+        Producer producer = channelManager.findOrCreateProducer(topic, false, RequestOptions.DEFAULTS);
+        Producer confirmedProducer = channelManager.findOrCreateProducer(topic, false, confirmedRequestOptions);
+
+        assertNotSame(producer, confirmedProducer);
+        assertSame(producer, channelManager.findOrCreateProducer(topic, false, RequestOptions.DEFAULTS));
+        assertSame(confirmedProducer, channelManager.findOrCreateProducer(topic, false, confirmedRequestOptions));
+        verify(adapterFactory).createProducerAdapter(topic, false, RequestOptions.DEFAULTS);
+        verify(adapterFactory).createProducerAdapter(topic, false, confirmedRequestOptions);
+    }
+
     @Test
     public void testMultipleConsumersCantSubscribeOnTheSameTopic() {
         String topic = "topic:test-consumer";
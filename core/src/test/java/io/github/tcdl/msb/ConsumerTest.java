@@ -9,10 +9,15 @@ import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.message.MetaMessage;
 import io.github.tcdl.msb.api.message.Topics;
 import io.github.tcdl.msb.collector.ConsumedMessagesAwareMessageHandler;
+import io.github.tcdl.msb.codec.JsonMessageCodec;
+import io.github.tcdl.msb.codec.MessageCodecs;
+import io.github.tcdl.msb.codec.MessageCompressor;
+import io.github.tcdl.msb.codec.SmileMessageCodec;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.support.JsonValidator;
 import io.github.tcdl.msb.support.TestUtils;
 import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.threading.DecodeStage;
 import io.github.tcdl.msb.threading.MessageHandlerInvoker;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
@@ -22,13 +27,17 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.MDC;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -48,6 +57,8 @@ public class ConsumerTest {
 
     private static final String CORRELATION_ID = "34223432423423";
 
+    private static final String PAYLOAD_SCHEMA = "{\"type\": \"object\", \"required\": [\"body\"]}";
+
     @Mock
     private ConsumerAdapter adapterMock;
 
@@ -137,6 +148,214 @@ public class ConsumerTest {
         verifyMessageHandled();
     }
 
+    @Test
+    public void testValidMessageBytesProcessedBySubscriber() throws JsonConversionException {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper);
+
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, acknowledgementHandlerMock);
+
+        verifyMessageHandled();
+    }
+
+    @Test
+    public void testMessageDecodedByDecodeStage() throws Exception {
+        DecodeStage decodeStage = new DecodeStage(2, 10, true);
+        Consumer consumer = createConsumer(decodeStage);
+        CompletableFuture<Thread> handlingThread = new CompletableFuture<>();
+        doAnswer(invocation -> handlingThread.complete(Thread.currentThread()))
+                .when(messageHandlerInvokerMock).execute(any(), any(), any());
+
+        byte[] body = Utils.toJson(TestUtils.createSimpleRequestMessage(TOPIC), messageMapper).getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, acknowledgementHandlerMock);
+
+        assertNotEquals(Thread.currentThread(), handlingThread.get(5, TimeUnit.SECONDS));
+        verifyMessageHandled();
+        decodeStage.shutdown();
+    }
+
+    @Test
+    public void testMalformedMessageRejectedByDecodeStage() {
+        DecodeStage decodeStage = new DecodeStage(2, 10, true);
+        Consumer consumer = createConsumer(decodeStage);
+
+        consumer.handleRawMessage("{\"body\":\"fake message\"}", acknowledgementHandlerMock);
+
+        verify(acknowledgementHandlerMock, timeout(5000)).autoReject();
+        verifyMessageNotHandled();
+        decodeStage.shutdown();
+    }
+
+    @Test
+    public void testMessageRetriedIfDecodeStageShutDown() {
+        DecodeStage decodeStage = new DecodeStage(1, 1, true);
+        decodeStage.shutdown();
+        Consumer consumer = createConsumer(decodeStage);
+
+        consumer.handleRawMessage(Utils.toJson(TestUtils.createSimpleRequestMessage(TOPIC), messageMapper), acknowledgementHandlerMock);
+
+        verify(acknowledgementHandlerMock).autoRetry();
+        verifyMessageNotHandled();
+    }
+
+    @Test
+    public void testBinaryMessageDecodedByContentType() throws JsonConversionException {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        SmileMessageCodec smileCodec = new SmileMessageCodec(messageMapper);
+        MessageCodecs codecs = new MessageCodecs(new JsonMessageCodec(messageMapper), smileCodec);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper, codecs, MessageCompressor.disabled());
+
+        consumer.handleRawMessage(smileCodec.encode(originalMessage), StandardCharsets.UTF_8, SmileMessageCodec.CONTENT_TYPE, null, acknowledgementHandlerMock);
+
+        verifyMessageHandled();
+    }
+
+    @Test
+    public void testBinaryMessageValidated() throws JsonConversionException {
+        enableValidation(1);
+        SmileMessageCodec smileCodec = new SmileMessageCodec(messageMapper);
+        MessageCodecs codecs = new MessageCodecs(smileCodec, new JsonMessageCodec(messageMapper));
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper, codecs, MessageCompressor.disabled());
+
+        byte[] body = smileCodec.encode(createMessageViolatingPayloadSchema());
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, SmileMessageCodec.CONTENT_TYPE, null, acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testCompressedMessageDecompressed() throws JsonConversionException {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        MessageCompressor compressor = MessageCompressor.disabled();
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper,
+                MessageCodecs.json(messageMapper), compressor);
+
+        byte[] body = new MessageCompressor(true, 0, 1).compress(new JsonMessageCodec(messageMapper).encode(originalMessage));
+        consumer.handleRawMessage(body, StandardCharsets.UTF_16, JsonMessageCodec.CONTENT_TYPE, MessageCompressor.DEFLATE_ENCODING, acknowledgementHandlerMock);
+
+        verifyMessageHandled();
+        assertEquals(1, compressor.getDecompressedMessageCount());
+    }
+
+    @Test
+    public void testUnsupportedContentEncodingRejected() throws JsonConversionException {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper,
+                MessageCodecs.json(messageMapper), MessageCompressor.disabled());
+
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, JsonMessageCodec.CONTENT_TYPE, "br", acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testUnknownContentTypeDecodedAsJson() throws JsonConversionException {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        MessageCodecs codecs = new MessageCodecs(new SmileMessageCodec(messageMapper), new JsonMessageCodec(messageMapper));
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper, codecs, MessageCompressor.disabled());
+
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, "application/octet-stream", null, acknowledgementHandlerMock);
+
+        verifyMessageHandled();
+    }
+
+    @Test
+    public void testInvalidMessageBytesRejected() {
+        MsbConfig msbConf = TestUtils.createMsbConfigurations();
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConf, clock, validator, messageMapper);
+
+        byte[] body = "{\"body\":\"fake message\"}".getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testCompressedMessageExceedingMaxSizeRejected() throws JsonConversionException {
+        byte[] encoded = new JsonMessageCodec(messageMapper).encode(TestUtils.createSimpleRequestMessage(TOPIC));
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper,
+                MessageCodecs.json(messageMapper), new MessageCompressor(false, 0, 1, encoded.length - 1));
+
+        byte[] body = new MessageCompressor(true, 0, 1).compress(encoded);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, JsonMessageCodec.CONTENT_TYPE, MessageCompressor.DEFLATE_ENCODING, acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testMalformedPayloadRejected() {
+        MsbConfig msbConf = TestUtils.createMsbConfigurations();
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConf, clock, validator, messageMapper);
+
+        String json = Utils.toJson(TestUtils.createSimpleRequestMessage(TOPIC), messageMapper);
+        byte[] body = json.replaceFirst("\"payload\":\\{", "\"payload\":{\"body\":tru,").getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testExpiredMessageRejectedBeforeHandlerResolution() throws JsonConversionException {
+        Message expiredMessage = createExpiredMsbRequestMessageWithTopicTo(TOPIC)
+                .withPayload(messageMapper.valueToTree(TestUtils.createSimpleRequestPayload()));
+        when(msbConfMock.isMdcLogging()).thenReturn(false);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper);
+
+        consumer.handleRawMessage(Utils.toJson(expiredMessage, messageMapper), acknowledgementHandlerMock);
+
+        verify(messageHandlerResolverMock, never()).resolveMessageHandler(any());
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+    }
+
+    @Test
+    public void testPayloadSchemaViolationRejected() throws JsonConversionException {
+        enableValidation(1);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper);
+
+        consumer.handleRawMessage(Utils.toJson(createMessageViolatingPayloadSchema(), messageMapper), acknowledgementHandlerMock);
+
+        verifyMessageNotHandled();
+        verify(acknowledgementHandlerMock, times(1)).autoReject();
+        assertEquals(1, consumer.getValidatedMessageCount());
+    }
+
+    @Test
+    public void testPayloadSchemaSatisfied() throws JsonConversionException {
+        enableValidation(1);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper);
+
+        byte[] body = Utils.toJson(TestUtils.createSimpleRequestMessage(TOPIC), messageMapper).getBytes(StandardCharsets.UTF_8);
+        consumer.handleRawMessage(body, StandardCharsets.UTF_8, acknowledgementHandlerMock);
+
+        verifyMessageHandled();
+        assertEquals(1, consumer.getValidatedMessageCount());
+        assertTrue(consumer.getValidationTimeNanos() > 0);
+    }
+
+    @Test
+    public void testValidationSampled() throws JsonConversionException {
+        enableValidation(2);
+        Consumer consumer = new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper);
+
+        String invalidMessage = Utils.toJson(createMessageViolatingPayloadSchema(), messageMapper);
+        for (int i = 0; i < 4; i++) {
+            consumer.handleRawMessage(invalidMessage, acknowledgementHandlerMock);
+        }
+
+        verify(acknowledgementHandlerMock, times(2)).autoReject();
+        verify(messageHandlerInvokerMock, times(2)).execute(any(), any(), any());
+        assertEquals(2, consumer.getValidatedMessageCount());
+    }
+
     @Test
     public void testConsumedMessagesAwareMessageHandlerNotifiedWhenMessageHandled() throws JsonConversionException {
         Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
@@ -331,6 +550,22 @@ public class ConsumerTest {
         assertTrue("MDC cleanup was expected but was not performed", map == null || map.isEmpty());
     }
 
+    private Consumer createConsumer(DecodeStage decodeStage) {
+        return new Consumer(adapterMock, messageHandlerInvokerMock, TOPIC, messageHandlerResolverMock, msbConfMock, clock, validator, messageMapper,
+                MessageCodecs.json(messageMapper), MessageCompressor.disabled(), decodeStage);
+    }
+
+    private void enableValidation(int sampleRate) {
+        when(msbConfMock.isValidateMessage()).thenReturn(true);
+        when(msbConfMock.getSchema()).thenReturn(TestUtils.createMsbConfigurations().getSchema());
+        when(msbConfMock.getPayloadSchema(TOPIC)).thenReturn(Optional.of(PAYLOAD_SCHEMA));
+        when(msbConfMock.getValidationSampleRate()).thenReturn(sampleRate);
+    }
+
+    private Message createMessageViolatingPayloadSchema() {
+        return TestUtils.createSimpleRequestMessage(TOPIC).withPayload(messageMapper.createObjectNode().put("query", "q"));
+    }
+
     private  Message createExpiredMsbRequestMessageWithTopicTo(String topicTo) {
         Instant MOMENT_IN_PAST = Instant.parse("2007-12-03T10:15:30.00Z");
 
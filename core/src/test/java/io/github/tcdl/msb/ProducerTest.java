@@ -11,26 +11,37 @@ import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.message.MetaMessage;
 import io.github.tcdl.msb.api.message.Topics;
 import io.github.tcdl.msb.api.message.payload.RestPayload;
+import io.github.tcdl.msb.codec.JsonMessageCodec;
+import io.github.tcdl.msb.codec.MessageCompressor;
+import io.github.tcdl.msb.codec.SmileMessageCodec;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.support.TestUtils;
 import io.github.tcdl.msb.support.Utils;
+import io.github.tcdl.msb.threading.PublishStage;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Created by rdro on 4/28/2015.
@@ -71,6 +82,103 @@ public class ProducerTest {
         verify(adapterMock).publish(anyString(), eq(StringUtils.EMPTY));
     }
 
+    @Test
+    public void testPublishWithBinaryCodec() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        SmileMessageCodec codec = new SmileMessageCodec(messageMapper);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper, codec, MessageCompressor.disabled());
+
+        producer.publish(originalMessage);
+
+        ArgumentCaptor<byte[]> bodyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(adapterMock).publish(bodyCaptor.capture(), eq(SmileMessageCodec.CONTENT_TYPE), eq((String) null), eq(StringUtils.EMPTY));
+        verify(adapterMock, never()).publish(anyString(), anyString());
+        assertEquals(originalMessage.getId(), codec.decode(bodyCaptor.getValue(), null).getHeaders().getId());
+    }
+
+    @Test
+    public void testPublishCompressedAboveThreshold() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        MessageCompressor compressor = new MessageCompressor(true, 0, 1);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper, new JsonMessageCodec(messageMapper), compressor);
+
+        producer.publish(originalMessage);
+
+        ArgumentCaptor<byte[]> bodyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(adapterMock).publish(bodyCaptor.capture(), eq(JsonMessageCodec.CONTENT_TYPE), eq(MessageCompressor.DEFLATE_ENCODING), eq(StringUtils.EMPTY));
+        verify(adapterMock, never()).publish(anyString(), anyString());
+        byte[] decompressed = compressor.decompress(bodyCaptor.getValue(), MessageCompressor.DEFLATE_ENCODING);
+        assertEquals(Utils.toJson(originalMessage, messageMapper), new String(decompressed, StandardCharsets.UTF_8));
+        assertEquals(1, compressor.getCompressedMessageCount());
+    }
+
+    @Test
+    public void testPublishUncompressedBelowThreshold() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        MessageCompressor compressor = new MessageCompressor(true, 1024 * 1024, 1);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper, new JsonMessageCodec(messageMapper), compressor);
+
+        producer.publish(originalMessage);
+
+        verify(adapterMock).publish(anyString(), eq(StringUtils.EMPTY));
+        assertEquals(0, compressor.getCompressedMessageCount());
+    }
+
+    @Test
+    public void testPublishAsyncWithoutPublishStage() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        CompletableFuture<Void> confirmation = new CompletableFuture<>();
+        when(adapterMock.publishAsync(anyString(), eq(StringUtils.EMPTY))).thenReturn(confirmation);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper);
+
+        CompletableFuture<Void> result = producer.publishAsync(originalMessage).toCompletableFuture();
+
+        assertEquals(confirmation, result);
+    }
+
+    @Test
+    public void testPublishAsyncThroughPublishStage() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        when(adapterMock.publishAsync(anyString(), eq(StringUtils.EMPTY))).thenReturn(CompletableFuture.completedFuture(null));
+        PublishStage publishStage = new PublishStage(10, PublishStage.OverflowPolicy.BLOCK);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper, new JsonMessageCodec(messageMapper),
+                MessageCompressor.disabled(), publishStage.createLane(TOPIC));
+
+        try {
+            producer.publishAsync(originalMessage).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } finally {
+            publishStage.shutdown();
+        }
+
+        verify(adapterMock).publishAsync(anyString(), eq(StringUtils.EMPTY));
+    }
+
+    @Test
+    public void testPublishAsyncFailsIfAdapterFails() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        Mockito.doThrow(ChannelException.class).when(adapterMock).publishAsync(anyString(), anyString());
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper);
+
+        CompletableFuture<Void> result = producer.publishAsync(originalMessage).toCompletableFuture();
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test(expected = ChannelException.class)
+    public void testPublishThroughPublishStageThrowsIfAdapterFails() throws Exception {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        Mockito.doThrow(ChannelException.class).when(adapterMock).publish(anyString(), anyString());
+        PublishStage publishStage = new PublishStage(10, PublishStage.OverflowPolicy.BLOCK);
+        Producer producer = new Producer(adapterMock, TOPIC, messageMapper, new JsonMessageCodec(messageMapper),
+                MessageCompressor.disabled(), publishStage.createLane(TOPIC));
+
+        try {
+            producer.publish(originalMessage);
+        } finally {
+            publishStage.shutdown();
+        }
+    }
+
     @Test(expected = ChannelException.class)
     @SuppressWarnings("unchecked")
     public void testPublishRawAdapterThrowChannelException() throws ChannelException {
@@ -0,0 +1,47 @@
+package io.github.tcdl.msb.api;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GatherOptionsTest {
+
+    @Test
+    public void testIsCompleteNoConditions() {
+        GatherOptions<String> gatherOptions = new GatherOptions.Builder<String>().build();
+
+        assertFalse(gatherOptions.isComplete(100, "aggregate"));
+    }
+
+    @Test
+    public void testIsCompleteQuorum() {
+        GatherOptions<String> gatherOptions = new GatherOptions.Builder<String>()
+                .withQuorum(2)
+                .build();
+
+        assertFalse(gatherOptions.isComplete(1, "aggregate"));
+        assertTrue(gatherOptions.isComplete(2, "aggregate"));
+    }
+
+    @Test
+    public void testIsCompleteEnoughResults() {
+        GatherOptions<String> gatherOptions = new GatherOptions.Builder<String>()
+                .withQuorum(10)
+                .withEnoughResults(aggregate -> aggregate.length() > 3)
+                .build();
+
+        assertFalse(gatherOptions.isComplete(1, "abc"));
+        assertTrue(gatherOptions.isComplete(1, "abcd"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveQuorum() {
+        new GatherOptions.Builder<String>().withQuorum(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveDeadline() {
+        new GatherOptions.Builder<String>().withDeadline(0);
+    }
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.tcdl.msb.api.flow.Subscriber;
+import io.github.tcdl.msb.api.flow.Subscription;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.payload.RestPayload;
 import io.github.tcdl.msb.impl.MsbContextImpl;
@@ -12,6 +14,7 @@ import io.github.tcdl.msb.support.TestUtils;
 import io.github.tcdl.msb.support.Utils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -161,6 +164,179 @@ public class RequesterResponderIT {
         assertTrue("Expected one response", receivedResponses.size() == 1);
     }
 
+    @Test
+    public void testGatherCompletesOnQuorumBeforeResponseTimeout() throws Exception {
+        String namespace = "test:requester-responder-test-gather";
+        MessageTemplate messageTemplate = TestUtils.createSimpleMessageTemplate();
+        int responseTimeout = MESSAGE_ROUNDTRIP_TRANSMISSION_TIME * 3;
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withResponseTimeout(responseTimeout)
+                .withWaitForResponses(RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT)
+                .build();
+
+        MsbContextImpl serverMsbContext = TestUtils.createSimpleMsbContext();
+        storage.connect(serverMsbContext);
+
+        serverMsbContext.getObjectFactory().createResponderServer(namespace, messageTemplate, (request, responderContext) -> {
+            for (int i = 0; i < 3; i++) {
+                responderContext.getResponder().send("response " + i);
+            }
+        }, String.class).listen();
+
+        GatherOptions<List<String>> gatherOptions = new GatherOptions.Builder<List<String>>().withQuorum(2).build();
+        long startedAt = System.currentTimeMillis();
+        List<String> responses = msbContext.getObjectFactory().createRequester(namespace, requestOptions, String.class)
+                .gather("request payload", new ArrayList<String>(), (result, payload) -> {
+                    result.add(payload);
+                    return result;
+                }, gatherOptions)
+                .get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, responses.size());
+        assertTrue("Expected completion before response timeout", System.currentTimeMillis() - startedAt < responseTimeout);
+    }
+
+    @Test
+    public void testResponsesArePublishedOnDemand() throws Exception {
+        String namespace = "test:requester-responder-test-responses";
+        MessageTemplate messageTemplate = TestUtils.createSimpleMessageTemplate();
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withResponseTimeout(1000)
+                .withWaitForResponses(RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT)
+                .build();
+
+        MsbContextImpl serverMsbContext = TestUtils.createSimpleMsbContext();
+        storage.connect(serverMsbContext);
+
+        serverMsbContext.getObjectFactory().createResponderServer(namespace, messageTemplate, (request, responderContext) -> {
+            for (int i = 0; i < 3; i++) {
+                responderContext.getResponder().send("response " + i);
+            }
+        }, String.class).listen();
+
+        CountDownLatch completed = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> receivedResponses = new ConcurrentLinkedQueue<>();
+
+        msbContext.getObjectFactory().createRequester(namespace, requestOptions, String.class)
+                .responses("request payload")
+                .subscribe(new Subscriber<String>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(String response) {
+                        receivedResponses.add(response);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.countDown();
+                    }
+                });
+
+        assertTrue("Responses were not completed", completed.await(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME * 2, TimeUnit.MILLISECONDS));
+        assertEquals(3, receivedResponses.size());
+    }
+
+    @Test
+    public void testRequestsAreBatchedOnceResponderAcceptsBatches() throws Exception {
+        String namespace = "test:requester-responder-batching";
+        AtomicInteger batchedRequests = new AtomicInteger();
+
+        ResponderServer.RequestHandler<String> requestHandler = (request, responderContext) -> {
+            if (responderContext.getOriginalMessage().getTags().contains("msb:batch")) {
+                batchedRequests.incrementAndGet();
+            }
+            responderContext.getResponder().send(request.toUpperCase());
+        };
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withAcceptsBatches(true).build();
+        msbContext.getObjectFactory().createResponderServer(namespace, responderOptions, requestHandler, new TypeReference<String>() {})
+                .listen();
+
+        Requester<String> requester = msbContext.getObjectFactory().createRequester(namespace, createBatchingRequestOptions(), String.class);
+        // the responder advertises batches in response to the first request
+        assertEquals("FIRST", requester.request("first").get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals(0, batchedRequests.get());
+
+        CompletableFuture<String> secondResult = requester.request("second");
+        CompletableFuture<String> thirdResult = requester.request("third");
+        CompletableFuture<String> fourthResult = requester.request("fourth");
+
+        assertEquals("SECOND", secondResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals("THIRD", thirdResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals("FOURTH", fourthResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals(3, batchedRequests.get());
+    }
+
+    @Test
+    public void testRequestsAreNotBatchedIfResponderDoesNotAcceptBatches() throws Exception {
+        String namespace = "test:requester-responder-no-batching";
+        AtomicInteger receivedRequests = new AtomicInteger();
+
+        ResponderServer.RequestHandler<String> requestHandler = (request, responderContext) -> {
+            receivedRequests.incrementAndGet();
+            responderContext.getResponder().send(request.toUpperCase());
+        };
+        msbContext.getObjectFactory().createResponderServer(namespace, ResponderOptions.DEFAULTS, requestHandler, new TypeReference<String>() {})
+                .listen();
+
+        Requester<String> requester = msbContext.getObjectFactory().createRequester(namespace, createBatchingRequestOptions(), String.class);
+        assertEquals("FIRST", requester.request("first").get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<String> secondResult = requester.request("second");
+        CompletableFuture<String> thirdResult = requester.request("third");
+
+        assertEquals("SECOND", secondResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals("THIRD", thirdResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals(3, receivedRequests.get());
+    }
+
+    @Test
+    public void testBatchedRequestsAreResentIfResponderNoLongerAcceptsBatches() throws Exception {
+        String namespace = "test:requester-responder-batching-fallback";
+
+        ResponderServer.RequestHandler<String> requestHandler = (request, responderContext) ->
+                responderContext.getResponder().send(request.toUpperCase());
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withAcceptsBatches(true).build();
+        ResponderServer batchAwareResponderServer = msbContext.getObjectFactory()
+                .createResponderServer(namespace, responderOptions, requestHandler, new TypeReference<String>() {})
+                .listen();
+
+        Requester<String> requester = msbContext.getObjectFactory().createRequester(namespace, createBatchingRequestOptions(), String.class);
+        assertEquals("FIRST", requester.request("first").get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+
+        // the batch can't be converted by a responder that is not batch-aware, so it answers with an ack
+        batchAwareResponderServer.stop();
+        msbContext.getObjectFactory().createResponderServer(namespace, ResponderOptions.DEFAULTS, requestHandler, new TypeReference<String>() {})
+                .listen();
+
+        CompletableFuture<String> secondResult = requester.request("second");
+        CompletableFuture<String> thirdResult = requester.request("third");
+        CompletableFuture<String> fourthResult = requester.request("fourth");
+
+        assertEquals("SECOND", secondResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals("THIRD", thirdResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+        assertEquals("FOURTH", fourthResult.get(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME, TimeUnit.MILLISECONDS));
+    }
+
+    private RequestOptions createBatchingRequestOptions() {
+        return new RequestOptions.Builder()
+                .withResponseTimeout(MESSAGE_ROUNDTRIP_TRANSMISSION_TIME)
+                .withWaitForResponses(1)
+                .withBatching(3, MESSAGE_TRANSMISSION_TIME)
+                .build();
+    }
+
     @Test
     public void testResponderCommunicationWithAck() throws Exception {
         String namespace1 = "test:requester-responder-server-one";
@@ -0,0 +1,77 @@
+package io.github.tcdl.msb.api.message;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.message.payload.RestPayload;
+import io.github.tcdl.msb.message.MessageHeaderDecoder;
+import io.github.tcdl.msb.support.TestUtils;
+import io.github.tcdl.msb.support.Utils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MessageTest {
+
+    private static final String TOPIC = "test:message";
+
+    private static final TypeReference<RestPayload<Object, Map<String, String>, Object, Map<String, String>>> PAYLOAD_TYPE =
+            new TypeReference<RestPayload<Object, Map<String, String>, Object, Map<String, String>>>() {};
+
+    private ObjectMapper messageMapper = TestUtils.createMessageMapper();
+
+    private MessageHeaderDecoder decoder = new MessageHeaderDecoder(messageMapper);
+
+    @Test
+    public void testConvertEncodedPayload() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        Message message = decodeFromBytes(originalMessage);
+
+        RestPayload<Object, Map<String, String>, Object, Map<String, String>> expected = originalMessage.convertPayload(PAYLOAD_TYPE, messageMapper);
+        RestPayload<Object, Map<String, String>, Object, Map<String, String>> actual = message.convertPayload(PAYLOAD_TYPE, messageMapper);
+
+        assertEquals(expected.getHeaders(), actual.getHeaders());
+        assertEquals(expected.getBody(), actual.getBody());
+        assertArrayEquals(expected.getBodyBuffer(), actual.getBodyBuffer());
+    }
+
+    @Test
+    public void testRawPayloadBuiltOnceOnDemand() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        String json = Utils.toJson(originalMessage, messageMapper);
+        Message message = decoder.decode(json).decodeMessage();
+
+        assertEquals(Utils.fromJson(json, Message.class, messageMapper).getRawPayload(), message.getRawPayload());
+        assertSame(message.getRawPayload(), message.getRawPayload());
+    }
+
+    @Test
+    public void testHasPayload() {
+        assertTrue(decodeFromBytes(TestUtils.createSimpleRequestMessage(TOPIC)).hasPayload());
+        assertTrue(TestUtils.createSimpleRequestMessage(TOPIC).hasPayload());
+        assertFalse(decodeFromBytes(TestUtils.createMsbRequestMessageNoPayload(TOPIC)).hasPayload());
+        assertFalse(TestUtils.createMsbRequestMessageNoPayload(TOPIC).hasPayload());
+    }
+
+    @Test
+    public void testEncodedPayloadSerializedBack() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        String json = Utils.toJson(originalMessage, messageMapper);
+
+        Message message = decoder.decode(json).decodeMessage();
+
+        assertEquals(messageMapper.valueToTree(Utils.fromJson(json, Message.class, messageMapper)),
+                messageMapper.valueToTree(message));
+    }
+
+    private Message decodeFromBytes(Message message) {
+        byte[] body = Utils.toJson(message, messageMapper).getBytes(StandardCharsets.UTF_8);
+        return decoder.decode(body, StandardCharsets.UTF_8).decodeMessage();
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.tcdl.msb.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.support.TestUtils;
+import io.github.tcdl.msb.support.Utils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MessageCodecsTest {
+
+    private static final String TOPIC = "test:codec";
+
+    private ObjectMapper messageMapper = TestUtils.createMessageMapper();
+
+    @Test
+    public void testJsonCodecByDefault() {
+        MessageCodecs codecs = MessageCodecs.create(TestUtils.createMsbConfigurations(), messageMapper);
+
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.getPublishingCodec().getContentType());
+    }
+
+    @Test
+    public void testSmileCodecConfigured() {
+        MessageCodecs codecs = MessageCodecs.create(mockConfig(MessageCodecs.SMILE_CODEC), messageMapper);
+
+        assertEquals(SmileMessageCodec.CONTENT_TYPE, codecs.getPublishingCodec().getContentType());
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType(JsonMessageCodec.CONTENT_TYPE).getContentType());
+    }
+
+    @Test
+    public void testCustomCodecConfigured() {
+        MessageCodecs codecs = MessageCodecs.create(mockConfig(SmileMessageCodec.class.getName()), messageMapper);
+
+        assertTrue(codecs.getPublishingCodec() instanceof SmileMessageCodec);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testUnknownCodecConfigured() {
+        MessageCodecs.create(mockConfig("no.such.Codec"), messageMapper);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testJsonCodecMandatory() {
+        new MessageCodecs(new SmileMessageCodec(messageMapper));
+    }
+
+    @Test
+    public void testForContentTypeFallsBackToJson() {
+        MessageCodecs codecs = MessageCodecs.create(mockConfig(MessageCodecs.SMILE_CODEC), messageMapper);
+
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType(null).getContentType());
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType("application/octet-stream").getContentType());
+        assertSame(codecs.getPublishingCodec(), codecs.forContentType(SmileMessageCodec.CONTENT_TYPE));
+    }
+
+    @Test
+    public void testSmileRoundTrip() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        SmileMessageCodec codec = new SmileMessageCodec(messageMapper);
+
+        Message message = codec.decode(codec.encode(originalMessage), StandardCharsets.UTF_8).decodeMessage();
+
+        assertEquals(originalMessage.getId(), message.getId());
+        assertEquals(originalMessage.getTopics().getTo(), message.getTopics().getTo());
+        assertEquals(originalMessage.getMeta().getCreatedAt(), message.getMeta().getCreatedAt());
+        assertEquals(originalMessage.getRawPayload(), message.getRawPayload());
+    }
+
+    @Test
+    public void testSmileMoreCompactThanJson() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+
+        byte[] smile = new SmileMessageCodec(messageMapper).encode(originalMessage);
+        byte[] json = new JsonMessageCodec(messageMapper).encode(originalMessage);
+
+        assertTrue(smile.length < json.length);
+    }
+
+    @Test
+    public void testSmileReadTreeMatchesJson() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        SmileMessageCodec codec = new SmileMessageCodec(messageMapper);
+
+        // binary fields stay binary in Smile, so the trees are compared by their JSON representation
+        JsonNode tree = codec.readTree(codec.encode(originalMessage), null);
+        assertEquals(Utils.toJson(originalMessage, messageMapper), Utils.toJson(tree, messageMapper));
+    }
+
+    @Test
+    public void testJsonCodecCompatibleWithPlainJson() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        String json = Utils.toJson(originalMessage, messageMapper);
+
+        Message message = new JsonMessageCodec(messageMapper).decode(json.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8).decodeMessage();
+
+        assertEquals(originalMessage.getId(), message.getId());
+        assertEquals(Utils.fromJson(json, Message.class, messageMapper).getRawPayload(), message.getRawPayload());
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testSmileDecodeMalformed() {
+        new SmileMessageCodec(messageMapper).decode("{\"id\": 1}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private static MsbConfig mockConfig(String codec) {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.getMessageCodec()).thenReturn(codec);
+        return msbConfig;
+    }
+}
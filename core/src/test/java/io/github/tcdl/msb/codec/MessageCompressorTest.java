@@ -0,0 +1,96 @@
+package io.github.tcdl.msb.codec;
+
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MessageCompressorTest {
+
+    private static final byte[] MESSAGE = StringUtils.repeat("{\"bodyBuffer\":\"AAAAAAAAAAAAAAAAAAAAAAAA\"}", 1000).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testRoundTrip() {
+        MessageCompressor compressor = new MessageCompressor(true, 0, 1);
+
+        byte[] compressed = compressor.compress(MESSAGE);
+
+        assertTrue(compressed.length < MESSAGE.length);
+        assertArrayEquals(MESSAGE, compressor.decompress(compressed, MessageCompressor.DEFLATE_ENCODING));
+    }
+
+    @Test
+    public void testCompressionRequiredAboveThreshold() {
+        MessageCompressor compressor = new MessageCompressor(true, 1024, 1);
+
+        assertFalse(compressor.isCompressionRequired(1023));
+        assertTrue(compressor.isCompressionRequired(1024));
+    }
+
+    @Test
+    public void testDisabledCompressorDecompresses() {
+        MessageCompressor compressor = MessageCompressor.disabled();
+        byte[] compressed = new MessageCompressor(true, 0, 9).compress(MESSAGE);
+
+        assertFalse(compressor.isCompressionRequired(Integer.MAX_VALUE));
+        assertArrayEquals(MESSAGE, compressor.decompress(compressed, MessageCompressor.DEFLATE_ENCODING));
+    }
+
+    @Test
+    public void testMetrics() {
+        MessageCompressor compressor = new MessageCompressor(true, 0, 1);
+        assertNull(compressor.getCompressionRatio());
+
+        byte[] compressed = compressor.compress(MESSAGE);
+        compressor.decompress(compressed, MessageCompressor.DEFLATE_ENCODING);
+
+        assertEquals(1, compressor.getCompressedMessageCount());
+        assertEquals(1, compressor.getDecompressedMessageCount());
+        assertEquals((double) compressed.length / MESSAGE.length, compressor.getCompressionRatio(), 0.0001);
+        assertTrue(compressor.getCompressionTimeNanos() > 0);
+        assertTrue(compressor.getDecompressionTimeNanos() > 0);
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testUnsupportedEncoding() {
+        MessageCompressor.disabled().decompress(MESSAGE, "gzip");
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testCorruptedMessage() {
+        MessageCompressor.disabled().decompress(MESSAGE, MessageCompressor.DEFLATE_ENCODING);
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testTruncatedMessage() {
+        byte[] compressed = new MessageCompressor(true, 0, 1).compress(MESSAGE);
+        MessageCompressor.disabled().decompress(Arrays.copyOf(compressed, compressed.length / 2), MessageCompressor.DEFLATE_ENCODING);
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testMessageExceedingMaxDecompressedSize() {
+        byte[] compressed = new MessageCompressor(true, 0, 1).compress(MESSAGE);
+        new MessageCompressor(false, 0, 1, MESSAGE.length - 1).decompress(compressed, MessageCompressor.DEFLATE_ENCODING);
+    }
+
+    @Test
+    public void testMessageOfMaxDecompressedSize() {
+        byte[] compressed = new MessageCompressor(true, 0, 1).compress(MESSAGE);
+        MessageCompressor compressor = new MessageCompressor(false, 0, 1, MESSAGE.length);
+
+        assertArrayEquals(MESSAGE, compressor.decompress(compressed, MessageCompressor.DEFLATE_ENCODING));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLevel() {
+        new MessageCompressor(true, 0, 0);
+    }
+}
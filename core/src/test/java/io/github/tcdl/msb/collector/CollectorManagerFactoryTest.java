@@ -2,8 +2,11 @@ package io.github.tcdl.msb.collector;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import io.github.tcdl.msb.ChannelManager;
+import io.github.tcdl.msb.support.TestUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -37,4 +40,23 @@ public class CollectorManagerFactoryTest {
 
         assertNotEquals(collectorManager1, collectorManager2);
     }
+
+    @Test
+    public void testInFlightRequests() {
+        String topic1 = "topic:test-collector-manager-topic1";
+        String topic2 = "topic:test-collector-manager-topic2";
+        CollectorManagerFactory factory = new CollectorManagerFactory(channelManagerMock);
+
+        factory.findOrCreateCollectorManager(topic1).registerCollector(createCollectorMock(topic1));
+        factory.findOrCreateCollectorManager(topic2).registerCollector(createCollectorMock(topic2));
+        factory.findOrCreateCollectorManager(topic2).registerCollector(createCollectorMock(topic2));
+
+        assertEquals(3, factory.getInFlightRequests());
+    }
+
+    private Collector createCollectorMock(String topic) {
+        Collector collectorMock = mock(Collector.class);
+        when(collectorMock.getRequestMessage()).thenReturn(TestUtils.createSimpleRequestMessage(topic));
+        return collectorMock;
+    }
 }
@@ -70,6 +70,34 @@ public class CollectorManagerTest {
         assertFalse(resolved.isPresent());
     }
 
+    @Test
+    public void testHandleMessageRegisteredCollectorWithNonUuidCorrelationId() {
+        Message originalAndReceivedMessage = TestUtils.createMsbRequestMessage(TOPIC, null, "correlation-1",
+                TestUtils.createSimpleRequestPayload());
+        when(collectorMock.getRequestMessage()).thenReturn(originalAndReceivedMessage);
+        CollectorManager collectorManager = new CollectorManager(TOPIC, channelManagerMock);
+        collectorManager.registerCollector(collectorMock);
+
+        assertEquals(collectorMock, collectorManager.resolveMessageHandler(originalAndReceivedMessage).get());
+
+        collectorManager.unregisterCollector(collectorMock);
+        assertFalse(collectorManager.resolveMessageHandler(originalAndReceivedMessage).isPresent());
+    }
+
+    @Test
+    public void testInFlightRequests() {
+        Collector secondCollectorMock = mock(Collector.class);
+        when(secondCollectorMock.getRequestMessage()).thenReturn(TestUtils.createSimpleRequestMessage(TOPIC));
+
+        CollectorManager collectorManager = new CollectorManager(TOPIC, channelManagerMock);
+        collectorManager.registerCollector(collectorMock);
+        collectorManager.registerCollector(secondCollectorMock);
+        assertEquals(2, collectorManager.getInFlightRequests());
+
+        collectorManager.unregisterCollector(collectorMock);
+        assertEquals(1, collectorManager.getInFlightRequests());
+    }
+
     @Test
     public void testRegisterCollector() {
         CollectorManager collectorManager = new CollectorManager(TOPIC, channelManagerMock);
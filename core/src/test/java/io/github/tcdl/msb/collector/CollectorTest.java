@@ -26,11 +26,18 @@ import io.github.tcdl.msb.support.Utils;
 
 import java.io.IOException;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.Before;
@@ -159,6 +166,8 @@ public class CollectorTest {
         when(eventHandlers.onResponse()).thenReturn(onResponse);
         when(eventHandlers.onRawResponse()).thenReturn(onRawResponse);
         
+        when(msbConfigurationsMock.isRetainDeliveredMessages()).thenReturn(true);
+
         AcknowledgementHandler acknowledgeHandler = mock(AcknowledgementHandler.class);
         MessageContext messageContext = mock(MessageContext.class);
         
@@ -225,6 +234,7 @@ public class CollectorTest {
     public void testHandleResponseReceivedAck() {
         BiConsumer<Acknowledge, MessageContext> onAck = mock(BiConsumer.class);
         when(eventHandlers.onAcknowledge()).thenReturn(onAck);
+        when(msbConfigurationsMock.isRetainDeliveredMessages()).thenReturn(true);
         Collector<RestPayload> collector = createCollector();
         
         AcknowledgementHandler ackHandler = mock(AcknowledgementHandler.class);
@@ -235,6 +245,54 @@ public class CollectorTest {
         assertFalse(collector.getPayloadMessages().contains(responseMessageWithAck));
     }
 
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testDeliveredMessagesNotRetainedByDefault() {
+        BiConsumer<RestPayload, MessageContext> onResponse = mock(BiConsumer.class);
+        when(eventHandlers.onResponse()).thenReturn(onResponse);
+        when(requestOptionsMock.getWaitForResponses()).thenReturn(RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT);
+        Collector<RestPayload> collector = createCollector();
+        Message responseMessage = TestUtils.createMsbRequestMessage(TOPIC, "some body");
+
+        notifyMessagesConsumed(collector, 3);
+        collector.handleMessage(responseMessageWithAck, null);
+        collector.handleMessage(responseMessage, null);
+        collector.handleMessage(responseMessage, null);
+
+        verify(onResponse, times(2)).accept(any(), eq(messageContextMock));
+        assertEquals(1, collector.getAckMessagesCount());
+        assertEquals(2, collector.getPayloadMessagesCount());
+        assertTrue(collector.getAckMessages().isEmpty());
+        assertTrue(collector.getPayloadMessages().isEmpty());
+    }
+
+    @Test
+    public void testReleaseRequestPayload() {
+        Message requestMessage = TestUtils.createMsbRequestMessage(TOPIC, "request body");
+        Collector<RestPayload> collector = new Collector<>(TOPIC, requestMessage, requestOptionsMock, msbContext, eventHandlers,
+                new TypeReference<RestPayload>() {
+                });
+
+        collector.releaseRequestPayload();
+
+        assertFalse(collector.getRequestMessage().hasPayload());
+        assertEquals(requestMessage.getId(), collector.getRequestMessage().getId());
+        assertEquals(requestMessage.getCorrelationId(), collector.getRequestMessage().getCorrelationId());
+    }
+
+    @Test
+    public void testReleaseRequestPayloadWhenDeliveredMessagesRetained() {
+        when(msbConfigurationsMock.isRetainDeliveredMessages()).thenReturn(true);
+        Message requestMessage = TestUtils.createMsbRequestMessage(TOPIC, "request body");
+        Collector<RestPayload> collector = new Collector<>(TOPIC, requestMessage, requestOptionsMock, msbContext, eventHandlers,
+                new TypeReference<RestPayload>() {
+                });
+
+        collector.releaseRequestPayload();
+
+        assertSame(requestMessage, collector.getRequestMessage());
+    }
+
     @Test
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void testHandleResponseEndEventNoResponsesRemaining() {
@@ -1162,6 +1220,69 @@ public class CollectorTest {
         assertThat(timeoutCaptor.getValue()).isBetween(1, timeoutLeftToWait);
     }
 
+    @Test
+    public void testHandleResponseEndsWhenCompletionConditionIsMet() {
+        when(requestOptionsMock.getWaitForResponses()).thenReturn(-1);
+        when(requestOptionsMock.getResponseTimeout()).thenReturn(10000);
+        @SuppressWarnings("unchecked")
+        Callback<Void> onEnd = mock(Callback.class);
+        when(eventHandlers.onEnd()).thenReturn(onEnd);
+        LongAdder responses = new LongAdder();
+        when(eventHandlers.onRawResponse()).thenReturn((message, messageContext) -> responses.increment());
+        when(eventHandlers.completionCondition()).thenReturn(() -> responses.intValue() >= 2);
+
+        Collector<RestPayload> collector = createCollector();
+        collector.listenForResponses();
+        collector.waitForResponses();
+
+        notifyMessagesConsumed(collector, 1);
+        collector.handleMessage(TestUtils.createMsbRequestMessage(TOPIC, "first"), null);
+        verify(onEnd, never()).call(any());
+
+        notifyMessagesConsumed(collector, 1);
+        collector.handleMessage(TestUtils.createMsbRequestMessage(TOPIC, "second"), null);
+        verify(onEnd).call(any());
+        verify(collectorManagerMock).unregisterCollector(collector);
+    }
+
+    @Test
+    public void testWaitUntilDeadline() throws InterruptedException {
+        int deadlineMs = 1000;
+        int initCollectorAfter = 50;
+        ScheduledFuture deadlineTimerMock = mock(ScheduledFuture.class);
+        ScheduledFuture timeoutTimerMock = mock(ScheduledFuture.class);
+        ArgumentCaptor<Integer> timeoutCaptor = ArgumentCaptor.forClass(Integer.class);
+        when(timeoutManagerMock.enableResponseTimeout(anyInt(), any())).thenReturn(deadlineTimerMock, timeoutTimerMock);
+        Collector<RestPayload> collector = createCollector();
+        Thread.sleep(initCollectorAfter);
+        collector.waitUntilDeadline(deadlineMs);
+
+        verify(timeoutManagerMock).enableResponseTimeout(timeoutCaptor.capture(), same(collector));
+        assertThat(timeoutCaptor.getValue()).isBetween(1, deadlineMs - initCollectorAfter);
+
+        // the deadline is not extended by acks
+        collector.processAck(new Acknowledge.Builder().withResponderId("a").withTimeoutMs(deadlineMs * 2).build());
+        verify(deadlineTimerMock, never()).cancel(anyBoolean());
+
+        collector.end();
+        verify(deadlineTimerMock).cancel(anyBoolean());
+    }
+
+    @Test
+    public void testWaitUntilPassedDeadline() throws InterruptedException {
+        @SuppressWarnings("unchecked")
+        Callback<Void> onEnd = mock(Callback.class);
+        when(eventHandlers.onEnd()).thenReturn(onEnd);
+        Collector<RestPayload> collector = createCollector();
+        collector.listenForResponses();
+        Thread.sleep(20);
+
+        collector.waitUntilDeadline(10);
+
+        verify(onEnd).call(any());
+        verify(timeoutManagerMock, never()).enableResponseTimeout(anyInt(), any());
+    }
+
     @Test
     public void testMultipleAckTimeouts() throws InterruptedException {
         Collector<RestPayload> collector = createCollector();
@@ -1188,6 +1309,97 @@ public class CollectorTest {
         verify(timeoutManagerMock, times(numAckTimeouts * numAckSequenceRepeats + 1)).enableResponseTimeout(anyInt(), any());
     }
 
+    @Test
+    public void testConcurrentAckTimeoutsEndWithMaxTimeout() throws Exception {
+        int respondersCount = 8;
+        int acksPerResponder = 100;
+        int maxTimeoutMs = 100000;
+        Collector<RestPayload> collector = createCollector();
+        ExecutorService executor = Executors.newFixedThreadPool(respondersCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> acks = IntStream.range(0, respondersCount).mapToObj(responder -> executor.submit(() -> {
+            start.await();
+            for (int i = 1; i <= acksPerResponder; i++) {
+                int timeoutMs = maxTimeoutMs / acksPerResponder * i - responder;
+                collector.processAck(new Acknowledge.Builder().withResponderId("responder" + responder).withTimeoutMs(timeoutMs).build());
+            }
+            return null;
+        })).collect(Collectors.toList());
+        start.countDown();
+        for (Future<?> ack : acks) {
+            ack.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        ArgumentCaptor<Integer> timeoutCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(timeoutManagerMock, atLeastOnce()).enableResponseTimeout(timeoutCaptor.capture(), any());
+        List<Integer> enabledTimeouts = timeoutCaptor.getAllValues();
+        assertThat(enabledTimeouts.get(enabledTimeouts.size() - 1)).isBetween(maxTimeoutMs - 10000, maxTimeoutMs);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testOnEndInvokedOnceWhenResponsesHandledConcurrentlyWithEnd() throws Exception {
+        int threadsCount = 8;
+        int messagesPerThread = 200;
+        int lostMessagesCount = 50;
+        when(requestOptionsMock.getAckTimeout()).thenReturn(0);
+        when(requestOptionsMock.getResponseTimeout()).thenReturn(100);
+        when(requestOptionsMock.getWaitForResponses()).thenReturn(RequestOptions.WAIT_FOR_RESPONSES_UNTIL_TIMEOUT);
+
+        LongAdder responsesCounter = new LongAdder();
+        BiConsumer<RestPayload, MessageContext> onResponse = (payload, messageContext) -> responsesCounter.increment();
+        when(eventHandlers.onResponse()).thenReturn(onResponse);
+        LongAdder onEndCounter = new LongAdder();
+        CompletableFuture<Long> responsesOnEnd = new CompletableFuture<>();
+        Callback<Void> onEnd = (Void in) -> {
+            onEndCounter.increment();
+            responsesOnEnd.complete(responsesCounter.sum());
+        };
+        when(eventHandlers.onEnd()).thenReturn(onEnd);
+
+        Collector<RestPayload> collector = createCollector();
+        collector.listenForResponses();
+        notifyMessagesConsumed(collector, threadsCount * messagesPerThread + lostMessagesCount);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount + 2);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < threadsCount; i++) {
+            List<Message> responses = IntStream.range(0, messagesPerThread)
+                    .mapToObj(j -> TestUtils.createMsbRequestMessage(TOPIC, "some body"))
+                    .collect(Collectors.toList());
+            tasks.add(executor.submit(() -> {
+                start.await();
+                responses.forEach(response -> collector.handleMessage(response, null));
+                return null;
+            }));
+        }
+        tasks.add(executor.submit(() -> {
+            start.await();
+            notifyMessagesLost(collector, lostMessagesCount);
+            return null;
+        }));
+        tasks.add(executor.submit(() -> {
+            start.await();
+            collector.end();
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, onEndCounter.intValue());
+        assertEquals(threadsCount * messagesPerThread, responsesOnEnd.get().intValue());
+
+        collector.end();
+        assertEquals(1, onEndCounter.intValue());
+    }
+
     @Test
     public void testWaitForAcks() {
         int timeoutMs = 1000;
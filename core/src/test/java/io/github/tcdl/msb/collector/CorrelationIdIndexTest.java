@@ -0,0 +1,122 @@
+package io.github.tcdl.msb.collector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CorrelationIdIndexTest {
+
+    private final CorrelationIdIndex<String> index = new CorrelationIdIndex<>();
+
+    @Test
+    public void testUuidIds() {
+        String id = UUID.randomUUID().toString();
+
+        assertNull(index.putIfAbsent(id, "first"));
+        assertEquals("first", index.putIfAbsent(id, "second"));
+        assertEquals("first", index.get(id));
+        assertNull(index.get(UUID.randomUUID().toString()));
+        assertEquals(1, index.size());
+
+        assertEquals("first", index.remove(id));
+        assertNull(index.remove(id));
+        assertNull(index.get(id));
+        assertEquals(0, index.size());
+
+        assertNull(index.putIfAbsent(id, "second"));
+        assertEquals("second", index.get(id));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testOtherIds() {
+        String id = "correlation-1";
+        String upperCaseUuid = UUID.randomUUID().toString().toUpperCase();
+
+        assertNull(index.putIfAbsent(id, "first"));
+        assertNull(index.putIfAbsent(upperCaseUuid, "second"));
+        assertEquals("first", index.get(id));
+        assertEquals("second", index.get(upperCaseUuid));
+        assertNull(index.get(upperCaseUuid.toLowerCase()));
+        assertEquals(2, index.size());
+
+        assertEquals("first", index.remove(id));
+        assertNull(index.get(id));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testManyIdsAddedAndRemoved() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            index.putIfAbsent(id, id);
+            if (i % 2 == 0) {
+                index.remove(ids.get(i / 2));
+            }
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            assertEquals(i < 5000 ? null : id, index.get(id));
+        }
+        assertEquals(5000, index.size());
+    }
+
+    @Test
+    public void testLookupsDuringConcurrentUpdates() throws Exception {
+        int writers = 4;
+        int idsPerWriter = 20000;
+        List<String> permanentIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = UUID.randomUUID().toString();
+            permanentIds.add(id);
+            index.putIfAbsent(id, id);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < idsPerWriter; j++) {
+                    String id = UUID.randomUUID().toString();
+                    index.putIfAbsent(id, id);
+                    assertEquals(id, index.get(id));
+                    index.remove(id);
+                }
+                return null;
+            }));
+        }
+        Future<?> reader = executor.submit(() -> {
+            start.await();
+            while (!tasks.stream().allMatch(Future::isDone)) {
+                for (String id : permanentIds) {
+                    assertEquals(id, index.get(id));
+                }
+            }
+            return null;
+        });
+
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        reader.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(permanentIds.size(), index.size());
+    }
+}
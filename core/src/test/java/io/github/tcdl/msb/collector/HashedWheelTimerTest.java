@@ -0,0 +1,207 @@
+package io.github.tcdl.msb.collector;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class HashedWheelTimerTest {
+
+    private static final int TICK_MS = 5;
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        // a small wheel makes timeouts take several rounds
+        timer = createTimer(8);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void testTaskRunAfterDelay() {
+        Runnable task = mock(Runnable.class);
+
+        timer.schedule(task, 100, TimeUnit.MILLISECONDS);
+
+        verify(task, after(50).never()).run();
+        verify(task, timeout(1000)).run();
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void testTasksRunInDeadlineOrder() throws Exception {
+        List<Integer> runOrder = new CopyOnWriteArrayList<>();
+        CountDownLatch allRun = new CountDownLatch(3);
+
+        timer.schedule(() -> { runOrder.add(3); allRun.countDown(); }, 120, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { runOrder.add(1); allRun.countDown(); }, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { runOrder.add(2); allRun.countDown(); }, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(allRun.await(2, TimeUnit.SECONDS));
+        assertEquals(3, runOrder.size());
+        assertEquals(Integer.valueOf(1), runOrder.get(0));
+        assertEquals(Integer.valueOf(2), runOrder.get(1));
+        assertEquals(Integer.valueOf(3), runOrder.get(2));
+    }
+
+    @Test
+    public void testCancelledTaskNotRun() {
+        Runnable task = mock(Runnable.class);
+
+        ScheduledFuture<?> future = timer.schedule(task, 30, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.getPendingTimeouts());
+
+        assertTrue(future.cancel(true));
+        assertFalse(future.cancel(true));
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+        assertEquals(0, timer.getPendingTimeouts());
+        verify(task, after(200).never()).run();
+    }
+
+    @Test
+    public void testExpiredTaskNotCancelled() throws Exception {
+        Runnable task = mock(Runnable.class);
+
+        ScheduledFuture<?> future = timer.schedule(task, 0, TimeUnit.MILLISECONDS);
+
+        verify(task, timeout(1000)).run();
+        future.get(1, TimeUnit.SECONDS);
+        assertFalse(future.cancel(true));
+        assertFalse(future.isCancelled());
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void testGetWaitsForTask() throws Exception {
+        Runnable task = mock(Runnable.class);
+
+        ScheduledFuture<?> future = timer.schedule(task, 50, TimeUnit.MILLISECONDS);
+
+        assertNull(future.get());
+        verify(task).run();
+        assertTrue(future.isDone());
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetTimesOut() throws Exception {
+        timer.schedule(() -> { }, 1, TimeUnit.HOURS).get(20, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testGetOfCancelledTimeout() throws Exception {
+        ScheduledFuture<?> future = timer.schedule(() -> { }, 1, TimeUnit.HOURS);
+        future.cancel(false);
+
+        future.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testGetOfFailedTask() throws Exception {
+        timer.schedule(() -> { throw new RuntimeException("task failure"); }, 0, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPendingTimeouts() {
+        for (int i = 0; i < 1000; i++) {
+            ScheduledFuture<?> future = timer.schedule(() -> { }, 1, TimeUnit.HOURS);
+            if (i % 2 == 0) {
+                future.cancel(true);
+            }
+        }
+
+        assertEquals(500, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void testPendingTasksRunOnShutdown() {
+        Runnable pendingTask = mock(Runnable.class);
+        Runnable cancelledTask = mock(Runnable.class);
+        timer.schedule(pendingTask, 1, TimeUnit.HOURS);
+        timer.schedule(cancelledTask, 1, TimeUnit.HOURS).cancel(true);
+
+        timer.shutdown();
+
+        verify(pendingTask).run();
+        verify(cancelledTask, never()).run();
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testScheduleAfterShutdownRejected() {
+        timer.shutdown();
+
+        timer.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testFailedTaskDoesNotStopTimer() {
+        Runnable task = mock(Runnable.class);
+
+        timer.schedule(() -> { throw new RuntimeException("task failure"); }, 0, TimeUnit.MILLISECONDS);
+        timer.schedule(task, 20, TimeUnit.MILLISECONDS);
+
+        verify(task, timeout(1000)).run();
+    }
+
+    @Test
+    public void testManyConcurrentTimeouts() throws Exception {
+        int threads = 4;
+        int timeoutsPerThread = 5000;
+        AtomicInteger expired = new AtomicInteger();
+        CountDownLatch allScheduled = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < timeoutsPerThread; i++) {
+                    ScheduledFuture<?> future = timer.schedule(expired::incrementAndGet, i % 50, TimeUnit.MILLISECONDS);
+                    if (i % 2 == 0) {
+                        future.cancel(true);
+                    }
+                }
+                allScheduled.countDown();
+            }).start();
+        }
+
+        assertTrue(allScheduled.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (timer.getPendingTimeouts() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertEquals(0, timer.getPendingTimeouts());
+        timer.shutdown();
+        assertEquals(threads * timeoutsPerThread / 2, expired.get());
+    }
+
+    private static HashedWheelTimer createTimer(int wheelSize) {
+        return new HashedWheelTimer("test", TICK_MS, TimeUnit.MILLISECONDS, wheelSize,
+                new BasicThreadFactory.Builder().daemon(true).build(), Executors.newFixedThreadPool(2));
+    }
+}
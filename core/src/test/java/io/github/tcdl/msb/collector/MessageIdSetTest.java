@@ -0,0 +1,60 @@
+package io.github.tcdl.msb.collector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MessageIdSetTest {
+
+    @Test
+    public void testAddUuid() {
+        MessageIdSet messageIdSet = new MessageIdSet();
+        String id = UUID.randomUUID().toString();
+
+        assertTrue(messageIdSet.add(id));
+        assertFalse(messageIdSet.add(id));
+        assertFalse(messageIdSet.add(new String(id)));
+        assertEquals(1, messageIdSet.size());
+    }
+
+    @Test
+    public void testAddOtherIds() {
+        MessageIdSet messageIdSet = new MessageIdSet();
+        String uuid = UUID.randomUUID().toString();
+
+        assertTrue(messageIdSet.add(uuid));
+        assertTrue(messageIdSet.add(uuid.toUpperCase()));
+        assertTrue(messageIdSet.add("message-1"));
+        assertFalse(messageIdSet.add("message-1"));
+        assertEquals(3, messageIdSet.size());
+    }
+
+    @Test
+    public void testAddZeroUuid() {
+        MessageIdSet messageIdSet = new MessageIdSet();
+        String zeroUuid = new UUID(0, 0).toString();
+
+        assertTrue(messageIdSet.add(zeroUuid));
+        assertFalse(messageIdSet.add(zeroUuid));
+        assertEquals(1, messageIdSet.size());
+    }
+
+    @Test
+    public void testGrowth() {
+        MessageIdSet messageIdSet = new MessageIdSet();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+
+        ids.forEach(id -> assertTrue(messageIdSet.add(id)));
+        ids.forEach(id -> assertFalse(messageIdSet.add(id)));
+        assertEquals(ids.size(), messageIdSet.size());
+    }
+}
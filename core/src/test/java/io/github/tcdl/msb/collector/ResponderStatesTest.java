@@ -0,0 +1,99 @@
+package io.github.tcdl.msb.collector;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponderStatesTest {
+
+    private static final int DEFAULT_TIMEOUT_MS = 100;
+
+    private final ResponderStates responderStates = new ResponderStates();
+
+    @Test
+    public void testNoResponders() {
+        assertFalse(responderStates.isResponsesRemainingKnown());
+        assertEquals(0, responderStates.getResponsesRemaining());
+        assertEquals(DEFAULT_TIMEOUT_MS, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+    }
+
+    @Test
+    public void testResponsesRemainingSummedUp() {
+        assertEquals(Integer.valueOf(2), responderStates.update("a", 2, null));
+        assertEquals(Integer.valueOf(3), responderStates.update("b", 3, null));
+        assertEquals(Integer.valueOf(1), responderStates.update("a", -1, null));
+
+        assertTrue(responderStates.isResponsesRemainingKnown());
+        assertEquals(4, responderStates.getResponsesRemaining());
+    }
+
+    @Test
+    public void testResponsesRemainingResetByZero() {
+        responderStates.update("a", 5, null);
+        assertEquals(Integer.valueOf(0), responderStates.update("a", 0, null));
+        assertEquals(Integer.valueOf(0), responderStates.update("a", -1, null));
+
+        assertEquals(0, responderStates.getResponsesRemaining());
+    }
+
+    @Test
+    public void testNegativeResponsesRemainingOfUnknownResponderIgnored() {
+        assertNull(responderStates.update("a", -1, null));
+
+        assertFalse(responderStates.isResponsesRemainingKnown());
+        assertEquals(0, responderStates.getResponsesRemaining());
+    }
+
+    @Test
+    public void testMaxTimeoutOfAwaitedResponders() {
+        responderStates.update("a", 1, 500);
+        responderStates.update("b", 1, 300);
+        responderStates.update("c", null, 400);
+        assertEquals(500, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+        assertEquals(1000, responderStates.getMaxTimeoutMs(1000));
+
+        responderStates.update("a", -1, null);
+        assertEquals(400, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+
+        responderStates.update("c", 0, null);
+        assertEquals(300, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+
+        responderStates.update("b", null, 200);
+        assertEquals(200, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+
+        responderStates.update("b", -1, null);
+        assertEquals(DEFAULT_TIMEOUT_MS, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+    }
+
+    @Test
+    public void testMaxTimeoutSharedByResponders() {
+        responderStates.update("a", 1, 500);
+        responderStates.update("b", 1, 500);
+
+        responderStates.update("a", -1, null);
+        assertEquals(500, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+
+        responderStates.update("b", -1, null);
+        assertEquals(DEFAULT_TIMEOUT_MS, responderStates.getMaxTimeoutMs(DEFAULT_TIMEOUT_MS));
+    }
+
+    @Test
+    public void testAggregatesMaintainedIncrementallyForManyResponders() {
+        int responders = 1000;
+        for (int i = 0; i < responders; i++) {
+            responderStates.update("responder" + i, 1, DEFAULT_TIMEOUT_MS + i);
+        }
+        assertEquals(responders, responderStates.getResponsesRemaining());
+
+        // responders with the longest timeouts respond first, so every response lowers the max timeout
+        for (int i = responders - 1; i > 0; i--) {
+            responderStates.update("responder" + i, -1, null);
+
+            assertEquals(i, responderStates.getResponsesRemaining());
+            assertEquals(DEFAULT_TIMEOUT_MS + i - 1, responderStates.getMaxTimeoutMs(0));
+        }
+    }
+}
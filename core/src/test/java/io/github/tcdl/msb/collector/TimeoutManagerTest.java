@@ -1,9 +1,13 @@
 package io.github.tcdl.msb.collector;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.support.TestUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +15,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.concurrent.ScheduledFuture;
+
 @RunWith(MockitoJUnitRunner.class)
 public class TimeoutManagerTest {
 
@@ -77,4 +83,31 @@ public class TimeoutManagerTest {
 
         verify(mockCollector, never()).end();
     }
+
+    @Test
+    public void testWheelTimerByDefault() {
+        TimeoutManager timeoutManager = TimeoutManager.create(TestUtils.createMsbConfigurations());
+        timeoutManager.enableResponseTimeout(10, mockCollector);
+        verify(mockCollector, timeout(200)).end();
+        timeoutManager.shutdown();
+    }
+
+    @Test
+    public void testPendingTimeouts() {
+        TimeoutManager timeoutManager = TimeoutManager.create(TestUtils.createMsbConfigurations());
+        ScheduledFuture<?> responseTimeout = timeoutManager.enableResponseTimeout(60000, mockCollector);
+        timeoutManager.enableAckTimeout(60000, mockCollector);
+        assertEquals(2, timeoutManager.getPendingTimeouts());
+
+        responseTimeout.cancel(true);
+        assertEquals(1, timeoutManager.getPendingTimeouts());
+        timeoutManager.shutdown();
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testUnknownTimerType() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.getTimerType()).thenReturn("unknown");
+        TimeoutManager.create(msbConfig);
+    }
 }
@@ -0,0 +1,31 @@
+package io.github.tcdl.msb.collector;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UuidsTest {
+
+    @Test
+    public void testUuidBits() {
+        UUID uuid = UUID.randomUUID();
+
+        assertTrue(Uuids.isUuid(uuid.toString()));
+        assertEquals(uuid.getMostSignificantBits(), Uuids.getMostSigBits(uuid.toString()));
+        assertEquals(uuid.getLeastSignificantBits(), Uuids.getLeastSigBits(uuid.toString()));
+    }
+
+    @Test
+    public void testIsUuid() {
+        assertFalse(Uuids.isUuid(null));
+        assertFalse(Uuids.isUuid("message-1"));
+        assertFalse(Uuids.isUuid("0123456789abcdef0123456789abcdef0123"));
+        assertFalse(Uuids.isUuid("01234567-89ab-cdef-0123-456789abcdeg"));
+        assertFalse(Uuids.isUuid("01234567-89AB-CDEF-0123-456789ABCDEF"));
+        assertTrue(Uuids.isUuid("01234567-89ab-cdef-0123-456789abcdef"));
+    }
+}
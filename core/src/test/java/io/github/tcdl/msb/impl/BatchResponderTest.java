@@ -0,0 +1,222 @@
+package io.github.tcdl.msb.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tcdl.msb.api.AcknowledgementHandler;
+import io.github.tcdl.msb.api.Responder;
+import io.github.tcdl.msb.collector.TimeoutManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BatchResponderTest {
+
+    private final ObjectMapper payloadMapper = new ObjectMapper();
+
+    private final AtomicLong now = new AtomicLong(1000);
+
+    private Responder responderMock;
+    private AcknowledgementHandler acknowledgementHandlerMock;
+    private TimeoutManager timeoutManagerMock;
+    private ScheduledFuture<?> timeoutFutureMock;
+    private BatchResponder batchResponder;
+
+    @Before
+    public void setUp() {
+        responderMock = mock(Responder.class);
+        acknowledgementHandlerMock = mock(AcknowledgementHandler.class);
+        timeoutManagerMock = mock(TimeoutManager.class);
+        timeoutFutureMock = mock(ScheduledFuture.class);
+        doReturn(timeoutFutureMock).when(timeoutManagerMock).enableBatchResponseTimeout(anyInt(), any(Runnable.class));
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).then(invocation -> now.get());
+        batchResponder = new BatchResponder(responderMock, acknowledgementHandlerMock, payloadMapper, timeoutManagerMock, clock, 3);
+    }
+
+    @Test
+    public void testResponsesAreSentOnceAllItemsAreAnswered() {
+        batchResponder.getItemResponder(2).send("response3");
+        batchResponder.getItemResponder(0).send("response1");
+        verify(responderMock, never()).send(any());
+
+        batchResponder.getItemResponder(1).sendAck(0, 0);
+
+        assertEquals("[\"response1\",null,\"response3\"]", sentResponse().toString());
+    }
+
+    @Test
+    public void testShortestMaxAgeIsSent() {
+        batchResponder.getItemResponder(0).send("response1", 500);
+        batchResponder.getItemResponder(1).send("response2");
+        batchResponder.getItemResponder(2).send("response3", 100);
+
+        verify(responderMock).send(any(), eq(100));
+    }
+
+    @Test
+    public void testItemIsAnsweredOnce() {
+        batchResponder.getItemResponder(0).send("response1");
+        batchResponder.getItemResponder(0).send("another response1");
+        batchResponder.getItemResponder(1).send("response2");
+        verify(responderMock, never()).send(any());
+
+        batchResponder.getItemResponder(2).send("response3");
+
+        assertEquals("[\"response1\",\"response2\",\"response3\"]", sentResponse().toString());
+    }
+
+    @Test
+    public void testAckWithTimeoutIsSentForBatch() {
+        batchResponder.waitForResponses(500);
+        batchResponder.getItemResponder(0).sendAck(1000, 1);
+
+        verify(responderMock).sendAck(1000, 1);
+        verify(responderMock, never()).send(any());
+    }
+
+    @Test
+    public void testAcksDuringProcessingAreCoalesced() {
+        for (int i = 0; i < 3; i++) {
+            batchResponder.getItemResponder(i).sendAck(1000 * (i + 1), 1);
+            batchResponder.processed(i);
+        }
+        verify(responderMock, never()).sendAck(anyInt(), anyInt());
+
+        batchResponder.waitForResponses(500);
+
+        verify(responderMock, times(1)).sendAck(anyInt(), anyInt());
+        verify(responderMock).sendAck(3000, 1);
+    }
+
+    @Test
+    public void testAckIsNotSentIfBatchIsAnsweredDuringProcessing() {
+        for (int i = 0; i < 3; i++) {
+            batchResponder.getItemResponder(i).sendAck(1000, 1);
+            batchResponder.getItemResponder(i).send("response");
+            batchResponder.processed(i);
+        }
+
+        batchResponder.waitForResponses(500);
+
+        verify(responderMock, never()).sendAck(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testAckNotExtendingAnnouncedTimeoutIsNotSent() {
+        batchResponder.waitForResponses(500);
+        batchResponder.getItemResponder(0).sendAck(2000, 1);
+        now.addAndGet(100);
+
+        batchResponder.getItemResponder(1).sendAck(1000, 1);
+        batchResponder.getItemResponder(2).sendAck(1900, 1);
+
+        verify(responderMock, times(1)).sendAck(anyInt(), anyInt());
+        verify(responderMock).sendAck(2000, 1);
+    }
+
+    @Test
+    public void testAckWithoutTimeoutIsNotSent() {
+        batchResponder.getItemResponder(0).sendAck(null, 2);
+
+        verify(responderMock, never()).sendAck(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testBatchIsConfirmedOnceEveryItemIsProcessed() {
+        batchResponder.getItemResponder(0).send("response1");
+        batchResponder.processed(0);
+        batchResponder.getItemAcknowledgementHandler(1).setAutoAcknowledgement(false);
+        batchResponder.processed(1);
+        batchResponder.processed(2);
+        verify(acknowledgementHandlerMock, never()).confirmMessage();
+
+        batchResponder.getItemAcknowledgementHandler(1).confirmMessage();
+
+        verify(acknowledgementHandlerMock, times(1)).confirmMessage();
+    }
+
+    @Test
+    public void testRejectedItemIsAnsweredWithNull() {
+        batchResponder.getItemResponder(0).send("response1");
+        batchResponder.getItemAcknowledgementHandler(1).retryMessage();
+        batchResponder.getItemAcknowledgementHandler(2).rejectMessage();
+
+        assertEquals("[\"response1\",null,null]", sentResponse().toString());
+        verify(acknowledgementHandlerMock, never()).retryMessage();
+        verify(acknowledgementHandlerMock, never()).rejectMessage();
+    }
+
+    @Test
+    public void testFailedItemIsAnsweredWithNull() {
+        batchResponder.getItemResponder(0).send("response1");
+        batchResponder.fail(1);
+        batchResponder.getItemResponder(1).send("late response2");
+        batchResponder.getItemResponder(2).send("response3");
+
+        assertEquals("[\"response1\",null,\"response3\"]", sentResponse().toString());
+    }
+
+    @Test
+    public void testUnansweredItemsAreAnsweredWithNullOnResponseTimeout() {
+        batchResponder.getItemResponder(0).send("response1");
+        for (int i = 0; i < 3; i++) {
+            batchResponder.processed(i);
+        }
+        batchResponder.waitForResponses(500);
+
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock).enableBatchResponseTimeout(eq(500), timeoutCaptor.capture());
+        now.addAndGet(500);
+        timeoutCaptor.getValue().run();
+
+        assertEquals("[\"response1\",null,null]", sentResponse().toString());
+        verify(acknowledgementHandlerMock, times(1)).confirmMessage();
+    }
+
+    @Test
+    public void testResponseTimeoutIsExtendedByAck() {
+        batchResponder.waitForResponses(500);
+        batchResponder.getItemResponder(0).sendAck(2000, 1);
+
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock).enableBatchResponseTimeout(eq(500), timeoutCaptor.capture());
+        now.addAndGet(500);
+        timeoutCaptor.getValue().run();
+
+        verify(timeoutManagerMock).enableBatchResponseTimeout(eq(1500), any(Runnable.class));
+        verify(responderMock, never()).send(any());
+    }
+
+    @Test
+    public void testResponseTimeoutIsCancelledOnceBatchIsDone() {
+        batchResponder.waitForResponses(500);
+
+        for (int i = 0; i < 3; i++) {
+            batchResponder.getItemResponder(i).send("response");
+            batchResponder.processed(i);
+        }
+
+        verify(timeoutFutureMock).cancel(false);
+    }
+
+    private JsonNode sentResponse() {
+        ArgumentCaptor<JsonNode> responseCaptor = ArgumentCaptor.forClass(JsonNode.class);
+        verify(responderMock).send(responseCaptor.capture());
+        return responseCaptor.getValue();
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.tcdl.msb.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void testHedgesAreLimitedByBudgetPercent() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(10);
+
+        for (int i = 0; i < 9; i++) {
+            hedgingPolicy.recordRequest();
+        }
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+
+        hedgingPolicy.recordRequest();
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+    }
+
+    @Test
+    public void testBudgetIsCapped() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(100);
+
+        for (int i = 0; i < HedgingPolicy.MAX_HEDGES * 2; i++) {
+            hedgingPolicy.recordRequest();
+        }
+
+        for (int i = 0; i < HedgingPolicy.MAX_HEDGES; i++) {
+            assertTrue(hedgingPolicy.tryAcquireHedge());
+        }
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+    }
+
+    @Test
+    public void testNoHedgesWithZeroBudget() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(0);
+
+        for (int i = 0; i < 1000; i++) {
+            hedgingPolicy.recordRequest();
+        }
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+    }
+
+    @Test
+    public void testLatencyP95IsUnknownUntilEnoughLatenciesAreObserved() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(10);
+
+        for (int i = 0; i < HedgingPolicy.MIN_LATENCY_SAMPLES - 1; i++) {
+            hedgingPolicy.recordLatency(10);
+        }
+        assertNull(hedgingPolicy.getLatencyP95());
+
+        hedgingPolicy.recordLatency(10);
+        assertEquals(Integer.valueOf(10), hedgingPolicy.getLatencyP95());
+    }
+
+    @Test
+    public void testLatencyP95() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(10);
+
+        for (int i = 100; i > 0; i--) {
+            hedgingPolicy.recordLatency(i);
+        }
+
+        assertEquals(Integer.valueOf(95), hedgingPolicy.getLatencyP95());
+    }
+
+    @Test
+    public void testLatencyP95OfMostRecentLatencies() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(10);
+
+        for (int i = 0; i < HedgingPolicy.LATENCY_SAMPLES; i++) {
+            hedgingPolicy.recordLatency(1000);
+        }
+        assertEquals(Integer.valueOf(1000), hedgingPolicy.getLatencyP95());
+
+        for (int i = 0; i < HedgingPolicy.LATENCY_SAMPLES; i++) {
+            hedgingPolicy.recordLatency(20);
+        }
+        assertEquals(Integer.valueOf(20), hedgingPolicy.getLatencyP95());
+    }
+}
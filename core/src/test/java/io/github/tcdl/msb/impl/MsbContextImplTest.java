@@ -2,20 +2,27 @@ package io.github.tcdl.msb.impl;
 
 import io.github.tcdl.msb.ChannelManager;
 import io.github.tcdl.msb.api.ObjectFactory;
+import io.github.tcdl.msb.api.metrics.Gauge;
+import io.github.tcdl.msb.api.metrics.MetricSet;
 import io.github.tcdl.msb.callback.MutableCallbackHandler;
 import io.github.tcdl.msb.collector.CollectorManagerFactory;
 import io.github.tcdl.msb.collector.TimeoutManager;
 import io.github.tcdl.msb.config.MsbConfig;
 import io.github.tcdl.msb.message.MessageFactory;
+import io.github.tcdl.msb.support.TestUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MsbContextImplTest {
@@ -75,4 +82,36 @@ public class MsbContextImplTest {
         msbContext.setObjectFactory(objectFactoryMock);
         assertEquals(objectFactoryMock, msbContext.getObjectFactory());
     }
+
+    @Test
+    public void testPendingTimeoutsMetric() {
+        when(timeoutManagerMock.getPendingTimeouts()).thenReturn(42L);
+
+        Gauge<?> pendingTimeouts = (Gauge<?>) msbContext.getMetrics().getMetric(MetricSet.PENDING_TIMEOUTS_METRIC);
+
+        assertEquals(42L, pendingTimeouts.getValue());
+    }
+
+    @Test
+    public void testInFlightRequestsMetric() {
+        when(collectorManagerFactoryMock.getInFlightRequests()).thenReturn(7L);
+
+        Gauge<?> inFlightRequests = (Gauge<?>) msbContext.getMetrics().getMetric(MetricSet.IN_FLIGHT_REQUESTS_METRIC);
+
+        assertEquals(7L, inFlightRequests.getValue());
+    }
+
+    @Test
+    public void testCoalescingMetrics() {
+        RequestKey requestKey = new RequestKey(TestUtils.createMsbRequestMessage("test:metrics", "payload"), "payload".getBytes(StandardCharsets.UTF_8), String.class);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        msbContext.getRequestCoalescer().coalesce(requestKey, () -> result);
+        msbContext.getRequestCoalescer().coalesce(requestKey, () -> result);
+
+        Gauge<?> coalescibleRequests = (Gauge<?>) msbContext.getMetrics().getMetric(MetricSet.COALESCIBLE_REQUESTS_METRIC);
+        Gauge<?> coalescedRequests = (Gauge<?>) msbContext.getMetrics().getMetric(MetricSet.COALESCED_REQUESTS_METRIC);
+
+        assertEquals(2L, coalescibleRequests.getValue());
+        assertEquals(1L, coalescedRequests.getValue());
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.collector.TimeoutManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestBatcherTest {
+
+    private TimeoutManager timeoutManagerMock;
+    private ScheduledFuture lingerFutureMock;
+    private List<List<String>> sentBatches = new ArrayList<>();
+    private RequestBatcher<String> requestBatcher;
+
+    @Before
+    public void setUp() {
+        timeoutManagerMock = mock(TimeoutManager.class);
+        lingerFutureMock = mock(ScheduledFuture.class);
+        when(timeoutManagerMock.enableBatchLinger(anyInt(), any(Runnable.class))).thenReturn(lingerFutureMock);
+        requestBatcher = new RequestBatcher<>(3, 50, timeoutManagerMock, sentBatches::add);
+    }
+
+    @Test
+    public void testFullBatchIsSent() {
+        requestBatcher.add("request1");
+        requestBatcher.add("request2");
+        assertTrue(sentBatches.isEmpty());
+
+        requestBatcher.add("request3");
+
+        assertEquals(singletonList(Arrays.asList("request1", "request2", "request3")), sentBatches);
+        verify(timeoutManagerMock, times(1)).enableBatchLinger(eq(50), any(Runnable.class));
+        verify(lingerFutureMock).cancel(false);
+    }
+
+    @Test
+    public void testLingeredBatchIsSent() {
+        requestBatcher.add("request1");
+        requestBatcher.add("request2");
+
+        lingerOf(1).run();
+
+        assertEquals(singletonList(Arrays.asList("request1", "request2")), sentBatches);
+    }
+
+    @Test
+    public void testNextBatchLingersAnew() {
+        requestBatcher.add("request1");
+        lingerOf(1).run();
+
+        requestBatcher.add("request2");
+
+        verify(timeoutManagerMock, times(2)).enableBatchLinger(eq(50), any(Runnable.class));
+        assertEquals(1, sentBatches.size());
+    }
+
+    @Test
+    public void testEmptyBatchIsNotSent() {
+        requestBatcher.add("request1");
+        requestBatcher.add("request2");
+        requestBatcher.add("request3");
+
+        lingerOf(1).run();
+
+        assertEquals(1, sentBatches.size());
+    }
+
+    @Test
+    public void testRequestIsSentAtOnceIfLingerCannotBeScheduled() {
+        when(timeoutManagerMock.enableBatchLinger(anyInt(), any(Runnable.class))).thenReturn(null);
+
+        requestBatcher.add("request1");
+
+        assertEquals(singletonList(singletonList("request1")), sentBatches);
+    }
+
+    private Runnable lingerOf(int batches) {
+        ArgumentCaptor<Runnable> lingerCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock, times(batches)).enableBatchLinger(anyInt(), lingerCaptor.capture());
+        return lingerCaptor.getValue();
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.support.TestUtils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private static final String NAMESPACE = "test:coalescer";
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final AtomicInteger sentRequests = new AtomicInteger();
+    private final CompletableFuture<String> sentResult = new CompletableFuture<>();
+    private final Supplier<CompletableFuture<String>> requestSender = () -> {
+        sentRequests.incrementAndGet();
+        return sentResult;
+    };
+
+    @Test
+    public void testIdenticalRequestsShareInFlightRequest() throws Exception {
+        CompletableFuture<String> result1 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        CompletableFuture<String> result2 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+
+        assertEquals(1, sentRequests.get());
+        assertFalse(result1.isDone());
+        assertFalse(result2.isDone());
+
+        sentResult.complete("response");
+
+        assertEquals("response", result1.get());
+        assertEquals("response", result2.get());
+        assertEquals(2, requestCoalescer.getCoalescibleRequests());
+        assertEquals(1, requestCoalescer.getCoalescedRequests());
+    }
+
+    @Test
+    public void testDifferentRequestsAreNotCoalesced() {
+        requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        requestCoalescer.coalesce(requestKey("another payload"), requestSender);
+        requestCoalescer.coalesce(new RequestKey(TestUtils.createMsbRequestMessage("test:another", "payload"), encode("payload"), String.class), requestSender);
+        requestCoalescer.coalesce(new RequestKey(createRequestMessage("payload"), encode("payload"), Integer.class), requestSender);
+
+        assertEquals(4, sentRequests.get());
+        assertEquals(0, requestCoalescer.getCoalescedRequests());
+    }
+
+    @Test
+    public void testRequestIsSentAnewOnceCompleted() {
+        requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        sentResult.complete("response");
+
+        requestCoalescer.coalesce(requestKey("payload"), requestSender);
+
+        assertEquals(2, sentRequests.get());
+    }
+
+    @Test
+    public void testCancellationOfCoalescedRequestDoesNotAffectOthers() throws Exception {
+        CompletableFuture<String> result1 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        CompletableFuture<String> result2 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+
+        result1.cancel(true);
+        sentResult.complete("response");
+
+        assertFalse(sentResult.isCancelled());
+        assertEquals("response", result2.get());
+    }
+
+    @Test
+    public void testCancellationOfSentRequestCancelsCoalescedRequests() {
+        CompletableFuture<String> result1 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        CompletableFuture<String> result2 = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+
+        sentResult.cancel(true);
+
+        assertTrue(result1.isCancelled());
+        assertTrue(result2.isCancelled());
+    }
+
+    @Test
+    public void testFailureToSendRequestIsPropagated() throws Exception {
+        RuntimeException failure = new RuntimeException("failed to send");
+        try {
+            requestCoalescer.coalesce(requestKey("payload"), () -> {
+                throw failure;
+            });
+            fail("Exception expected");
+        } catch (RuntimeException e) {
+            assertEquals(failure, e);
+        }
+
+        CompletableFuture<String> result = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        assertEquals(1, sentRequests.get());
+        sentResult.complete("response");
+        assertEquals("response", result.get());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testExceptionalResultIsPropagated() throws Exception {
+        CompletableFuture<String> result = requestCoalescer.coalesce(requestKey("payload"), requestSender);
+        sentResult.completeExceptionally(new RuntimeException("no response"));
+
+        result.get();
+    }
+
+    private RequestKey requestKey(String payload) {
+        return new RequestKey(createRequestMessage(payload), encode(payload), String.class);
+    }
+
+    private byte[] encode(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Message createRequestMessage(String payload) {
+        return TestUtils.createMsbRequestMessage(NAMESPACE, payload);
+    }
+}
@@ -1,14 +1,22 @@
 package io.github.tcdl.msb.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
 import io.github.tcdl.msb.ChannelManager;
 import io.github.tcdl.msb.Consumer;
 import io.github.tcdl.msb.Producer;
 import io.github.tcdl.msb.api.*;
+import io.github.tcdl.msb.api.exception.ChannelException;
+import io.github.tcdl.msb.api.flow.Publisher;
+import io.github.tcdl.msb.api.flow.Subscriber;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
 import io.github.tcdl.msb.api.message.payload.RestPayload;
 import io.github.tcdl.msb.collector.Collector;
+import io.github.tcdl.msb.collector.TimeoutManager;
+import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.events.EventHandlers;
 import io.github.tcdl.msb.support.TestUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,7 +25,19 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import static io.github.tcdl.msb.support.TestUtils.createPayloadWithTextBody;
@@ -47,6 +67,12 @@ public class RequesterImplTest {
     @Mock
     private Collector collectorMock;
 
+    @Mock
+    private TimeoutManager timeoutManagerMock;
+
+    @Mock
+    private ScheduledFuture hedgeFutureMock;
+
     @Test
     public void testPublishNoWaitForResponses() throws Exception {
         RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(0, 0, 0, null, null, null, null);
@@ -64,6 +90,7 @@ public class RequesterImplTest {
         publishByAllMethods(requester);
 
         verify(collectorMock, times(4)).listenForResponses();
+        verify(collectorMock, times(4)).releaseRequestPayload();
         verify(collectorMock, times(4)).waitForResponses();
     }
 
@@ -201,7 +228,7 @@ public class RequesterImplTest {
 
     @SuppressWarnings("unchecked")
     @Test
-    public void testRequest_customHandlersAreDiscarded() throws Exception {
+    public void testRequest_customHandlersAreNotUsed() throws Exception {
 
         BiConsumer<RestPayload, MessageContext> customOnResponseHandler = mock(BiConsumer.class);
         BiConsumer<Message, MessageContext> customOnRawResponseHandler = mock(BiConsumer.class);
@@ -215,11 +242,16 @@ public class RequesterImplTest {
 
         requester.request(TestUtils.createSimpleRequestPayload());
 
-        assertThat(requester.eventHandlers.onAcknowledge(), not(customOnAcknowledgeHandler));
-        assertThat(requester.eventHandlers.onResponse(), not(customOnResponseHandler));
-        assertThat(requester.eventHandlers.onRawResponse(), not(customOnRawResponseHandler));
-        assertThat(requester.eventHandlers.onEnd(), not(customOnEndHandler));
-        assertThat(requester.eventHandlers.onError(), not(customOnErrorHandler));
+        EventHandlers requestHandlers = handlersOf(requester);
+        assertThat(requestHandlers.onAcknowledge(), not(customOnAcknowledgeHandler));
+        assertThat(requestHandlers.onResponse(), not(customOnResponseHandler));
+        assertThat(requestHandlers.onRawResponse(), not(customOnRawResponseHandler));
+        assertThat(requestHandlers.onEnd(), not(customOnEndHandler));
+        assertThat(requestHandlers.onError(), not(customOnErrorHandler));
+
+        // handlers registered on the requester are kept for publish methods
+        assertThat(requester.eventHandlers.onResponse(), is(customOnResponseHandler));
+        assertThat(requester.eventHandlers.onEnd(), is(customOnEndHandler));
     }
 
     @Test
@@ -232,7 +264,7 @@ public class RequesterImplTest {
         RestPayload mockResponsePayload = mock(RestPayload.class);
         MessageContext mockMessageContext = mock(MessageContext.class);
 
-        requester.eventHandlers.onResponse().accept(mockResponsePayload, mockMessageContext);
+        handlersOf(requester).onResponse().accept(mockResponsePayload, mockMessageContext);
         assertTrue(futureResult.isDone());
         assertEquals(mockResponsePayload, futureResult.get());
     }
@@ -247,7 +279,7 @@ public class RequesterImplTest {
         Message responseMessage = TestUtils.createSimpleResponseMessage("anyNamespace");
         MessageContext mockMessageContext = mock(MessageContext.class);
 
-        requester.eventHandlers.onRawResponse().accept(responseMessage, mockMessageContext);
+        handlersOf(requester).onRawResponse().accept(responseMessage, mockMessageContext);
         assertFalse(futureResult.isDone());
     }
 
@@ -261,7 +293,7 @@ public class RequesterImplTest {
         Message responseMessage = TestUtils.createSimpleResponseMessage("anyNamespace");
         Exception e = new Exception("some message");
 
-        requester.eventHandlers.onError().accept(e, responseMessage);
+        handlersOf(requester).onError().accept(e, responseMessage);
         assertTrue(futureResult.isCancelled());
     }
 
@@ -272,7 +304,7 @@ public class RequesterImplTest {
 
         assertFalse(futureResult.isDone());
 
-        requester.eventHandlers.onEnd().call(null);
+        handlersOf(requester).onEnd().call(null);
         assertTrue(futureResult.isCancelled());
     }
 
@@ -284,8 +316,8 @@ public class RequesterImplTest {
         RestPayload mockResponsePayload = mock(RestPayload.class);
         MessageContext mockMessageContext = mock(MessageContext.class);
 
-        requester.eventHandlers.onResponse().accept(mockResponsePayload, mockMessageContext);
-        requester.eventHandlers.onEnd().call(null);
+        handlersOf(requester).onResponse().accept(mockResponsePayload, mockMessageContext);
+        handlersOf(requester).onEnd().call(null);
         assertFalse(futureResult.isCancelled());
     }
 
@@ -301,7 +333,7 @@ public class RequesterImplTest {
                 .withTimeoutMs(0)
                 .build();
 
-        requester.eventHandlers.onAcknowledge().accept(acknowledge, mockMessageContext);
+        handlersOf(requester).onAcknowledge().accept(acknowledge, mockMessageContext);
         assertTrue(futureResult.isCancelled());
     }
 
@@ -317,10 +349,345 @@ public class RequesterImplTest {
                 .withTimeoutMs(0)
                 .build();
 
-        requester.eventHandlers.onAcknowledge().accept(acknowledge, mockMessageContext);
+        handlersOf(requester).onAcknowledge().accept(acknowledge, mockMessageContext);
         assertTrue(futureResult.isCancelled());
     }
 
+    @Test
+    public void testGather_responsesAreFoldedUntilQuorum() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+        GatherOptions<Integer> gatherOptions = new GatherOptions.Builder<Integer>().withQuorum(2).build();
+        CompletableFuture<Integer> futureResult = requester.gather(TestUtils.createSimpleRequestPayload(), 0,
+                (count, response) -> count + 1, gatherOptions);
+
+        MessageContext mockMessageContext = mock(MessageContext.class);
+
+        handlersOf(requester).onResponse().accept(mock(RestPayload.class), mockMessageContext);
+        assertFalse(futureResult.isDone());
+        assertFalse(handlersOf(requester).completionCondition().getAsBoolean());
+
+        handlersOf(requester).onResponse().accept(mock(RestPayload.class), mockMessageContext);
+        assertTrue(handlersOf(requester).completionCondition().getAsBoolean());
+        assertEquals(Integer.valueOf(2), futureResult.get());
+
+        // late responses are ignored
+        handlersOf(requester).onResponse().accept(mock(RestPayload.class), mockMessageContext);
+        handlersOf(requester).onEnd().call(null);
+        assertEquals(Integer.valueOf(2), futureResult.get());
+    }
+
+    @Test
+    public void testGather_enoughResultsCompletesFuture() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+        GatherOptions<String> gatherOptions = new GatherOptions.Builder<String>()
+                .withEnoughResults(result -> result.length() >= 3)
+                .build();
+        CompletableFuture<String> futureResult = requester.gather(TestUtils.createSimpleRequestPayload(), "",
+                (result, response) -> result + response.getBody(), gatherOptions);
+
+        MessageContext mockMessageContext = mock(MessageContext.class);
+
+        handlersOf(requester).onResponse().accept(createPayloadWithTextBody("ab"), mockMessageContext);
+        assertFalse(futureResult.isDone());
+
+        handlersOf(requester).onResponse().accept(createPayloadWithTextBody("c"), mockMessageContext);
+        assertEquals("abc", futureResult.get());
+    }
+
+    @Test
+    public void testGather_endHandlerCompletesFutureWithPartialAggregate() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+        GatherOptions<Integer> gatherOptions = new GatherOptions.Builder<Integer>().withQuorum(5).build();
+        CompletableFuture<Integer> futureResult = requester.gather(TestUtils.createSimpleRequestPayload(), 0,
+                (count, response) -> count + 1, gatherOptions);
+
+        handlersOf(requester).onResponse().accept(mock(RestPayload.class), mock(MessageContext.class));
+        handlersOf(requester).onEnd().call(null);
+
+        assertEquals(Integer.valueOf(1), futureResult.get());
+    }
+
+    @Test
+    public void testGather_errorHandlerCompletesFutureExceptionally() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+        CompletableFuture<Integer> futureResult = requester.gather(TestUtils.createSimpleRequestPayload(), 0,
+                (count, response) -> count + 1, new GatherOptions.Builder<Integer>().build());
+
+        handlersOf(requester).onError().accept(new Exception("some message"), TestUtils.createSimpleResponseMessage("anyNamespace"));
+
+        assertTrue(futureResult.isCompletedExceptionally());
+        assertTrue(handlersOf(requester).completionCondition().getAsBoolean());
+    }
+
+    @Test
+    public void testGather_customHandlersAreNotUsed() throws Exception {
+        @SuppressWarnings("unchecked")
+        BiConsumer<RestPayload, MessageContext> customOnResponseHandler = mock(BiConsumer.class);
+        @SuppressWarnings("unchecked")
+        Callback<Void> customOnEndHandler = mock(Callback.class);
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, customOnResponseHandler, null, null, customOnEndHandler);
+
+        requester.gather(TestUtils.createSimpleRequestPayload(), 0, (count, response) -> count + 1,
+                new GatherOptions.Builder<Integer>().build());
+
+        EventHandlers gatherHandlers = handlersOf(requester);
+        assertThat(gatherHandlers.onResponse(), not(customOnResponseHandler));
+        assertThat(gatherHandlers.onEnd(), not(customOnEndHandler));
+        assertThat(requester.eventHandlers.onResponse(), is(customOnResponseHandler));
+    }
+
+    @Test
+    public void testGather_deadline() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+
+        requester.gather(TestUtils.createSimpleRequestPayload(), 0, (count, response) -> count + 1,
+                new GatherOptions.Builder<Integer>().withDeadline(500).build());
+
+        verify(collectorMock).waitForResponses();
+        verify(collectorMock).waitUntilDeadline(500);
+    }
+
+    @Test
+    public void testGather_noResponsesExpected() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(0, 0, 0, null, null, null, null);
+
+        CompletableFuture<Integer> futureResult = requester.gather(TestUtils.createSimpleRequestPayload(), 0,
+                (count, response) -> count + 1, new GatherOptions.Builder<Integer>().withQuorum(1).build());
+
+        verify(producerMock).publish(any(Message.class));
+        verify(collectorMock, never()).listenForResponses();
+        assertEquals(Integer.valueOf(0), futureResult.get());
+    }
+
+    @Test
+    public void testResponses_requestIsPublishedUponSubscription() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(-1, 10000, 0, null, null, null, null);
+
+        Publisher<RestPayload> publisher = requester.responses(TestUtils.createSimpleRequestPayload());
+        verify(producerMock, never()).publish(any(Message.class));
+
+        @SuppressWarnings("unchecked")
+        Subscriber<RestPayload> subscriber = mock(Subscriber.class);
+        publisher.subscribe(subscriber);
+
+        verify(subscriber).onSubscribe(any());
+        verify(producerMock).publish(any(Message.class));
+        verify(collectorMock).listenForResponses();
+        verify(requester).createCollector(any(Message.class), any(RequestOptions.class), any(MsbContextImpl.class),
+                argThat(not(requester.eventHandlers)), eq(true));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRequest_concurrentRequestsCarryOwnHandlers() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(1, 0, 0, null, null, null, null);
+        int requests = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<CompletableFuture<RestPayload>>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> requester.request(TestUtils.createSimpleRequestPayload())));
+        }
+        List<CompletableFuture<RestPayload>> futureResults = new ArrayList<>();
+        for (Future<CompletableFuture<RestPayload>> future : futures) {
+            futureResults.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        ArgumentCaptor<EventHandlers> handlersCaptor = ArgumentCaptor.forClass(EventHandlers.class);
+        verify(requester, times(requests)).createCollector(any(Message.class), any(RequestOptions.class), any(MsbContextImpl.class),
+                handlersCaptor.capture(), anyBoolean());
+        List<EventHandlers> requestHandlers = handlersCaptor.getAllValues();
+        assertEquals(requests, requestHandlers.stream().distinct().count());
+
+        List<RestPayload> responses = new ArrayList<>();
+        for (EventHandlers handlers : requestHandlers) {
+            RestPayload response = createPayloadWithTextBody("response " + responses.size());
+            responses.add(response);
+            handlers.onResponse().accept(response, mock(MessageContext.class));
+        }
+
+        Set<RestPayload> results = new HashSet<>();
+        for (CompletableFuture<RestPayload> futureResult : futureResults) {
+            results.add(futureResult.get());
+        }
+        assertEquals(new HashSet<>(responses), results);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRequest_futureFailsIfRequestCanNotBePublished() throws Exception {
+        BiConsumer<Exception, Message> errorHandlerMock = mock(BiConsumer.class);
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(1, 10000, 0, null, null, errorHandlerMock, null);
+        ChannelException publishingException = new ChannelException("Publish queue is full", null);
+        CompletableFuture<Void> publication = new CompletableFuture<>();
+        when(producerMock.publishAsync(any(Message.class))).thenReturn(publication);
+
+        CompletableFuture<RestPayload> futureResult = requester.request(TestUtils.createSimpleRequestPayload());
+        assertFalse(futureResult.isDone());
+        publication.completeExceptionally(publishingException);
+
+        try {
+            futureResult.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(publishingException, e.getCause());
+        }
+        verify(errorHandlerMock).accept(eq(publishingException), any(Message.class));
+        verify(collectorMock).fail(publishingException);
+    }
+
+    @Test
+    public void testRequest_hedgedAfterDelayWithoutResponse() throws Exception {
+        RequesterImpl<RestPayload> requester = initHedgedRequesterWith(50, 100);
+        CompletableFuture<RestPayload> futureResult = requester.request(TestUtils.createSimpleRequestPayload());
+
+        ArgumentCaptor<Runnable> hedgeCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock).enableHedge(eq(50), any(Message.class), hedgeCaptor.capture());
+        hedgeCaptor.getValue().run();
+
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(producerMock, times(2)).publishAsync(messageCaptor.capture());
+        Message request = messageCaptor.getAllValues().get(0);
+        Message hedgedRequest = messageCaptor.getAllValues().get(1);
+        assertEquals(request.getCorrelationId(), hedgedRequest.getCorrelationId());
+        assertNotEquals(request.getId(), hedgedRequest.getId());
+        assertEquals(request.getRawPayload(), hedgedRequest.getRawPayload());
+        assertFalse(futureResult.isDone());
+    }
+
+    @Test
+    public void testRequest_notHedgedAfterResponse() throws Exception {
+        RequesterImpl<RestPayload> requester = initHedgedRequesterWith(50, 100);
+        CompletableFuture<RestPayload> futureResult = requester.request(TestUtils.createSimpleRequestPayload());
+
+        ArgumentCaptor<Runnable> hedgeCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock).enableHedge(eq(50), any(Message.class), hedgeCaptor.capture());
+
+        EventHandlers<RestPayload> requestHandlers = handlersOf(requester);
+        RestPayload response = createPayloadWithTextBody("response");
+        requestHandlers.onResponse().accept(response, mock(MessageContext.class));
+        hedgeCaptor.getValue().run();
+
+        verify(hedgeFutureMock).cancel(false);
+        verify(producerMock, times(1)).publishAsync(any(Message.class));
+        assertEquals(response, futureResult.get());
+        assertTrue(requestHandlers.completionCondition().getAsBoolean());
+    }
+
+    @Test
+    public void testRequest_notHedgedWhenBudgetIsExhausted() throws Exception {
+        RequesterImpl<RestPayload> requester = initHedgedRequesterWith(50, 0);
+        requester.request(TestUtils.createSimpleRequestPayload());
+
+        ArgumentCaptor<Runnable> hedgeCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutManagerMock).enableHedge(eq(50), any(Message.class), hedgeCaptor.capture());
+        hedgeCaptor.getValue().run();
+
+        verify(producerMock, times(1)).publishAsync(any(Message.class));
+    }
+
+    @Test
+    public void testRequest_hedgedAfterP95OnlyOnceLatenciesAreObserved() throws Exception {
+        RequesterImpl<RestPayload> requester = initHedgedRequesterWith(RequestOptions.HEDGE_AFTER_P95, 100);
+        requester.request(TestUtils.createSimpleRequestPayload());
+
+        verify(timeoutManagerMock, never()).enableHedge(anyInt(), any(Message.class), any(Runnable.class));
+    }
+
+    @Test
+    public void testPublish_notHedged() throws Exception {
+        RequesterImpl<RestPayload> requester = initHedgedRequesterWith(50, 100);
+        requester.publish(TestUtils.createSimpleRequestPayload());
+
+        verify(timeoutManagerMock, never()).enableHedge(anyInt(), any(Message.class), any(Runnable.class));
+    }
+
+    @Test
+    public void testRequest_identicalRequestsAreCoalesced() throws Exception {
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withWaitForResponses(1)
+                .withResponseTimeout(10000)
+                .withCoalescing(true)
+                .build();
+        when(channelManagerMock.findOrCreateProducer(anyString(), eq(false), any(RequestOptions.class))).thenReturn(producerMock);
+        RequesterImpl<RestPayload> requester = setUpRequester(TOPIC, null, null, null, null, requestOptions);
+
+        CompletableFuture<RestPayload> futureResult1 = requester.request(createPayloadWithTextBody("request"));
+        CompletableFuture<RestPayload> futureResult2 = requester.request(createPayloadWithTextBody("request"));
+        CompletableFuture<RestPayload> futureResult3 = requester.request(createPayloadWithTextBody("another request"));
+
+        verify(producerMock, times(2)).publishAsync(any(Message.class));
+        ArgumentCaptor<EventHandlers> handlersCaptor = ArgumentCaptor.forClass(EventHandlers.class);
+        verify(requester, times(2)).createCollector(any(Message.class), any(RequestOptions.class), any(MsbContextImpl.class),
+                handlersCaptor.capture(), anyBoolean());
+
+        RestPayload response = createPayloadWithTextBody("response");
+        handlersCaptor.getAllValues().get(0).onResponse().accept(response, mock(MessageContext.class));
+
+        assertEquals(response, futureResult1.get());
+        assertEquals(response, futureResult2.get());
+        assertFalse(futureResult3.isDone());
+    }
+
+    @Test
+    public void testRequest_requestsWithMapEntriesInDifferentOrderAreCoalesced() throws Exception {
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withWaitForResponses(1)
+                .withResponseTimeout(10000)
+                .withCoalescing(true)
+                .build();
+        when(channelManagerMock.findOrCreateProducer(anyString(), eq(false), any(RequestOptions.class))).thenReturn(producerMock);
+        RequesterImpl<RestPayload> requester = setUpRequester(TOPIC, null, null, null, null, requestOptions);
+        Map<String, String> payload1 = new LinkedHashMap<>();
+        payload1.put("first", "1");
+        payload1.put("second", "2");
+        Map<String, String> payload2 = new LinkedHashMap<>();
+        payload2.put("second", "2");
+        payload2.put("first", "1");
+
+        requester.request(payload1);
+        requester.request(payload2);
+
+        verify(producerMock, times(1)).publishAsync(any(Message.class));
+    }
+
+    @Test
+    public void testRequest_notCoalescedByDefault() throws Exception {
+        RequesterImpl<RestPayload> requester = initRequesterForResponsesWith(1, 10000, 0, null, null, null, null);
+
+        requester.request(createPayloadWithTextBody("request"));
+        requester.request(createPayloadWithTextBody("request"));
+
+        verify(producerMock, times(2)).publishAsync(any(Message.class));
+    }
+
+    @Test
+    public void testRequest_responseIsCached() throws Exception {
+        RequesterImpl<RestPayload> requester = initCachingRequesterWith(60000);
+
+        requester.request(createPayloadWithTextBody("request"));
+        RestPayload response = createPayloadWithTextBody("response");
+        handlersOf(requester).onResponse().accept(response, messageContextWithMaxAge(null));
+
+        CompletableFuture<RestPayload> futureResult = requester.request(createPayloadWithTextBody("request"));
+
+        assertEquals(response, futureResult.get());
+        verify(producerMock, times(1)).publishAsync(any(Message.class));
+    }
+
+    @Test
+    public void testRequest_responseIsNotCachedIfResponderForbids() throws Exception {
+        RequesterImpl<RestPayload> requester = initCachingRequesterWith(60000);
+
+        requester.request(createPayloadWithTextBody("request"));
+        handlersOf(requester).onResponse().accept(createPayloadWithTextBody("response"), messageContextWithMaxAge(0));
+
+        CompletableFuture<RestPayload> futureResult = requester.request(createPayloadWithTextBody("request"));
+
+        assertFalse(futureResult.isDone());
+        verify(producerMock, times(2)).publishAsync(any(Message.class));
+    }
+
     @Test
     public void testRequestMessage() throws Exception {
         ChannelManager channelManagerMock = mock(ChannelManager.class);
@@ -373,6 +740,17 @@ public class RequesterImplTest {
     }
 
 
+    /**
+     * @return handlers passed to the collector of the only request sent by the requester
+     */
+    @SuppressWarnings("unchecked")
+    private EventHandlers<RestPayload> handlersOf(RequesterImpl requester) {
+        ArgumentCaptor<EventHandlers> handlersCaptor = ArgumentCaptor.forClass(EventHandlers.class);
+        verify(requester).createCollector(any(Message.class), any(RequestOptions.class), any(MsbContextImpl.class),
+                handlersCaptor.capture(), anyBoolean());
+        return handlersCaptor.getValue();
+    }
+
     private RequesterImpl<RestPayload> initRequesterForResponsesWith(Integer numberOfResponses, Integer respTimeout, Integer ackTimeout,
                                                                      BiConsumer<RestPayload, MessageContext> onResponse, BiConsumer<Acknowledge, MessageContext> onAcknowledge,
                                                                      BiConsumer<Exception, Message> onError,
@@ -390,11 +768,54 @@ public class RequesterImplTest {
         return setUpRequester(TOPIC, onResponse, onAcknowledge, onError, endHandler, requestOptions);
     }
 
+    private RequesterImpl<RestPayload> initCachingRequesterWith(int cacheTtl) {
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withWaitForResponses(1)
+                .withResponseTimeout(10000)
+                .withCacheTtl(cacheTtl)
+                .build();
+        when(channelManagerMock.findOrCreateProducer(anyString(), eq(false), any(RequestOptions.class))).thenReturn(producerMock);
+        return setUpRequester(TOPIC, null, null, null, null, requestOptions);
+    }
+
+    private MessageContext messageContextWithMaxAge(Integer maxAgeMs) {
+        Acknowledge ack = new Acknowledge.Builder().withResponderId("responder").withResponsesRemaining(-1).withMaxAgeMs(maxAgeMs).build();
+        MessageContext messageContext = mock(MessageContext.class);
+        when(messageContext.getOriginalMessage()).thenReturn(TestUtils.createMsbResponseMessage(ack, null, TOPIC, null));
+        return messageContext;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RequesterImpl<RestPayload> initHedgedRequesterWith(Integer hedgeDelay, int hedgingBudgetPercent) {
+        RequestOptions requestOptions = new RequestOptions.Builder()
+                .withWaitForResponses(1)
+                .withResponseTimeout(10000)
+                .withHedgeDelay(hedgeDelay)
+                .build();
+        MsbConfig msbConfig = new MsbConfig(ConfigFactory.load()
+                .withValue("msbConfig.requestOptions.hedgingBudgetPercent", ConfigValueFactory.fromAnyRef(hedgingBudgetPercent)));
+        MsbContextImpl msbContext = TestUtils.createMsbContextBuilder()
+                .withMsbConfigurations(msbConfig)
+                .withChannelManager(channelManagerMock)
+                .withTimeoutManager(timeoutManagerMock)
+                .build();
+
+        when(channelManagerMock.findOrCreateProducer(anyString(), eq(false), any(RequestOptions.class))).thenReturn(producerMock);
+        when(timeoutManagerMock.enableHedge(anyInt(), any(Message.class), any(Runnable.class))).thenReturn(hedgeFutureMock);
+
+        return setUpRequester(TOPIC, msbContext, null, null, null, null, requestOptions);
+    }
+
     private RequesterImpl<RestPayload> setUpRequester(String namespace, BiConsumer<RestPayload, MessageContext> onResponse, BiConsumer<Acknowledge, MessageContext> onAcknowledge, BiConsumer<Exception, Message> onError, Callback<Void> endHandler, RequestOptions requestOptions) {
         MsbContextImpl msbContext = TestUtils.createMsbContextBuilder()
                 .withChannelManager(channelManagerMock)
                 .build();
+        return setUpRequester(namespace, msbContext, onResponse, onAcknowledge, onError, endHandler, requestOptions);
+    }
+
+    private RequesterImpl<RestPayload> setUpRequester(String namespace, MsbContextImpl msbContext, BiConsumer<RestPayload, MessageContext> onResponse, BiConsumer<Acknowledge, MessageContext> onAcknowledge, BiConsumer<Exception, Message> onError, Callback<Void> endHandler, RequestOptions requestOptions) {
 
+        when(producerMock.publishAsync(any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
         RequesterImpl<RestPayload> requester = spy(RequesterImpl.create(namespace, requestOptions, msbContext, new TypeReference<RestPayload>() {
         }));
         requester.onResponse(onResponse)
@@ -118,6 +118,55 @@ public class ResponderImplTest {
         assertEquals(argument.getValue().getAck().getResponsesRemaining(), responsesRemaining);
     }
 
+    @Test
+    public void testSendCacheableResponse() {
+        ArgumentCaptor<Message> argument = ArgumentCaptor.forClass(Message.class);
+        responder.send(TestUtils.createSimpleResponsePayload(), 60000);
+
+        verify(mockProducer).publish(argument.capture());
+
+        assertEquals(Integer.valueOf(60000), argument.getValue().getAck().getMaxAgeMs());
+        assertEquals(Integer.valueOf(-1), argument.getValue().getAck().getResponsesRemaining());
+    }
+
+    @Test
+    public void testSendResponseWithoutMaxAge() {
+        ArgumentCaptor<Message> argument = ArgumentCaptor.forClass(Message.class);
+        responder.send(TestUtils.createSimpleResponsePayload());
+
+        verify(mockProducer).publish(argument.capture());
+
+        assertNull(argument.getValue().getAck().getMaxAgeMs());
+    }
+
+    @Test
+    public void testBatchAwareResponderAdvertisesBatches() {
+        ArgumentCaptor<Message> argument = ArgumentCaptor.forClass(Message.class);
+        ResponderImpl batchAwareResponder = new ResponderImpl(messageTemplate, originalMessage, msbContextSpy, true);
+        batchAwareResponder.sendAck(1000, 1);
+        batchAwareResponder.send(TestUtils.createSimpleResponsePayload());
+
+        verify(mockProducer, times(2)).publish(argument.capture());
+
+        assertEquals(Boolean.TRUE, argument.getAllValues().get(0).getAck().getAcceptsBatches());
+        assertEquals(Boolean.TRUE, argument.getAllValues().get(1).getAck().getAcceptsBatches());
+    }
+
+    @Test
+    public void testResponderDoesNotAdvertiseBatchesByDefault() {
+        ArgumentCaptor<Message> argument = ArgumentCaptor.forClass(Message.class);
+        responder.send(TestUtils.createSimpleResponsePayload());
+
+        verify(mockProducer).publish(argument.capture());
+
+        assertNull(argument.getValue().getAck().getAcceptsBatches());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSendResponseWithNegativeMaxAge() {
+        responder.send(TestUtils.createSimpleResponsePayload(), -1);
+    }
+
     @Test
     public void testSendWithSameResponderId() {
         ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
@@ -133,4 +182,17 @@ public class ResponderImplTest {
         String responderIdInAckPayload = messageCaptor.getValue().getAck().getResponderId();
         assertEquals(responderIdInAck, responderIdInAckPayload);
     }
+
+    @Test
+    public void testResponderIdTakenFromMessageFactory() {
+        MessageFactory messageFactory = new MessageFactory(msbConf.getServiceDetails(), Clock.systemDefaultZone(), TestUtils.createMessageMapper(),
+                () -> "responder-id");
+        when(msbContextSpy.getMessageFactory()).thenReturn(messageFactory);
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+
+        new ResponderImpl(messageTemplate, originalMessage, msbContextSpy).sendAck(1000, 1);
+
+        verify(mockProducer).publish(messageCaptor.capture());
+        assertEquals("responder-id", messageCaptor.getValue().getAck().getResponderId());
+    }
 }
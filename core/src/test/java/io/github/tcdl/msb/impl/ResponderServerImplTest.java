@@ -1,6 +1,8 @@
 package io.github.tcdl.msb.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.common.collect.Sets;
 import io.github.tcdl.msb.ChannelManager;
 import io.github.tcdl.msb.MessageHandler;
@@ -102,6 +104,10 @@ public class ResponderServerImplTest {
 
         assertEquals(666L, availableMessageCount.getValue().longValue());
         assertTrue(isConsumerConnected.getValue());
+        Gauge<Double> compressionRatio = (Gauge<Double>) metricSet.getMetric(MetricSet.COMPRESSION_RATIO_METRIC);
+        assertNull(compressionRatio.getValue());
+        assertNotNull(metricSet.getMetric(MetricSet.COMPRESSION_TIME_METRIC));
+        assertNotNull(metricSet.getMetric(MetricSet.DECOMPRESSION_TIME_METRIC));
 
         verify(spyChannelManager, times(1)).subscribe(eq(TOPIC), any(ResponderOptions.class), any(MessageHandler.class));
         verify(spyChannelManager, times(1)).getAvailableMessageCount(TOPIC);
@@ -186,6 +192,129 @@ public class ResponderServerImplTest {
         verify(errorHandlerMock).handle(eq(error), eq(originalMessage));
     }
 
+    @Test
+    public void testResponderServerProcessBatch() throws Exception {
+        ResponderServer.RequestHandler<String> handler = (request, responderContext) -> {
+            if (request.equals("skipped")) {
+                responderContext.getResponder().sendAck(0, 0);
+            } else {
+                responderContext.getResponder().send(request.toUpperCase());
+            }
+        };
+
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withMessageTemplate(messageTemplate).withAcceptsBatches(true).build();
+        ResponderServerImpl<String> responderServer = ResponderServerImpl
+                .create(TOPIC, responderOptions, msbContext, handler, null, new TypeReference<String>() {});
+
+        // simulate incoming batch request
+        ArrayNode items = msbContext.getPayloadMapper().createArrayNode().add("first").add("skipped").add("third");
+        Message batchMessage = TestUtils.createSimpleRequestMessageWithTags(TOPIC, BatchResponder.BATCH_TAG).withPayload(items);
+        Responder responder = mock(Responder.class);
+        AcknowledgementHandler acknowledgeHandler = mock(AcknowledgementHandler.class);
+
+        responderServer.onBatch(responder, acknowledgeHandler, batchMessage);
+
+        ArgumentCaptor<JsonNode> responsesCaptor = ArgumentCaptor.forClass(JsonNode.class);
+        verify(responder).send(responsesCaptor.capture());
+        assertEquals("[\"FIRST\",null,\"THIRD\"]", responsesCaptor.getValue().toString());
+    }
+
+    @Test
+    public void testResponderServerProcessBatchItemThrowException() throws Exception {
+        ResponderServer.RequestHandler<Integer> handler = (request, responderContext) -> responderContext.getResponder().send(request + 1);
+
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withMessageTemplate(messageTemplate).withAcceptsBatches(true).build();
+        ResponderServerImpl<Integer> responderServer = ResponderServerImpl
+                .create(TOPIC, responderOptions, msbContext, handler, null, new TypeReference<Integer>() {});
+
+        // simulate incoming batch request with an item of unexpected type
+        ArrayNode items = msbContext.getPayloadMapper().createArrayNode().add(1).add("not a number");
+        Message batchMessage = TestUtils.createSimpleRequestMessageWithTags(TOPIC, BatchResponder.BATCH_TAG).withPayload(items);
+        Responder responder = mock(Responder.class);
+        AcknowledgementHandler acknowledgeHandler = mock(AcknowledgementHandler.class);
+
+        responderServer.onBatch(responder, acknowledgeHandler, batchMessage);
+
+        ArgumentCaptor<JsonNode> responsesCaptor = ArgumentCaptor.forClass(JsonNode.class);
+        verify(responder).send(responsesCaptor.capture());
+        assertEquals("[2,null]", responsesCaptor.getValue().toString());
+        verify(acknowledgeHandler).confirmMessage();
+    }
+
+    @Test
+    public void testResponderServerProcessBatchItemHandledByErrorHandler() throws Exception {
+        ResponderServer.RequestHandler<Integer> handler = (request, responderContext) -> responderContext.getResponder().send(request + 1);
+        ResponderServer.ErrorHandler errorHandler = mock(ResponderServer.ErrorHandler.class);
+
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withMessageTemplate(messageTemplate).withAcceptsBatches(true).build();
+        ResponderServerImpl<Integer> responderServer = ResponderServerImpl
+                .create(TOPIC, responderOptions, msbContext, handler, errorHandler, new TypeReference<Integer>() {});
+
+        ArrayNode items = msbContext.getPayloadMapper().createArrayNode().add(1).add("not a number");
+        Message batchMessage = TestUtils.createSimpleRequestMessageWithTags(TOPIC, BatchResponder.BATCH_TAG).withPayload(items);
+        Responder responder = mock(Responder.class);
+        AcknowledgementHandler acknowledgeHandler = mock(AcknowledgementHandler.class);
+
+        responderServer.onBatch(responder, acknowledgeHandler, batchMessage);
+
+        verify(errorHandler).handle(any(Exception.class), any(Message.class));
+        ArgumentCaptor<JsonNode> responsesCaptor = ArgumentCaptor.forClass(JsonNode.class);
+        verify(responder).send(responsesCaptor.capture());
+        assertEquals("[2,null]", responsesCaptor.getValue().toString());
+        verify(acknowledgeHandler).confirmMessage();
+    }
+
+    @Test
+    public void testResponderServerProcessBatchItemRetried() throws Exception {
+        ResponderServer.RequestHandler<String> handler = (request, responderContext) -> {
+            if (request.equals("retried")) {
+                responderContext.getAcknowledgementHandler().retryMessage();
+            } else {
+                responderContext.getResponder().send(request.toUpperCase());
+            }
+        };
+
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withMessageTemplate(messageTemplate).withAcceptsBatches(true).build();
+        ResponderServerImpl<String> responderServer = ResponderServerImpl
+                .create(TOPIC, responderOptions, msbContext, handler, null, new TypeReference<String>() {});
+
+        ArrayNode items = msbContext.getPayloadMapper().createArrayNode().add("retried").add("second");
+        Message batchMessage = TestUtils.createSimpleRequestMessageWithTags(TOPIC, BatchResponder.BATCH_TAG).withPayload(items);
+        Responder responder = mock(Responder.class);
+        AcknowledgementHandler acknowledgeHandler = mock(AcknowledgementHandler.class);
+
+        responderServer.onBatch(responder, acknowledgeHandler, batchMessage);
+
+        ArgumentCaptor<JsonNode> responsesCaptor = ArgumentCaptor.forClass(JsonNode.class);
+        verify(responder).send(responsesCaptor.capture());
+        assertEquals("[null,\"SECOND\"]", responsesCaptor.getValue().toString());
+        verify(acknowledgeHandler, never()).retryMessage();
+        verify(acknowledgeHandler).confirmMessage();
+    }
+
+    @Test
+    public void testResponderServerNotAcceptingBatchesProcessBatchAsRequest() throws Exception {
+        ResponderServer.RequestHandler<JsonNode> handler = mock(ResponderServer.RequestHandler.class);
+
+        ArgumentCaptor<MessageHandler> subscriberCaptor = ArgumentCaptor.forClass(MessageHandler.class);
+        ChannelManager mockChannelManager = mock(ChannelManager.class);
+        MsbContextImpl msbContext = new TestUtils.TestMsbContextBuilder()
+                .withChannelManager(mockChannelManager)
+                .build();
+
+        ResponderOptions responderOptions = new ResponderOptions.Builder().withMessageTemplate(messageTemplate).build();
+        ResponderServerImpl<JsonNode> responderServer = ResponderServerImpl
+                .create(TOPIC, responderOptions, msbContext, handler, null, new TypeReference<JsonNode>() {});
+        responderServer.listen();
+        verify(mockChannelManager).subscribe(eq(TOPIC), same(responderOptions), subscriberCaptor.capture());
+
+        ArrayNode items = msbContext.getPayloadMapper().createArrayNode().add("first").add("second");
+        Message batchMessage = TestUtils.createSimpleRequestMessageWithTags(TOPIC, BatchResponder.BATCH_TAG).withPayload(items);
+        subscriberCaptor.getValue().handleMessage(batchMessage, mock(AcknowledgementHandler.class));
+
+        verify(handler).process(eq(items), any(ResponderContext.class));
+    }
+
     @Test
     public void testCreateResponderWithResponseTopic() {
         ResponderServer.RequestHandler<String> handler = (request, responderContext) -> {
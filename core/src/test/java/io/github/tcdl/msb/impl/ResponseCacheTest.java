@@ -0,0 +1,69 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.support.TestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResponseCacheTest {
+
+    private static final String NAMESPACE = "test:cache";
+
+    private Clock clockMock;
+    private ResponseCache responseCache;
+
+    @Before
+    public void setUp() {
+        clockMock = mock(Clock.class);
+        when(clockMock.millis()).thenReturn(1000L);
+        responseCache = new ResponseCache(2, clockMock);
+    }
+
+    @Test
+    public void testCachedResponse() {
+        responseCache.put(requestKey("request"), "response", 100);
+
+        assertEquals("response", responseCache.get(requestKey("request")));
+        assertNull(responseCache.get(requestKey("another request")));
+        assertEquals(1, responseCache.getHits());
+        assertEquals(1, responseCache.getMisses());
+    }
+
+    @Test
+    public void testExpiredResponse() {
+        responseCache.put(requestKey("request"), "response", 100);
+
+        when(clockMock.millis()).thenReturn(1099L);
+        assertEquals("response", responseCache.get(requestKey("request")));
+
+        when(clockMock.millis()).thenReturn(1100L);
+        assertNull(responseCache.get(requestKey("request")));
+        assertEquals(1, responseCache.getEvictions());
+        assertEquals(1, responseCache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResponseIsEvicted() {
+        responseCache.put(requestKey("request1"), "response1", 100);
+        responseCache.put(requestKey("request2"), "response2", 100);
+        responseCache.get(requestKey("request1"));
+
+        responseCache.put(requestKey("request3"), "response3", 100);
+
+        assertEquals("response1", responseCache.get(requestKey("request1")));
+        assertNull(responseCache.get(requestKey("request2")));
+        assertEquals("response3", responseCache.get(requestKey("request3")));
+        assertEquals(1, responseCache.getEvictions());
+    }
+
+    private RequestKey requestKey(String payload) {
+        return new RequestKey(TestUtils.createMsbRequestMessage(NAMESPACE, payload), payload.getBytes(StandardCharsets.UTF_8), String.class);
+    }
+}
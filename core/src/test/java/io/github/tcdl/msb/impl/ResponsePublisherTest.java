@@ -0,0 +1,190 @@
+package io.github.tcdl.msb.impl;
+
+import io.github.tcdl.msb.api.AcknowledgementHandler;
+import io.github.tcdl.msb.api.MessageContext;
+import io.github.tcdl.msb.api.flow.Subscriber;
+import io.github.tcdl.msb.api.flow.Subscription;
+import io.github.tcdl.msb.collector.Collector;
+import io.github.tcdl.msb.events.EventHandlers;
+import io.github.tcdl.msb.support.TestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResponsePublisherTest {
+
+    private EventHandlers<String> eventHandlers;
+    private ResponsePublisher<String> publisher;
+    private RecordingSubscriber subscriber;
+
+    @Before
+    public void setUp() {
+        publisher = new ResponsePublisher<>(handlers -> {
+            eventHandlers = handlers;
+            return mock(Collector.class);
+        });
+        subscriber = new RecordingSubscriber();
+    }
+
+    @Test
+    public void testRequestIsSentUponSubscription() {
+        assertNull(eventHandlers);
+
+        publisher.subscribe(subscriber);
+
+        assertNotNull(subscriber.subscription);
+        assertNotNull(eventHandlers);
+    }
+
+    @Test
+    public void testResponsesAreDeliveredOnDemand() {
+        publisher.subscribe(subscriber);
+
+        respond("first");
+        respond("second");
+
+        assertTrue(subscriber.responses.isEmpty());
+
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.responses.size());
+
+        subscriber.subscription.request(1);
+        assertEquals(2, subscriber.responses.size());
+    }
+
+    @Test
+    public void testBufferedResponsesAreAcknowledgedAutomatically() {
+        publisher.subscribe(subscriber);
+        AcknowledgementHandler ack = mock(AcknowledgementHandler.class);
+        MessageContext messageContext = mock(MessageContext.class);
+        when(messageContext.getAcknowledgementHandler()).thenReturn(ack);
+
+        eventHandlers.onResponse().accept("first", messageContext);
+
+        assertTrue(subscriber.responses.isEmpty());
+        verify(ack, never()).setAutoAcknowledgement(false);
+    }
+
+    @Test
+    public void testResponsesAreDeliveredUponArrivalWhenDemanded() {
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        respond("first");
+
+        assertEquals(1, subscriber.responses.size());
+    }
+
+    @Test
+    public void testCompletesAfterBufferedResponsesAreDelivered() {
+        publisher.subscribe(subscriber);
+        respond("first");
+        eventHandlers.onEnd().call(null);
+
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(5);
+        assertEquals(1, subscriber.responses.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testCompletesWhenResponsesAreNotExpected() {
+        publisher = new ResponsePublisher<>(handlers -> null);
+
+        publisher.subscribe(subscriber);
+
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testCancelDropsBufferedResponses() {
+        publisher.subscribe(subscriber);
+        respond("first");
+
+        subscriber.subscription.cancel();
+
+        assertTrue(eventHandlers.completionCondition().getAsBoolean());
+
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.responses.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testErrorIsSignalled() {
+        publisher.subscribe(subscriber);
+        Exception exception = new Exception("conversion failed");
+
+        eventHandlers.onError().accept(exception, TestUtils.createSimpleResponseMessage("anyNamespace"));
+
+        assertEquals(exception, subscriber.error);
+        assertTrue(eventHandlers.completionCondition().getAsBoolean());
+    }
+
+    @Test
+    public void testNonPositiveRequestIsSignalledAsError() {
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testSecondSubscriberIsRejected() {
+        publisher.subscribe(subscriber);
+        RecordingSubscriber secondSubscriber = new RecordingSubscriber();
+
+        publisher.subscribe(secondSubscriber);
+
+        assertTrue(secondSubscriber.error instanceof IllegalStateException);
+        assertNull(subscriber.error);
+    }
+
+    private void respond(String response) {
+        MessageContext messageContext = mock(MessageContext.class);
+        when(messageContext.getAcknowledgementHandler()).thenReturn(mock(AcknowledgementHandler.class));
+        eventHandlers.onResponse().accept(response, messageContext);
+    }
+
+    private static class RecordingSubscriber implements Subscriber<String> {
+
+        private final List<String> responses = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            responses.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
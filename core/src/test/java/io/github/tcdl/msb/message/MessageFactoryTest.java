@@ -1,5 +1,8 @@
 package io.github.tcdl.msb.message;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.tcdl.msb.api.MessageTemplate;
 import io.github.tcdl.msb.api.message.Acknowledge;
 import io.github.tcdl.msb.api.message.Message;
@@ -19,6 +22,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +35,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -75,6 +80,60 @@ public class MessageFactoryTest {
         assertNull(message.getTopics().getForward());
     }
 
+    @Test
+    public void testCreateRequestMessageWithJsonNodePayload() {
+        JsonNode payload = TestUtils.createMessageMapper().createObjectNode().put("body", "body text");
+        Builder requestMessageBuilder = TestUtils.createMessageBuilder(FIXED_CLOCK);
+
+        Message message = messageFactory.createRequestMessage(requestMessageBuilder, payload);
+
+        assertSame(payload, message.getRawPayload());
+    }
+
+    @Test
+    public void testPayloadSerializedIntoEnvelopeByPayloadMapper() {
+        ObjectMapper messageMapper = TestUtils.createMessageMapper();
+        ObjectMapper payloadMapper = TestUtils.createMessageMapper().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MessageFactory timestampsMessageFactory = new MessageFactory(serviceDetails, FIXED_CLOCK, payloadMapper);
+        RestPayload<Object, Object, Object, Instant> requestPayload = new RestPayload.Builder<Object, Object, Object, Instant>()
+                .withStatusCode(200)
+                .withBody(FIXED_CLOCK_INSTANT)
+                .build();
+
+        Message message = timestampsMessageFactory.createRequestMessage(TestUtils.createMessageBuilder(FIXED_CLOCK), requestPayload);
+        JsonNode serializedMessage = Utils.fromJson(Utils.toJson(message, messageMapper), JsonNode.class, messageMapper);
+
+        assertEquals(Utils.convert(requestPayload, JsonNode.class, payloadMapper), serializedMessage.get("payload"));
+        assertTrue(serializedMessage.get("payload").get("body").isNumber());
+        assertEquals(message.getRawPayload(), serializedMessage.get("payload"));
+    }
+
+    @Test
+    public void testEncodedRequestMessageSerializedAsRequestMessage() {
+        ObjectMapper messageMapper = TestUtils.createMessageMapper();
+        RestPayload requestPayload = TestUtils.createPayloadWithTextBody("body text");
+
+        Message message = messageFactory.createRequestMessage(TestUtils.createMessageBuilder(FIXED_CLOCK), requestPayload);
+        Message encodedMessage = messageFactory.createEncodedRequestMessage(TestUtils.createMessageBuilder(FIXED_CLOCK), requestPayload);
+        JsonNode serializedMessage = Utils.fromJson(Utils.toJson(message, messageMapper), JsonNode.class, messageMapper);
+        JsonNode serializedEncodedMessage = Utils.fromJson(Utils.toJson(encodedMessage, messageMapper), JsonNode.class, messageMapper);
+
+        assertEquals(serializedMessage.get("payload"), serializedEncodedMessage.get("payload"));
+        assertEquals(message.getRawPayload(), encodedMessage.getRawPayload());
+    }
+
+    @Test
+    public void testRequestCopyHasOwnId() {
+        Message message = messageFactory.createEncodedRequestMessage(TestUtils.createMessageBuilder(FIXED_CLOCK),
+                TestUtils.createPayloadWithTextBody("body text"));
+
+        Message copy = messageFactory.createRequestCopy(message);
+
+        assertNotEquals(message.getId(), copy.getId());
+        assertEquals(message.getCorrelationId(), copy.getCorrelationId());
+        assertEquals(message.getRawPayload(), copy.getRawPayload());
+    }
+
     @Test
     public void testCreateResponseMessageWithPayloadAndAck() {
         String bodyText = "body text";
@@ -202,6 +261,39 @@ public class MessageFactoryTest {
         assertNull(message.getTopics().getForward());
     }
 
+    @Test
+    public void testCreateRequestMessageBuilderFromEnvelope() {
+        String namespace = "test:request-builder";
+        MessageTemplate messageTemplate = TestUtils.createSimpleMessageTemplate("tag1", "tag2");
+        RequestEnvelope envelope = messageFactory.createRequestEnvelope(namespace, null, "routingKey", messageTemplate);
+
+        Message firstMessage = messageFactory.createRequestMessageBuilder(envelope, null).build();
+        Message secondMessage = messageFactory.createRequestMessageBuilder(envelope, null).build();
+
+        assertSame(envelope.getTopics(), firstMessage.getTopics());
+        assertSame(envelope.getTags(), firstMessage.getTags());
+        assertThat(firstMessage.getTopics().getTo(), is(namespace));
+        assertThat(firstMessage.getTopics().getRoutingKey(), is("routingKey"));
+        assertThat(firstMessage.getTopics().getResponse(), notNullValue());
+        assertNotEquals(firstMessage.getId(), secondMessage.getId());
+        assertNotEquals(firstMessage.getCorrelationId(), secondMessage.getCorrelationId());
+    }
+
+    @Test
+    public void testCreateRequestMessageBuilderFromEnvelopeWithTags() {
+        String namespace = "test:request-builder";
+        MessageTemplate messageTemplate = TestUtils.createSimpleMessageTemplate("tag1", "tag2");
+        RequestEnvelope envelope = messageFactory.createRequestEnvelope(namespace, null, null, messageTemplate);
+        Message originalMessage = TestUtils.createMsbRequestMessage(namespace, "instanceId", Utils.generateId(),
+                TestUtils.createSimpleRequestPayload(), "original-tag", "tag1");
+
+        messageTemplate.addTag("added-later");
+        Message message = messageFactory.createRequestMessageBuilder(envelope, originalMessage, "tag2", null, "dynamic-tag").build();
+
+        assertArrayEquals(new String[] {"original-tag", "tag1", "tag2", "dynamic-tag"}, message.getTags().toArray());
+        assertArrayEquals(new String[] {"tag1", "tag2"}, envelope.getTags().toArray());
+    }
+
     @Test
     public void testCreateResponseMessageBuilder() {
         String namespace = "test:response-builder";
@@ -265,6 +357,20 @@ public class MessageFactoryTest {
         assertNotNull(ack.getResponderId());
     }
 
+    @Test
+    public void testIdsTakenFromIdGenerator() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        MessageFactory sequentialMessageFactory = new MessageFactory(serviceDetails, FIXED_CLOCK, TestUtils.createMessageMapper(),
+                () -> "id-" + sequence.incrementAndGet());
+
+        Message message = sequentialMessageFactory.createBroadcastMessageBuilder("test:ids", messageOptions).build();
+        Acknowledge ack = sequentialMessageFactory.createAckBuilder().build();
+
+        assertEquals("id-1", message.getId());
+        assertEquals("id-2", message.getCorrelationId());
+        assertEquals("id-3", ack.getResponderId());
+    }
+
     @Test
     public void testCreateRequestMessageBuilderPublishedAtPresent() {
         String bodyText = "body text";
@@ -0,0 +1,152 @@
+package io.github.tcdl.msb.message;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.github.tcdl.msb.api.exception.JsonConversionException;
+import io.github.tcdl.msb.api.message.Acknowledge;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.message.MessageHeaderDecoder.PartiallyDecodedMessage;
+import io.github.tcdl.msb.support.TestUtils;
+import io.github.tcdl.msb.support.Utils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MessageHeaderDecoderTest {
+
+    private static final String TOPIC = "test:header-decoder";
+
+    private ObjectMapper messageMapper = TestUtils.createMessageMapper();
+
+    private MessageHeaderDecoder decoder = new MessageHeaderDecoder(messageMapper);
+
+    @Test(expected = NullPointerException.class)
+    public void testCreateDecoderNullMapper() {
+        new MessageHeaderDecoder(null);
+    }
+
+    @Test
+    public void testDecodeHeadersFromString() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+
+        PartiallyDecodedMessage decoded = decoder.decode(Utils.toJson(originalMessage, messageMapper));
+
+        assertHeadersEqual(originalMessage, decoded.getHeaders());
+        assertNoPayload(decoded.getHeaders());
+    }
+
+    @Test
+    public void testDecodeHeadersFromBytes() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.UTF_8);
+
+        PartiallyDecodedMessage decoded = decoder.decode(body, StandardCharsets.UTF_8);
+
+        assertHeadersEqual(originalMessage, decoded.getHeaders());
+        assertNoPayload(decoded.getHeaders());
+    }
+
+    @Test
+    public void testDecodeMessageFromString() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        String json = Utils.toJson(originalMessage, messageMapper);
+
+        Message message = decoder.decode(json).decodeMessage();
+
+        assertHeadersEqual(originalMessage, message);
+        assertEquals(Utils.fromJson(json, Message.class, messageMapper).getRawPayload(), message.getRawPayload());
+    }
+
+    @Test
+    public void testDecodeMessageFromBytesWithMultiByteCharacters() {
+        JsonNode payload = messageMapper.createObjectNode().put("body", "Überprüfung ✓");
+        Message originalMessage = TestUtils.createMsbResponseMessage(null, payload, TOPIC, Utils.generateId());
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.UTF_8);
+
+        Message message = decoder.decode(body, StandardCharsets.UTF_8).decodeMessage();
+
+        assertEquals(payload, message.getRawPayload());
+    }
+
+    @Test
+    public void testDecodeMessageFromBytesInNonNativeCharset() {
+        JsonNode payload = messageMapper.createObjectNode().put("body", "Überprüfung");
+        Message originalMessage = TestUtils.createMsbResponseMessage(null, payload, TOPIC, Utils.generateId());
+        byte[] body = Utils.toJson(originalMessage, messageMapper).getBytes(StandardCharsets.ISO_8859_1);
+
+        Message message = decoder.decode(body, StandardCharsets.ISO_8859_1).decodeMessage();
+
+        assertEquals(payload, message.getRawPayload());
+    }
+
+    @Test
+    public void testDecodeMessageWithScalarPayload() {
+        Message originalMessage = TestUtils.createMsbResponseMessage(null, new TextNode("text"), TOPIC, Utils.generateId());
+
+        Message message = decoder.decode(Utils.toJson(originalMessage, messageMapper)).decodeMessage();
+
+        assertEquals(new TextNode("text"), message.getRawPayload());
+    }
+
+    @Test
+    public void testDecodeMessageWithoutPayload() {
+        Acknowledge ack = new Acknowledge.Builder().withResponderId(Utils.generateId()).withResponsesRemaining(2).build();
+        Message originalMessage = TestUtils.createMsbResponseMessageWithAckNoPayload(ack, TOPIC, Utils.generateId());
+
+        Message message = decoder.decode(Utils.toJson(originalMessage, messageMapper)).decodeMessage();
+
+        assertHeadersEqual(originalMessage, message);
+        assertEquals(ack.getResponderId(), message.getAck().getResponderId());
+        assertEquals(ack.getResponsesRemaining(), message.getAck().getResponsesRemaining());
+        assertNoPayload(message);
+    }
+
+    @Test
+    public void testDecodePayloadPrecedingHeaders() {
+        Message originalMessage = TestUtils.createSimpleRequestMessage(TOPIC);
+        String json = Utils.toJson(originalMessage, messageMapper);
+        String payloadJson = Utils.toJson(originalMessage.getRawPayload(), messageMapper);
+        String reordered = "{\"payload\":" + payloadJson + "," + json.substring(1).replace(",\"payload\":" + payloadJson, "");
+
+        Message message = decoder.decode(reordered.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8).decodeMessage();
+
+        assertHeadersEqual(originalMessage, message);
+        assertEquals(Utils.fromJson(json, Message.class, messageMapper).getRawPayload(), message.getRawPayload());
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testDecodeNotAnObject() {
+        decoder.decode("[1, 2]");
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testDecodeMalformedJson() {
+        decoder.decode("{\"id\": ".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    @Test(expected = JsonConversionException.class)
+    public void testDecodeMalformedPayload() {
+        String json = Utils.toJson(TestUtils.createSimpleRequestMessage(TOPIC), messageMapper);
+        String malformed = json.replaceFirst("\"payload\":\\{", "\"payload\":{\"body\":tru,");
+
+        decoder.decode(malformed.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private static void assertNoPayload(Message message) {
+        assertTrue(message.getRawPayload() == null || message.getRawPayload().isNull());
+    }
+
+    private static void assertHeadersEqual(Message expected, Message actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getCorrelationId(), actual.getCorrelationId());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getTopics().getTo(), actual.getTopics().getTo());
+        assertEquals(expected.getTopics().getResponse(), actual.getTopics().getResponse());
+        assertEquals(expected.getMeta().getCreatedAt(), actual.getMeta().getCreatedAt());
+        assertEquals(expected.getMeta().getTtl(), actual.getMeta().getTtl());
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.tcdl.msb.message;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.tcdl.msb.support.TestUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ObjectPayloadTest {
+
+    private ObjectMapper payloadMapper = TestUtils.createMessageMapper().enable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    @Test
+    public void testPayloadWrittenWithoutFlushingEnvelope() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        ObjectPayload payload = new ObjectPayload(Collections.singletonMap("body", "text"), payloadMapper);
+
+        try (JsonGenerator gen = payloadMapper.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeFieldName("payload");
+            payload.serialize(gen, null);
+            assertEquals(0, flushes.get());
+            gen.writeEndObject();
+        }
+
+        assertEquals("{\"payload\":{\"body\":\"text\"}}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.tcdl.msb.support;
+
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 20000;
+
+    @Test
+    public void testIdIsUuid() {
+        String id = new TimeOrderedIdGenerator().generateId();
+
+        UUID uuid = UUID.fromString(id);
+        assertEquals(id, uuid.toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void testFormatMatchesUuid() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid.toString(), TimeOrderedIdGenerator.format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+    }
+
+    @Test
+    public void testIdsOrderedByTime() {
+        Instant now = Instant.parse("2016-01-01T00:00:00Z");
+        String earlierId = new TimeOrderedIdGenerator(Clock.fixed(now, ZoneOffset.UTC)).generateId();
+        String laterId = new TimeOrderedIdGenerator(Clock.fixed(now.plusMillis(1), ZoneOffset.UTC)).generateId();
+
+        assertTrue(earlierId.compareTo(laterId) < 0);
+        assertEquals(now.toEpochMilli(), UUID.fromString(earlierId).getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testIdsOfGeneratorShareNodeKey() {
+        IdGenerator generator = new TimeOrderedIdGenerator();
+
+        long firstLeastSigBits = UUID.fromString(generator.generateId()).getLeastSignificantBits();
+        long secondLeastSigBits = UUID.fromString(generator.generateId()).getLeastSignificantBits();
+
+        assertEquals(firstLeastSigBits >>> 46, secondLeastSigBits >>> 46);
+    }
+
+    @Test
+    public void testIdsUniqueAcrossThreadsAndGenerators() throws Exception {
+        Clock fixedClock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        IdGenerator[] generators = {new TimeOrderedIdGenerator(fixedClock), new TimeOrderedIdGenerator(fixedClock)};
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            IdGenerator generator = generators[i % generators.length];
+            executor.submit(() -> {
+                for (int j = 0; j < IDS_PER_THREAD; j++) {
+                    ids.add(generator.generateId());
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    public void testConfiguredGenerators() {
+        assertTrue(IdGenerators.create(TestUtils.createMsbConfigurations()) instanceof TimeOrderedIdGenerator);
+        assertTrue(IdGenerators.create(mockConfig(IdGenerators.RANDOM_UUID_GENERATOR)) instanceof RandomUuidIdGenerator);
+        assertTrue(IdGenerators.create(mockConfig(RandomUuidIdGenerator.class.getName())) instanceof RandomUuidIdGenerator);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testUnknownGeneratorConfigured() {
+        IdGenerators.create(mockConfig("no.such.Generator"));
+    }
+
+    private static MsbConfig mockConfig(String idGenerator) {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.getIdGenerator()).thenReturn(idGenerator);
+        return msbConfig;
+    }
+}
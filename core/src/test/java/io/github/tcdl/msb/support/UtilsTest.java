@@ -5,6 +5,8 @@ import io.github.tcdl.msb.api.exception.JsonConversionException;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -70,6 +72,34 @@ public class UtilsTest {
         assertNull(bean);
     }
 
+    @Test
+    public void testJsonDeserializationFromBytes() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] json = "{\"field\":\"välue\"}".getBytes(StandardCharsets.UTF_8);
+
+        SimpleBean bean = Utils.fromJson(json, StandardCharsets.UTF_8, SimpleBean.class, objectMapper);
+
+        assertEquals("välue", bean.getField());
+    }
+
+    @Test
+    public void testJsonDeserializationFromBytesInNonUtf8Charset() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Charset charset = Charset.forName("ISO-8859-1");
+        byte[] json = "{\"field\":\"välue\"}".getBytes(charset);
+
+        SimpleBean bean = Utils.fromJson(json, charset, SimpleBean.class, objectMapper);
+
+        assertEquals("välue", bean.getField());
+    }
+
+    @Test
+    public void testJsonDeserializationFromEmptyBytes() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleBean bean = Utils.fromJson(new byte[0], StandardCharsets.UTF_8, SimpleBean.class, objectMapper);
+        assertNull(bean);
+    }
+
     @Test
     public void testConvert() {
         int VALUE = 10;
@@ -0,0 +1,211 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.config.MsbConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DecodeStageTest {
+
+    private static final int MESSAGES = 200;
+
+    private DecodeStage decodeStage;
+
+    @After
+    public void tearDown() {
+        if (decodeStage != null) {
+            decodeStage.shutdown();
+        }
+    }
+
+    @Test
+    public void testCreateDisabled() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.isDecodeStageEnabled()).thenReturn(false);
+
+        assertNull(DecodeStage.create(msbConfig, true));
+    }
+
+    @Test
+    public void testCreateEnabled() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.isDecodeStageEnabled()).thenReturn(true);
+        when(msbConfig.getDecodeThreadPoolSize()).thenReturn(2);
+        when(msbConfig.getDecodeThreadPoolQueueCapacity()).thenReturn(10);
+
+        decodeStage = DecodeStage.create(msbConfig, false);
+
+        assertFalse(decodeStage.isOrdered());
+    }
+
+    @Test
+    public void testOrderedLaneKeepsSubmissionOrder() throws Exception {
+        decodeStage = new DecodeStage(4, MESSAGES, true);
+        DecodeStage.Lane lane = decodeStage.createLane();
+        List<Integer> dispatched = new CopyOnWriteArrayList<>();
+        CountDownLatch allDispatched = new CountDownLatch(MESSAGES);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            int message = i;
+            lane.submit(() -> decodeSlowly(message), decoded -> {
+                dispatched.add(decoded);
+                allDispatched.countDown();
+            });
+        }
+
+        assertTrue(allDispatched.await(10, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, MESSAGES).boxed().collect(Collectors.toList()), dispatched);
+    }
+
+    @Test
+    public void testOrderedLaneSkipsFailedMessages() throws Exception {
+        decodeStage = new DecodeStage(2, 10, true);
+        DecodeStage.Lane lane = decodeStage.createLane();
+        List<Integer> dispatched = new CopyOnWriteArrayList<>();
+        CountDownLatch allDispatched = new CountDownLatch(2);
+
+        lane.submit(() -> 1, decoded -> {
+            dispatched.add(decoded);
+            allDispatched.countDown();
+            throw new RuntimeException("dispatch failure");
+        });
+        lane.<Integer>submit(() -> {
+            throw new RuntimeException("decode failure");
+        }, dispatched::add);
+        lane.submit(() -> (Integer) null, dispatched::add);
+        lane.submit(() -> 4, decoded -> {
+            dispatched.add(decoded);
+            allDispatched.countDown();
+        });
+
+        assertTrue(allDispatched.await(10, TimeUnit.SECONDS));
+        assertEquals(2, dispatched.size());
+        assertEquals(Integer.valueOf(4), dispatched.get(1));
+    }
+
+    @Test
+    public void testOrderedLaneWithFullQueue() throws Exception {
+        decodeStage = new DecodeStage(2, 1, true);
+        DecodeStage.Lane lane = decodeStage.createLane();
+        List<Integer> dispatched = new CopyOnWriteArrayList<>();
+        CountDownLatch allDispatched = new CountDownLatch(MESSAGES);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            int message = i;
+            lane.submit(() -> decodeSlowly(message), decoded -> {
+                dispatched.add(decoded);
+                allDispatched.countDown();
+            });
+        }
+
+        assertTrue(allDispatched.await(10, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, MESSAGES).boxed().collect(Collectors.toList()), dispatched);
+    }
+
+    @Test
+    public void testOrderedLaneDispatchesOnDecodeThread() throws Exception {
+        decodeStage = new DecodeStage(1, 10, true);
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread submittingThread = Thread.currentThread();
+        List<Thread> dispatchingThreads = new CopyOnWriteArrayList<>();
+
+        decodeStage.createLane().submit(() -> "message", decoded -> {
+            dispatchingThreads.add(Thread.currentThread());
+            dispatched.countDown();
+        });
+
+        assertTrue(dispatched.await(10, TimeUnit.SECONDS));
+        assertNotEquals(submittingThread, dispatchingThreads.get(0));
+    }
+
+    @Test
+    public void testOrderedLaneNotLockedWhileWaitingForQueue() throws Exception {
+        decodeStage = new DecodeStage(1, 1, true);
+        DecodeStage.Lane lane = decodeStage.createLane();
+        CountDownLatch decodeReleased = new CountDownLatch(1);
+        CountDownLatch allDispatched = new CountDownLatch(4);
+        Runnable submitMessage = () -> lane.submit(() -> awaitQuietly(decodeReleased), decoded -> allDispatched.countDown());
+
+        submitMessage.run();
+        submitMessage.run();
+        Thread firstWaitingThread = new Thread(submitMessage);
+        Thread secondWaitingThread = new Thread(submitMessage);
+        firstWaitingThread.start();
+        awaitWaiting(firstWaitingThread);
+        secondWaitingThread.start();
+        awaitWaiting(secondWaitingThread);
+
+        assertEquals(Thread.State.WAITING, secondWaitingThread.getState());
+        decodeReleased.countDown();
+        assertTrue(allDispatched.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUnorderedLaneDispatchesOnDecodeThread() throws Exception {
+        decodeStage = new DecodeStage(2, 10, false);
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread submittingThread = Thread.currentThread();
+        List<Thread> dispatchingThreads = new CopyOnWriteArrayList<>();
+
+        decodeStage.createLane().submit(() -> "message", decoded -> {
+            dispatchingThreads.add(Thread.currentThread());
+            dispatched.countDown();
+        });
+
+        assertTrue(dispatched.await(10, TimeUnit.SECONDS));
+        assertNotEquals(submittingThread, dispatchingThreads.get(0));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testSubmitAfterShutdown() {
+        DecodeStage stoppedDecodeStage = new DecodeStage(1, 1, false);
+        stoppedDecodeStage.shutdown();
+
+        stoppedDecodeStage.createLane().submit(() -> "message", decoded -> { });
+    }
+
+    private static String awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "message";
+    }
+
+    /**
+     * Waits until the thread is either parked or blocked on a monitor.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.BLOCKED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static Integer decodeSlowly(int message) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(500));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return message;
+    }
+}
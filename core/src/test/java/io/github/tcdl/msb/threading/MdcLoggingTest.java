@@ -0,0 +1,98 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.MessageHandler;
+import io.github.tcdl.msb.acknowledge.AcknowledgementHandlerInternal;
+import io.github.tcdl.msb.api.message.Message;
+import io.github.tcdl.msb.config.MsbConfig;
+import io.github.tcdl.msb.support.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.MDC;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MdcLoggingTest {
+
+    private static final String TAGS_KEY = "tags";
+    private static final String CORRELATION_ID_KEY = "correlationId";
+
+    @Mock
+    private MessageHandler messageHandler;
+
+    @Mock
+    private AcknowledgementHandlerInternal acknowledgeHandler;
+
+    private MdcLogging mdcLogging = new MdcLogging(TAGS_KEY, CORRELATION_ID_KEY, ":");
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void testCreateDisabled() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.isMdcLogging()).thenReturn(false);
+
+        assertNull(MdcLogging.create(msbConfig));
+    }
+
+    @Test
+    public void testPopulate() {
+        Message message = createMessage("tag1", "key:value");
+
+        mdcLogging.populate(message);
+
+        assertEquals("tag1,key:value", MDC.get(TAGS_KEY));
+        assertEquals("correlationId", MDC.get(CORRELATION_ID_KEY));
+        assertEquals("value", MDC.get("key"));
+    }
+
+    @Test
+    public void testPopulateNoTagsSplit() {
+        Message message = createMessage("key:value");
+
+        new MdcLogging(TAGS_KEY, CORRELATION_ID_KEY, "").populate(message);
+
+        assertEquals("key:value", MDC.get(TAGS_KEY));
+        assertNull(MDC.get("key"));
+    }
+
+    @Test
+    public void testExecuteByMdcAwareInvoker() {
+        Message message = createMessage("tag1");
+        MdcAwareMessageHandlerInvoker invoker = mock(MdcAwareMessageHandlerInvoker.class);
+
+        mdcLogging.execute(invoker, messageHandler, message, acknowledgeHandler);
+
+        verify(invoker).execute(messageHandler, message, acknowledgeHandler, mdcLogging);
+        assertNull("MDC of the calling thread is not expected to be populated", MDC.get(TAGS_KEY));
+    }
+
+    @Test
+    public void testExecuteByPlainInvoker() {
+        Message message = createMessage("tag1");
+        MessageHandlerInvoker invoker = mock(MessageHandlerInvoker.class);
+        doAnswer(invocation -> {
+            assertEquals("tag1", MDC.get(TAGS_KEY));
+            return null;
+        }).when(invoker).execute(messageHandler, message, acknowledgeHandler);
+
+        mdcLogging.execute(invoker, messageHandler, message, acknowledgeHandler);
+
+        verify(invoker).execute(messageHandler, message, acknowledgeHandler);
+    }
+
+    private static Message createMessage(String... tags) {
+        return TestUtils.createMsbRequestMessage("any", null, "correlationId", TestUtils.createSimpleRequestPayload(), tags);
+    }
+}
@@ -86,6 +86,53 @@ public class MessageProcessingTaskTest {
         assertFalse("MDC data is present in a thread while was not provided", isMdcPresentInThread());
     }
 
+    @Test
+    public void testMdcPopulatedFromMessage() throws Exception {
+        Message taggedMessage = TestUtils.createMsbRequestMessage("any", null, "correlationId",
+                TestUtils.createSimpleRequestPayload(), "tag1", MDC_KEY + ":" + MDC_VALUE);
+        MdcLogging mdcLogging = new MdcLogging("tags", "correlationId", ":");
+
+        CompletableFuture<String> correlationIdInTaskRun = new CompletableFuture<>();
+        CompletableFuture<Boolean> isMdcPresentInOtherRun = new CompletableFuture<>();
+        MessageHandler mdcMessageHandler = (message, acknowledgeHandler) -> {
+            assertEquals("tag1," + MDC_KEY + ":" + MDC_VALUE, MDC.get("tags"));
+            assertTrue(isMdcPresent());
+            correlationIdInTaskRun.complete(MDC.get("correlationId"));
+        };
+        MessageProcessingTask mdcTask =
+                new MessageProcessingTask(mdcMessageHandler, taggedMessage, mockAcknowledgementHandler, mdcLogging);
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        singleThreadExecutor.execute(mdcTask);
+        singleThreadExecutor.execute(() -> isMdcPresentInOtherRun.complete(isMdcPresent()));
+
+        assertFalse("MDC data cleanup was not performed", isMdcPresentInOtherRun.get());
+        assertEquals("correlationId", correlationIdInTaskRun.get());
+        verify(mockAcknowledgementHandler).autoConfirm();
+        singleThreadExecutor.shutdown();
+    }
+
+    @Test
+    public void testMdcOfCreatingThreadNotCopiedIfPopulatedFromMessage() throws Exception {
+        MdcLogging mdcLogging = new MdcLogging("tags", "correlationId", ":");
+        CompletableFuture<Boolean> isMdcPresentInTaskRun = new CompletableFuture<>();
+        CompletableFuture<String> correlationIdInTaskRun = new CompletableFuture<>();
+        MessageHandler mdcMessageHandler = (message, acknowledgeHandler) -> {
+            isMdcPresentInTaskRun.complete(isMdcPresent());
+            correlationIdInTaskRun.complete(MDC.get("correlationId"));
+        };
+
+        MessageProcessingTask mdcTask;
+        try (Closeable mdcCloseable = MDC.putCloseable(MDC_KEY, MDC_VALUE)) {
+            mdcTask = new MessageProcessingTask(mdcMessageHandler, message, mockAcknowledgementHandler, mdcLogging);
+        }
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        singleThreadExecutor.execute(mdcTask);
+
+        assertFalse("MDC of the creating thread is not expected to be copied", isMdcPresentInTaskRun.get());
+        assertEquals(message.getCorrelationId(), correlationIdInTaskRun.get());
+        singleThreadExecutor.shutdown();
+    }
+
     private boolean isMdcPresentInThread() throws Exception{
         CompletableFuture<Boolean> isMdcPresentInTaskRun = new CompletableFuture<>();
         CompletableFuture<Boolean> isMdcPresentInOtherRun = new CompletableFuture<>();
@@ -0,0 +1,200 @@
+package io.github.tcdl.msb.threading;
+
+import io.github.tcdl.msb.api.exception.ChannelException;
+import io.github.tcdl.msb.api.exception.ConfigurationException;
+import io.github.tcdl.msb.config.MsbConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PublishStageTest {
+
+    private static final int MESSAGES = 200;
+
+    private PublishStage publishStage;
+    private final CountDownLatch ioThreadReleased = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        ioThreadReleased.countDown();
+        if (publishStage != null) {
+            publishStage.shutdown();
+        }
+    }
+
+    @Test
+    public void testCreateDisabled() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.isPublishStageEnabled()).thenReturn(false);
+
+        assertNull(PublishStage.create(msbConfig));
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testCreateWithUnknownOverflowPolicy() {
+        MsbConfig msbConfig = mock(MsbConfig.class);
+        when(msbConfig.isPublishStageEnabled()).thenReturn(true);
+        when(msbConfig.getPublishQueueCapacity()).thenReturn(10);
+        when(msbConfig.getPublishQueueOverflowPolicy()).thenReturn("unknown");
+
+        PublishStage.create(msbConfig);
+    }
+
+    @Test
+    public void testLaneKeepsSubmissionOrder() throws Exception {
+        publishStage = new PublishStage(MESSAGES, PublishStage.OverflowPolicy.BLOCK);
+        PublishStage.Lane lane = publishStage.createLane("test:publish-stage");
+        List<Integer> published = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> lastPublished = null;
+        for (int i = 0; i < MESSAGES; i++) {
+            int message = i;
+            lastPublished = lane.submit(publishing(() -> published.add(message))).toCompletableFuture();
+        }
+
+        lastPublished.get(10, TimeUnit.SECONDS);
+        assertEquals(IntStream.range(0, MESSAGES).boxed().collect(Collectors.toList()), published);
+    }
+
+    @Test
+    public void testFailedPublishingFailsStage() throws Exception {
+        publishStage = new PublishStage(10, PublishStage.OverflowPolicy.BLOCK);
+        PublishStage.Lane lane = publishStage.createLane("test:publish-stage");
+        ChannelException failure = new ChannelException("broker is down", null);
+
+        CompletableFuture<Void> result = lane.submit(publishing(() -> {
+            throw failure;
+        })).toCompletableFuture();
+
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertEquals(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testRejectedPublishingFailsStage() throws Exception {
+        publishStage = new PublishStage(10, PublishStage.OverflowPolicy.BLOCK);
+        PublishStage.Lane lane = publishStage.createLane("test:publish-stage");
+        CompletableFuture<Void> confirmation = new CompletableFuture<>();
+
+        CompletableFuture<Void> result = lane.submit(() -> confirmation).toCompletableFuture();
+        ChannelException rejection = new ChannelException("message is rejected", null);
+        confirmation.completeExceptionally(rejection);
+
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertEquals(rejection, e.getCause());
+        }
+    }
+
+    @Test
+    public void testOverflowFails() throws Exception {
+        publishStage = new PublishStage(1, PublishStage.OverflowPolicy.FAIL);
+        PublishStage.Lane lane = fillLane();
+
+        try {
+            lane.submit(publishing(() -> {}));
+            fail("Exception expected");
+        } catch (ChannelException e) {
+            assertEquals(1, publishStage.getQueueDepth());
+        }
+    }
+
+    @Test
+    public void testOverflowDrops() throws Exception {
+        publishStage = new PublishStage(1, PublishStage.OverflowPolicy.DROP);
+        PublishStage.Lane lane = fillLane();
+
+        CompletableFuture<Void> result = lane.submit(publishing(() -> {})).toCompletableFuture();
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, publishStage.getDroppedMessages());
+        assertEquals(1, publishStage.getQueueDepth());
+    }
+
+    @Test
+    public void testOverflowBlocks() throws Exception {
+        publishStage = new PublishStage(1, PublishStage.OverflowPolicy.BLOCK);
+        PublishStage.Lane lane = fillLane();
+        CountDownLatch submitted = new CountDownLatch(1);
+
+        Thread publishingThread = new Thread(() -> {
+            lane.submit(publishing(() -> {}));
+            submitted.countDown();
+        });
+        publishingThread.start();
+
+        assertTrue(!submitted.await(100, TimeUnit.MILLISECONDS));
+        ioThreadReleased.countDown();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownWhilePublisherIsBlocked() throws Exception {
+        publishStage = new PublishStage(1, PublishStage.OverflowPolicy.BLOCK);
+        PublishStage.Lane lane = fillLane();
+
+        CompletableFuture<CompletionStage<Void>> blockedSubmission = CompletableFuture.supplyAsync(() -> lane.submit(publishing(() -> {})));
+        Thread.sleep(50);
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(publishStage::shutdown);
+        Thread.sleep(50);
+        ioThreadReleased.countDown();
+
+        // the message is either published or rejected, but its publisher never waits forever
+        try {
+            blockedSubmission.get(10, TimeUnit.SECONDS).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ChannelException);
+        }
+        shutdown.get(10, TimeUnit.SECONDS);
+        publishStage = null;
+    }
+
+    private static Supplier<CompletionStage<Void>> publishing(Runnable publication) {
+        return () -> {
+            publication.run();
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    /**
+     * Occupies the I/O thread of a new lane until the test is over and fills the queue of the lane.
+     */
+    private PublishStage.Lane fillLane() throws Exception {
+        PublishStage.Lane lane = publishStage.createLane("test:publish-stage");
+        CountDownLatch ioThreadBusy = new CountDownLatch(1);
+        lane.submit(publishing(() -> {
+            ioThreadBusy.countDown();
+            try {
+                ioThreadReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(ioThreadBusy.await(10, TimeUnit.SECONDS));
+        lane.submit(publishing(() -> {}));
+        return lane;
+    }
+}
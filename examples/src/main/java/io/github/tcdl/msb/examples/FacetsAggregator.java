@@ -5,7 +5,6 @@ import io.github.tcdl.msb.api.message.payload.RestPayload;
 import io.github.tcdl.msb.examples.payload.Request;
 
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -71,25 +70,22 @@ public class FacetsAggregator {
                 Requester<RestPayload> requester = msbContext.getObjectFactory().createRequester("search:parsers:facets:v1",
                         requestOptions, RestPayload.class);
 
-                final String[] result = {""};
-
-                List<RestPayload> responses = Collections.synchronizedList(new ArrayList<>());
-                requester.onResponse((message, ackHandler) -> {responses.add(message);})
-                .onEnd(end -> {
-                    for (RestPayload payload : responses) {
-                        System.out.println(">>> MESSAGE: " + payload);
-                        result[0] += payload;
-                    }
-
-                    RestPayload responsePayload = new RestPayload.Builder<Object, Object, Object, String>()
-                            .withStatusCode(200)
-                            .withBody(result[0])
-                            .build();
-
-                    responder.send(responsePayload);
-                });
-
-                requester.publish(facetsRequest, responderContext.getOriginalMessage(), UUID.randomUUID().toString());
+                // no early completion, all responses received until the request ends are aggregated
+                GatherOptions<String> gatherOptions = new GatherOptions.Builder<String>().build();
+
+                requester.gather(facetsRequest, responderContext.getOriginalMessage(), "",
+                        (result, payload) -> {
+                            System.out.println(">>> MESSAGE: " + payload);
+                            return result + payload;
+                        }, gatherOptions, UUID.randomUUID().toString())
+                        .thenAccept(result -> {
+                            RestPayload responsePayload = new RestPayload.Builder<Object, Object, Object, String>()
+                                    .withStatusCode(200)
+                                    .withBody(result)
+                                    .build();
+
+                            responder.send(responsePayload);
+                        });
             }
         }, Request.class).listen();
     }